@@ -0,0 +1,42 @@
+package ca.team2706.frc.robot.commands.bling;
+
+import edu.wpi.first.hal.HAL;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bling controller picking the pattern to show each loop.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=BlingController}, the gc profiler reports the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlingControllerBenchmark {
+
+    private BlingController controller;
+
+    @Setup
+    public void setUp() {
+        // The simulated HAL stands in for the driver station
+        HAL.initialize(500, 0);
+
+        controller = new BlingController();
+        controller.initialize();
+
+        // The first loop starts the pattern, after that it is only selected
+        controller.execute();
+    }
+
+    /**
+     * One loop of the controller once its pattern is showing
+     */
+    @Benchmark
+    public void execute() {
+        controller.execute();
+    }
+}
@@ -0,0 +1,53 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import jaci.pathfinder.Trajectory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating the trajectory from the robot to a vision target, which is what
+ * {@link DriverAssistVision#generateTrajectoryRobotToTarget(double, double)} does after reading the gyro.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=DriverAssistVision}, the gc profiler reports the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DriverAssistVisionBenchmark {
+
+    /**
+     * The distance from the camera to the target in feet
+     */
+    @Param({"4", "10"})
+    private double distance;
+
+    /**
+     * The angle to the target from the camera's line of sight in degrees
+     */
+    @Param({"-20", "15"})
+    private double yaw;
+
+    private DriverAssistVision command;
+
+    @Setup
+    public void setUp() {
+        // Build the trajectory table before measuring
+        VisionTrajectoryGenerator.init();
+
+        command = new DriverAssistVision(DriverAssistVisionTarget.ROCKET, true);
+    }
+
+    /**
+     * Computing the final waypoint and planning the trajectory to it, with the robot facing straight ahead
+     *
+     * @return The trajectory
+     */
+    @Benchmark
+    public Trajectory generateTrajectoryRobotToTarget() {
+        return command.planTrajectoryRobotToTarget(command.computeFinalWaypoint_Robot(distance, yaw, 90));
+    }
+}
@@ -0,0 +1,92 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.Pair;
+import jaci.pathfinder.Trajectory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting a Pathfinder trajectory into the arrays and binary trajectory that are pushed to the talons.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=FollowTrajectory}, the gc profiler reports the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FollowTrajectoryBenchmark {
+
+    /**
+     * The number of points in the trajectory, 450 is the size of the longest trajectory that is used
+     */
+    @Param({"50", "450"})
+    private int size;
+
+    private Trajectory trajectory;
+    private Pair<Trajectory> sides;
+
+    private double[] headings;
+    private double[] unwrapped;
+
+    @Setup
+    public void setUp() {
+        final Trajectory.Segment[] centre = new Trajectory.Segment[size];
+        final Trajectory.Segment[] left = new Trajectory.Segment[size];
+        final Trajectory.Segment[] right = new Trajectory.Segment[size];
+
+        headings = new double[size];
+        unwrapped = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            final double velocity = Math.sin(i * Math.PI / size) * 8.0;
+
+            // Turns through a full circle so that the headings wrap around
+            final double heading = i * 2 * Math.PI / size;
+
+            centre[i] = new Trajectory.Segment(0.01, 0, i * 0.02, i * 0.02, velocity, 0, 0, heading);
+            left[i] = new Trajectory.Segment(0.01, 0, 0, i * 0.018, velocity * 0.9, 0, 0, heading);
+            right[i] = new Trajectory.Segment(0.01, 0, 0, i * 0.022, velocity * 1.1, 0, 0, heading);
+
+            headings[i] = Math.toDegrees(heading) % 360;
+        }
+
+        trajectory = new Trajectory(centre);
+        sides = Pair.of(new Trajectory(left), new Trajectory(right));
+    }
+
+    /**
+     * Building the arrays for each side, including unwrapping the headings
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void generateDualTrajectory(Blackhole blackhole) {
+        blackhole.consume(FollowTrajectory.generateDualTrajectory(trajectory, sides));
+    }
+
+    /**
+     * Unwrapping the headings on their own, which works in place so the headings are copied first
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void unwrap(Blackhole blackhole) {
+        System.arraycopy(headings, 0, unwrapped, 0, size);
+        FollowTrajectory.unwrap(unwrapped);
+        blackhole.consume(unwrapped);
+    }
+
+    /**
+     * The whole conversion into a binary trajectory in talon units
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void toTalonTrajectory(Blackhole blackhole) {
+        blackhole.consume(FollowTrajectory.toTalonTrajectory(trajectory, sides.getFirst(), sides.getSecond()));
+    }
+}
@@ -0,0 +1,59 @@
+package ca.team2706.frc.robot.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the fluid constants that are used every loop through the boxed {@link FluidConstant#value()}
+ * against the primitive accessors.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=FluidConstant}, the gc profiler reports the allocation rate. The reads
+ * are the ones done by the lift, intake, ring light and driver assist in one loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FluidConstantBenchmark {
+
+    /**
+     * Reads the constants by unboxing their values
+     *
+     * @return The sum of the values
+     */
+    @Benchmark
+    public double boxed() {
+        double sum = Config.LIFT_MAX_SPEED.value() * 2 + Config.CARGO_CAPTURED_IR_MIN_VOLTAGE.value()
+                + Config.CARGO_CAPTURED_IDEAL_IR_VOLTAGE.value() + Config.RING_LIGHT_ON_DELAY.value()
+                + Config.VISION_DISTANCE_MIN.value() + Config.VISION_DISTANCE_MAX.value()
+                + Config.VISION_REPLAN_GAIN.value() + Config.VISION_LATENCY.value();
+
+        if (Config.VISION_REPLAN.value() && !Config.DISABLE_RING_LIGHT.value()) {
+            sum++;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Reads the constants with the primitive accessors
+     *
+     * @return The sum of the values
+     */
+    @Benchmark
+    public double primitive() {
+        double sum = Config.LIFT_MAX_SPEED.getAsInt() * 2 + Config.CARGO_CAPTURED_IR_MIN_VOLTAGE.getAsDouble()
+                + Config.CARGO_CAPTURED_IDEAL_IR_VOLTAGE.getAsDouble() + Config.RING_LIGHT_ON_DELAY.getAsDouble()
+                + Config.VISION_DISTANCE_MIN.getAsDouble() + Config.VISION_DISTANCE_MAX.getAsDouble()
+                + Config.VISION_REPLAN_GAIN.getAsDouble() + Config.VISION_LATENCY.getAsDouble();
+
+        if (Config.VISION_REPLAN.getAsBoolean() && !Config.DISABLE_RING_LIGHT.getAsBoolean()) {
+            sum++;
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,134 @@
+package ca.team2706.frc.robot.input;
+
+import ca.team2706.frc.robot.config.XboxValue;
+import edu.wpi.first.hal.HAL;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures polling every binding in OI once, the way that the buttons are polled each loop, reading the controller
+ * for each binding compared to reading it once into a {@link ControllerSnapshot}.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=ControllerSnapshot}, the gc profiler reports the allocation rate. The
+ * stub controller doesn't go to the driver station, which takes a lock on every read, so the savings on the robot are
+ * larger than the difference here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerSnapshotBenchmark {
+
+    /**
+     * The default bindings of the buttons in OI
+     */
+    private static final XboxValue[] BINDINGS = {
+            XboxValue.XBOX_BACK_LEFT_TRIGGER,
+            XboxValue.XBOX_BACK_RIGHT_TRIGGER,
+            XboxValue.XBOX_LEFT_STICK_Y,
+            XboxValue.XBOX_A_BUTTON,
+            XboxValue.XBOX_Y_BUTTON,
+            XboxValue.XBOX_RIGHT_AXIS_BUTTON,
+            XboxValue.XBOX_RB_BUTTON,
+            XboxValue.XBOX_START_BUTTON,
+            XboxValue.XBOX_LEFT_AXIS_BUTTON,
+            XboxValue.XBOX_POV_UP,
+            XboxValue.XBOX_POV_RIGHT,
+            XboxValue.XBOX_POV_LEFT,
+            XboxValue.XBOX_POV_DOWN,
+            XboxValue.XBOX_SELECT_BUTTON,
+            XboxValue.XBOX_X_BUTTON,
+            XboxValue.XBOX_B_BUTTON,
+            XboxValue.XBOX_LB_BUTTON
+    };
+
+    private static final XboxValue[] POV_VALUES = {
+            XboxValue.XBOX_POV_DOWN,
+            XboxValue.XBOX_POV_DOWN_LEFT,
+            XboxValue.XBOX_POV_DOWN_RIGHT,
+            XboxValue.XBOX_POV_LEFT,
+            XboxValue.XBOX_POV_RIGHT,
+            XboxValue.XBOX_POV_UP,
+            XboxValue.XBOX_POV_UP_LEFT,
+            XboxValue.XBOX_POV_UP_RIGHT
+    };
+
+    /**
+     * The angle of the POV, -1 when nothing is pressed checks every direction
+     */
+    @Param({"-1", "0"})
+    private int pov;
+
+    private StubController controller;
+    private ControllerSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        HAL.initialize(500, 0);
+
+        controller = new StubController();
+        controller.setPOV(pov);
+        controller.setAxis(XboxValue.XBOX_LEFT_STICK_Y.getPort(), 0.5);
+        controller.setButton(XboxValue.XBOX_A_BUTTON.getPort(), true);
+
+        snapshot = ControllerSnapshot.of(controller);
+    }
+
+    /**
+     * Polls each binding by reading the controller, like the buttons did before the snapshot
+     *
+     * @return The number of bindings that are pressed
+     */
+    @Benchmark
+    public int direct() {
+        int pressed = 0;
+
+        for (XboxValue binding : BINDINGS) {
+            if (FluidButton.determineIfActivated(controller, binding.getPort(), binding.getInputType())) {
+                pressed++;
+            }
+        }
+
+        if (FluidTrigger.areAnyActive(controller,
+                XboxValue.XBOX_POV_DOWN,
+                XboxValue.XBOX_POV_DOWN_LEFT,
+                XboxValue.XBOX_POV_DOWN_RIGHT,
+                XboxValue.XBOX_POV_LEFT,
+                XboxValue.XBOX_POV_RIGHT,
+                XboxValue.XBOX_POV_UP,
+                XboxValue.XBOX_POV_UP_LEFT,
+                XboxValue.XBOX_POV_UP_RIGHT)) {
+            pressed++;
+        }
+
+        return pressed;
+    }
+
+    /**
+     * Reads the controller into the snapshot and polls each binding from it
+     *
+     * @return The number of bindings that are pressed
+     */
+    @Benchmark
+    public int snapshot() {
+        snapshot.refresh();
+
+        int pressed = 0;
+
+        for (XboxValue binding : BINDINGS) {
+            if (FluidButton.determineIfActivated(snapshot, binding.getPort(), binding.getInputType(),
+                    FluidButton.DEFAULT_MIN_AXIS_ACTIVATION)) {
+                pressed++;
+            }
+        }
+
+        if (FluidTrigger.areAnyActive(snapshot, FluidButton.DEFAULT_MIN_AXIS_ACTIVATION, POV_VALUES)) {
+            pressed++;
+        }
+
+        return pressed;
+    }
+}
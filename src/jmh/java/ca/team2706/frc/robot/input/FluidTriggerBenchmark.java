@@ -0,0 +1,55 @@
+package ca.team2706.frc.robot.input;
+
+import ca.team2706.frc.robot.config.XboxValue;
+import edu.wpi.first.hal.HAL;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures checking whether any direction of the POV is pressed, which the lift's POV trigger does every loop.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=FluidTrigger}, the gc profiler reports the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FluidTriggerBenchmark {
+
+    /**
+     * The angle of the POV, -1 when nothing is pressed checks every direction
+     */
+    @Param({"-1", "0"})
+    private int pov;
+
+    private StubController controller;
+
+    @Setup
+    public void setUp() {
+        HAL.initialize(500, 0);
+
+        controller = new StubController();
+        controller.setPOV(pov);
+    }
+
+    /**
+     * The check that is done by the POV trigger in OI
+     *
+     * @return True if the POV is pressed
+     */
+    @Benchmark
+    public boolean areAnyActive() {
+        return FluidTrigger.areAnyActive(controller,
+                XboxValue.XBOX_POV_DOWN,
+                XboxValue.XBOX_POV_DOWN_LEFT,
+                XboxValue.XBOX_POV_DOWN_RIGHT,
+                XboxValue.XBOX_POV_LEFT,
+                XboxValue.XBOX_POV_RIGHT,
+                XboxValue.XBOX_POV_UP,
+                XboxValue.XBOX_POV_UP_LEFT,
+                XboxValue.XBOX_POV_UP_RIGHT);
+    }
+}
@@ -0,0 +1,90 @@
+package ca.team2706.frc.robot.input;
+
+import edu.wpi.first.wpilibj.GenericHID;
+
+/**
+ * A controller whose inputs are set directly instead of being read from the driver station, so that input handling
+ * can be benchmarked on the desktop
+ */
+public class StubController extends GenericHID {
+
+    private final double[] axes = new double[6];
+    private final boolean[] buttons = new boolean[11];
+    private int pov = -1;
+
+    /**
+     * Creates a controller with nothing pressed
+     */
+    public StubController() {
+        super(0);
+    }
+
+    @Override
+    public int getAxisCount() {
+        return axes.length;
+    }
+
+    @Override
+    public int getButtonCount() {
+        return buttons.length - 1;
+    }
+
+    @Override
+    public int getPOVCount() {
+        return 1;
+    }
+
+    @Override
+    public double getX(Hand hand) {
+        return axes[0];
+    }
+
+    @Override
+    public double getY(Hand hand) {
+        return axes[1];
+    }
+
+    @Override
+    public double getRawAxis(int axis) {
+        return axes[axis];
+    }
+
+    @Override
+    public boolean getRawButton(int button) {
+        return buttons[button];
+    }
+
+    @Override
+    public int getPOV(int pov) {
+        return this.pov;
+    }
+
+    /**
+     * Sets the value of an axis
+     *
+     * @param axis  The axis
+     * @param value The value, between -1 and 1
+     */
+    public void setAxis(int axis, double value) {
+        axes[axis] = value;
+    }
+
+    /**
+     * Sets whether a button is pressed
+     *
+     * @param button  The button, starting at 1
+     * @param pressed True if the button is pressed
+     */
+    public void setButton(int button, boolean pressed) {
+        buttons[button] = pressed;
+    }
+
+    /**
+     * Sets the angle of the POV
+     *
+     * @param pov The angle in degrees, or -1 if it isn't pressed
+     */
+    public void setPOV(int pov) {
+        this.pov = pov;
+    }
+}
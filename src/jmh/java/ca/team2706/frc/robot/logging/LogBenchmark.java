@@ -0,0 +1,59 @@
+package ca.team2706.frc.robot.logging;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares logging values by concatenating them into the message against the garbage-free templates.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=LogBenchmark}, the gc profiler reports the allocation rate. The messages
+ * are the ones that driver assist logs for each vision frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogBenchmark {
+
+    /**
+     * Whether debug logging is turned off with {@link Log#disable(boolean)}
+     */
+    @Param({"true", "false"})
+    private boolean disabled;
+
+    private double yaw = 12.5;
+    private double distance = 7.25;
+
+    @Setup
+    public void setUp() {
+        Log.disable(disabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.disable(false);
+    }
+
+    /**
+     * Logs the values by building a string
+     */
+    @Benchmark
+    public void concatenated() {
+        Log.d("DAV: angYawTargetWrtCameraLOSCWpos [deg]: " + yaw);
+        Log.d("DAV: distanceCameraToTarget_Camera [ft]: " + distance);
+        Log.d("DAV: vRobotToFinal_RobotX: " + distance + ", vRobotToFinal_RobotY: " + yaw);
+    }
+
+    /**
+     * Logs the values with templates
+     */
+    @Benchmark
+    public void parameterised() {
+        Log.d("DAV: angYawTargetWrtCameraLOSCWpos [deg]: {}", yaw);
+        Log.d("DAV: distanceCameraToTarget_Camera [ft]: {}", distance);
+        Log.d("DAV: vRobotToFinal_RobotX: {}, vRobotToFinal_RobotY: {}", distance, yaw);
+    }
+}
@@ -0,0 +1,39 @@
+package ca.team2706.frc.robot.sensors;
+
+import edu.wpi.first.hal.HAL;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the auto selector's index, which includes the averaged voltage read from the simulated HAL.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=AnalogSelector}, the gc profiler reports the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AnalogSelectorBenchmark {
+
+    private AnalogSelector selector;
+
+    @Setup
+    public void setUp() {
+        HAL.initialize(500, 0);
+
+        selector = new AnalogSelector(0);
+    }
+
+    /**
+     * Reading the index
+     *
+     * @return The index
+     */
+    @Benchmark
+    public int getIndex() {
+        return selector.getIndex();
+    }
+}
@@ -0,0 +1,108 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.config.Config;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting a backwards trajectory into Talon points with the pooled buffer against allocating
+ * new points and negated copies of the trajectory for every push.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.include=TrajectoryPointBuffer}, the gc profiler reports the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrajectoryPointBufferBenchmark {
+
+    /**
+     * The number of points in the trajectory, 450 is the size of the longest trajectory that is used
+     */
+    @Param({"50", "450"})
+    private int size;
+
+    private double[] pos;
+    private double[] vel;
+    private double[] heading;
+    private int[] time;
+
+    private TrajectoryPointBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        pos = new double[size];
+        vel = new double[size];
+        heading = new double[size];
+        time = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            pos[i] = i * 0.02;
+            vel[i] = Math.sin(i * Math.PI / size) * 8.0;
+            heading[i] = i * 90.0 / size;
+            time[i] = 10;
+        }
+
+        buffer = new TrajectoryPointBuffer();
+    }
+
+    /**
+     * The pooled path that is used by the drive base
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void pooled(Blackhole blackhole) {
+        buffer.fill(pos, vel, heading, time, size, -1, 1);
+        blackhole.consume(buffer.get(size - 1));
+    }
+
+    /**
+     * The allocating path that the drive base used before the buffer was pooled
+     *
+     * @param blackhole Consumes the result
+     */
+    @Benchmark
+    public void allocating(Blackhole blackhole) {
+        final double[] negatedPos = negateDoubleArray(pos);
+        final double[] negatedVel = negateDoubleArray(vel);
+
+        TrajectoryPoint[] points = new TrajectoryPoint[size];
+
+        for (int i = 0; i < size; ++i) {
+            points[i] = new TrajectoryPoint();
+            points[i].position = negatedPos[i] / Config.DRIVE_ENCODER_DPP;
+            points[i].velocity = negatedVel[i] / Config.DRIVE_ENCODER_DPP / 10;
+            points[i].auxiliaryPos = heading[i] / Config.PIGEON_DPP;
+            points[i].headingDeg = heading[i];
+            points[i].profileSlotSelect0 = 0;
+            points[i].profileSlotSelect1 = 1;
+            points[i].timeDur = time[i];
+            points[i].zeroPos = i == 0;
+            points[i].useAuxPID = true;
+            points[i].auxiliaryArbFeedFwd = Config.CURVE_ADJUSTMENT.value() * negatedVel[i] / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value();
+
+            points[i].isLastPoint = (i + 1) == size;
+        }
+
+        blackhole.consume(points);
+    }
+
+    /**
+     * The negation that was used for backwards trajectories
+     *
+     * @param array The array to negate
+     * @return A negated copy of the array
+     */
+    private static double[] negateDoubleArray(final double[] array) {
+        return Arrays.stream(array)
+                .map(operand -> -operand)
+                .toArray();
+    }
+}
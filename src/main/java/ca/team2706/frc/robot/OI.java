@@ -1,5 +1,6 @@
 package ca.team2706.frc.robot;
 
+import ca.team2706.frc.robot.commands.ProfiledInstantCommand;
 import ca.team2706.frc.robot.commands.climber.AutoClimb;
 import ca.team2706.frc.robot.commands.climber.MoveBackClimberPistons;
 import ca.team2706.frc.robot.commands.climber.MoveFrontClimberPistons;
@@ -14,6 +15,7 @@ import ca.team2706.frc.robot.commands.lift.*;
 import ca.team2706.frc.robot.commands.ringlight.ToggleRingLight;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.config.XboxValue;
+import ca.team2706.frc.robot.input.ControllerSnapshot;
 import ca.team2706.frc.robot.input.ETrigger;
 import ca.team2706.frc.robot.input.FluidButton;
 import ca.team2706.frc.robot.input.FluidTrigger;
@@ -22,7 +24,6 @@ import ca.team2706.frc.robot.subsystems.DriveBase;
 import ca.team2706.frc.robot.subsystems.Lift;
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.command.InstantCommand;
 
 /**
  * This class is the glue that binds the controls on the physical operator interface to the commands
@@ -44,6 +45,20 @@ public class OI {
      */
     private static OI currentInstance;
 
+    /**
+     * Every direction of the POV, which moves the lift to a setpoint
+     */
+    private static final XboxValue[] POV_VALUES = {
+            XboxValue.XBOX_POV_DOWN,
+            XboxValue.XBOX_POV_DOWN_LEFT,
+            XboxValue.XBOX_POV_DOWN_RIGHT,
+            XboxValue.XBOX_POV_LEFT,
+            XboxValue.XBOX_POV_RIGHT,
+            XboxValue.XBOX_POV_UP,
+            XboxValue.XBOX_POV_UP_LEFT,
+            XboxValue.XBOX_POV_UP_RIGHT
+    };
+
     public final Command driveCommand;
     public final Command liftCommand;
 
@@ -107,17 +122,11 @@ public class OI {
         new FluidButton(controlStick, Config.LOWER_ARMS_BINDING)
                 .whenPressed(new LowerArmsSafely());
         new ETrigger() {
+            private final ControllerSnapshot snapshot = ControllerSnapshot.of(controlStick);
+
             @Override
             public boolean get() {
-                return FluidTrigger.areAnyActive(controlStick,
-                        XboxValue.XBOX_POV_DOWN,
-                        XboxValue.XBOX_POV_DOWN_LEFT,
-                        XboxValue.XBOX_POV_DOWN_RIGHT,
-                        XboxValue.XBOX_POV_LEFT,
-                        XboxValue.XBOX_POV_RIGHT,
-                        XboxValue.XBOX_POV_UP,
-                        XboxValue.XBOX_POV_UP_LEFT,
-                        XboxValue.XBOX_POV_UP_RIGHT);
+                return FluidTrigger.areAnyActive(snapshot, FluidButton.DEFAULT_MIN_AXIS_ACTIVATION, POV_VALUES);
             }
         }.runWhileActive(new MoveLiftToSetpointOnPOV(controlStick));
         new FluidButton(controlStick, Config.MANUAL_PISTON_BINDING)
@@ -143,7 +152,7 @@ public class OI {
 
         // The button to use to interrupt the robots current command
         new FluidButton(driverStick, Config.INTERRUPT_BUTTON)
-                .whenPressed(new InstantCommand(Robot::interruptCurrentCommand));
+                .whenPressed(new ProfiledInstantCommand(Robot::interruptCurrentCommand));
         new FluidButton(driverStick, Config.DRIVER_ASSIST_VISION_CARGO_AND_LOADING_INITIAL_OFFSET_BINDING)
                 .whenHeld(new DriverAssistVision(DriverAssistVisionTarget.CARGO_AND_LOADING, true));
         new FluidButton(driverStick, Config.DRIVER_ASSIST_VISION_ROCKET_INITIAL_OFFSET_BINDING)
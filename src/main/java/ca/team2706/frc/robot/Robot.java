@@ -1,9 +1,17 @@
 package ca.team2706.frc.robot;
 
 import ca.team2706.frc.robot.commands.auto.DriveOffHab;
+import ca.team2706.frc.robot.commands.auto.IStartingDriveMode;
 import ca.team2706.frc.robot.commands.auto.LevelOneCentreHatch;
+import ca.team2706.frc.robot.commands.drivebase.TrajectoryCache;
+import ca.team2706.frc.robot.commands.drivebase.TrajectoryPlanner;
+import ca.team2706.frc.robot.commands.drivebase.VisionTrajectoryGenerator;
 import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.input.ControllerSnapshot;
+import ca.team2706.frc.robot.logging.CommandProfiler;
 import ca.team2706.frc.robot.logging.Log;
+import ca.team2706.frc.robot.logging.LoopTimer;
+import ca.team2706.frc.robot.logging.TelemetryRegistry;
 import ca.team2706.frc.robot.subsystems.*;
 import edu.wpi.cscore.UsbCamera;
 import edu.wpi.first.cameraserver.CameraServer;
@@ -34,6 +42,11 @@ public class Robot extends TimedRobot {
     private Command[] commands;
     private Map<Integer, Integer> selectorOrientation;
 
+    /**
+     * The selector index whose drive mode was last prewarmed, or -1 to prewarm on the next disabled loop
+     */
+    private int prewarmedIndex = -1;
+
     private static Robot latestInstance;
 
     private final List<Consumer<RobotState>> stateListeners = new ArrayList<>();
@@ -51,8 +64,10 @@ public class Robot extends TimedRobot {
     @Override
     public void robotInit() {
         Log.init();
+        LoopTimer.init();
+        CommandProfiler.init();
 
-        setOnStateChange((state) -> Log.i("Robot State: " + state.name()));
+        setOnStateChange(Log::state);
         setOnConnectionChange((state) -> Log.i("Connection State: " + state.name()));
         setOnConnectionChange(Log::setupFMS);
         // Adding the match time to SmartDashboard for use by other processors.
@@ -62,10 +77,17 @@ public class Robot extends TimedRobot {
         isInitialized = true;
 
         Config.init();
+        TelemetryRegistry.init();
+
+        // Start loading the trajectories in the background while everything else initializes
+        TrajectoryCache.init();
+        TrajectoryPlanner.init();
+        VisionTrajectoryGenerator.init();
 
         // Initialize subsystems
         logInitialization(Bling.init(), Bling.getInstance());
         logInitialization(DriveBase.init(), DriveBase.getInstance());
+        Odometry.init();
 
         logInitialization(Intake.init(), Intake.getInstance());
         logInitialization(Pneumatics.init(), Pneumatics.getInstance());
@@ -76,6 +98,9 @@ public class Robot extends TimedRobot {
         // Make sure that this is last initialized subsystem
         logInitialization(SensorExtras.init(), SensorExtras.getInstance());
 
+        // The scheduler polls buttons in reverse, so this has to be added before OI's buttons to time them
+        LoopTimer.getInstance().addButtonMarker();
+
         // OI depends on subsystems, so initialize it after
         OI.init();
 
@@ -133,6 +158,11 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void robotPeriodic() {
+        LoopTimer.getInstance().startRobotPeriodic();
+
+        Config.dispatchChanges();
+        Log.publishQueue();
+
         if (!fmsConnected && DriverStation.getInstance().isFMSAttached() && !DriverStation.getInstance().getEventName().isEmpty()) {
             fmsConnected = true;
             onConnectionChange(ConnectionState.FMS_CONNECT);
@@ -150,6 +180,8 @@ public class Robot extends TimedRobot {
         if (fmsConnected) {
             SmartDashboard.putNumber(Config.MATCH_TIME_NT_KEY, getMatchTime());
         }
+
+        LoopTimer.getInstance().endLoop();
     }
 
     /**
@@ -199,10 +231,13 @@ public class Robot extends TimedRobot {
 
         // Iterate through each of the state-change listeners and call them.
         onStateChange(RobotState.DISABLED);
+
+        prewarmedIndex = -1;
     }
 
     /**
-     * Disables the warning that prints if the loop is overrun
+     * Disables the warning that prints if the loop is overrun, since printing it makes the overrun worse.
+     * Overruns are measured by the {@link LoopTimer} instead.
      */
     private void disableLoopOverrun() {
         try {
@@ -220,7 +255,30 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void disabledPeriodic() {
-        Scheduler.getInstance().run();
+        LoopTimer.getInstance().startLoop();
+        runScheduler();
+
+        prewarmAutonomous();
+    }
+
+    /**
+     * Prewarms the drive mode that the selected autonomous command starts in whenever the selector changes,
+     * so that the command doesn't have to wait for the talons to be configured when autonomous starts
+     */
+    private void prewarmAutonomous() {
+        if (!canRunAuto) {
+            return;
+        }
+
+        final int index = DriveBase.getInstance().getAnalogSelectorIndex();
+        if (index != prewarmedIndex) {
+            prewarmedIndex = index;
+
+            final Command command = getSelectedCommand(index);
+            if (command instanceof IStartingDriveMode) {
+                DriveBase.getInstance().prewarmDriveMode(((IStartingDriveMode) command).getStartingDriveMode());
+            }
+        }
     }
 
     /**
@@ -250,14 +308,7 @@ public class Robot extends TimedRobot {
 
         DriveBase.getInstance().resetAbsoluteGyro(selectorOrientation.getOrDefault(index, (int) (double) Config.ROBOT_START_ANGLE.value()));
 
-        // Check to see if the command exists in the desired index
-        if (index < commands.length && commands[index] != null) {
-            currentCommand = commands[index];
-        } else if (commands.length > 0 && commands[0] != null) {
-            currentCommand = commands[0];
-        } else {
-            currentCommand = null;
-        }
+        currentCommand = getSelectedCommand(index);
 
         if (currentCommand != null) {
             currentCommand.start();
@@ -267,12 +318,30 @@ public class Robot extends TimedRobot {
         }
     }
 
+    /**
+     * Gets the autonomous command at a selector index
+     *
+     * @param index The selector index
+     * @return The command at the index, or command 0 if the index has no command, or null if neither has a command
+     */
+    private Command getSelectedCommand(int index) {
+        // Check to see if the command exists in the desired index
+        if (index < commands.length && commands[index] != null) {
+            return commands[index];
+        } else if (commands.length > 0 && commands[0] != null) {
+            return commands[0];
+        } else {
+            return null;
+        }
+    }
+
     /**
      * Called periodically (every cycle) while the robot is in autonomous mode.
      */
     @Override
     public void autonomousPeriodic() {
-        Scheduler.getInstance().run();
+        LoopTimer.getInstance().startLoop();
+        runScheduler();
     }
 
     /**
@@ -289,7 +358,8 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void teleopPeriodic() {
-        Scheduler.getInstance().run();
+        LoopTimer.getInstance().startLoop();
+        runScheduler();
     }
 
     /**
@@ -309,7 +379,18 @@ public class Robot extends TimedRobot {
      */
     @Override
     public void testPeriodic() {
+        LoopTimer.getInstance().startLoop();
+    }
 
+    /**
+     * Runs the scheduler and times it
+     */
+    private void runScheduler() {
+        LoopTimer.getInstance().startScheduler();
+        ControllerSnapshot.refreshAll();
+        Scheduler.getInstance().run();
+        ControllerSnapshot.invalidateAll();
+        LoopTimer.getInstance().endScheduler();
     }
 
     /**
@@ -6,6 +6,8 @@ import com.ctre.phoenix.sensors.PigeonIMU;
 import edu.wpi.first.wpilibj.SendableBase;
 import edu.wpi.first.wpilibj.smartdashboard.SendableBuilder;
 
+import java.util.function.DoubleSupplier;
+
 /**
  * Utility class for creating custom sendables
  */
@@ -21,6 +23,11 @@ public class Sendables {
      */
     public static final String TALON_NAME = "Encoder Ticks";
 
+    /**
+     * Reused for reading the gyro so that each read doesn't allocate
+     */
+    private static final ThreadLocal<double[]> YAW_PITCH_ROLL = ThreadLocal.withInitial(() -> new double[3]);
+
     private Sendables() {
         throw new IllegalStateException("Utility method cannot be initialized");
     }
@@ -32,10 +39,21 @@ public class Sendables {
      * @return The sendable with a get and set of the gyro heading
      */
     public static SendableBase newPigeonSendable(PigeonIMU pigeonIMU) {
+        return newPigeonSendable(pigeonIMU, () -> getPigeonYaw(pigeonIMU));
+    }
+
+    /**
+     * Creates a sendable to get and set the gyro heading
+     *
+     * @param pigeonIMU The gyro to set the heading of
+     * @param yaw       Gets the gyro heading, such as from a sensor snapshot
+     * @return The sendable with a get and set of the gyro heading
+     */
+    public static SendableBase newPigeonSendable(PigeonIMU pigeonIMU, DoubleSupplier yaw) {
         return new SendableBase() {
             @Override
             public void initSendable(SendableBuilder builder) {
-                builder.addDoubleProperty(PIGEON_NAME, () -> getPigeonYaw(pigeonIMU), pigeonIMU::setYaw);
+                builder.addDoubleProperty(PIGEON_NAME, yaw, pigeonIMU::setYaw);
             }
         };
     }
@@ -47,7 +65,7 @@ public class Sendables {
      * @return The current yaw
      */
     public static double getPigeonYaw(PigeonIMU pigeonIMU) {
-        double[] yawPitchRoll = new double[3];
+        double[] yawPitchRoll = YAW_PITCH_ROLL.get();
         pigeonIMU.getYawPitchRoll(yawPitchRoll);
         return yawPitchRoll[0];
     }
@@ -59,10 +77,21 @@ public class Sendables {
      * @return The sendable with a get and set of the encoder ticks
      */
     public static SendableBase newTalonEncoderSendable(TalonSRX talon) {
+        return newTalonEncoderSendable(talon, talon.getSensorCollection()::getQuadraturePosition);
+    }
+
+    /**
+     * Creates a sendable to get and set the encoder ticks
+     *
+     * @param talon    The talon with an encoder attached to it
+     * @param position Gets the encoder ticks, such as from a sensor snapshot
+     * @return The sendable with a get and set of the encoder ticks
+     */
+    public static SendableBase newTalonEncoderSendable(TalonSRX talon, DoubleSupplier position) {
         return new SendableBase() {
             @Override
             public void initSendable(SendableBuilder builder) {
-                builder.addDoubleProperty(TALON_NAME, talon.getSensorCollection()::getQuadraturePosition,
+                builder.addDoubleProperty(TALON_NAME, position,
                         (position) ->
                                 talon.getSensorCollection().setQuadraturePosition((int) position, Config.CAN_SHORT));
             }
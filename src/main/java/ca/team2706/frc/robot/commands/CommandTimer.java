@@ -0,0 +1,63 @@
+package ca.team2706.frc.robot.commands;
+
+import ca.team2706.frc.robot.logging.CommandProfiler;
+
+/**
+ * Records how long one profiled command's hooks take in the {@link CommandProfiler}
+ * <p>
+ * Each profiled base class has its own timer, since they can't share a superclass with each other.
+ */
+final class CommandTimer {
+
+    private final CommandProfiler.Stats stats;
+
+    /**
+     * The time that execute started at, or 0 if isFinished hasn't been called after it
+     */
+    private long executeStart;
+
+    /**
+     * Creates a timer for a command
+     *
+     * @param type The class of the command, which its timings are grouped by
+     */
+    CommandTimer(Class<?> type) {
+        stats = CommandProfiler.getInstance().getStats(type);
+    }
+
+    /**
+     * Records that the command finished initializing
+     *
+     * @param start The time that initialize started at, from {@link System#nanoTime()}
+     */
+    void initialized(long start) {
+        stats.getInitialize().record(System.nanoTime() - start);
+    }
+
+    /**
+     * Records that the command started executing, which is timed until isFinished returns
+     */
+    void executing() {
+        executeStart = System.nanoTime();
+    }
+
+    /**
+     * Records that the command checked whether it is finished, which ends the execute that was timed
+     */
+    void finishChecked() {
+        if (executeStart != 0) {
+            stats.getExecute().record(System.nanoTime() - executeStart);
+            executeStart = 0;
+        }
+    }
+
+    /**
+     * Records that the command finished ending or being interrupted
+     *
+     * @param start The time that end or interrupted started at, from {@link System#nanoTime()}
+     */
+    void ended(long start) {
+        executeStart = 0;
+        stats.getEnd().record(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,156 @@
+package ca.team2706.frc.robot.commands;
+
+import ca.team2706.frc.robot.logging.CommandProfiler;
+import edu.wpi.first.wpilibj.command.CommandGroup;
+import edu.wpi.first.wpilibj.command.InstantCommand;
+import edu.wpi.first.wpilibj.command.TimedCommand;
+import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.command.Subsystem;
+
+/**
+ * A command that times how long it takes to initialize, execute and end with the {@link CommandProfiler}
+ * <p>
+ * The scheduler and command groups call {@link #initialize()}, {@link #execute()}, {@link #isFinished()},
+ * {@link #end()} and {@link #interrupted()}, which time the matching hook that subclasses implement instead.
+ * Execute times include {@link #isDone()}, since it's called right after {@link #onExecute()}.
+ * <p>
+ * Commands that would extend {@link TimedCommand}, {@link InstantCommand} or {@link CommandGroup} extend
+ * {@link ProfiledTimedCommand}, {@link ProfiledInstantCommand} or {@link ProfiledCommandGroup} instead, which have the
+ * same hooks.
+ */
+public abstract class ProfiledCommand extends Command {
+
+    private final CommandTimer timer = new CommandTimer(getClass());
+
+    /**
+     * @see Command#Command()
+     */
+    public ProfiledCommand() {
+        super();
+    }
+
+    /**
+     * @see Command#Command(String)
+     */
+    public ProfiledCommand(String name) {
+        super(name);
+    }
+
+    /**
+     * @see Command#Command(double)
+     */
+    public ProfiledCommand(double timeout) {
+        super(timeout);
+    }
+
+    /**
+     * @see Command#Command(Subsystem)
+     */
+    public ProfiledCommand(Subsystem subsystem) {
+        super(subsystem);
+    }
+
+    /**
+     * @see Command#Command(String, Subsystem)
+     */
+    public ProfiledCommand(String name, Subsystem subsystem) {
+        super(name, subsystem);
+    }
+
+    /**
+     * @see Command#Command(double, Subsystem)
+     */
+    public ProfiledCommand(double timeout, Subsystem subsystem) {
+        super(timeout, subsystem);
+    }
+
+    /**
+     * @see Command#Command(String, double)
+     */
+    public ProfiledCommand(String name, double timeout) {
+        super(name, timeout);
+    }
+
+    /**
+     * @see Command#Command(String, double, Subsystem)
+     */
+    public ProfiledCommand(String name, double timeout, Subsystem subsystem) {
+        super(name, timeout, subsystem);
+    }
+
+    @Override
+    public final void initialize() {
+        final long start = System.nanoTime();
+        onInitialize();
+        timer.initialized(start);
+    }
+
+    @Override
+    public final void execute() {
+        timer.executing();
+        onExecute();
+    }
+
+    @Override
+    public final boolean isFinished() {
+        final boolean done = isDone();
+        timer.finishChecked();
+        return done;
+    }
+
+    @Override
+    public final void end() {
+        final long start = System.nanoTime();
+        onEnd();
+        timer.ended(start);
+    }
+
+    @Override
+    public final void interrupted() {
+        final long start = System.nanoTime();
+        onInterrupted();
+        timer.ended(start);
+    }
+
+    /**
+     * The initial subroutine of a command, called just before the command runs the first time
+     *
+     * @see Command#initialize()
+     */
+    protected void onInitialize() {
+    }
+
+    /**
+     * The execute method is called repeatedly while the command is running
+     *
+     * @see Command#execute()
+     */
+    protected void onExecute() {
+    }
+
+    /**
+     * Returns whether this command is finished, called after each execute
+     *
+     * @return Whether the command is finished
+     * @see Command#isFinished()
+     */
+    protected abstract boolean isDone();
+
+    /**
+     * Called when the command ended peacefully
+     *
+     * @see Command#end()
+     */
+    protected void onEnd() {
+    }
+
+    /**
+     * Called when the command ends because somebody called cancel or another command shared the same requirements,
+     * which ends the command by default
+     *
+     * @see Command#interrupted()
+     */
+    protected void onInterrupted() {
+        onEnd();
+    }
+}
@@ -0,0 +1,100 @@
+package ca.team2706.frc.robot.commands;
+
+import ca.team2706.frc.robot.logging.CommandProfiler;
+import edu.wpi.first.wpilibj.command.CommandGroup;
+
+/**
+ * A command group that times its own hooks with the {@link CommandProfiler}
+ * <p>
+ * The commands in the group aren't included in its times, they are timed on their own if they are profiled.
+ *
+ * @see ProfiledCommand
+ */
+public class ProfiledCommandGroup extends CommandGroup {
+
+    private final CommandTimer timer = new CommandTimer(getClass());
+
+    /**
+     * @see CommandGroup#CommandGroup()
+     */
+    public ProfiledCommandGroup() {
+        super();
+    }
+
+    /**
+     * @see CommandGroup#CommandGroup(String)
+     */
+    public ProfiledCommandGroup(String name) {
+        super(name);
+    }
+
+    @Override
+    public final void initialize() {
+        final long start = System.nanoTime();
+        onInitialize();
+        timer.initialized(start);
+    }
+
+    @Override
+    public final void execute() {
+        timer.executing();
+        onExecute();
+    }
+
+    @Override
+    public final boolean isFinished() {
+        final boolean done = isDone();
+        timer.finishChecked();
+        return done;
+    }
+
+    @Override
+    public final void end() {
+        final long start = System.nanoTime();
+        onEnd();
+        timer.ended(start);
+    }
+
+    @Override
+    public final void interrupted() {
+        final long start = System.nanoTime();
+        onInterrupted();
+        timer.ended(start);
+    }
+
+    /**
+     * @see ProfiledCommand#onInitialize()
+     */
+    protected void onInitialize() {
+    }
+
+    /**
+     * @see ProfiledCommand#onExecute()
+     */
+    protected void onExecute() {
+    }
+
+    /**
+     * Returns whether this command is finished, which is when every command in the group has finished unless it is
+     * overridden
+     *
+     * @return Whether the command is finished
+     * @see CommandGroup#isFinished()
+     */
+    protected boolean isDone() {
+        return super.isFinished();
+    }
+
+    /**
+     * @see ProfiledCommand#onEnd()
+     */
+    protected void onEnd() {
+    }
+
+    /**
+     * @see ProfiledCommand#onInterrupted()
+     */
+    protected void onInterrupted() {
+        onEnd();
+    }
+}
@@ -0,0 +1,133 @@
+package ca.team2706.frc.robot.commands;
+
+import ca.team2706.frc.robot.logging.CommandProfiler;
+import edu.wpi.first.wpilibj.command.InstantCommand;
+import edu.wpi.first.wpilibj.command.Subsystem;
+
+/**
+ * An instant command that times how long it takes to run with the {@link CommandProfiler}
+ * <p>
+ * The function that the command runs is kept here instead of being given to {@link InstantCommand}, which runs it
+ * before the hooks that can be timed.
+ *
+ * @see ProfiledCommand
+ */
+public class ProfiledInstantCommand extends InstantCommand {
+
+    private final CommandTimer timer = new CommandTimer(getClass());
+
+    private final Runnable func;
+
+    /**
+     * @see InstantCommand#InstantCommand()
+     */
+    public ProfiledInstantCommand() {
+        this((Runnable) null);
+    }
+
+    /**
+     * @see InstantCommand#InstantCommand(String)
+     */
+    public ProfiledInstantCommand(String name) {
+        super(name);
+        func = null;
+    }
+
+    /**
+     * @see InstantCommand#InstantCommand(Subsystem)
+     */
+    public ProfiledInstantCommand(Subsystem subsystem) {
+        super(subsystem);
+        func = null;
+    }
+
+    /**
+     * @see InstantCommand#InstantCommand(Runnable)
+     */
+    public ProfiledInstantCommand(Runnable func) {
+        super();
+        this.func = func;
+    }
+
+    /**
+     * @see InstantCommand#InstantCommand(Subsystem, Runnable)
+     */
+    public ProfiledInstantCommand(Subsystem subsystem, Runnable func) {
+        super(subsystem);
+        this.func = func;
+    }
+
+    @Override
+    public final void initialize() {
+        final long start = System.nanoTime();
+        onInitialize();
+        timer.initialized(start);
+    }
+
+    @Override
+    public final void execute() {
+        timer.executing();
+        onExecute();
+    }
+
+    @Override
+    public final boolean isFinished() {
+        final boolean done = isDone();
+        timer.finishChecked();
+        return done;
+    }
+
+    @Override
+    public final void end() {
+        final long start = System.nanoTime();
+        onEnd();
+        timer.ended(start);
+    }
+
+    @Override
+    public final void interrupted() {
+        final long start = System.nanoTime();
+        onInterrupted();
+        timer.ended(start);
+    }
+
+    /**
+     * Runs the function that the command was created with, if it has one
+     *
+     * @see ProfiledCommand#onInitialize()
+     */
+    protected void onInitialize() {
+        if (func != null) {
+            func.run();
+        }
+    }
+
+    /**
+     * @see ProfiledCommand#onExecute()
+     */
+    protected void onExecute() {
+    }
+
+    /**
+     * Returns whether this command is finished, which is straight away unless it is overridden
+     *
+     * @return Whether the command is finished
+     * @see InstantCommand#isFinished()
+     */
+    protected boolean isDone() {
+        return super.isFinished();
+    }
+
+    /**
+     * @see ProfiledCommand#onEnd()
+     */
+    protected void onEnd() {
+    }
+
+    /**
+     * @see ProfiledCommand#onInterrupted()
+     */
+    protected void onInterrupted() {
+        onEnd();
+    }
+}
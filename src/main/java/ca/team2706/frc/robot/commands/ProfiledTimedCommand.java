@@ -0,0 +1,112 @@
+package ca.team2706.frc.robot.commands;
+
+import ca.team2706.frc.robot.logging.CommandProfiler;
+import edu.wpi.first.wpilibj.command.Subsystem;
+import edu.wpi.first.wpilibj.command.TimedCommand;
+
+/**
+ * A timed command that times how long it takes to initialize, execute and end with the {@link CommandProfiler}
+ *
+ * @see ProfiledCommand
+ */
+public class ProfiledTimedCommand extends TimedCommand {
+
+    private final CommandTimer timer = new CommandTimer(getClass());
+
+    /**
+     * @see TimedCommand#TimedCommand(String, double)
+     */
+    public ProfiledTimedCommand(String name, double timeout) {
+        super(name, timeout);
+    }
+
+    /**
+     * @see TimedCommand#TimedCommand(double)
+     */
+    public ProfiledTimedCommand(double timeout) {
+        super(timeout);
+    }
+
+    /**
+     * @see TimedCommand#TimedCommand(String, double, Subsystem)
+     */
+    public ProfiledTimedCommand(String name, double timeout, Subsystem subsystem) {
+        super(name, timeout, subsystem);
+    }
+
+    /**
+     * @see TimedCommand#TimedCommand(double, Subsystem)
+     */
+    public ProfiledTimedCommand(double timeout, Subsystem subsystem) {
+        super(timeout, subsystem);
+    }
+
+    @Override
+    public final void initialize() {
+        final long start = System.nanoTime();
+        onInitialize();
+        timer.initialized(start);
+    }
+
+    @Override
+    public final void execute() {
+        timer.executing();
+        onExecute();
+    }
+
+    @Override
+    public final boolean isFinished() {
+        final boolean done = isDone();
+        timer.finishChecked();
+        return done;
+    }
+
+    @Override
+    public final void end() {
+        final long start = System.nanoTime();
+        onEnd();
+        timer.ended(start);
+    }
+
+    @Override
+    public final void interrupted() {
+        final long start = System.nanoTime();
+        onInterrupted();
+        timer.ended(start);
+    }
+
+    /**
+     * @see ProfiledCommand#onInitialize()
+     */
+    protected void onInitialize() {
+    }
+
+    /**
+     * @see ProfiledCommand#onExecute()
+     */
+    protected void onExecute() {
+    }
+
+    /**
+     * Returns whether this command is finished, which is when it times out unless it is overridden
+     *
+     * @return Whether the command is finished
+     * @see TimedCommand#isFinished()
+     */
+    protected boolean isDone() {
+        return super.isFinished();
+    }
+
+    /**
+     * @see ProfiledCommand#onEnd()
+     */
+    protected void onEnd() {
+    }
+
+    /**
+     * @see ProfiledCommand#onInterrupted()
+     */
+    protected void onInterrupted() {
+        onEnd();
+    }
+}
@@ -1,11 +1,11 @@
 package ca.team2706.frc.robot.commands.auto;
 
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 
 /**
  * Performs any logic necessary to get the robot to within placing distance for a hatch
  */
-public class ApproachHatchPlacement extends CommandGroup {
+public class ApproachHatchPlacement extends ProfiledCommandGroup {
 
     /**
      * Creates command to approach a hatch placement
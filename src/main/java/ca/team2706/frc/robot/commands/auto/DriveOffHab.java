@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.auto;
 
 import ca.team2706.frc.robot.commands.drivebase.DriveForwardWithTime;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 
 /**
  * Drives off the hab platform
  */
-public class DriveOffHab extends CommandGroup {
+public class DriveOffHab extends ProfiledCommandGroup {
 
     /**
      * Creates command to drive off the hab platform
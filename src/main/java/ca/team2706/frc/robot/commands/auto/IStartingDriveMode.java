@@ -0,0 +1,16 @@
+package ca.team2706.frc.robot.commands.auto;
+
+import ca.team2706.frc.robot.subsystems.DriveBase;
+
+/**
+ * An autonomous command that starts by driving in a closed loop drive mode, which can be prewarmed while disabled
+ */
+public interface IStartingDriveMode {
+
+    /**
+     * Gets the drive mode that the command starts in
+     *
+     * @return The drive mode
+     */
+    DriveBase.DriveMode getStartingDriveMode();
+}
@@ -4,12 +4,13 @@ import ca.team2706.frc.robot.OI;
 import ca.team2706.frc.robot.commands.drivebase.MotionMagic;
 import ca.team2706.frc.robot.commands.drivebase.StraightDriveGyro;
 import ca.team2706.frc.robot.config.XboxValue;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.subsystems.DriveBase;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 
 /**
  * Drives off level one and places a hatch
  */
-public class LevelOneCentreHatch extends CommandGroup {
+public class LevelOneCentreHatch extends ProfiledCommandGroup implements IStartingDriveMode {
 
     /**
      * Creates command to drive off level one hab and place hatch on cargo ship
@@ -20,4 +21,9 @@ public class LevelOneCentreHatch extends CommandGroup {
         addSequential(new PlaceHatchAuto());
         addSequential(new StraightDriveGyro(1, -2, 10));
     }
+
+    @Override
+    public DriveBase.DriveMode getStartingDriveMode() {
+        return DriveBase.DriveMode.MotionMagicWithGyro;
+    }
 }
@@ -3,12 +3,12 @@ package ca.team2706.frc.robot.commands.auto;
 import ca.team2706.frc.robot.commands.intake.hatch.AfterEjectHatch;
 import ca.team2706.frc.robot.commands.intake.hatch.EjectHatch;
 import ca.team2706.frc.robot.commands.lift.LiftPosition;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 
 /**
  * Places a hatch
  */
-public class PlaceHatchAuto extends CommandGroup {
+public class PlaceHatchAuto extends ProfiledCommandGroup {
 
     /**
      * Creates command to place a hatch
@@ -1,11 +1,11 @@
 package ca.team2706.frc.robot.commands.bling;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.commands.bling.patterns.Blank;
 import ca.team2706.frc.robot.commands.bling.patterns.BlingPattern;
 import ca.team2706.frc.robot.subsystems.Bling;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Timer;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -14,7 +14,7 @@ import java.util.Optional;
 /**
  * Command to control the bling on the robot.
  */
-public class BlingController extends Command {
+public class BlingController extends ProfiledCommand {
 
 
     private BlingPattern currentPattern = null;
@@ -75,7 +75,7 @@ public class BlingController extends Command {
     }
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         startTime = Timer.getFPGATimestamp();
         /* If it's already teleop when we start, just subtract the autonomous time
         to make it seem as though we're in teleop. */
@@ -103,12 +103,12 @@ public class BlingController extends Command {
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         // Get the current period
         final Period currentPeriod = getCurrentPeriod();
 
@@ -141,7 +141,7 @@ public class BlingController extends Command {
      * Called when the command is ended
      */
     @Override
-    public void end() {
+    public void onEnd() {
         // Just clear the strip at the end.
         Bling.getInstance().clearStrip();
         if (currentPattern != null) currentPattern.end();
@@ -4,14 +4,14 @@ import ca.team2706.frc.robot.commands.drivebase.ArcadeDriveWithTime;
 import ca.team2706.frc.robot.commands.drivebase.DriveForwardWithTime;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.pneumatics.PneumaticState;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 import edu.wpi.first.wpilibj.command.WaitCommand;
 
 /**
  * Command for automatically climbing to the second level hab platform.
  * Robot should start with bumpers against the platform while lined up.
  */
-public class AutoClimb extends CommandGroup {
+public class AutoClimb extends ProfiledCommandGroup {
 
     /**
      * Constructs a new automatic command to climb to the habitation platform second level.
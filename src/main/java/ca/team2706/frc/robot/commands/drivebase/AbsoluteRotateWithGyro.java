@@ -39,15 +39,15 @@ public class AbsoluteRotateWithGyro extends RotateWithGyro {
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    public void onInitialize() {
+        super.onInitialize();
         DriveBase.getInstance().setRotateMode();
 
         gyroAngle = deltaAngle(getWrappedAngle(DriveBase.getInstance().getAbsoluteHeading()), mirrored ? 360 - angleSupplier.get() : angleSupplier.get());
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         DriveBase.getInstance().setRotation(speedSupplier.get(), gyroAngle);
     }
 
@@ -1,14 +1,14 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.function.Supplier;
 
 /**
  * Drives the robot using values for driving forward and rotation
  */
-public abstract class ArcadeDrive extends Command {
+public abstract class ArcadeDrive extends ProfiledCommand {
 
     private final Supplier<Double> forwardVal;
     private final Supplier<Double> rotateVal;
@@ -36,7 +36,7 @@ public abstract class ArcadeDrive extends Command {
     }
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         // Prepare for driving by human
         DriveBase.getInstance().setOpenLoopVoltageMode();
 
@@ -44,16 +44,16 @@ public abstract class ArcadeDrive extends Command {
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         // Pass values to drive base to make the robot move
         DriveBase.getInstance().arcadeDrive(forwardVal.get(), rotateVal.get(), squareInputs);
     }
 
     @Override
-    public abstract boolean isFinished();
+    public abstract boolean isDone();
 
     @Override
-    public void end() {
+    public void onEnd() {
         // Go back to disabled mode
         DriveBase.getInstance().setDisabledMode();
 
@@ -1,6 +1,7 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.input.ControllerSnapshot;
 import edu.wpi.first.wpilibj.Joystick;
 
 /**
@@ -20,6 +21,21 @@ public class ArcadeDriveWithJoystick extends ArcadeDrive {
      */
     public ArcadeDriveWithJoystick(Joystick joy1, int axis1, boolean invert1,
                                    Joystick joy2, int axis2, boolean invert2) {
+        this(ControllerSnapshot.of(joy1), axis1, invert1, ControllerSnapshot.of(joy2), axis2, invert2);
+    }
+
+    /**
+     * Drives using axes that are read from the snapshots of the joysticks
+     *
+     * @param joy1    The snapshot of the joystick that the first axis is on
+     * @param axis1   The first axis
+     * @param invert1 Whether to negate the first joystick input
+     * @param joy2    The snapshot of the joystick that the second axis is on
+     * @param axis2   The second axis
+     * @param invert2 Whether to negate the second joystick input
+     */
+    private ArcadeDriveWithJoystick(ControllerSnapshot joy1, int axis1, boolean invert1,
+                                    ControllerSnapshot joy2, int axis2, boolean invert2) {
         super(() -> sign(joy1.getRawAxis(axis1), invert1), () -> sign(joy2.getRawAxis(axis2), invert2),
                 Config.TELEOP_SQUARE_JOYSTICK_INPUTS, Config.TELEOP_BRAKE);
     }
@@ -38,7 +54,7 @@ public class ArcadeDriveWithJoystick extends ArcadeDrive {
     }
 
     @Override
-    public boolean isFinished() {
+    public boolean isDone() {
         // The command should only finish when cancelled from somewhere else
         return false;
     }
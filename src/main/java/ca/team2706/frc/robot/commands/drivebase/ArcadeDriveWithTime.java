@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledTimedCommand;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.TimedCommand;
 
 /**
  * Drives in a straight line for an amount of time
  */
-public class ArcadeDriveWithTime extends TimedCommand {
+public class ArcadeDriveWithTime extends ProfiledTimedCommand {
 
     final double forward;
     private final double rotationSpeed;
@@ -25,18 +25,18 @@ public class ArcadeDriveWithTime extends TimedCommand {
     }
 
     @Override
-    public void initialize() {
+    protected void onInitialize() {
         DriveBase.getInstance().setOpenLoopVoltageMode();
         DriveBase.getInstance().setBrakeMode(true);
     }
 
     @Override
-    public void execute() {
+    protected void onExecute() {
         DriveBase.getInstance().arcadeDrive(forward, rotationSpeed, false);
     }
 
     @Override
-    public void end() {
+    protected void onEnd() {
         DriveBase.getInstance().setDisabledMode();
     }
 }
@@ -1,8 +1,8 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.function.Supplier;
 
@@ -10,7 +10,7 @@ import java.util.function.Supplier;
  * Abstract class to extend when using curve drive, allows for basic Command architecture
  * Allows the WPI Curvature Drive to be used with passed values
  */
-public abstract class CurvatureDrive extends Command {
+public abstract class CurvatureDrive extends ProfiledCommand {
     private final Supplier<Double> forwardVal;
     private final Supplier<Double> curveSpeed;
     private final boolean initBrake;
@@ -39,14 +39,14 @@ public abstract class CurvatureDrive extends Command {
     }
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         // Prepare for driving by human
         DriveBase.getInstance().setOpenLoopVoltageMode();
         DriveBase.getInstance().setBrakeMode(initBrake);
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         double forward = forwardVal.get();
         double curve = curveSpeed.get();
 
@@ -74,10 +74,10 @@ public abstract class CurvatureDrive extends Command {
     }
 
     @Override
-    public abstract boolean isFinished();
+    public abstract boolean isDone();
 
     @Override
-    public void end() {
+    public void onEnd() {
         // Go back to disabled mode
         DriveBase.getInstance().setDisabledMode();
 
@@ -1,6 +1,7 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.input.ControllerSnapshot;
 import edu.wpi.first.wpilibj.Joystick;
 
 /**
@@ -21,8 +22,8 @@ public class CurvatureDriveWithJoystick extends CurvatureDrive {
     public CurvatureDriveWithJoystick(Joystick joy1, int axis1, boolean invert1,
                                       Joystick joy2, int axis2, boolean invert2,
                                       Joystick joy3, int button) {
-        super(() -> sign(joy1.getRawAxis(axis1), invert1), () -> sign(joy2.getRawAxis(axis2), invert2),
-                Config.TELEOP_BRAKE, () -> joy3.getRawButton(button), Config.TELEOP_SQUARE_JOYSTICK_INPUTS);
+        this(ControllerSnapshot.of(joy1), axis1, invert1, ControllerSnapshot.of(joy2), axis2, invert2,
+                ControllerSnapshot.of(joy3), button, Config.TELEOP_SQUARE_JOYSTICK_INPUTS);
     }
 
     /**
@@ -39,6 +40,26 @@ public class CurvatureDriveWithJoystick extends CurvatureDrive {
     public CurvatureDriveWithJoystick(Joystick joy1, int axis1, boolean invert1,
                                       Joystick joy2, int axis2, boolean invert2,
                                       Joystick joy3, int button, boolean squareInputs) {
+        this(ControllerSnapshot.of(joy1), axis1, invert1, ControllerSnapshot.of(joy2), axis2, invert2,
+                ControllerSnapshot.of(joy3), button, squareInputs);
+    }
+
+    /**
+     * Drives using axes and a button that are read from the snapshots of the joysticks
+     *
+     * @param joy1         The snapshot of the joystick that the first axis is on
+     * @param axis1        The first axis
+     * @param invert1      Whether to negate the first joystick input
+     * @param joy2         The snapshot of the joystick that the second axis is on
+     * @param axis2        The second axis
+     * @param invert2      Whether to negate the second joystick input
+     * @param joy3         The snapshot of the joystick that the quick turn button is on
+     * @param button       The quick turn button
+     * @param squareInputs Whether inputs should be squared
+     */
+    private CurvatureDriveWithJoystick(ControllerSnapshot joy1, int axis1, boolean invert1,
+                                       ControllerSnapshot joy2, int axis2, boolean invert2,
+                                       ControllerSnapshot joy3, int button, boolean squareInputs) {
         super(() -> sign(joy1.getRawAxis(axis1), invert1), () -> sign(joy2.getRawAxis(axis2), invert2),
                 Config.TELEOP_BRAKE, () -> joy3.getRawButton(button), squareInputs);
     }
@@ -57,7 +78,7 @@ public class CurvatureDriveWithJoystick extends CurvatureDrive {
     }
 
     @Override
-    public boolean isFinished() {
+    public boolean isDone() {
         // The command should only finish when cancelled from somewhere else
         return false;
     }
@@ -1,10 +1,14 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
 import jaci.pathfinder.Pathfinder;
 import jaci.pathfinder.Trajectory;
 import jaci.pathfinder.Waypoint;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
 /**
@@ -31,24 +35,44 @@ public class CurveDrive2 extends FollowTrajectory {
      * @param waypoints     The array of waypoints
      */
     public CurveDrive2(Supplier<Double> speed, Supplier<Integer> minDoneCycles, Waypoint[] waypoints) {
-        super(speed, minDoneCycles, generateTrajectory(waypoints));
+        super(speed, minDoneCycles, planTrajectory(waypoints));
     }
 
     /**
-     * Generates a trajectory from the waypoints for the robot to follow
+     * Starts generating the trajectory on the trajectory planner so that it is ready by the time the command runs
      *
      * @param waypoints The waypoints in the path for the robot to follow
-     * @return A trajectory for the robot to follow
+     * @return The supplier to the trajectory, which waits for it to be generated
      */
-    private static Trajectory generateTrajectory(Waypoint[] waypoints) {
-
-        Waypoint[] newWaypoints = new Waypoint[waypoints.length];
+    private static Supplier<TalonTrajectory> planTrajectory(Waypoint[] waypoints) {
+        // Copy the waypoints before handing them to the planner so that the caller's waypoints aren't changed
+        final Waypoint[] newWaypoints = new Waypoint[waypoints.length];
 
         for (int i = 0; i < waypoints.length; i++) {
-            newWaypoints[i] = waypoints[i];
-            newWaypoints[i].y *= -1;
+            newWaypoints[i] = new Waypoint(waypoints[i].x, -waypoints[i].y, waypoints[i].angle);
         }
 
+        Future<TalonTrajectory> trajectory;
+
+        try {
+            trajectory = TrajectoryPlanner.getInstance().submit("CurveDrive2",
+                    () -> toTalonTrajectory(generateTrajectory(newWaypoints)));
+        } catch (RejectedExecutionException e) {
+            // Planner is busy, so generate it now rather than failing the command
+            trajectory = CompletableFuture.completedFuture(toTalonTrajectory(generateTrajectory(newWaypoints)));
+        }
+
+        final Future<TalonTrajectory> plannedTrajectory = trajectory;
+        return () -> TrajectoryPlanner.await(plannedTrajectory);
+    }
+
+    /**
+     * Generates a trajectory from the waypoints for the robot to follow
+     *
+     * @param waypoints The waypoints in the path for the robot to follow, with y flipped to the trajectory's side
+     * @return A trajectory for the robot to follow
+     */
+    private static Trajectory generateTrajectory(Waypoint[] waypoints) {
         // Create the Trajectory Configuration
         Trajectory.Config config = new Trajectory.Config(Trajectory.FitMethod.HERMITE_CUBIC, Trajectory.Config.SAMPLES_HIGH, 0.01, Config.PATHFINDING_VELOCITY.value(), Config.PATHFINDING_ACCELERATION.value(), Config.PATHFINDING_JERK.value());
 
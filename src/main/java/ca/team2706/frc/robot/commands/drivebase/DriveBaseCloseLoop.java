@@ -1,14 +1,14 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.function.Supplier;
 
 /**
  * Class for easy use of DriveBase commands
  */
-public abstract class DriveBaseCloseLoop extends Command {
+public abstract class DriveBaseCloseLoop extends ProfiledCommand {
 
     /**
      * The acceptable range in feet for the error between the target and actual position
@@ -48,14 +48,14 @@ public abstract class DriveBaseCloseLoop extends Command {
     }
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         DriveBase.getInstance().setBrakeMode(true);
 
         doneCycles = 0;
     }
 
     @Override
-    public boolean isFinished() {
+    public boolean isDone() {
         if (Math.abs(DriveBase.getInstance().getRightError()) <= targetRange) {
             doneCycles++;
         } else {
@@ -66,7 +66,7 @@ public abstract class DriveBaseCloseLoop extends Command {
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         DriveBase.getInstance().setDisabledMode();
     }
 }
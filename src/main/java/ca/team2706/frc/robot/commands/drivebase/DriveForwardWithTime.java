@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledTimedCommand;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.TimedCommand;
 
 /**
  * Drives in a straight line for an amount of time
  */
-public class DriveForwardWithTime extends TimedCommand {
+public class DriveForwardWithTime extends ProfiledTimedCommand {
 
     final double speed;
 
@@ -22,18 +22,18 @@ public class DriveForwardWithTime extends TimedCommand {
     }
 
     @Override
-    public void initialize() {
+    protected void onInitialize() {
         DriveBase.getInstance().setOpenLoopVoltageMode();
         DriveBase.getInstance().setBrakeMode(true);
     }
 
     @Override
-    public void execute() {
+    protected void onExecute() {
         DriveBase.getInstance().arcadeDrive(speed, 0, false);
     }
 
     @Override
-    public void end() {
+    protected void onEnd() {
         DriveBase.getInstance().setDisabledMode();
     }
 }
@@ -1,16 +1,23 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.logging.Log;
 import ca.team2706.frc.robot.subsystems.DriveBase;
+import ca.team2706.frc.robot.subsystems.Odometry;
+import ca.team2706.frc.robot.subsystems.Pose;
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
-import edu.wpi.first.wpilibj.command.Command;
+import edu.wpi.first.wpilibj.Timer;
 import jaci.pathfinder.Pathfinder;
 import jaci.pathfinder.Trajectory;
 import jaci.pathfinder.Waypoint;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Command for 2-D driver assist using vision
  * <p>
@@ -31,13 +38,19 @@ import jaci.pathfinder.Waypoint;
  * this angle is relative to a horizontal line extending across the field and
  * positive angle is measured CCW
  */
-public class DriverAssistVision extends Command {
+public class DriverAssistVision extends ProfiledCommand {
     /**
      * Timestamp from the vision system on the previous call to the command, used to assess if
      * the vision system is still running or is offline
      */
     private static double videoTimestampPrev = 0.0;
 
+    /**
+     * The number of points past the last one pushed to the talons that a re-planned trajectory starts at,
+     * so that the talons don't take the point before the new trajectory can be spliced in
+     */
+    private static final int REPLAN_MARGIN = 2;
+
     /**
      * Angle of final desired robot heading with respect to x axis of field frame
      */
@@ -120,16 +133,51 @@ public class DriverAssistVision extends Command {
     private DriverAssistVisionTarget target;
 
     /**
-     * Trajectory generated by Pathfinder to move robot to target. Declared volatile since it is shared between
-     * different threads.
+     * Trajectory generated by Pathfinder to move robot to target
+     */
+    private Trajectory trajectory;
+
+    /**
+     * True if trajectory has been generated by Pathfinder, false otherwise
+     */
+    private boolean trajectoryGenerated;
+
+    /**
+     * Trajectory being generated by the trajectory planner, null if there is no pending request
+     */
+    private Future<Trajectory> plannedTrajectory;
+
+    /**
+     * True if the trajectory is re-planned from each new vision frame while the robot is following it
+     */
+    private boolean replan;
+
+    /**
+     * Trajectory being re-planned by the trajectory planner, null if there is no pending request
+     */
+    private Future<Replan> plannedReplan;
+
+    /**
+     * Index of the first point of the trajectory that the pending re-planned trajectory replaces
+     */
+    private int replanIndex;
+
+    /**
+     * Timestamp of the last vision frame that the final waypoint was updated from
      */
-    private volatile Trajectory trajectory;
+    private double replanVideoTimestamp;
 
     /**
-     * True if trajectory has been generated by Pathfinder, false otherwise. Declared volatile since it is
-     * shared between different threads.
+     * Estimate of the final robot position/heading in the approach frame, which is the robot frame
+     * when the robot started to follow the trajectory
      */
-    private volatile boolean trajectoryGenerated;
+    private Waypoint finalWaypoint_Approach;
+
+    /**
+     * Pose of the robot in the drive base's pose history when it started to follow the trajectory,
+     * which is the origin of the approach frame
+     */
+    private Pose approachOrigin;
 
     /**
      * Creates driver assist command
@@ -167,7 +215,7 @@ public class DriverAssistVision extends Command {
      * initialize() method turns on ring light and sets up network tables
      */
     @Override
-    public void initialize() {
+    public void onInitialize() {
         Log.d("DAV: initialize() called");
 
         /*
@@ -188,6 +236,8 @@ public class DriverAssistVision extends Command {
             ringLightOnStageComplete = false;
             trajectory = null;
             trajectoryGenerated = false;
+            replan = Config.VISION_REPLAN.getAsBoolean();
+            replanVideoTimestamp = chickenVisionTable.getEntry("VideoTimestamp").getDouble(0.0);
 
             Log.d("DAV: Getting entries for network table");
             driverEntry = chickenVisionTable.getEntry("Driver");
@@ -206,18 +256,19 @@ public class DriverAssistVision extends Command {
      * stabilize, gets location of target, computes waypoints for Pathfinder, calls Pathfinder
      * to generate trajectory, and sends trajectory to motion control system to move robot
      * through trajectory. The method is divides into stages and successive calls of execute()
-     * progress through the stages. The computation of the trajectory is done in a separate
-     * thread.
+     * progress through the stages. The computation of the trajectory is done by the
+     * {@link TrajectoryPlanner} on its own thread. In re-planning mode, the rest of the
+     * trajectory is re-planned from each new vision frame while the robot is following it.
      */
     @Override
-    public void execute() {
+    public void onExecute() {
         /*
         Stage 1: Ring Light On Stage: Keep ring light on for a fixed delay to allow vision
         measurement to stabilize before taking a reading
         */
         if (!ringLightOnStageComplete) {
             ringLightOnDelayTime += Config.EXECUTE_PERIOD;
-            ringLightOnStageComplete = ringLightOnDelayTime >= Config.RING_LIGHT_ON_DELAY.value();
+            ringLightOnStageComplete = ringLightOnDelayTime >= Config.RING_LIGHT_ON_DELAY.getAsDouble();
         }
 
         /*
@@ -241,11 +292,11 @@ public class DriverAssistVision extends Command {
                     double[] vectorCameraToTarget_Camera = vectorCameraToTarget.getDoubleArray(new double[]{0, 0});
                     double angYawTargetWrtCameraLOSCWpos = vectorCameraToTarget_Camera[0];
                     double distanceCameraToTarget_Camera = vectorCameraToTarget_Camera[1];
-                    Log.d("DAV: angYawTargetWrtCameraLOSCWpos [deg]: " + angYawTargetWrtCameraLOSCWpos);
-                    Log.d("DAV: distanceCameraToTarget_Camera [ft]: " + distanceCameraToTarget_Camera);
+                    Log.d("DAV: angYawTargetWrtCameraLOSCWpos [deg]: {}", angYawTargetWrtCameraLOSCWpos);
+                    Log.d("DAV: distanceCameraToTarget_Camera [ft]: {}", distanceCameraToTarget_Camera);
 
                     // If distance to target is below a reasonable value, abort command completely
-                    if (distanceCameraToTarget_Camera < Config.VISION_DISTANCE_MIN.value()) {
+                    if (distanceCameraToTarget_Camera < Config.VISION_DISTANCE_MIN.getAsDouble()) {
                         Log.d("DAV: Distance to target too low. Driver assist command aborted.");
                         commandAborted = true;
                     } else {
@@ -254,23 +305,39 @@ public class DriverAssistVision extends Command {
                         vision measurement so return from the current execute() cycle but don't abort the command
                         so another reading can be taken on the next execute() call
                         */
-                        if (distanceCameraToTarget_Camera > Config.VISION_DISTANCE_MAX.value()) {
+                        if (distanceCameraToTarget_Camera > Config.VISION_DISTANCE_MAX.getAsDouble()) {
                             Log.d("DAV: Distance to target too high. Rereading vision data.");
                         } else {
 
                             // Send request to generate trajectory in a separate task to avoid execute() overruns
                             Log.d("DAV: Generating trajectory");
-                            Runnable task = () ->
-                                    generateTrajectoryRobotToTarget(distanceCameraToTarget_Camera, angYawTargetWrtCameraLOSCWpos);
-                            new Thread(task).start();
-
-                            generateTrajectoryRequestStageComplete = true;
+                            Waypoint finalWaypoint_Robot = computeFinalWaypoint_Present(distanceCameraToTarget_Camera, angYawTargetWrtCameraLOSCWpos);
+                            try {
+                                plannedTrajectory = TrajectoryPlanner.getInstance().submit("DAV", () ->
+                                        planTrajectoryRobotToTarget(finalWaypoint_Robot));
+                                generateTrajectoryRequestStageComplete = true;
+                            } catch (RejectedExecutionException e) {
+                                // Planner is busy, so take another reading on the next execute() call
+                                Log.d("DAV: Trajectory planner busy, rereading vision data.");
+                            }
                         }
                     }
                 }
             }
         }
 
+        // Collect the trajectory once the planner has finished generating it
+        if (plannedTrajectory != null && plannedTrajectory.isDone()) {
+            try {
+                trajectory = TrajectoryPlanner.await(plannedTrajectory);
+                trajectoryGenerated = true;
+            } catch (IllegalStateException e) {
+                Log.e("DAV: Unable to generate trajectory, command aborted", e);
+                commandAborted = true;
+            }
+            plannedTrajectory = null;
+        }
+
         // Stage 3: Command Robot to Follow Trajectory
         if (followTrajectory == null && trajectoryGenerated && trajectory != null) {
             /*
@@ -283,21 +350,182 @@ public class DriverAssistVision extends Command {
                 commandAborted = true;
             } else {
 
+                if (replan) {
+                    startReplanning();
+                }
+
                 Log.d("DAV: Commanding robot to follow trajectory");
                 followTrajectory = new FollowTrajectory(1.0, 100, trajectory);
                 followTrajectory.start();
             }
         }
+        // Stage 4: Re-plan the rest of the trajectory as new vision frames arrive
+        else if (followTrajectory != null && replan && approachOrigin != null) {
+            spliceReplannedTrajectory();
+            requestReplan();
+        }
+    }
+
+    /**
+     * Starts estimating the robot's position from where it starts to follow the trajectory and limits
+     * how far the talons get ahead of the robot so that the rest of the trajectory can still be replaced
+     */
+    private void startReplanning() {
+        Trajectory.Segment last = trajectory.segments[trajectory.length() - 1];
+        finalWaypoint_Approach = new Waypoint(last.x, last.y, Math.PI / 2.0 - last.heading);
+        approachOrigin = Odometry.getInstance().getPose();
+
+        DriveBase.getInstance().setMotionProfileLead(
+                (int) Math.ceil(Config.VISION_REPLAN_LEAD.getAsDouble() / Config.TRAJ_DELTA_TIME.getAsDouble()));
+    }
+
+    /**
+     * Fuses the target from a new vision frame into the estimate of the final waypoint and requests
+     * a new trajectory from there
+     */
+    private void requestReplan() {
+        if (plannedReplan != null) {
+            return;
+        }
+
+        double videoTimestamp = chickenVisionTable.getEntry("VideoTimestamp").getDouble(0.0);
+        if (videoTimestamp == replanVideoTimestamp || !tapeDetectedEntry.getBoolean(false)) {
+            return;
+        }
+        replanVideoTimestamp = videoTimestamp;
+
+        double[] vectorCameraToTarget_Camera = pathfinderTable.getEntry("vectorCameraToTarget").getDoubleArray(new double[]{0, 0});
+        double distanceCameraToTarget_Camera = vectorCameraToTarget_Camera[1];
+        if (distanceCameraToTarget_Camera < Config.VISION_DISTANCE_MIN.getAsDouble()
+                || distanceCameraToTarget_Camera > Config.VISION_DISTANCE_MAX.getAsDouble()) {
+            return;
+        }
+
+        // Transform the final waypoint measured in the robot frame when the frame was captured into the approach frame
+        Pose capturePose = getCapturePose();
+        Waypoint finalWaypoint_Robot = computeFinalWaypoint_Robot(distanceCameraToTarget_Camera, vectorCameraToTarget_Camera[0],
+                Pathfinder.r2d(capturePose.getHeading()));
+        Pose measured = approachOrigin.toRobotFrame(
+                capturePose.fromRobotFrame(finalWaypoint_Robot.x, finalWaypoint_Robot.y, finalWaypoint_Robot.angle));
+        double measuredX = measured.getX();
+        double measuredY = measured.getY();
+        double measuredHeading = measured.getHeading();
+
+        // Blend the measurement into the estimate so that one noisy frame doesn't swing the robot around
+        double gain = Config.VISION_REPLAN_GAIN.getAsDouble();
+        finalWaypoint_Approach = new Waypoint(
+                finalWaypoint_Approach.x + gain * (measuredX - finalWaypoint_Approach.x),
+                finalWaypoint_Approach.y + gain * (measuredY - finalWaypoint_Approach.y),
+                finalWaypoint_Approach.angle + gain * Math.IEEEremainder(measuredHeading - finalWaypoint_Approach.angle, 2.0 * Math.PI));
+
+        int index = DriveBase.getInstance().getMotionProfilePointsPushed() + REPLAN_MARGIN;
+        if (index >= trajectory.length() - 1) {
+            return;
+        }
+
+        // Continue on from the point before the replaced points, where the robot will be when the new points start
+        Trajectory.Segment startSegment = trajectory.segments[index - 1];
+        Waypoint start = new Waypoint(startSegment.x, startSegment.y, Math.PI / 2.0 - startSegment.heading);
+        Waypoint end = finalWaypoint_Approach;
+
+        try {
+            plannedReplan = TrajectoryPlanner.getInstance().submit("DAV re-plan", () ->
+                    planReplan(startSegment, start, end));
+            replanIndex = index;
+        } catch (RejectedExecutionException e) {
+            // Planner is busy, so try again with the next frame
+            Log.d("DAV: Trajectory planner busy, skipping re-plan");
+        }
+    }
+
+    /**
+     * Replaces the rest of the trajectory with the re-planned trajectory once it has been generated,
+     * as long as the talons haven't taken any of the points that it replaces
+     */
+    private void spliceReplannedTrajectory() {
+        if (plannedReplan == null || !plannedReplan.isDone()) {
+            return;
+        }
+
+        Replan replanned;
+        try {
+            replanned = TrajectoryPlanner.await(plannedReplan);
+        } catch (IllegalStateException e) {
+            Log.e("DAV: Unable to re-plan trajectory", e);
+            replanned = null;
+        }
+        plannedReplan = null;
+
+        if (replanned == null) {
+            Log.d("DAV: Final position can't be reached from point {}, keeping trajectory", replanIndex);
+        } else if (DriveBase.getInstance().spliceMotionProfile2Wheel(replanIndex, true, false, replanned.talonTrajectory)) {
+            Trajectory.Segment[] segments = new Trajectory.Segment[replanIndex + replanned.trajectory.length() - 1];
+            System.arraycopy(trajectory.segments, 0, segments, 0, replanIndex);
+            double positionOffset = trajectory.segments[replanIndex - 1].position;
+            for (int i = 1; i < replanned.trajectory.length(); i++) {
+                Trajectory.Segment segment = replanned.trajectory.segments[i];
+                segment.position += positionOffset;
+                segments[replanIndex + i - 1] = segment;
+            }
+            trajectory = new Trajectory(segments);
+
+            Log.d("DAV: Trajectory re-planned from point {}", replanIndex);
+            Log.d("DAV: Final position: {},{}", finalWaypoint_Approach.x, finalWaypoint_Approach.y);
+            Log.d("DAV: Final heading: {}", finalWaypoint_Approach.angle);
+        } else {
+            Log.d("DAV: Talons passed point {} while re-planning, keeping trajectory", replanIndex);
+        }
+    }
+
+    /**
+     * Generates a trajectory that continues on from a point on the current trajectory. Doesn't touch
+     * the state of the command so that it can be run by the trajectory planner.
+     *
+     * @param startSegment Point on the current trajectory to continue on from
+     * @param start        Waypoint at the point to continue on from
+     * @param end          Final position/heading of the robot
+     * @return The trajectory starting with the point to continue on from, or null if the final
+     * position/heading can't be reached from there
+     */
+    private static Replan planReplan(Trajectory.Segment startSegment, Waypoint start, Waypoint end) {
+        Trajectory tail = VisionTrajectoryGenerator.getInstance().generate(start, end, getTrajectoryConfig(), startSegment.velocity);
+        if (tail == null) {
+            return null;
+        }
+
+        Trajectory.Segment[] segments = new Trajectory.Segment[tail.length() + 1];
+        segments[0] = new Trajectory.Segment(startSegment.dt, startSegment.x, startSegment.y, 0.0,
+                startSegment.velocity, startSegment.acceleration, startSegment.jerk, startSegment.heading);
+        for (int i = 0; i < tail.length(); i++) {
+            segments[i + 1] = tail.segments[i];
+            // Convert heading into the robot motion control system's frame
+            segments[i + 1].heading = Math.PI / 2.0 - segments[i + 1].heading;
+        }
+
+        Trajectory trajectory = new Trajectory(segments);
+        return new Replan(trajectory, FollowTrajectory.toTalonTrajectory(trajectory));
     }
 
     @Override
-    public boolean isFinished() {
+    public boolean isDone() {
         return (((followTrajectory != null) && followTrajectory.isFinished()) || commandAborted);
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         Log.d("DAV: Calling end()");
+        // Don't keep planning a trajectory that won't be followed
+        if (plannedTrajectory != null) {
+            plannedTrajectory.cancel(true);
+            plannedTrajectory = null;
+        }
+        if (plannedReplan != null) {
+            plannedReplan.cancel(true);
+            plannedReplan = null;
+        }
+        if (replan) {
+            DriveBase.getInstance().setMotionProfileLead(Integer.MAX_VALUE);
+        }
         if (followTrajectory != null) {
             if (followTrajectory.isRunning()) {
                 followTrajectory.cancel();
@@ -334,13 +562,115 @@ public class DriverAssistVision extends Command {
     }
 
     /**
-     * Generates a trajectory using the Pathfinder library and sends it to the motion control
-     * system
+     * Generates a trajectory using the Pathfinder library and stores it to be sent to the motion
+     * control system
      *
      * @param distanceCameraToTarget_Camera distance from camera to target [ft]
      * @param angYawTargetWrtCameraLOSCWpos yaw angle to target wrt camera line of sight, CW with increase angle [deg]
      */
     public void generateTrajectoryRobotToTarget(double distanceCameraToTarget_Camera, double angYawTargetWrtCameraLOSCWpos) {
+        trajectory = planTrajectoryRobotToTarget(computeFinalWaypoint_Robot(distanceCameraToTarget_Camera,
+                angYawTargetWrtCameraLOSCWpos, DriveBase.getInstance().getAbsoluteHeading()));
+        trajectoryGenerated = true;
+    }
+
+    /**
+     * Computes the final position/heading of the robot in the current robot frame from a vision measurement.
+     * The measurement is taken relative to where the robot was when the frame was captured, and is moved
+     * into the current robot frame using the drive base's pose history.
+     *
+     * @param distanceCameraToTarget_Camera distance from camera to target [ft]
+     * @param angYawTargetWrtCameraLOSCWpos yaw angle to target wrt camera line of sight, CW with increase angle [deg]
+     * @return the final waypoint in the current robot frame, with the heading in radians
+     */
+    private Waypoint computeFinalWaypoint_Present(double distanceCameraToTarget_Camera, double angYawTargetWrtCameraLOSCWpos) {
+        Pose currentPose = Odometry.getInstance().getPose();
+        Pose capturePose = getCapturePose();
+        Waypoint finalWaypointAtCapture_Robot = computeFinalWaypoint_Robot(distanceCameraToTarget_Camera,
+                angYawTargetWrtCameraLOSCWpos, Pathfinder.r2d(capturePose.getHeading()));
+        Pose finalPose_Robot = currentPose.toRobotFrame(capturePose.fromRobotFrame(finalWaypointAtCapture_Robot.x,
+                finalWaypointAtCapture_Robot.y, finalWaypointAtCapture_Robot.angle));
+        Log.d("DAV: Robot moved {},{} ft since the frame was captured",
+                currentPose.getX() - capturePose.getX(), currentPose.getY() - capturePose.getY());
+        Log.d("DAV: Robot turned {} rad since the frame was captured", currentPose.getHeading() - capturePose.getHeading());
+
+        return new Waypoint(finalPose_Robot.getX(), finalPose_Robot.getY(), finalPose_Robot.getHeading());
+    }
+
+    /**
+     * Gets where the robot was when the latest vision frame was captured
+     *
+     * @return the pose from the odometry's pose history
+     */
+    private static Pose getCapturePose() {
+        return Odometry.getInstance().getPoseHistory().getPose(Timer.getFPGATimestamp() - Config.VISION_LATENCY.getAsDouble());
+    }
+
+    /**
+     * Generates a trajectory using the Pathfinder library. Doesn't touch the state of the command
+     * so that it can be run by the trajectory planner.
+     *
+     * @param finalWaypoint_Robot final position/heading of the robot in the robot frame
+     * @return the trajectory from the robot to the target
+     */
+    Trajectory planTrajectoryRobotToTarget(Waypoint finalWaypoint_Robot) {
+        /*
+        STEP 3: Generate trajectory in robot frame with PathFinder library using two waypoints: one at initial position
+        and one at final position
+        */
+        Log.d("DAV: Generating trajectory");
+        Trajectory.Config config = getTrajectoryConfig();
+        Waypoint[] points = new Waypoint[]{
+                // Initial position/heading of robot: at origin with heading at 90 deg
+                new Waypoint(0, 0, Pathfinder.d2r(90)),
+                // Final position/heading of robot: in front of target
+                finalWaypoint_Robot,
+        };
+        Trajectory trajectory = VisionTrajectoryGenerator.getInstance().generate(points[0], points[1], config);
+
+        /*
+         * Headings in trajectory must each be converted into the robot motion control system's frame
+         * whose x-y axes are the same as our robot frame but whose heading along the y-axis
+         * is at 0 degrees with  positive heading clockwise (as compared to our robot frame whose
+         * heading along the y-axis is 90 degrees with positive heading counter-clockwise).
+         */
+        double PI_OVER_2 = Math.PI / 2.0;
+        for (int i = 0; i < trajectory.length(); i++) {
+            trajectory.segments[i].heading = PI_OVER_2 - trajectory.segments[i].heading;
+        }
+
+        // Log trajectory
+        Log.d("DAV: Trajectory length: {}", trajectory.length());
+        for (int i = 0; i < trajectory.length(); i++) {
+            Log.d("{},{},{}", trajectory.segments[i].x, trajectory.segments[i].y, trajectory.segments[i].heading);
+        }
+
+        Log.d("DAV: Trajectory generated");
+
+        return trajectory;
+    }
+
+    /**
+     * Creates the configuration that the trajectories to the target are generated with
+     *
+     * @return The trajectory configuration
+     */
+    private static Trajectory.Config getTrajectoryConfig() {
+        return new Trajectory.Config(Trajectory.FitMethod.HERMITE_CUBIC, Trajectory.Config.SAMPLES_FAST,
+                Config.TRAJ_DELTA_TIME.getAsDouble(), Config.VISION_ASSIST_MAX_VELOCITY.getAsDouble(), Config.VISION_ASSIST_MAX_ACCELERATION.getAsDouble(),
+                Config.VISION_ASSIST_MAX_JERK.getAsDouble());
+    }
+
+    /**
+     * Computes the final position/heading of the robot in front of the target from a vision measurement
+     *
+     * @param distanceCameraToTarget_Camera distance from camera to target [ft]
+     * @param angYawTargetWrtCameraLOSCWpos yaw angle to target wrt camera line of sight, CW with increase angle [deg]
+     * @param angRobotHeading_Field         absolute heading of the robot when the measurement was taken [deg]
+     * @return the final waypoint in the robot frame, with the heading in radians
+     */
+    Waypoint computeFinalWaypoint_Robot(double distanceCameraToTarget_Camera, double angYawTargetWrtCameraLOSCWpos,
+                                        double angRobotHeading_Field) {
         /*
          * Explanation of vector and coordinate frame notation in a 2-d plane:
          *
@@ -413,15 +743,15 @@ public class DriverAssistVision extends Command {
         Vector 1: vRobotToCamera_Robot: Vector from robot to camera in robot frame
         */
 
-        double vRobotToCamera_RobotX = Config.ROBOTTOCAMERA_ROBOTX.value();
-        double vRobotToCamera_RobotY = Config.ROBOTTOCAMERA_ROBOTY.value();
-        Log.d("DAV: vRobotToCamera_RobotX: " + vRobotToCamera_RobotX + ", vRobotToCamera_RobotY: " + vRobotToCamera_RobotY);
+        double vRobotToCamera_RobotX = Config.ROBOTTOCAMERA_ROBOTX.getAsDouble();
+        double vRobotToCamera_RobotY = Config.ROBOTTOCAMERA_ROBOTY.getAsDouble();
+        Log.d("DAV: vRobotToCamera_RobotX: {}, vRobotToCamera_RobotY: {}", vRobotToCamera_RobotX, vRobotToCamera_RobotY);
 
         // Vector 2: vCameraToTarget_Robot: Vector from camera to target in robot frame
         double angYawTargetWrtCameraLOSRadCWpos = Pathfinder.d2r(angYawTargetWrtCameraLOSCWpos);
         double vCameraToTarget_RobotX = distanceCameraToTarget_Camera * Math.sin(angYawTargetWrtCameraLOSRadCWpos);
         double vCameraToTarget_RobotY = distanceCameraToTarget_Camera * Math.cos(angYawTargetWrtCameraLOSRadCWpos);
-        Log.d("DAV: vec_CameraToTargetX_Robot: " + vCameraToTarget_RobotX + ", vCameraToTarget_RobotY: " + vCameraToTarget_RobotY);
+        Log.d("DAV: vec_CameraToTargetX_Robot: {}, vCameraToTarget_RobotY: {}", vCameraToTarget_RobotX, vCameraToTarget_RobotY);
 
         // Vector 1+2: vRobotToTarget_Robot: Vector from robot to target in robot frame
         double vRobotToTarget_RobotX = vRobotToCamera_RobotX + vCameraToTarget_RobotX;
@@ -438,17 +768,17 @@ public class DriverAssistVision extends Command {
                 (target == DriverAssistVisionTarget.ROCKET)) {
             /*
             Vector 3 is aligned with and facing away from target
-            Get current robot heading relative to field frame from IMU
+            Get robot heading relative to field frame when the measurement was taken
             */
-            double angRobotHeadingCurrent_Field = DriveBase.getInstance().getAbsoluteHeading() % 360;
+            double angRobotHeadingCurrent_Field = angRobotHeading_Field % 360;
             if (angRobotHeadingCurrent_Field < 0.0)
                 angRobotHeadingCurrent_Field += 360.0;
-            Log.d("DAV: angRobotHeadingCurrent_Field: " + angRobotHeadingCurrent_Field);
+            Log.d("DAV: angRobotHeadingCurrent_Field: {}", angRobotHeadingCurrent_Field);
 
             // Compute final desired robot heading relative to field
             angRobotHeadingFinal_Field =
                     computeAngRobotHeadingFinal_Field(angRobotHeadingCurrent_Field, target);
-            Log.d("DAV: angRobotHeadingFinal_Field: " + angRobotHeadingFinal_Field);
+            Log.d("DAV: angRobotHeadingFinal_Field: {}", angRobotHeadingFinal_Field);
 
             // Compute unit vector in direction facing target in field frame
             double finalRobotAngleRad_Field = Pathfinder.d2r(angRobotHeadingFinal_Field);
@@ -458,16 +788,16 @@ public class DriverAssistVision extends Command {
             // Compute vector from target to final robot position in field frame from unit vector in field frame
             double d = 0.0;
             if (initialApproach) {
-                d = Config.ROBOT_HALF_LENGTH.value() + Config.TARGET_OFFSET_DISTANCE_INITIAL.value();
+                d = Config.ROBOT_HALF_LENGTH.getAsDouble() + Config.TARGET_OFFSET_DISTANCE_INITIAL.getAsDouble();
             } else if (target == DriverAssistVisionTarget.CARGO_AND_LOADING) {
-                d = Config.ROBOT_HALF_LENGTH.value() + Config.TARGET_OFFSET_DISTANCE_FINAL_CARGO_AND_LOADING.value();
+                d = Config.ROBOT_HALF_LENGTH.getAsDouble() + Config.TARGET_OFFSET_DISTANCE_FINAL_CARGO_AND_LOADING.getAsDouble();
             } else if (target == DriverAssistVisionTarget.ROCKET) {
-                d = Config.ROBOT_HALF_LENGTH.value() + Config.TARGET_OFFSET_DISTANCE_FINAL_ROCKET.value();
+                d = Config.ROBOT_HALF_LENGTH.getAsDouble() + Config.TARGET_OFFSET_DISTANCE_FINAL_ROCKET.getAsDouble();
             }
             double vTargetToFinal_FieldX = -d * vUnitFacingTarget_FieldX;
             double vTargetToFinal_FieldY = -d * vUnitFacingTarget_FieldY;
-            Log.d("DAV: vec_TargetToFinalX_Field: " + vTargetToFinal_FieldX);
-            Log.d("DAV: vTargetToFinal_FieldY: " + vTargetToFinal_FieldY);
+            Log.d("DAV: vec_TargetToFinalX_Field: {}", vTargetToFinal_FieldX);
+            Log.d("DAV: vTargetToFinal_FieldY: {}", vTargetToFinal_FieldY);
 
             /*
             Need to do a coordinate frame transformation on vTargetToFinal_Field
@@ -481,12 +811,12 @@ public class DriverAssistVision extends Command {
             double sinAngRobotCurrentRad_Field = Math.sin(angRobotCurrentRad_Field);
             vTargetToFinal_RobotX = vTargetToFinal_FieldX * cosAngRobotCurrentRad_Field + vTargetToFinal_FieldY * sinAngRobotCurrentRad_Field;
             vTargetToFinal_RobotY = -vTargetToFinal_FieldX * sinAngRobotCurrentRad_Field + vTargetToFinal_FieldY * cosAngRobotCurrentRad_Field;
-            Log.d("DAV: vTargetToFinal_RobotX: " + vTargetToFinal_RobotX + ", vTargetToFinal_RobotY: " + vTargetToFinal_RobotY);
+            Log.d("DAV: vTargetToFinal_RobotX: {}, vTargetToFinal_RobotY: {}", vTargetToFinal_RobotX, vTargetToFinal_RobotY);
 
         } else if (target == DriverAssistVisionTarget.BALL) {
             // Vector 3 is oriented from cargo ball to origin of robot frame
             double vRobotToTarget_magnitude = Math.sqrt(Math.pow(vRobotToTarget_RobotX, 2) + Math.pow(vRobotToTarget_RobotY, 2));
-            double d = Config.ROBOT_HALF_LENGTH.value() + Config.TARGET_OFFSET_DISTANCE_BALL.value();
+            double d = Config.ROBOT_HALF_LENGTH.getAsDouble() + Config.TARGET_OFFSET_DISTANCE_BALL.getAsDouble();
             vTargetToFinal_RobotX = -d * (vRobotToTarget_RobotX / vRobotToTarget_magnitude);
             vTargetToFinal_RobotY = -d * (vRobotToTarget_RobotY / vRobotToTarget_magnitude);
         }
@@ -499,11 +829,11 @@ public class DriverAssistVision extends Command {
         double vRobotToFinal_RobotX = vRobotToTarget_RobotX + vTargetToFinal_RobotX;
         if (!initialApproach) {
             // Add tuning adjustment for x coordinate if this is the final approach
-            vRobotToFinal_RobotX = vRobotToFinal_RobotX + Config.FINAL_POSITION_ADJUSTMENT_X.value();
+            vRobotToFinal_RobotX = vRobotToFinal_RobotX + Config.FINAL_POSITION_ADJUSTMENT_X.getAsDouble();
         }
         double vRobotToFinal_RobotY = vRobotToTarget_RobotY + vTargetToFinal_RobotY;
 
-        Log.d("DAV: vRobotToFinal_RobotX: " + vRobotToFinal_RobotX + ", vRobotToFinal_RobotY: " + vRobotToFinal_RobotY);
+        Log.d("DAV: vRobotToFinal_RobotX: {}, vRobotToFinal_RobotY: {}", vRobotToFinal_RobotX, vRobotToFinal_RobotY);
 
         // STEP 2: Compute final robot heading in robot frame
         double angRobotHeadingFinal_Robot;
@@ -517,48 +847,10 @@ public class DriverAssistVision extends Command {
             angRobotHeadingFinalRad_Robot = Math.atan2(vRobotToFinal_RobotY, vRobotToFinal_RobotX);
             angRobotHeadingFinal_Robot = Pathfinder.r2d(angRobotHeadingFinalRad_Robot);
         }
-        Log.d("DAV: angRobotHeadingFinal_Robot: " + angRobotHeadingFinal_Robot);
-        Log.d("DAV: angRobotHeadingFinalRad_Robot: " + angRobotHeadingFinalRad_Robot);
-
-        /*
-        STEP 3: Generate trajectory in robot frame with PathFinder library using two waypoints: one at initial position
-        and one at final position
-        */
-        Log.d("DAV: Generating trajectory");
-        Trajectory.Config config =
-                new Trajectory.Config(Trajectory.FitMethod.HERMITE_CUBIC, Trajectory.Config.SAMPLES_FAST,
-                        Config.TRAJ_DELTA_TIME.value(), Config.VISION_ASSIST_MAX_VELOCITY.value(), Config.VISION_ASSIST_MAX_ACCELERATION.value(),
-                        Config.VISION_ASSIST_MAX_JERK.value());
-        Waypoint[] points = new Waypoint[]{
-                // Initial position/heading of robot: at origin with heading at 90 deg
-                new Waypoint(0, 0, Pathfinder.d2r(90)),
-                // Final position/heading of robot: in front of target
-                new Waypoint(vRobotToFinal_RobotX, vRobotToFinal_RobotY, angRobotHeadingFinalRad_Robot),
-        };
-        trajectory = Pathfinder.generate(points, config);
-
-        /*
-         * Headings in trajectory must each be converted into the robot motion control system's frame
-         * whose x-y axes are the same as our robot frame but whose heading along the y-axis
-         * is at 0 degrees with  positive heading clockwise (as compared to our robot frame whose
-         * heading along the y-axis is 90 degrees with positive heading counter-clockwise).
-         */
-        double PI_OVER_2 = Math.PI / 2.0;
-        for (int i = 0; i < trajectory.length(); i++) {
-            trajectory.segments[i].heading = PI_OVER_2 - trajectory.segments[i].heading;
-        }
+        Log.d("DAV: angRobotHeadingFinal_Robot: {}", angRobotHeadingFinal_Robot);
+        Log.d("DAV: angRobotHeadingFinalRad_Robot: {}", angRobotHeadingFinalRad_Robot);
 
-        // Log trajectory
-        Log.d("DAV: Trajectory length: " + trajectory.length());
-        for (int i = 0; i < trajectory.length(); i++) {
-            String str = trajectory.segments[i].x + "," +
-                    trajectory.segments[i].y + "," +
-                    trajectory.segments[i].heading;
-            Log.d(str);
-        }
-
-        trajectoryGenerated = true;
-        Log.d("DAV: Trajectory generated");
+        return new Waypoint(vRobotToFinal_RobotX, vRobotToFinal_RobotY, angRobotHeadingFinalRad_Robot);
     }
 
     /**
@@ -634,7 +926,7 @@ public class DriverAssistVision extends Command {
                 angRobotHeadingFinal_Field = 300.0;
             }
         }
-        Log.d("DAV: angRobotHeadingFinal_Field: " + angRobotHeadingFinal_Field);
+        Log.d("DAV: angRobotHeadingFinal_Field: {}", angRobotHeadingFinal_Field);
         return angRobotHeadingFinal_Field;
     }
 
@@ -658,5 +950,24 @@ public class DriverAssistVision extends Command {
         videoTimestampPrev = videoTimestamp;
         return (offline);
     }
-}
 
+    /**
+     * A re-planned trajectory with its conversion to talon units
+     */
+    private static class Replan {
+
+        final Trajectory trajectory;
+        final TalonTrajectory talonTrajectory;
+
+        /**
+         * Creates a re-planned trajectory
+         *
+         * @param trajectory      The trajectory, starting with the point it continues on from
+         * @param talonTrajectory The trajectory in talon units
+         */
+        Replan(Trajectory trajectory, TalonTrajectory talonTrajectory) {
+            this.trajectory = trajectory;
+            this.talonTrajectory = talonTrajectory;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.Pair;
 import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
 import jaci.pathfinder.Pathfinder;
 import jaci.pathfinder.Trajectory;
 import jaci.pathfinder.modifiers.TankModifier;
@@ -61,6 +62,44 @@ public class FollowTrajectory extends MotionProfile2Wheel {
         super(speed, minDoneCycles, generateDualTrajectory(trajectory, Pair.of(left, right)));
     }
 
+    /**
+     * Follows a trajectory that has already been converted to talon units
+     *
+     * @param speed         The supplier to the max speed
+     * @param minDoneCycles The supplier to the cycles to hold after the profile has ended
+     * @param trajectory    The supplier to the trajectory for both wheels
+     */
+    FollowTrajectory(Supplier<Double> speed, Supplier<Integer> minDoneCycles, Supplier<TalonTrajectory> trajectory) {
+        super(speed, minDoneCycles, trajectory);
+    }
+
+    /**
+     * Converts a trajectory to talon units, deriving the left and right trajectories from it
+     *
+     * @param trajectory The trajectory to follow
+     * @return The trajectory for both wheels in talon units
+     */
+    static TalonTrajectory toTalonTrajectory(Trajectory trajectory) {
+        Pair<Trajectory> leftRightTrajectory = twoTrajectory(trajectory);
+
+        return toTalonTrajectory(trajectory, leftRightTrajectory.getFirst(), leftRightTrajectory.getSecond());
+    }
+
+    /**
+     * Converts a left and right trajectory to talon units
+     *
+     * @param trajectory The main trajectory
+     * @param left       The left trajectory
+     * @param right      The right trajectory
+     * @return The trajectory for both wheels in talon units
+     */
+    static TalonTrajectory toTalonTrajectory(Trajectory trajectory, Trajectory left, Trajectory right) {
+        DualTalonTrajectory dualTalonTrajectory = generateDualTrajectory(trajectory, Pair.of(left, right));
+
+        return TalonTrajectory.fromFeet(dualTalonTrajectory.posLeft, dualTalonTrajectory.velLeft, dualTalonTrajectory.posRight,
+                dualTalonTrajectory.velRight, dualTalonTrajectory.heading, dualTalonTrajectory.time, dualTalonTrajectory.size);
+    }
+
     /**
      * Creates a trajectory for each wheel to follow based on a single trajectory
      *
@@ -90,7 +129,7 @@ public class FollowTrajectory extends MotionProfile2Wheel {
      * @param leftRightTrajectory The two derived trajectories
      * @return The data that can be passed to the left and right talons
      */
-    private static DualTalonTrajectory generateDualTrajectory(Trajectory trajectory, Pair<Trajectory> leftRightTrajectory) {
+    static DualTalonTrajectory generateDualTrajectory(Trajectory trajectory, Pair<Trajectory> leftRightTrajectory) {
 
         Trajectory left = leftRightTrajectory.getFirst();
         Trajectory right = leftRightTrajectory.getSecond();
@@ -116,7 +155,7 @@ public class FollowTrajectory extends MotionProfile2Wheel {
      *
      * @param degs The array of degrees to convert
      */
-    private static void unwrap(double[] degs) {
+    static void unwrap(double[] degs) {
         // Assume starting at 0 rather than 360
         double last = 0;
         double lastBound = 0;
@@ -1,6 +1,6 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
-import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
 import jaci.pathfinder.Pathfinder;
 import jaci.pathfinder.Trajectory;
 
@@ -9,10 +9,12 @@ import java.nio.file.Path;
 import java.util.function.Supplier;
 
 /**
- * Follows a trajectory from a CSV file
+ * Follows a trajectory from a binary trajectory file, or from CSV files if it hasn't been converted
  */
 public class FollowTrajectoryFromFile extends FollowTrajectory {
 
+    private static final String CSV_EXTENSION = ".pf1.csv";
+
     /**
      * Follows the trajectory from a file
      *
@@ -32,22 +34,36 @@ public class FollowTrajectoryFromFile extends FollowTrajectory {
      * @param trajectory    The trajectory for the robot
      */
     public FollowTrajectoryFromFile(Supplier<Double> speed, Supplier<Integer> minDoneCycles, String trajectory) {
-        super(speed, minDoneCycles, readFromFile(Config.DEPLOY_DIR.resolve("motion-profiles/output/" + trajectory + ".pf1.csv")),
-                readFromFile(Config.DEPLOY_DIR.resolve("motion-profiles/output/" + trajectory + ".left.pf1.csv")),
-                readFromFile(Config.DEPLOY_DIR.resolve("motion-profiles/output/" + trajectory + ".right.pf1.csv")));
+        // Only waits for the trajectory when the command starts if it hasn't been preloaded yet
+        super(speed, minDoneCycles, () -> TrajectoryCache.getInstance().get(trajectory));
     }
 
     /**
-     * Reads the trajectory from a file
+     * Gets the name of the trajectory that a CSV file belongs to
      *
-     * @param trajectory The trajectory of the robot
-     * @return The trajectory
+     * @param fileName The name of the file
+     * @return The name of the trajectory, or null if the file isn't the main CSV file of a trajectory
      */
-    private static Trajectory readFromFile(Path trajectory) {
-        try {
-            return Pathfinder.readFromCSV(trajectory.toFile());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    static String getTrajectoryName(String fileName) {
+        if (fileName.endsWith(CSV_EXTENSION) && !fileName.endsWith(".left" + CSV_EXTENSION)
+                && !fileName.endsWith(".right" + CSV_EXTENSION)) {
+            return fileName.substring(0, fileName.length() - CSV_EXTENSION.length());
+        } else {
+            return null;
         }
     }
+
+    /**
+     * Reads the main, left and right CSV files of a trajectory and converts them to talon units
+     *
+     * @param directory  The directory with the CSV files
+     * @param trajectory The name of the trajectory
+     * @return The trajectory for both wheels
+     * @throws IOException If the files can't be read
+     */
+    static TalonTrajectory readFromCSV(Path directory, String trajectory) throws IOException {
+        return toTalonTrajectory(Pathfinder.readFromCSV(directory.resolve(trajectory + CSV_EXTENSION).toFile()),
+                Pathfinder.readFromCSV(directory.resolve(trajectory + ".left" + CSV_EXTENSION).toFile()),
+                Pathfinder.readFromCSV(directory.resolve(trajectory + ".right" + CSV_EXTENSION).toFile()));
+    }
 }
@@ -1,17 +1,17 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Puts the robot in brake mode when enabled
  */
-public class Handbrake extends Command {
+public class Handbrake extends ProfiledCommand {
 
     private boolean brake;
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         if (!DriveBase.getInstance().isBrakeMode()) {
             DriveBase.getInstance().setBrakeMode(true);
             brake = true;
@@ -21,12 +21,12 @@ public class Handbrake extends Command {
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         if (brake) {
             DriveBase.getInstance().setBrakeMode(false);
         }
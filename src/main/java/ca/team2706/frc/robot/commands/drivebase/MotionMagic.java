@@ -54,19 +54,19 @@ public class MotionMagic extends DriveBaseCloseLoop {
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    public void onInitialize() {
+        super.onInitialize();
         DriveBase.getInstance().setMotionMagicWithGyroMode();
         doneCycles = 0;
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         DriveBase.getInstance().setMotionMagicPositionGyro(speed.get(), position.get(), heading.get());
     }
 
     @Override
-    public boolean isFinished() {
+    public boolean isDone() {
         if (Math.abs((DriveBase.getInstance().getRightDistance() - position.get())) <= TARGET_RANGE) {
             doneCycles++;
         } else {
@@ -39,8 +39,8 @@ public class MotionMagicVision extends MotionMagic {
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    public void onInitialize() {
+        super.onInitialize();
         RingLight.getInstance().enableLight();
         table.getEntry("Driver").setBoolean(false);
     }
@@ -59,8 +59,8 @@ public class MotionMagicVision extends MotionMagic {
     }
 
     @Override
-    public void end() {
-        super.end();
+    public void onEnd() {
+        super.onEnd();
         RingLight.getInstance().disableLight();
         table.getEntry("Driver").setBoolean(true);
     }
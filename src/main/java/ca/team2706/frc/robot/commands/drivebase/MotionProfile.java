@@ -1,14 +1,14 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.function.Supplier;
 
 /**
  * Follows a motion profile using the sum of encoders
  */
-public class MotionProfile extends Command {
+public class MotionProfile extends ProfiledCommand {
 
     /**
      * References to the speed and position that the robot should be travelling at
@@ -63,7 +63,7 @@ public class MotionProfile extends Command {
     }
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         DriveBase.getInstance().setBrakeMode(true);
         DriveBase.getInstance().pushMotionProfile1Wheel(speed.get() >= 0, pos, vel, heading, time, size);
         DriveBase.getInstance().setMotionProfile();
@@ -72,12 +72,12 @@ public class MotionProfile extends Command {
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         DriveBase.getInstance().runMotionProfile(Math.abs(speed.get()));
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         if (DriveBase.getInstance().isFinishedMotionProfile()) {
             doneCycles++;
         }
@@ -86,7 +86,7 @@ public class MotionProfile extends Command {
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         DriveBase.getInstance().setDisabledMode();
     }
 }
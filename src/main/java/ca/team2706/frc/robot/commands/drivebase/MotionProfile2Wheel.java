@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.commands.mirrorable.MirroredCommand;
+import ca.team2706.frc.robot.logging.Log;
 import ca.team2706.frc.robot.subsystems.DriveBase;
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
 
 import java.util.function.Supplier;
 
-import static ca.team2706.frc.robot.subsystems.DriveBase.negateDoubleArray;
-
 /**
  * Follows two motion profiles for each side of the robot
  */
@@ -18,16 +18,18 @@ public class MotionProfile2Wheel extends MirroredCommand {
     private final Supplier<Double> speed;
     private final Supplier<Integer> minDoneCycles;
 
-    private final double[] posLeft;
-    private final double[] velLeft;
-    private final double[] posRight;
-    private final double[] velRight;
-    private final double[] heading;
-    private final int[] time;
-    private final int size;
+    /**
+     * The trajectory for both wheels in talon units, only got when the command starts
+     */
+    private final Supplier<TalonTrajectory> trajectory;
 
     private int doneCycles;
 
+    /**
+     * Whether the trajectory couldn't be got, in which case the command ends without moving
+     */
+    private boolean failed;
+
     /**
      * Creates a motion profile using two wheels
      *
@@ -59,15 +61,31 @@ public class MotionProfile2Wheel extends MirroredCommand {
      * @param size          The amount of segments in the trajectory
      */
     public MotionProfile2Wheel(Supplier<Double> speed, Supplier<Integer> minDoneCycles, double[] posLeft, double[] velLeft, double[] posRight, double[] velRight, double[] heading, int[] time, int size) {
+        this(speed, minDoneCycles, TalonTrajectory.fromFeet(posLeft, velLeft, posRight, velRight, heading, time, size));
+    }
+
+    /**
+     * Creates a motion profile using two wheels from a trajectory that is already in talon units
+     *
+     * @param speed         The supplier to the maximum speed of the robot
+     * @param minDoneCycles The supplier to the cycles to hold after the motion profile has ended
+     * @param trajectory    The trajectory for both wheels
+     */
+    public MotionProfile2Wheel(Supplier<Double> speed, Supplier<Integer> minDoneCycles, TalonTrajectory trajectory) {
+        this(speed, minDoneCycles, () -> trajectory);
+    }
+
+    /**
+     * Creates a motion profile using two wheels from a trajectory that is already in talon units
+     *
+     * @param speed         The supplier to the maximum speed of the robot
+     * @param minDoneCycles The supplier to the cycles to hold after the motion profile has ended
+     * @param trajectory    The supplier to the trajectory for both wheels, which may block until it is loaded
+     */
+    public MotionProfile2Wheel(Supplier<Double> speed, Supplier<Integer> minDoneCycles, Supplier<TalonTrajectory> trajectory) {
         requires(DriveBase.getInstance());
         this.speed = speed;
-        this.posLeft = posLeft;
-        this.velLeft = velLeft;
-        this.posRight = posRight;
-        this.velRight = velRight;
-        this.heading = heading;
-        this.time = time;
-        this.size = size;
+        this.trajectory = trajectory;
         this.minDoneCycles = minDoneCycles;
     }
 
@@ -83,25 +101,39 @@ public class MotionProfile2Wheel extends MirroredCommand {
     }
 
     @Override
-    public void initialize() {
-        DriveBase.getInstance().setBrakeMode(true);
-        if (isMirrored()) {
-            DriveBase.getInstance().pushMotionProfile2Wheel(speed.get() >= 0, posRight, velRight, negateDoubleArray(heading), time, size, posLeft, velLeft);
-        } else {
-            DriveBase.getInstance().pushMotionProfile2Wheel(speed.get() >= 0, posLeft, velLeft, heading, time, size, posRight, velRight);
+    public void onInitialize() {
+        doneCycles = 0;
+
+        final TalonTrajectory talonTrajectory;
+        try {
+            talonTrajectory = trajectory.get();
+        } catch (RuntimeException e) {
+            // A missing or corrupt file shouldn't take down the rest of the commands
+            Log.e("Unable to get the trajectory, skipping the motion profile", e);
+            failed = true;
+            return;
         }
-        DriveBase.getInstance().setMotionProfile2Wheel();
 
-        doneCycles = 0;
+        failed = false;
+
+        DriveBase.getInstance().setBrakeMode(true);
+        DriveBase.getInstance().pushMotionProfile2Wheel(speed.get() >= 0, isMirrored(), talonTrajectory);
+        DriveBase.getInstance().setMotionProfile2Wheel();
     }
 
     @Override
-    public void execute() {
-        DriveBase.getInstance().runMotionProfile2Wheel(Math.abs(speed.get()));
+    public void onExecute() {
+        if (!failed) {
+            DriveBase.getInstance().runMotionProfile2Wheel(Math.abs(speed.get()));
+        }
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
+        if (failed) {
+            return true;
+        }
+
         if (DriveBase.getInstance().isFinishedMotionProfile2Wheel()) {
             doneCycles++;
         }
@@ -110,7 +142,7 @@ public class MotionProfile2Wheel extends MirroredCommand {
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         DriveBase.getInstance().setDisabledMode();
     }
 
@@ -50,19 +50,19 @@ public class RotateWithGyro extends DriveBaseCloseLoop implements IMirrorable<Co
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    public void onInitialize() {
+        super.onInitialize();
         DriveBase.getInstance().setRotateMode();
         doneCycles = 0;
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         DriveBase.getInstance().setRotation(speedSupplier.get(), (mirrored ? -1 : 1) * angleSupplier.get());
     }
 
     @Override
-    public boolean isFinished() {
+    public boolean isDone() {
         if (Math.abs(DriveBase.getInstance().getPigeonError()) <= TARGET_ANGLE_RANGE) {
             doneCycles++;
         } else {
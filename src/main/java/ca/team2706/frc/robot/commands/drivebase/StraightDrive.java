@@ -46,13 +46,13 @@ public class StraightDrive extends DriveBaseCloseLoop {
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    public void onInitialize() {
+        super.onInitialize();
         DriveBase.getInstance().setPositionNoGyroMode();
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         DriveBase.getInstance().setPositionNoGyro(speed.get(), position.get());
     }
 }
@@ -43,13 +43,13 @@ public class StraightDriveGyro extends DriveBaseCloseLoop {
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    public void onInitialize() {
+        super.onInitialize();
         DriveBase.getInstance().setPositionGyroMode();
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         DriveBase.getInstance().setPositionGyro(speed.get(), position.get(), 0);
     }
 }
@@ -1,14 +1,14 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.DriveBase;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.function.Supplier;
 
 /**
  * Class to allow for usage of WPI and Command functions with TankDrive
  */
-public abstract class TankDrive extends Command {
+public abstract class TankDrive extends ProfiledCommand {
     private final Supplier<Double> leftSpeed;
     private final Supplier<Double> rightSpeed;
     private final boolean squareInputs;
@@ -35,7 +35,7 @@ public abstract class TankDrive extends Command {
     }
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         // Prepare for driving by human
         DriveBase.getInstance().setOpenLoopVoltageMode();
 
@@ -43,16 +43,16 @@ public abstract class TankDrive extends Command {
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         // Pass values to drive base to make the robot move
         DriveBase.getInstance().tankDrive(leftSpeed.get(), rightSpeed.get(), squareInputs);
     }
 
     @Override
-    public abstract boolean isFinished();
+    public abstract boolean isDone();
 
     @Override
-    public void end() {
+    public void onEnd() {
         // Go back to disabled mode
         DriveBase.getInstance().setDisabledMode();
 
@@ -1,6 +1,7 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.input.ControllerSnapshot;
 import edu.wpi.first.wpilibj.Joystick;
 
 /**
@@ -20,6 +21,21 @@ public class TankDriveWithJoystick extends TankDrive {
      */
     public TankDriveWithJoystick(Joystick joy1, int axis1, boolean invert1,
                                  Joystick joy2, int axis2, boolean invert2) {
+        this(ControllerSnapshot.of(joy1), axis1, invert1, ControllerSnapshot.of(joy2), axis2, invert2);
+    }
+
+    /**
+     * Drives using axes that are read from the snapshots of the joysticks
+     *
+     * @param joy1    The snapshot of the first joystick
+     * @param axis1   The axis value of the joystick
+     * @param invert1 Weather or not to invert the first axis value
+     * @param joy2    The snapshot of the second joystick
+     * @param axis2   The axis value of the second joystick
+     * @param invert2 Weather or not to invert the second axis2 value
+     */
+    private TankDriveWithJoystick(ControllerSnapshot joy1, int axis1, boolean invert1,
+                                  ControllerSnapshot joy2, int axis2, boolean invert2) {
         super(() -> sign(joy1.getRawAxis(axis1), invert1), () -> sign(joy2.getRawAxis(axis2), invert2),
                 Config.TELEOP_SQUARE_JOYSTICK_INPUTS, Config.TELEOP_BRAKE);
     }
@@ -36,7 +52,7 @@ public class TankDriveWithJoystick extends TankDrive {
     }
 
     @Override
-    public boolean isFinished() {
+    public boolean isDone() {
         // The command should only finish when cancelled from somewhere else
         return false;
     }
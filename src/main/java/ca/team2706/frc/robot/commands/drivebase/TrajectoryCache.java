@@ -0,0 +1,300 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.logging.Log;
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads the deployed trajectories in the background and keeps them so that each one is only read once
+ * <p>
+ * A trajectory that fails to load is forgotten, so the next command that needs it tries to load it again.
+ */
+public class TrajectoryCache {
+
+    private static TrajectoryCache currentInstance;
+
+    /**
+     * How many threads load the trajectories, which is few so that they don't compete with the robot loop
+     */
+    private static final int LOADING_THREADS = 2;
+
+    /**
+     * The directory that the trajectory files are deployed to
+     */
+    private final Path directory;
+
+    /**
+     * The trajectories by name, which are completed once they have been loaded
+     */
+    private final Map<String, CompletableFuture<TalonTrajectory>> trajectories = new ConcurrentHashMap<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger waits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong loadTimeNanos = new AtomicLong();
+
+    /**
+     * Gets the trajectory cache
+     *
+     * @return The cache singleton
+     */
+    public static TrajectoryCache getInstance() {
+        init();
+        return currentInstance;
+    }
+
+    /**
+     * Creates the trajectory cache and starts loading every deployed trajectory
+     */
+    public static void init() {
+        if (currentInstance == null) {
+            currentInstance = new TrajectoryCache(Config.DEPLOY_DIR.resolve("motion-profiles/output"));
+            currentInstance.preload();
+        }
+    }
+
+    /**
+     * Creates a trajectory cache
+     *
+     * @param directory The directory with the trajectory files
+     */
+    TrajectoryCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Starts loading every trajectory in the directory on a few threads, which stop once they have all been loaded
+     *
+     * @return A future that completes once every trajectory has been loaded
+     */
+    CompletableFuture<Void> preload() {
+        final List<String> names;
+
+        if (!Files.isDirectory(directory)) {
+            Log.w("No trajectories to preload in " + directory);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            names = files.map(file -> getName(file.getFileName().toString()))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            Log.w("Unable to list the trajectories in " + directory, e);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(LOADING_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "Trajectory Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CompletableFuture<?>[] loading = names.stream()
+                .map(name -> startLoading(name, executor))
+                .toArray(CompletableFuture<?>[]::new);
+
+        // The threads finish loading what has been queued and then exit
+        executor.shutdown();
+
+        return CompletableFuture.allOf(loading).handle((result, throwable) -> {
+            if (failed.get() > 0) {
+                Log.e("Failed to preload " + failed.get() + " of " + names.size() + " trajectories");
+            }
+
+            Log.i("Preloaded " + loaded.get() + " of " + names.size() + " trajectories in "
+                    + loadTimeNanos.get() / 1_000_000 + " ms of loading time");
+
+            return null;
+        });
+    }
+
+    /**
+     * Starts loading a trajectory in the background unless it is already loading
+     *
+     * @param name     The name of the trajectory
+     * @param executor The executor to load the trajectory on
+     * @return A future that completes once the trajectory has been loaded, or forgotten if it failed to load
+     */
+    private CompletableFuture<TalonTrajectory> startLoading(String name, Executor executor) {
+        final CompletableFuture<TalonTrajectory> future = trajectories.computeIfAbsent(name,
+                key -> CompletableFuture.supplyAsync(() -> load(key), executor));
+
+        return future.whenComplete((trajectory, throwable) -> {
+            if (throwable != null) {
+                forget(name, future);
+            }
+        });
+    }
+
+    /**
+     * Removes a trajectory that failed to load so that it is loaded again the next time it is needed
+     *
+     * @param name   The name of the trajectory
+     * @param future The failed future, which is only removed if it hasn't been replaced already
+     */
+    private void forget(String name, CompletableFuture<TalonTrajectory> future) {
+        if (trajectories.remove(name, future)) {
+            failed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets a trajectory, waiting for it if it is still being loaded or loading it if it wasn't preloaded
+     *
+     * @param name The name of the trajectory
+     * @return The trajectory for both wheels
+     * @throws UncheckedIOException If the trajectory couldn't be loaded
+     */
+    public TalonTrajectory get(String name) {
+        CompletableFuture<TalonTrajectory> future = trajectories.get(name);
+
+        if (future == null) {
+            misses.incrementAndGet();
+
+            CompletableFuture<TalonTrajectory> loading = new CompletableFuture<>();
+            future = trajectories.putIfAbsent(name, loading);
+
+            if (future == null) {
+                future = loading;
+
+                try {
+                    loading.complete(load(name));
+                } catch (RuntimeException e) {
+                    loading.completeExceptionally(e);
+                }
+            }
+        } else if (future.isDone()) {
+            hits.incrementAndGet();
+        } else {
+            waits.incrementAndGet();
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            forget(name, future);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Loads the binary trajectory file if it has been deployed, otherwise reads and converts the CSV files
+     *
+     * @param name The name of the trajectory
+     * @return The trajectory for both wheels
+     */
+    private TalonTrajectory load(String name) {
+        final long start = System.nanoTime();
+        final Path binary = directory.resolve(name + TalonTrajectory.EXTENSION);
+
+        try {
+            final TalonTrajectory trajectory;
+            if (Files.exists(binary)) {
+                trajectory = TalonTrajectory.load(binary);
+            } else {
+                trajectory = FollowTrajectoryFromFile.readFromCSV(directory, name);
+            }
+
+            final long time = System.nanoTime() - start;
+            loaded.incrementAndGet();
+            loadTimeNanos.addAndGet(time);
+            Log.d("Loaded trajectory " + name + " in " + time / 1000 + " us");
+
+            return trajectory;
+        } catch (IOException e) {
+            Log.e("Unable to load trajectory " + name, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the name of the trajectory that a file belongs to
+     *
+     * @param fileName The name of the file
+     * @return The name of the trajectory, or null if the file isn't the main file of a trajectory
+     */
+    private static String getName(String fileName) {
+        if (fileName.endsWith(TalonTrajectory.EXTENSION)) {
+            return fileName.substring(0, fileName.length() - TalonTrajectory.EXTENSION.length());
+        } else {
+            return FollowTrajectoryFromFile.getTrajectoryName(fileName);
+        }
+    }
+
+    /**
+     * Gets the number of trajectories that were already loaded when they were needed
+     *
+     * @return The number of hits
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of trajectories that were still loading when they were needed
+     *
+     * @return The number of times that a command waited for a trajectory
+     */
+    public int getWaits() {
+        return waits.get();
+    }
+
+    /**
+     * Gets the number of trajectories that weren't preloaded and had to be loaded when they were needed
+     *
+     * @return The number of misses
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of trajectories that have been loaded
+     *
+     * @return The number of loaded trajectories
+     */
+    public int getLoadedCount() {
+        return loaded.get();
+    }
+
+    /**
+     * Gets the number of times that a trajectory failed to load
+     *
+     * @return The number of failed loads
+     */
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Gets the total time spent loading trajectories, across all of the loading threads
+     *
+     * @return The loading time in seconds
+     */
+    public double getLoadTime() {
+        return loadTimeNanos.get() / 1e9;
+    }
+}
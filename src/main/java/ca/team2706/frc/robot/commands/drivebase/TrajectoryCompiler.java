@@ -0,0 +1,50 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Converts the PathWeaver CSV trajectories into binary trajectory files that can be memory mapped on the robot
+ * <p>
+ * Run by the compileTrajectories Gradle task
+ */
+public class TrajectoryCompiler {
+
+    private TrajectoryCompiler() {
+    }
+
+    /**
+     * Converts every trajectory in a directory
+     *
+     * @param args The directory with the CSV files and the directory to write the binary files to
+     * @throws IOException If a file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: TrajectoryCompiler <csv directory> <output directory>");
+        }
+
+        final Path input = Paths.get(args[0]);
+        final Path output = Paths.get(args[1]);
+        Files.createDirectories(output);
+
+        try (Stream<Path> files = Files.list(input)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                // The left and right files are read along with the main trajectory
+                final String trajectory = FollowTrajectoryFromFile.getTrajectoryName(file.getFileName().toString());
+
+                if (trajectory != null) {
+                    final TalonTrajectory talonTrajectory = FollowTrajectoryFromFile.readFromCSV(input, trajectory);
+
+                    talonTrajectory.writeTo(output.resolve(trajectory + TalonTrajectory.EXTENSION));
+                    System.out.println("Converted " + trajectory + " with " + talonTrajectory.size() + " points");
+                }
+            }
+        }
+    }
+}
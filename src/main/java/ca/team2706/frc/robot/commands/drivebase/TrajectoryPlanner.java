@@ -0,0 +1,217 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.logging.LatencyHistogram;
+import ca.team2706.frc.robot.logging.Log;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates trajectories off of the main robot thread so that commands don't overrun while Pathfinder is running
+ * <p>
+ * The requests are queued for a single planning thread. The queue is bounded so that stale requests can't pile up,
+ * and a request that is cancelled before it starts is taken out of the queue.
+ */
+public class TrajectoryPlanner {
+
+    /**
+     * The number of requests that can wait for the planning thread
+     */
+    static final int QUEUE_DEPTH = 4;
+
+    private static TrajectoryPlanner currentInstance;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The time between a request being submitted and starting to run
+     */
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+
+    /**
+     * The time that it takes to run a request
+     */
+    private final LatencyHistogram planningLatency = new LatencyHistogram();
+
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    /**
+     * Gets the trajectory planner
+     *
+     * @return The planner singleton
+     */
+    public static TrajectoryPlanner getInstance() {
+        init();
+        return currentInstance;
+    }
+
+    /**
+     * Creates the trajectory planner and its thread
+     */
+    public static void init() {
+        if (currentInstance == null) {
+            currentInstance = new TrajectoryPlanner(QUEUE_DEPTH);
+        }
+    }
+
+    /**
+     * Creates a trajectory planner
+     *
+     * @param queueDepth The number of requests that can wait for the planning thread
+     */
+    TrajectoryPlanner(int queueDepth) {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueDepth),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Trajectory Planner");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a trajectory to be generated on the planning thread
+     * <p>
+     * Cancelling the returned future removes the request if it hasn't started yet. A request that has already started
+     * still runs to the end, since Pathfinder can't be interrupted, but its result is thrown away.
+     *
+     * @param name    The name of the request for logging
+     * @param planner Generates the trajectory
+     * @param <T>     The type of trajectory
+     * @return The future that completes with the trajectory
+     * @throws RejectedExecutionException If the queue is full
+     */
+    public <T> Future<T> submit(String name, Callable<T> planner) {
+        PlanningTask<T> task = new PlanningTask<>(name, planner);
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            Log.w("Trajectory planner queue is full, " + name + " rejected");
+            throw e;
+        }
+
+        return task;
+    }
+
+    /**
+     * Waits for a planned trajectory
+     *
+     * @param future The future from {@link #submit(String, Callable)}
+     * @param <T>    The type of trajectory
+     * @return The trajectory
+     * @throws CancellationException If the request was cancelled
+     * @throws IllegalStateException If the trajectory couldn't be generated
+     */
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a trajectory", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new IllegalStateException("Unable to generate trajectory", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the time that requests have waited in the queue
+     *
+     * @return The histogram of queue latencies
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * Gets the time that requests have taken to run
+     *
+     * @return The histogram of planning latencies
+     */
+    public LatencyHistogram getPlanningLatency() {
+        return planningLatency;
+    }
+
+    /**
+     * Gets the number of requests that were rejected because the queue was full
+     *
+     * @return The number of rejected requests
+     */
+    public int getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of requests that were cancelled
+     *
+     * @return The number of cancelled requests
+     */
+    public int getCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * A planning request that records its latencies
+     *
+     * @param <T> The type of trajectory
+     */
+    private class PlanningTask<T> extends FutureTask<T> {
+
+        private final String name;
+
+        private final long submitted = System.nanoTime();
+
+        private volatile long started;
+
+        /**
+         * Creates a planning request
+         *
+         * @param name    The name of the request
+         * @param planner Generates the trajectory
+         */
+        PlanningTask(String name, Callable<T> planner) {
+            super(planner);
+            this.name = name;
+        }
+
+        @Override
+        public void run() {
+            if (!isDone()) {
+                started = System.nanoTime();
+                queueLatency.record(started - submitted);
+            }
+
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                cancelled.incrementAndGet();
+
+                // Frees up the space in the queue if the request never started
+                executor.remove(this);
+                Log.d(name + " trajectory request cancelled");
+            } else if (started != 0) {
+                final long time = System.nanoTime() - started;
+                planningLatency.record(time);
+
+                Log.d(name + " trajectory planned in " + time / 1000 + " us after waiting "
+                        + (started - submitted) / 1000 + " us");
+            }
+        }
+    }
+}
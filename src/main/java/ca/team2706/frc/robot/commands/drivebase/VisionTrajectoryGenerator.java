@@ -0,0 +1,410 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.logging.Log;
+import jaci.pathfinder.Pathfinder;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Waypoint;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates Hermite cubic trajectories between two waypoints, which is all that the vision approaches need,
+ * without running a full Pathfinder spline fit
+ * <p>
+ * Once the path is scaled so that the waypoints are a unit distance apart, its shape only depends on the angle
+ * between each waypoint's heading and the line joining them. The arc length along every such shape is precomputed
+ * on a grid of those two angles, so generating a trajectory only has to interpolate the table, run the motion profile
+ * and evaluate the cubic at each point. Paths that curve more than the table covers are passed on to Pathfinder.
+ */
+public class VisionTrajectoryGenerator {
+
+    /**
+     * The largest angle between a heading and the line joining the waypoints that the table covers
+     */
+    static final double MAX_ANGLE = Math.toRadians(80);
+
+    private static final double ANGLE_STEP = Math.toRadians(5);
+
+    private static final int ANGLES = (int) Math.round(2 * MAX_ANGLE / ANGLE_STEP) + 1;
+
+    /**
+     * The number of intervals that the arc length is stored for along each path
+     */
+    private static final int SAMPLES = 64;
+
+    /**
+     * The number of Simpson's rule steps used to integrate each interval when building the table
+     */
+    private static final int INTEGRATION_STEPS = 4;
+
+    private static VisionTrajectoryGenerator currentInstance;
+
+    /**
+     * The arc length from the start of a unit length path to each sample, indexed by the start angle, end angle and
+     * sample
+     */
+    private final float[] arcLengths = new float[ANGLES * ANGLES * (SAMPLES + 1)];
+
+    private final AtomicInteger generated = new AtomicInteger();
+    private final AtomicInteger fallbacks = new AtomicInteger();
+
+    /**
+     * Gets the vision trajectory generator
+     *
+     * @return The generator singleton
+     */
+    public static VisionTrajectoryGenerator getInstance() {
+        init();
+        return currentInstance;
+    }
+
+    /**
+     * Creates the vision trajectory generator and builds its table
+     */
+    public static void init() {
+        if (currentInstance == null) {
+            currentInstance = new VisionTrajectoryGenerator();
+        }
+    }
+
+    /**
+     * Creates a trajectory generator and builds its table
+     */
+    VisionTrajectoryGenerator() {
+        final long start = System.nanoTime();
+
+        for (int i0 = 0; i0 < ANGLES; i0++) {
+            for (int i1 = 0; i1 < ANGLES; i1++) {
+                buildArcLengths(Math.tan(getGridAngle(i0)), Math.tan(getGridAngle(i1)), (i0 * ANGLES + i1) * (SAMPLES + 1));
+            }
+        }
+
+        Log.d("Built vision trajectory table in " + (System.nanoTime() - start) / 1000 + " us");
+    }
+
+    /**
+     * Integrates the arc length along a unit length path
+     *
+     * @param startSlope The slope of the path at the start, relative to the line joining the waypoints
+     * @param endSlope   The slope of the path at the end, relative to the line joining the waypoints
+     * @param offset     Where the path starts in the table
+     */
+    private void buildArcLengths(double startSlope, double endSlope, int offset) {
+        final double h = 1.0 / (SAMPLES * INTEGRATION_STEPS);
+        double length = 0;
+
+        arcLengths[offset] = 0;
+        for (int k = 0; k < SAMPLES; k++) {
+            for (int step = 0; step < INTEGRATION_STEPS; step++) {
+                final double u = (k * INTEGRATION_STEPS + step) * h;
+
+                length += h / 6 * (speed(startSlope, endSlope, u) + 4 * speed(startSlope, endSlope, u + h / 2)
+                        + speed(startSlope, endSlope, u + h));
+            }
+
+            arcLengths[offset + k + 1] = (float) length;
+        }
+    }
+
+    /**
+     * Generates a Hermite cubic trajectory between two waypoints
+     *
+     * @param start  The starting waypoint
+     * @param end    The final waypoint
+     * @param config The trajectory configuration
+     * @return The trajectory, which follows the same path as {@link Pathfinder#generate(Waypoint[], Trajectory.Config)}
+     */
+    public Trajectory generate(Waypoint start, Waypoint end, Trajectory.Config config) {
+        final Trajectory trajectory = generate(start, end, config, 0);
+
+        if (trajectory == null) {
+            fallbacks.incrementAndGet();
+            return Pathfinder.generate(new Waypoint[]{start, end}, config);
+        }
+
+        return trajectory;
+    }
+
+    /**
+     * Generates a Hermite cubic trajectory between two waypoints that starts at a speed, such as to replace the rest
+     * of a trajectory that the robot is already following
+     *
+     * @param start         The starting waypoint
+     * @param end           The final waypoint
+     * @param config        The trajectory configuration
+     * @param startVelocity The velocity at the starting waypoint in feet per second
+     * @return The trajectory, or null if the table doesn't cover the path or the path is too short to stop on
+     */
+    public Trajectory generate(Waypoint start, Waypoint end, Trajectory.Config config, double startVelocity) {
+        final double dx = end.x - start.x;
+        final double dy = end.y - start.y;
+        final double distance = Math.hypot(dx, dy);
+        final double angleOffset = Math.atan2(dy, dx);
+
+        // The cubic only depends on the tangent of the angles, so they can be brought into (-90, 90]
+        final double startAngle = boundHalfRadians(start.angle - angleOffset);
+        final double endAngle = boundHalfRadians(end.angle - angleOffset);
+
+        if (config.fit != Trajectory.FitMethod.HERMITE_CUBIC || distance < 1e-6
+                || Math.abs(startAngle) > MAX_ANGLE || Math.abs(endAngle) > MAX_ANGLE) {
+            return null;
+        }
+
+        final double[] lengths = interpolateArcLengths(startAngle, endAngle);
+        final double[] profile = profile(distance * lengths[SAMPLES], startVelocity, config);
+        if (profile == null) {
+            return null;
+        }
+
+        final int size = profile.length / 2;
+
+        final double startSlope = Math.tan(startAngle);
+        final double endSlope = Math.tan(endAngle);
+        final double c3 = startSlope + endSlope;
+        final double c2 = -(2 * startSlope + endSlope);
+        final double cos = Math.cos(angleOffset);
+        final double sin = Math.sin(angleOffset);
+
+        Trajectory.Segment[] segments = new Trajectory.Segment[size];
+        double lastVelocity = startVelocity;
+        double lastAcceleration = 0;
+        int k = 0;
+
+        for (int i = 0; i < size; i++) {
+            final double position = profile[2 * i];
+            final double velocity = profile[2 * i + 1];
+            final double acceleration = (velocity - lastVelocity) / config.dt;
+            final double jerk = (acceleration - lastAcceleration) / config.dt;
+
+            // Find the fraction along the path that the position falls at, the positions only increase
+            final double target = position / distance;
+            while (k < SAMPLES - 1 && lengths[k + 1] < target) {
+                k++;
+            }
+
+            final double u = Math.max(0, Math.min(1,
+                    (k + (target - lengths[k]) / (lengths[k + 1] - lengths[k])) / SAMPLES));
+
+            final double x = u * distance;
+            final double y = distance * u * (u * (c3 * u + c2) + startSlope);
+            final double slope = u * (3 * c3 * u + 2 * c2) + startSlope;
+
+            segments[i] = new Trajectory.Segment(config.dt, x * cos - y * sin + start.x, x * sin + y * cos + start.y,
+                    position, velocity, acceleration, jerk, boundRadians(Math.atan(slope) + angleOffset));
+
+            lastVelocity = velocity;
+            lastAcceleration = acceleration;
+        }
+
+        generated.incrementAndGet();
+        return new Trajectory(segments);
+    }
+
+    /**
+     * Interpolates the arc lengths along a unit length path between the closest paths in the table
+     *
+     * @param startAngle The angle between the starting heading and the line joining the waypoints in radians
+     * @param endAngle   The angle between the final heading and the line joining the waypoints in radians
+     * @return The arc length to each sample
+     */
+    private double[] interpolateArcLengths(double startAngle, double endAngle) {
+        final double g0 = (startAngle + MAX_ANGLE) / ANGLE_STEP;
+        final double g1 = (endAngle + MAX_ANGLE) / ANGLE_STEP;
+        final int i0 = Math.min((int) g0, ANGLES - 2);
+        final int i1 = Math.min((int) g1, ANGLES - 2);
+        final double f0 = g0 - i0;
+        final double f1 = g1 - i1;
+
+        final int a = (i0 * ANGLES + i1) * (SAMPLES + 1);
+        final int b = (i0 * ANGLES + i1 + 1) * (SAMPLES + 1);
+        final int c = ((i0 + 1) * ANGLES + i1) * (SAMPLES + 1);
+        final int d = ((i0 + 1) * ANGLES + i1 + 1) * (SAMPLES + 1);
+
+        double[] lengths = new double[SAMPLES + 1];
+        for (int k = 0; k <= SAMPLES; k++) {
+            lengths[k] = (1 - f0) * ((1 - f1) * arcLengths[a + k] + f1 * arcLengths[b + k])
+                    + f0 * ((1 - f1) * arcLengths[c + k] + f1 * arcLengths[d + k]);
+        }
+
+        return lengths;
+    }
+
+    /**
+     * Generates the motion profile along the path with the same second order filter that Pathfinder uses
+     *
+     * @param length        The length of the path in feet
+     * @param startVelocity The velocity at the start of the path in feet per second
+     * @param config        The trajectory configuration
+     * @return The position and velocity of each point interleaved, or null if the path is too short to stop on
+     */
+    static double[] profile(double length, double startVelocity, Trajectory.Config config) {
+        final double stepDistance = config.max_velocity * config.dt;
+
+        if (startVelocity <= 0) {
+            return runProfile(length / stepDistance, 0, config);
+        }
+
+        // The robot covers some distance while it slows down, so search for the impulse that stops at the end
+        if (getEnd(runProfile(0, startVelocity, config)) > length) {
+            return null;
+        }
+
+        double low = 0;
+        double high = length / stepDistance;
+        double[] profile = runProfile(high, startVelocity, config);
+
+        for (int i = 0; i < 50 && Math.abs(getEnd(profile) - length) > 1e-9; i++) {
+            final double impulse = (low + high) / 2;
+            profile = runProfile(impulse, startVelocity, config);
+
+            if (getEnd(profile) > length) {
+                high = impulse;
+            } else {
+                low = impulse;
+            }
+        }
+
+        return profile;
+    }
+
+    /**
+     * Runs the second order filter on a velocity impulse
+     *
+     * @param impulse       The number of points to command the maximum velocity for
+     * @param startVelocity The velocity that the robot is already moving at in feet per second
+     * @param config        The trajectory configuration
+     * @return The position and velocity of each point until the robot stops, interleaved
+     */
+    private static double[] runProfile(double impulse, double startVelocity, Trajectory.Config config) {
+        final int filter1 = (int) Math.ceil(config.max_velocity / config.max_acceleration / config.dt);
+        final int filter2 = (int) Math.ceil(config.max_acceleration / config.max_jerk / config.dt);
+        final int size = (int) Math.ceil(filter1 + filter2 + impulse);
+
+        // The filters start out as if the robot had been cruising at the starting velocity
+        final double startOutput = Math.min(startVelocity / config.max_velocity, 1) * filter1;
+        final double[] filter1Outputs = new double[filter2];
+        Arrays.fill(filter1Outputs, startOutput);
+
+        final double[] profile = new double[2 * size];
+        double filter1Output = startOutput;
+        double filter2Sum = startOutput * filter2;
+        double lastPosition = 0;
+        double lastVelocity = startOutput / filter1 * config.max_velocity;
+        int count = size;
+
+        for (int i = 0; i < size; i++) {
+            // Accelerate while the impulse lasts, then decelerate
+            double input = Math.min(impulse, 1);
+            if (input < 1) {
+                input -= 1;
+                impulse = 0;
+            } else {
+                impulse -= input;
+            }
+
+            filter1Output = Math.max(0, Math.min(filter1, filter1Output + input));
+
+            filter2Sum += filter1Output - filter1Outputs[i % filter2];
+            filter1Outputs[i % filter2] = filter1Output;
+
+            final boolean stopped = i > 0 && impulse == 0 && filter2Sum < 1e-9;
+            final double velocity = stopped ? 0 : filter2Sum / filter1 / filter2 * config.max_velocity;
+            final double position = lastPosition + (lastVelocity + velocity) / 2 * config.dt;
+
+            profile[2 * i] = position;
+            profile[2 * i + 1] = velocity;
+
+            lastPosition = position;
+            lastVelocity = velocity;
+
+            if (stopped) {
+                count = i + 1;
+                break;
+            }
+        }
+
+        return Arrays.copyOf(profile, 2 * count);
+    }
+
+    /**
+     * Gets the final position of a profile
+     *
+     * @param profile The interleaved positions and velocities
+     * @return The final position in feet
+     */
+    private static double getEnd(double[] profile) {
+        return profile[profile.length - 2];
+    }
+
+    /**
+     * Gets the speed along a unit length path
+     *
+     * @param startSlope The slope at the start
+     * @param endSlope   The slope at the end
+     * @param u          The fraction along the path
+     * @return The derivative of the arc length
+     */
+    private static double speed(double startSlope, double endSlope, double u) {
+        final double slope = u * (3 * (startSlope + endSlope) * u - 2 * (2 * startSlope + endSlope)) + startSlope;
+
+        return Math.sqrt(1 + slope * slope);
+    }
+
+    /**
+     * Gets the angle of a row or column in the table
+     *
+     * @param index The index in the table
+     * @return The angle in radians
+     */
+    private static double getGridAngle(int index) {
+        return index * ANGLE_STEP - MAX_ANGLE;
+    }
+
+    /**
+     * Brings an angle into (-pi/2, pi/2]
+     *
+     * @param angle The angle in radians
+     * @return The angle with the same tangent
+     */
+    private static double boundHalfRadians(double angle) {
+        angle = angle % Math.PI;
+
+        if (angle > Math.PI / 2) {
+            angle -= Math.PI;
+        } else if (angle <= -Math.PI / 2) {
+            angle += Math.PI;
+        }
+
+        return angle;
+    }
+
+    /**
+     * Brings an angle into [0, 2pi) like the headings that Pathfinder generates
+     *
+     * @param angle The angle in radians
+     * @return The bounded angle
+     */
+    private static double boundRadians(double angle) {
+        final double bounded = angle % (2 * Math.PI);
+        return bounded < 0 ? bounded + 2 * Math.PI : bounded;
+    }
+
+    /**
+     * Gets the number of trajectories generated from the table
+     *
+     * @return The number of generated trajectories
+     */
+    public int getGeneratedCount() {
+        return generated.get();
+    }
+
+    /**
+     * Gets the number of trajectories that were outside of the table and generated by Pathfinder
+     *
+     * @return The number of fallbacks
+     */
+    public int getFallbackCount() {
+        return fallbacks.get();
+    }
+}
@@ -0,0 +1,198 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.logging.LatencyHistogram;
+import jaci.pathfinder.Pathfinder;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Waypoint;
+
+/**
+ * Compares the trajectories from the {@link VisionTrajectoryGenerator} against Pathfinder across the vision envelope
+ * <p>
+ * Run by the visionTrajectoryReport Gradle task
+ */
+public class VisionTrajectoryReport {
+
+    /**
+     * The largest angle between the robot's heading and the final position that is checked
+     */
+    static final double MAX_BEARING = 30;
+
+    /**
+     * The largest change in heading that is checked
+     */
+    static final double MAX_TURN = 45;
+
+    private VisionTrajectoryReport() {
+    }
+
+    /**
+     * Generates every trajectory in the vision envelope both ways and prints how far apart they are
+     *
+     * @param args Unused
+     */
+    public static void main(String[] args) {
+        final Trajectory.Config config = getVisionConfig();
+        final VisionTrajectoryGenerator generator = new VisionTrajectoryGenerator();
+        final Waypoint start = new Waypoint(0, 0, Pathfinder.d2r(90));
+
+        final LatencyHistogram tableTime = new LatencyHistogram();
+        final LatencyHistogram pathfinderTime = new LatencyHistogram();
+        double maxPathError = 0;
+        double maxHeadingError = 0;
+        double maxEndError = 0;
+        int maxLengthDifference = 0;
+        int cases = 0;
+
+        for (double distance = Config.VISION_DISTANCE_MIN.value(); distance <= Config.VISION_DISTANCE_MAX.value(); distance += 0.5) {
+            for (double bearing = -MAX_BEARING; bearing <= MAX_BEARING; bearing += 5) {
+                for (double turn = -MAX_TURN; turn <= MAX_TURN; turn += 5) {
+                    final Waypoint end = getEnd(distance, bearing, turn);
+
+                    long time = System.nanoTime();
+                    final Trajectory trajectory = generator.generate(start, end, config);
+                    tableTime.record(System.nanoTime() - time);
+
+                    time = System.nanoTime();
+                    final Trajectory reference = Pathfinder.generate(new Waypoint[]{start, end}, config);
+                    pathfinderTime.record(System.nanoTime() - time);
+
+                    // Pathfinder stops a little short of the final waypoint, so its points are checked against the table's path
+                    maxPathError = Math.max(maxPathError, getPathError(reference, trajectory));
+                    maxHeadingError = Math.max(maxHeadingError, getHeadingError(reference, trajectory));
+                    maxEndError = Math.max(maxEndError, getEndError(trajectory, reference));
+                    maxLengthDifference = Math.max(maxLengthDifference, Math.abs(trajectory.length() - reference.length()));
+                    cases++;
+                }
+            }
+        }
+
+        System.out.println("Compared " + cases + " trajectories from " + Config.VISION_DISTANCE_MIN.value() + " to "
+                + Config.VISION_DISTANCE_MAX.value() + " ft, +/-" + MAX_BEARING + " deg bearing and +/-" + MAX_TURN + " deg turn");
+        System.out.println("Table fallbacks:        " + generator.getFallbackCount());
+        System.out.printf("Max path error:         %.4f ft%n", maxPathError);
+        System.out.printf("Max heading error:      %.3f deg%n", Math.toDegrees(maxHeadingError));
+        System.out.printf("Max end point error:    %.4f ft%n", maxEndError);
+        System.out.println("Max length difference:  " + maxLengthDifference + " segments");
+        System.out.println("Table generation:       " + tableTime);
+        System.out.println("Pathfinder generation:  " + pathfinderTime);
+    }
+
+    /**
+     * Creates the configuration that {@link DriverAssistVision} generates its trajectories with
+     *
+     * @return The trajectory configuration
+     */
+    static Trajectory.Config getVisionConfig() {
+        return new Trajectory.Config(Trajectory.FitMethod.HERMITE_CUBIC, Trajectory.Config.SAMPLES_FAST,
+                Config.TRAJ_DELTA_TIME.value(), Config.VISION_ASSIST_MAX_VELOCITY.value(),
+                Config.VISION_ASSIST_MAX_ACCELERATION.value(), Config.VISION_ASSIST_MAX_JERK.value());
+    }
+
+    /**
+     * Gets the final waypoint of a vision approach that starts at the origin facing 90 degrees
+     *
+     * @param distance The distance to the final position in feet
+     * @param bearing  The angle from the robot's heading to the final position in degrees, clockwise positive
+     * @param turn     The change in heading in degrees, counter-clockwise positive
+     * @return The final waypoint
+     */
+    static Waypoint getEnd(double distance, double bearing, double turn) {
+        return new Waypoint(distance * Math.sin(Math.toRadians(bearing)), distance * Math.cos(Math.toRadians(bearing)),
+                Pathfinder.d2r(90 + turn));
+    }
+
+    /**
+     * Gets the farthest that the points of a trajectory are from the path of another one
+     *
+     * @param trajectory The trajectory whose points are checked
+     * @param path       The trajectory that the points should be on
+     * @return The largest distance from a point to the path in feet
+     */
+    static double getPathError(Trajectory trajectory, Trajectory path) {
+        double error = 0;
+
+        for (Trajectory.Segment segment : trajectory.segments) {
+            final Trajectory.Segment closest = getClosest(segment, path);
+            error = Math.max(error, Math.hypot(segment.x - closest.x, segment.y - closest.y));
+        }
+
+        return error;
+    }
+
+    /**
+     * Gets the largest difference in heading between the points of a trajectory and the same distance along another one
+     *
+     * @param trajectory The trajectory whose points are checked
+     * @param path       The trajectory that the points should be on
+     * @return The largest heading difference in radians
+     */
+    static double getHeadingError(Trajectory trajectory, Trajectory path) {
+        double error = 0;
+        int i = 1;
+
+        for (Trajectory.Segment segment : trajectory.segments) {
+            while (i < path.length() - 1 && path.segments[i].position < segment.position) {
+                i++;
+            }
+
+            final Trajectory.Segment a = path.segments[i - 1];
+            final Trajectory.Segment b = path.segments[i];
+            double t = b.position == a.position ? 1 : (segment.position - a.position) / (b.position - a.position);
+            t = Math.max(0, Math.min(1, t));
+
+            final double heading = a.heading + t * Math.IEEEremainder(b.heading - a.heading, 2 * Math.PI);
+            error = Math.max(error, Math.abs(Math.IEEEremainder(segment.heading - heading, 2 * Math.PI)));
+        }
+
+        return error;
+    }
+
+    /**
+     * Gets the distance between the last points of two trajectories
+     *
+     * @param trajectory The trajectory to check
+     * @param reference  The trajectory to compare it to
+     * @return The distance in feet
+     */
+    static double getEndError(Trajectory trajectory, Trajectory reference) {
+        final Trajectory.Segment last = trajectory.segments[trajectory.length() - 1];
+        final Trajectory.Segment referenceLast = reference.segments[reference.length() - 1];
+
+        return Math.hypot(last.x - referenceLast.x, last.y - referenceLast.y);
+    }
+
+    /**
+     * Finds the closest spot on the path between the points of a trajectory
+     *
+     * @param point The point to look for
+     * @param path  The trajectory to search
+     * @return The closest spot, which may be between two points
+     */
+    private static Trajectory.Segment getClosest(Trajectory.Segment point, Trajectory path) {
+        Trajectory.Segment closest = path.segments[0];
+        double closestDistance = Math.hypot(point.x - closest.x, point.y - closest.y);
+
+        for (int i = 1; i < path.length(); i++) {
+            final Trajectory.Segment a = path.segments[i - 1];
+            final Trajectory.Segment b = path.segments[i];
+            final double dx = b.x - a.x;
+            final double dy = b.y - a.y;
+            final double lengthSquared = dx * dx + dy * dy;
+
+            double t = lengthSquared == 0 ? 0 : ((point.x - a.x) * dx + (point.y - a.y) * dy) / lengthSquared;
+            t = Math.max(0, Math.min(1, t));
+
+            final double x = a.x + t * dx;
+            final double y = a.y + t * dy;
+            final double distance = Math.hypot(point.x - x, point.y - y);
+
+            if (distance < closestDistance) {
+                closest = new Trajectory.Segment(point.dt, x, y, 0, 0, 0, 0, 0);
+                closestDistance = distance;
+            }
+        }
+
+        return closest;
+    }
+}
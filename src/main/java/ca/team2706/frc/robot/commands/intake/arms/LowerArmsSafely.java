@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.intake.arms;
 
 import ca.team2706.frc.robot.pneumatics.PneumaticState;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 
 /**
  * Lowers the arms, checking if the plunger is stowed beforehand and lowering it safely if not.
  */
-public class LowerArmsSafely extends CommandGroup {
+public class LowerArmsSafely extends ProfiledCommandGroup {
 
     /**
      * Constructs a new lower arms safely command.
@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.intake.arms;
 
 import ca.team2706.frc.robot.pneumatics.PneumaticState;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 
 /**
  * Command group for safely raising the arms by checking and retracting the pneumatic piston.
  */
-public class RaiseArmsSafely extends CommandGroup {
+public class RaiseArmsSafely extends ProfiledCommandGroup {
 
     /**
      * Constructs a new command for raising the intake arms to manipulate hatches, checking if the plunger
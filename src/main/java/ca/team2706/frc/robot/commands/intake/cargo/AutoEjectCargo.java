@@ -4,13 +4,13 @@ import ca.team2706.frc.robot.commands.intake.arms.MovePlunger;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.pneumatics.PneumaticState;
 import ca.team2706.frc.robot.subsystems.Intake;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 import edu.wpi.first.wpilibj.command.WaitCommand;
 
 /**
  * Command for automatically ejecting cargo from the mechanism.
  */
-public class AutoEjectCargo extends CommandGroup {
+public class AutoEjectCargo extends ProfiledCommandGroup {
 
     /**
      * Constructs a new auto eject cargo command.
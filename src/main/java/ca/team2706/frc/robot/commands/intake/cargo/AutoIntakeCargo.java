@@ -1,13 +1,13 @@
 package ca.team2706.frc.robot.commands.intake.cargo;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.subsystems.Intake;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Command for automatically intaking cargo using the IR sensor to stop the motors.
  */
-public class AutoIntakeCargo extends Command {
+public class AutoIntakeCargo extends ProfiledCommand {
 
     /**
      * Constructs a new AutoIntakeCargo command with default parameters.
@@ -17,17 +17,17 @@ public class AutoIntakeCargo extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void onExecute() {
         Intake.getInstance().runIntakeForward(Config.AUTO_INTAKE_CARGO_SPEED);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return Intake.getInstance().isCargoPositionedWell();
     }
 
     @Override
-    protected void end() {
+    protected void onEnd() {
         Intake.getInstance().stop();
     }
 }
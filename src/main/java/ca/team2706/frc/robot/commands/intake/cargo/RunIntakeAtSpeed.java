@@ -1,14 +1,14 @@
 package ca.team2706.frc.robot.commands.intake.cargo;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.Intake;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.function.Supplier;
 
 /**
  * Command for running the intake motors at the given speed.
  */
-public class RunIntakeAtSpeed extends Command {
+public class RunIntakeAtSpeed extends ProfiledCommand {
     private final Supplier<Double> speed;
 
     /**
@@ -21,17 +21,17 @@ public class RunIntakeAtSpeed extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void onExecute() {
         Intake.getInstance().runIntakeForward(speed.get());
     }
 
     @Override
-    protected void end() {
+    protected void onEnd() {
         Intake.getInstance().stop();
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 }
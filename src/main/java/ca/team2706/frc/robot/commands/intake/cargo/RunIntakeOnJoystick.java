@@ -1,16 +1,16 @@
 package ca.team2706.frc.robot.commands.intake.cargo;
 
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.config.FluidConstant;
 import ca.team2706.frc.robot.config.XboxValue;
 import ca.team2706.frc.robot.subsystems.Intake;
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Command for inhaling cargo using the intake subsystems.
  */
-public class RunIntakeOnJoystick extends Command {
+public class RunIntakeOnJoystick extends ProfiledCommand {
 
     /**
      * Joystick which is going to be used to determine speed.
@@ -44,7 +44,7 @@ public class RunIntakeOnJoystick extends Command {
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         double speed = controller.getRawAxis(triggerAxis) * 0.7;
         if (forward) {
             Intake.getInstance().runIntakeForward(speed);
@@ -54,12 +54,12 @@ public class RunIntakeOnJoystick extends Command {
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         Intake.getInstance().stop();
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 }
@@ -3,7 +3,7 @@ package ca.team2706.frc.robot.commands.intake.hatch;
 import ca.team2706.frc.robot.commands.intake.arms.MovePlunger;
 import ca.team2706.frc.robot.commands.lift.MoveLiftToPosition;
 import ca.team2706.frc.robot.pneumatics.PneumaticState;
-import edu.wpi.first.wpilibj.command.CommandGroup;
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 
 import java.util.function.Supplier;
 
@@ -11,7 +11,7 @@ import java.util.function.Supplier;
  * Command designed to run after ejecting a hatch meant to reset the robot to the state it was at
  * before ejecting the hatch.
  */
-public class AfterEjectHatch extends CommandGroup {
+public class AfterEjectHatch extends ProfiledCommandGroup {
     /**
      * Constructs an after eject hatch command with the given lift position.
      *
@@ -23,7 +23,7 @@ public class AfterEjectHatch extends CommandGroup {
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    protected void onInitialize() {
+        super.onInitialize();
     }
 }
@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.lift;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.Lift;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Command for holding the position of the lift when there are no inputs being made to it.
  */
-public class HoldLift extends Command {
+public class HoldLift extends ProfiledCommand {
 
     /**
      * Height to hold in feet.
@@ -18,19 +18,19 @@ public class HoldLift extends Command {
     }
 
     @Override
-    protected void initialize() {
-        super.initialize();
+    protected void onInitialize() {
+        super.onInitialize();
         heightToHold = Lift.getInstance().getLiftHeight();
     }
 
     @Override
-    protected void execute() {
-        super.execute();
+    protected void onExecute() {
+        super.onExecute();
         Lift.getInstance().setPosition(1.0, heightToHold);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 }
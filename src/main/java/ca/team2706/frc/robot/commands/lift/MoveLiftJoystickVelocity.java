@@ -1,16 +1,16 @@
 package ca.team2706.frc.robot.commands.lift;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.config.FluidConstant;
 import ca.team2706.frc.robot.config.XboxValue;
 import ca.team2706.frc.robot.subsystems.Lift;
 import edu.wpi.first.wpilibj.GenericHID;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Command for moving the lift on joystick input using velocity.
  */
-public class MoveLiftJoystickVelocity extends Command {
+public class MoveLiftJoystickVelocity extends ProfiledCommand {
 
     public static final double ALPHA = 0.1;
 
@@ -39,15 +39,15 @@ public class MoveLiftJoystickVelocity extends Command {
     }
 
     @Override
-    public void initialize() {
+    public void onInitialize() {
         last = 0;
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         final double percentSpeed = -controller.getRawAxis(axisPort) * ALPHA + (1 - ALPHA) * last;
         if (!shouldUseOverride()) {
-            Lift.getInstance().setVelocity((int) (percentSpeed * Config.LIFT_MAX_SPEED.value()));
+            Lift.getInstance().setVelocity((int) (percentSpeed * Config.LIFT_MAX_SPEED.getAsInt()));
             last = percentSpeed;
         } else if (percentSpeed < 0) {
             Lift.getInstance().overrideDown();
@@ -64,12 +64,12 @@ public class MoveLiftJoystickVelocity extends Command {
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 
     @Override
-    protected void end() {
+    protected void onEnd() {
         Lift.getInstance().stop();
     }
 }
\ No newline at end of file
@@ -1,15 +1,15 @@
 package ca.team2706.frc.robot.commands.lift;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.config.FluidConstant;
 import ca.team2706.frc.robot.config.XboxValue;
 import ca.team2706.frc.robot.subsystems.Lift;
 import edu.wpi.first.wpilibj.GenericHID;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Command for moving the lift up and down with percent output based on controller input.
  */
-public class MoveLiftOnJoystick extends Command {
+public class MoveLiftOnJoystick extends ProfiledCommand {
 
     private GenericHID controller;
 
@@ -31,18 +31,18 @@ public class MoveLiftOnJoystick extends Command {
     }
 
     @Override
-    public void execute() {
+    public void onExecute() {
         final double percentSpeed = -controller.getRawAxis(axisPort);
         Lift.getInstance().setPercentOutput(percentSpeed);
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         Lift.getInstance().stop();
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 }
\ No newline at end of file
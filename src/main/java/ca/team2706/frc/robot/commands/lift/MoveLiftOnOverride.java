@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.lift;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.Lift;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Moves the lift up or down on override.
  */
-public class MoveLiftOnOverride extends Command {
+public class MoveLiftOnOverride extends ProfiledCommand {
     private final boolean moveUp;
 
     /**
@@ -20,7 +20,7 @@ public class MoveLiftOnOverride extends Command {
     }
 
     @Override
-    protected void execute() {
+    protected void onExecute() {
         if (moveUp) {
             Lift.getInstance().overrideUp();
         } else {
@@ -29,13 +29,13 @@ public class MoveLiftOnOverride extends Command {
     }
 
     @Override
-    protected void end() {
-        super.end();
+    protected void onEnd() {
+        super.onEnd();
         Lift.getInstance().stop();
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return false;
     }
 }
@@ -1,15 +1,15 @@
 package ca.team2706.frc.robot.commands.lift;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.logging.Log;
 import ca.team2706.frc.robot.subsystems.Lift;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.util.function.Supplier;
 
 /**
  * Command for moving the lift to a certain position, without motion magic.
  */
-public class MoveLiftToPosition extends Command {
+public class MoveLiftToPosition extends ProfiledCommand {
 
     private final double maxSpeed;
     private final Supplier<Double> position;
@@ -28,30 +28,30 @@ public class MoveLiftToPosition extends Command {
     }
 
     @Override
-    protected void initialize() {
+    protected void onInitialize() {
         currentTarget = position.get();
-        Log.d("Moving lift to " + currentTarget + " ticks");
+        Log.d("Moving lift to {} ticks", currentTarget);
     }
 
     @Override
-    protected void execute() {
+    protected void onExecute() {
         Lift.getInstance().setPosition(maxSpeed, currentTarget);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return Lift.getInstance().hasReachedPosition(currentTarget);
     }
 
     @Override
-    protected void end() {
-        Log.d("Ended lift moving. Position: " + Lift.getInstance().getLiftHeight());
+    protected void onEnd() {
+        Log.d("Ended lift moving. Position: {}", Lift.getInstance().getLiftHeight());
         Lift.getInstance().stop();
     }
 
     @Override
-    protected void interrupted() {
-        Log.d("Cancelled moving lift after " + this.timeSinceInitialized() + " seconds");
-        super.interrupted();
+    protected void onInterrupted() {
+        Log.d("Cancelled moving lift after {} seconds", this.timeSinceInitialized());
+        super.onInterrupted();
     }
 }
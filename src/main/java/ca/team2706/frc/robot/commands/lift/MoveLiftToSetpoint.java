@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.lift;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.subsystems.Lift;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Command for moving the lift to a given setpoint.
  */
-public class MoveLiftToSetpoint extends Command {
+public class MoveLiftToSetpoint extends ProfiledCommand {
     private final int setpoint;
 
     /**
@@ -21,17 +21,17 @@ public class MoveLiftToSetpoint extends Command {
     }
 
     @Override
-    protected void initialize() {
+    protected void onInitialize() {
         Lift.getInstance().moveToSetpoint(1.0, setpoint);
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return Lift.getInstance().hasReachedSetpoint(setpoint);
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         Lift.getInstance().stop();
     }
 }
@@ -1,16 +1,30 @@
 package ca.team2706.frc.robot.commands.lift;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import ca.team2706.frc.robot.config.XboxValue;
-import ca.team2706.frc.robot.input.FluidButton;
+import ca.team2706.frc.robot.input.ControllerSnapshot;
 import ca.team2706.frc.robot.subsystems.Lift;
 import edu.wpi.first.wpilibj.GenericHID;
-import edu.wpi.first.wpilibj.command.Command;
 
 /**
  * Command for moving the lift to a given setpoint.
  */
-public class MoveLiftToSetpointOnPOV extends Command {
-    private final GenericHID controller;
+public class MoveLiftToSetpointOnPOV extends ProfiledCommand {
+    private final ControllerSnapshot controller;
+
+    /**
+     * The POV buttons in the order that they're checked in
+     */
+    private static final XboxValue[] POV_VALUES = {
+            XboxValue.XBOX_POV_DOWN,
+            XboxValue.XBOX_POV_UP,
+            XboxValue.XBOX_POV_RIGHT,
+            XboxValue.XBOX_POV_LEFT,
+            XboxValue.XBOX_POV_DOWN_LEFT,
+            XboxValue.XBOX_POV_DOWN_RIGHT,
+            XboxValue.XBOX_POV_UP_RIGHT,
+            XboxValue.XBOX_POV_UP_LEFT
+    };
 
     /**
      * The last bound Xbox POV that was bound to something. Will be one of the POV UP, DOWN, LEFT or RIGHT values.
@@ -30,11 +44,11 @@ public class MoveLiftToSetpointOnPOV extends Command {
      */
     public MoveLiftToSetpointOnPOV(final GenericHID controller) {
         requires(Lift.getInstance());
-        this.controller = controller;
+        this.controller = ControllerSnapshot.of(controller);
     }
 
     @Override
-    protected void execute() {
+    protected void onExecute() {
         // Keep track of the old setpoint so we don't spam the Lift with the same change.
         final int oldSetpoint = currentSetpoint;
 
@@ -85,12 +99,12 @@ public class MoveLiftToSetpointOnPOV extends Command {
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return Lift.getInstance().hasReachedSetpoint(currentSetpoint);
     }
 
     @Override
-    public void end() {
+    public void onEnd() {
         Lift.getInstance().stop();
         lastPressedBound = null;
         currentSetpoint = -1;
@@ -108,32 +122,18 @@ public class MoveLiftToSetpointOnPOV extends Command {
     /**
      * Determines which of the POV buttons are being pressed on the given controller.
      *
-     * @param controller The controller to be checked.
+     * @param controller The snapshot of the controller to be checked.
      * @return The XboxValue enum for the currently pressed POV button.
      */
-    private static XboxValue getPressedPOV(GenericHID controller) {
-        final XboxValue value;
-
-        if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_DOWN.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_DOWN;
-        } else if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_UP.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_UP;
-        } else if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_RIGHT.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_RIGHT;
-        } else if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_LEFT.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_LEFT;
-        } else if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_DOWN_LEFT.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_DOWN_LEFT;
-        } else if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_DOWN_RIGHT.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_DOWN_RIGHT;
-        } else if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_UP_RIGHT.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_UP_RIGHT;
-        } else if (FluidButton.determineIfActivated(controller, XboxValue.XBOX_POV_UP_LEFT.getPort(), XboxValue.XboxInputType.POV)) {
-            value = XboxValue.XBOX_POV_UP_LEFT;
-        } else {
-            value = null;
+    private static XboxValue getPressedPOV(ControllerSnapshot controller) {
+        final int pov = controller.getPOV();
+
+        for (XboxValue value : POV_VALUES) {
+            if (value.getPort() == pov) {
+                return value;
+            }
         }
 
-        return value;
+        return null;
     }
 }
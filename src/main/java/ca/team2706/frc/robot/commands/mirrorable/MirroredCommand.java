@@ -1,12 +1,13 @@
 package ca.team2706.frc.robot.commands.mirrorable;
 
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import edu.wpi.first.wpilibj.command.Command;
 import edu.wpi.first.wpilibj.command.Subsystem;
 
 /**
  * A command that can be mirrored in a certain way. Useful for automodes that do the same thing but mirrored
  */
-public abstract class MirroredCommand extends Command implements IMirrorable<Command> {
+public abstract class MirroredCommand extends ProfiledCommand implements IMirrorable<Command> {
 
     private boolean mirrored;
 
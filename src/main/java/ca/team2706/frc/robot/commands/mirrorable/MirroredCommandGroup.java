@@ -1,7 +1,7 @@
 package ca.team2706.frc.robot.commands.mirrorable;
 
+import ca.team2706.frc.robot.commands.ProfiledCommandGroup;
 import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.command.CommandGroup;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -9,20 +9,20 @@ import java.util.Set;
 /**
  * A command group that when mirrored, mirrors all sub-commands
  */
-public class MirroredCommandGroup extends CommandGroup implements IMirrorable<Command> {
+public class MirroredCommandGroup extends ProfiledCommandGroup implements IMirrorable<Command> {
 
     private Set<IMirrorable<? extends Command>> mirroredCommands = new HashSet<>();
     private boolean mirrored;
 
     /**
-     * @see CommandGroup#CommandGroup()
+     * @see ProfiledCommandGroup#ProfiledCommandGroup()
      */
     public MirroredCommandGroup() {
         super();
     }
 
     /**
-     * @see CommandGroup#CommandGroup(String)
+     * @see ProfiledCommandGroup#ProfiledCommandGroup(String)
      */
     public MirroredCommandGroup(String name) {
         super(name);
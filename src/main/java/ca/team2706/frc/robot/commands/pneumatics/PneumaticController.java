@@ -1,7 +1,7 @@
 package ca.team2706.frc.robot.commands.pneumatics;
 
+import ca.team2706.frc.robot.commands.ProfiledTimedCommand;
 import ca.team2706.frc.robot.pneumatics.PneumaticState;
-import edu.wpi.first.wpilibj.command.TimedCommand;
 
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -12,7 +12,7 @@ import java.util.function.Supplier;
  * Generic class for controlling a pneumatic piston (something controlled with pneumatics
  * which has two states: deployed and stowed).
  */
-public class PneumaticController extends TimedCommand {
+public class PneumaticController extends ProfiledTimedCommand {
 
 
     private final Consumer<PneumaticState> moveFunction;
@@ -196,8 +196,8 @@ public class PneumaticController extends TimedCommand {
 
 
     @Override
-    protected void initialize() {
-        super.initialize();
+    protected void onInitialize() {
+        super.onInitialize();
 
         final PneumaticState previousState = (currentStateSupplier != null) ? currentStateSupplier.get() : null;
         final PneumaticState desiredState = desiredStateProvider.apply(previousState);
@@ -210,13 +210,13 @@ public class PneumaticController extends TimedCommand {
     }
 
     @Override
-    protected boolean isFinished() {
-        return super.isFinished() || (!willAlwaysMovePiston() && isAlreadyInPosition);
+    protected boolean isDone() {
+        return super.isDone() || (!willAlwaysMovePiston() && isAlreadyInPosition);
     }
 
     @Override
-    protected void end() {
-        super.end();
+    protected void onEnd() {
+        super.onEnd();
         stopFunction.run();
         this.isAlreadyInPosition = false;
     }
@@ -1,12 +1,12 @@
 package ca.team2706.frc.robot.commands.ringlight;
 
+import ca.team2706.frc.robot.commands.ProfiledInstantCommand;
 import ca.team2706.frc.robot.subsystems.RingLight;
-import edu.wpi.first.wpilibj.command.InstantCommand;
 
 /**
  * Command for toggling the ring light.
  */
-public class ToggleRingLight extends InstantCommand {
+public class ToggleRingLight extends ProfiledInstantCommand {
 
     /**
      * Constructs a nwe command for toggling the ring light with default arguments.
@@ -16,8 +16,8 @@ public class ToggleRingLight extends InstantCommand {
     }
 
     @Override
-    protected void initialize() {
-        super.initialize();
+    protected void onInitialize() {
+        super.onInitialize();
         RingLight.getInstance().toggleLight();
     }
 }
@@ -0,0 +1,113 @@
+package ca.team2706.frc.robot.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A fluid constant holding a boolean, which can be read without unboxing.
+ */
+public class BooleanFluidConstant extends FluidConstant<Boolean> {
+
+    /**
+     * A copy of the value so that it can be read without unboxing.
+     */
+    private volatile boolean booleanValue;
+
+    /**
+     * The listeners that are called with the primitive values.
+     */
+    private final List<ChangeListener> booleanListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The value that the primitive listeners were last notified of.
+     */
+    private boolean notifiedBoolean;
+
+    /**
+     * Creates a new boolean fluid constant.
+     *
+     * @param name         The name of the constant used when printing it to file.
+     * @param initialValue The initial value of the constant.
+     */
+    BooleanFluidConstant(String name, boolean initialValue) {
+        super(name, initialValue);
+        booleanValue = initialValue;
+        notifiedBoolean = initialValue;
+    }
+
+    /**
+     * Gets the current value of this constant.
+     *
+     * @return The current value of this constant.
+     */
+    public boolean getAsBoolean() {
+        return booleanValue;
+    }
+
+    /**
+     * Sets the value of this constant. Will only set the constant while the robot is disabled.
+     *
+     * @param value The value to which the constant should be set.
+     */
+    public void setValue(boolean value) {
+        setValue(Boolean.valueOf(value));
+    }
+
+    /**
+     * Adds a listener to be called with the primitive values when the constant's value is changed.
+     *
+     * @param valueListener The listener.
+     */
+    public void addBooleanChangeListener(ChangeListener valueListener) {
+        booleanListeners.add(valueListener);
+    }
+
+    @Override
+    void store(Boolean value) {
+        super.store(value);
+        booleanValue = value;
+    }
+
+    @Override
+    synchronized void notifyListeners() {
+        final boolean oldValue = notifiedBoolean;
+        final boolean newValue = booleanValue;
+        notifiedBoolean = newValue;
+
+        super.notifyListeners();
+
+        if (oldValue != newValue) {
+            for (int i = 0; i < booleanListeners.size(); i++) {
+                booleanListeners.get(i).changed(oldValue, newValue);
+            }
+        }
+    }
+
+    @Override
+    int getStore() {
+        return FluidSnapshot.BOOLEAN;
+    }
+
+    @Override
+    void copyTo(FluidSnapshot snapshot) {
+        snapshot.booleans[getIndex()] = booleanValue;
+    }
+
+    @Override
+    Boolean readFrom(FluidSnapshot snapshot) {
+        return snapshot.get(this);
+    }
+
+    /**
+     * Listener for the value of a boolean fluid constant.
+     */
+    public interface ChangeListener {
+        /**
+         * Called when the fluid constant's value is changed.
+         *
+         * @param oldValue The old constant value.
+         * @param newValue The new constant value.
+         */
+        void changed(boolean oldValue, boolean newValue);
+    }
+}
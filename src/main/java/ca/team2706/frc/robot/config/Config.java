@@ -5,9 +5,9 @@ import ca.team2706.frc.robot.RobotState;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -28,13 +28,38 @@ public class Config {
 
     private static final ArrayList<FluidConstant<?>> CONSTANTS = new ArrayList<>();
 
+    /**
+     * The number of constants in each store of the {@link FluidSnapshot}
+     */
+    private static final int[] STORE_SIZES = new int[FluidSnapshot.STORES];
+
+    /**
+     * The current values of the constants, replaced whenever one of them changes
+     */
+    private static volatile FluidSnapshot snapshot;
+    private static long snapshotVersion;
+
+    /**
+     * The version of the snapshot when the listeners were last notified
+     */
+    private static long dispatchedVersion = -1;
+
     // #### Static constants ####
 
     /**
      * Path to the file which identifies which robot this is.
      */
     private static final Path ROBOT_ID_LOC = Paths.get(System.getProperty("user.home"), "robot.conf");
-    private static final Path SAVE_FILE = Paths.get(System.getProperty("user.home"), "FluidConstants.txt");
+
+    /**
+     * Path to the file that the values of the fluid constants are saved in on the robot.
+     */
+    private static final Path JOURNAL_LOC = Paths.get(System.getProperty("user.home"), "FluidConstants.journal");
+
+    /**
+     * The journal that the values of the fluid constants are saved in and restored from, or null if they aren't saved
+     */
+    private static ConstantJournal journal;
 
     /**
      * ID of the robot that code is running on
@@ -197,8 +222,22 @@ public class Config {
 
     public static final double EXECUTE_PERIOD = 0.02;
 
+    /**
+     * How often telemetry signals are logged by default, in seconds. Each signal's rate can be changed from
+     * NetworkTables while the robot is running.
+     */
     public static final double LOG_PERIOD = robotSpecific(0.02, 0.02, 0.02, Double.POSITIVE_INFINITY);
 
+    /**
+     * How often telemetry sources are sampled, in seconds, which is the fastest that a signal can be logged
+     */
+    public static final double TELEMETRY_PERIOD = 0.005;
+
+    /**
+     * How often the odometry integrates the drive sensors, in seconds
+     */
+    public static final double ODOMETRY_PERIOD = 0.005;
+
     public static final double WHEELBASE_WIDTH = robotSpecific(2.0, 2.0, 2.0);
 
     public static final boolean DISABLE_WARNING = robotSpecific(true, true, true);
@@ -211,44 +250,44 @@ public class Config {
     public static final Path DEPLOY_DIR = Paths.get(System.getProperty("user.home"), "deploy");
 
     // #### Fluid constants ####
-    public static final FluidConstant<Double> DRIVE_CLOSED_LOOP_DEADBAND = constant("closed-loop-drive-deadband", 0.001);
-    public static final FluidConstant<Double> DRIVE_OPEN_LOOP_DEADBAND = constant("open-loop-drive-deadband", 0.04);
-    public static final FluidConstant<Double> LIFT_CLOSED_LOOP_DEADBAND = constant("lift-deadband", 0.001);
+    public static final DoubleFluidConstant DRIVE_CLOSED_LOOP_DEADBAND = constant("closed-loop-drive-deadband", 0.001);
+    public static final DoubleFluidConstant DRIVE_OPEN_LOOP_DEADBAND = constant("open-loop-drive-deadband", 0.04);
+    public static final DoubleFluidConstant LIFT_CLOSED_LOOP_DEADBAND = constant("lift-deadband", 0.001);
 
-    public static final FluidConstant<Boolean> DRIVE_SUM_PHASE_LEFT = constant("drive-sum-phase-left", true);
-    public static final FluidConstant<Boolean> DRIVE_SUM_PHASE_RIGHT = constant("drive-sum-phase-right", true);
+    public static final BooleanFluidConstant DRIVE_SUM_PHASE_LEFT = constant("drive-sum-phase-left", true);
+    public static final BooleanFluidConstant DRIVE_SUM_PHASE_RIGHT = constant("drive-sum-phase-right", true);
 
-    public static final FluidConstant<Boolean> ENABLE_LIFT_SUM_PHASE = constant("lift-sum-phase", true);
+    public static final BooleanFluidConstant ENABLE_LIFT_SUM_PHASE = constant("lift-sum-phase", true);
 
-    public static final FluidConstant<Double> DRIVE_CLOSED_LOOP_P = constant("drive-P", 0.1);
-    public static final FluidConstant<Double> DRIVE_CLOSED_LOOP_I = constant("drive-I", 0.0);
-    public static final FluidConstant<Double> DRIVE_CLOSED_LOOP_D = constant("drive-D", 0.0);
+    public static final DoubleFluidConstant DRIVE_CLOSED_LOOP_P = constant("drive-P", 0.1);
+    public static final DoubleFluidConstant DRIVE_CLOSED_LOOP_I = constant("drive-I", 0.0);
+    public static final DoubleFluidConstant DRIVE_CLOSED_LOOP_D = constant("drive-D", 0.0);
 
-    public static final FluidConstant<Double> DRIVE_MOTION_MAGIC_P = constant("drive-mm-P", 0.4096);
-    public static final FluidConstant<Double> DRIVE_MOTION_MAGIC_I = constant("drive-mm-I", 0.0);
-    public static final FluidConstant<Double> DRIVE_MOTION_MAGIC_D = constant("drive-mm-D", 6.5);
-    public static final FluidConstant<Double> DRIVE_MOTION_MAGIC_F = constant("drive-mm-F", 0.397);
+    public static final DoubleFluidConstant DRIVE_MOTION_MAGIC_P = constant("drive-mm-P", 0.4096);
+    public static final DoubleFluidConstant DRIVE_MOTION_MAGIC_I = constant("drive-mm-I", 0.0);
+    public static final DoubleFluidConstant DRIVE_MOTION_MAGIC_D = constant("drive-mm-D", 6.5);
+    public static final DoubleFluidConstant DRIVE_MOTION_MAGIC_F = constant("drive-mm-F", 0.397);
 
-    public static final FluidConstant<Double> DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY = constant("mm-drivebase-cruise-velocity", 8.0);
-    public static final FluidConstant<Double> DRIVEBASE_MOTION_MAGIC_ACCELERATION = constant("mm-drivebase-acceleration", 8.0);
+    public static final DoubleFluidConstant DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY = constant("mm-drivebase-cruise-velocity", 8.0);
+    public static final DoubleFluidConstant DRIVEBASE_MOTION_MAGIC_ACCELERATION = constant("mm-drivebase-acceleration", 8.0);
 
-    public static final FluidConstant<Double> LIFT_MOTION_MAGIC_ACCELERATION = constant("mm-lift-acceleration", 4.0);
-    public static final FluidConstant<Double> LIFT_MOTION_MAGIC_VELOCITY = constant("mm-lift-velocity", 4.0);
+    public static final DoubleFluidConstant LIFT_MOTION_MAGIC_ACCELERATION = constant("mm-lift-acceleration", 4.0);
+    public static final DoubleFluidConstant LIFT_MOTION_MAGIC_VELOCITY = constant("mm-lift-velocity", 4.0);
 
     /**
      * Max speed of the lift in encoder ticks.
      */
-    public static final FluidConstant<Integer> LIFT_MAX_SPEED = constant("max-lift-velocity", 2559);
-    public static final FluidConstant<Integer> DRIVEBASE_MOTION_MAGIC_SMOOTHING = constant("mm-smoothing", 0);
-    public static final FluidConstant<Double> PATHFINDING_JERK = constant("pf-jerk", 197.0);
-    public static final FluidConstant<Double> PATHFINDING_VELOCITY = constant("pf-velocity", 2.0);
-    public static final FluidConstant<Double> PATHFINDING_ACCELERATION = constant("pf-acceleration", 6.56);
+    public static final IntFluidConstant LIFT_MAX_SPEED = constant("max-lift-velocity", 2559);
+    public static final IntFluidConstant DRIVEBASE_MOTION_MAGIC_SMOOTHING = constant("mm-smoothing", 0);
+    public static final DoubleFluidConstant PATHFINDING_JERK = constant("pf-jerk", 197.0);
+    public static final DoubleFluidConstant PATHFINDING_VELOCITY = constant("pf-velocity", 2.0);
+    public static final DoubleFluidConstant PATHFINDING_ACCELERATION = constant("pf-acceleration", 6.56);
 
-    public static final FluidConstant<Double> TURN_P = constant("turn-P", 0.5);
-    public static final FluidConstant<Double> TURN_I = constant("turn-I", 0.0);
-    public static final FluidConstant<Double> TURN_D = constant("turn-D", 0.0);
+    public static final DoubleFluidConstant TURN_P = constant("turn-P", 0.5);
+    public static final DoubleFluidConstant TURN_I = constant("turn-I", 0.0);
+    public static final DoubleFluidConstant TURN_D = constant("turn-D", 0.0);
 
-    public static final FluidConstant<Double>
+    public static final DoubleFluidConstant
             LIFT_P = constant("lift-P", 0.9),
             LIFT_I = constant("lift-I", 0.0),
             LIFT_D = constant("lift-D", 0.0),
@@ -258,10 +297,10 @@ public class Config {
             LIFT_D_FEED_FORWARD = constant("lift-D-feed-forward", 0.0),
             LIFT_F_FEED_FORWARD = constant("lift-F-feed-forward", 1023D / LIFT_MAX_SPEED.value());
 
-    public static final FluidConstant<Double> PIGEON_KP = constant("pigeon-kp", 0.8);
-    public static final FluidConstant<Double> PIGEON_KI = constant("pigeon-ki", 0.0);
-    public static final FluidConstant<Double> PIGEON_KD = constant("pigeon-kd", 4.0);
-    public static final FluidConstant<Double> PIGEON_KF = constant("pigeon-kf", 0.0);
+    public static final DoubleFluidConstant PIGEON_KP = constant("pigeon-kp", 0.8);
+    public static final DoubleFluidConstant PIGEON_KI = constant("pigeon-ki", 0.0);
+    public static final DoubleFluidConstant PIGEON_KD = constant("pigeon-kd", 4.0);
+    public static final DoubleFluidConstant PIGEON_KF = constant("pigeon-kf", 0.0);
 
     // All controller bindings.
     public static final FluidConstant<String> INTAKE_BACKWARD_BINDING = constant("intake-backward-binding", XboxValue.XBOX_BACK_LEFT_TRIGGER.getNTString()),
@@ -300,33 +339,54 @@ public class Config {
     /**
      * The minimum reading on the cargo IR sensor to assert that we have cargo in the mechanism.
      */
-    public static final FluidConstant<Double> CARGO_CAPTURED_IR_MIN_VOLTAGE = constant("cargo-min-ir-voltage", 0.27);
+    public static final DoubleFluidConstant CARGO_CAPTURED_IR_MIN_VOLTAGE = constant("cargo-min-ir-voltage", 0.27);
 
     /**
      * The idea voltage for captured cargo.
      */
-    public static final FluidConstant<Double> CARGO_CAPTURED_IDEAL_IR_VOLTAGE = constant("cargo-ideal-ir-voltage", 0.29);
+    public static final DoubleFluidConstant CARGO_CAPTURED_IDEAL_IR_VOLTAGE = constant("cargo-ideal-ir-voltage", 0.29);
 
-    public static final FluidConstant<Double> TRAJ_DELTA_TIME = constant("traj-delta-time", 0.05);
-    public static final FluidConstant<Double> VISION_ASSIST_MAX_VELOCITY = constant("robot-max-vel", 2.0);
-    public static final FluidConstant<Double> VISION_ASSIST_MAX_ACCELERATION = constant("robot-max-acc", 12.0);
-    public static final FluidConstant<Double> VISION_ASSIST_MAX_JERK = constant("robot-max-jerk", 60.0);
-    public static final FluidConstant<Double> ROBOTTOCAMERA_ROBOTX = constant("robottocamera-robotx", -0.25);
-    public static final FluidConstant<Double> ROBOTTOCAMERA_ROBOTY = constant("robottocamera-roboty", 0.15);
-    public static final FluidConstant<Double> VISION_DISTANCE_MIN = constant("vision-distance-min", 0.5);
-    public static final FluidConstant<Double> VISION_DISTANCE_MAX = constant("vision-distance-max", 20.0);
-    public static final FluidConstant<Double> TARGET_OFFSET_DISTANCE_FINAL_CARGO_AND_LOADING = constant("target-offset-distance-final-cargo-and-loading", 0.5);
-    public static final FluidConstant<Double> TARGET_OFFSET_DISTANCE_FINAL_ROCKET = constant("target-offset-distance-final-rocket", 0.5);
-    public static final FluidConstant<Double> TARGET_OFFSET_DISTANCE_INITIAL = constant("target-offset-distance-initial-cargo-and-loading", 3.0);
-    public static final FluidConstant<Double> TARGET_OFFSET_DISTANCE_BALL = constant("target-offset-distance-ball", 0.75);
-    public static final FluidConstant<Double> ROBOT_START_ANGLE = constant("robot-angle-deg", 90.0);
-    public static final FluidConstant<Double> ROBOT_HALF_LENGTH = constant("robot_length", 1.6);
-    public static final FluidConstant<Double> RING_LIGHT_ON_DELAY = constant("ringlight_on_delay", 0.0);
-    public static final FluidConstant<Double> FINAL_POSITION_ADJUSTMENT_X = constant("final-position-adjustment-x", 0.0);
+    public static final DoubleFluidConstant TRAJ_DELTA_TIME = constant("traj-delta-time", 0.05);
+    public static final DoubleFluidConstant VISION_ASSIST_MAX_VELOCITY = constant("robot-max-vel", 2.0);
+    public static final DoubleFluidConstant VISION_ASSIST_MAX_ACCELERATION = constant("robot-max-acc", 12.0);
+    public static final DoubleFluidConstant VISION_ASSIST_MAX_JERK = constant("robot-max-jerk", 60.0);
+    public static final DoubleFluidConstant ROBOTTOCAMERA_ROBOTX = constant("robottocamera-robotx", -0.25);
+    public static final DoubleFluidConstant ROBOTTOCAMERA_ROBOTY = constant("robottocamera-roboty", 0.15);
+    public static final DoubleFluidConstant VISION_DISTANCE_MIN = constant("vision-distance-min", 0.5);
+    public static final DoubleFluidConstant VISION_DISTANCE_MAX = constant("vision-distance-max", 20.0);
 
-    public static final FluidConstant<Double> CURVE_ADJUSTMENT = constant("curve-adjustment", 0.0105);
+    /**
+     * The seconds from a vision frame being captured to the robot seeing its VideoTimestamp change.
+     */
+    public static final DoubleFluidConstant VISION_LATENCY = constant("vision-latency", 0.1);
 
-    public static final FluidConstant<Boolean> DISABLE_RING_LIGHT = constant("disable-ring-light", true);
+    /**
+     * Whether driver assist re-plans the rest of its trajectory from each new vision frame.
+     */
+    public static final BooleanFluidConstant VISION_REPLAN = constant("vision-replan", false);
+
+    /**
+     * The weight of each new vision frame against the current estimate of the final position, between 0 and 1.
+     */
+    public static final DoubleFluidConstant VISION_REPLAN_GAIN = constant("vision-replan-gain", 0.5);
+
+    /**
+     * The seconds of trajectory that the talons are given ahead of the robot while re-planning.
+     */
+    public static final DoubleFluidConstant VISION_REPLAN_LEAD = constant("vision-replan-lead", 0.2);
+
+    public static final DoubleFluidConstant TARGET_OFFSET_DISTANCE_FINAL_CARGO_AND_LOADING = constant("target-offset-distance-final-cargo-and-loading", 0.5);
+    public static final DoubleFluidConstant TARGET_OFFSET_DISTANCE_FINAL_ROCKET = constant("target-offset-distance-final-rocket", 0.5);
+    public static final DoubleFluidConstant TARGET_OFFSET_DISTANCE_INITIAL = constant("target-offset-distance-initial-cargo-and-loading", 3.0);
+    public static final DoubleFluidConstant TARGET_OFFSET_DISTANCE_BALL = constant("target-offset-distance-ball", 0.75);
+    public static final DoubleFluidConstant ROBOT_START_ANGLE = constant("robot-angle-deg", 90.0);
+    public static final DoubleFluidConstant ROBOT_HALF_LENGTH = constant("robot_length", 1.6);
+    public static final DoubleFluidConstant RING_LIGHT_ON_DELAY = constant("ringlight_on_delay", 0.0);
+    public static final DoubleFluidConstant FINAL_POSITION_ADJUSTMENT_X = constant("final-position-adjustment-x", 0.0);
+
+    public static final DoubleFluidConstant CURVE_ADJUSTMENT = constant("curve-adjustment", 0.0105);
+
+    public static final BooleanFluidConstant DISABLE_RING_LIGHT = constant("disable-ring-light", true);
 
 
     // ### Methods, fields and Constructors ###
@@ -347,6 +407,16 @@ public class Config {
     Config(NetworkTable ntTable) {
         this.configTable = ntTable;
 
+        // Only the robot keeps its constants, so simulations and tests don't write to the home directory
+        if (journal == null && RobotBase.isReal()) {
+            journal = new ConstantJournal(JOURNAL_LOC);
+        }
+
+        if (journal != null) {
+            journal.restore(CONSTANTS);
+        }
+        publishSnapshot();
+
         Robot.setOnStateChange(this::robotStateChange);
 
         // If the robot has already initialized itself, we should initialize constants.
@@ -435,37 +505,115 @@ public class Config {
      * @return A new FluidConstant object representing the constant.
      */
     private static <A> FluidConstant<A> constant(final String name, final A initialValue) {
-        FluidConstant<A> constant = new FluidConstant<>(name, initialValue);
-        Objects.requireNonNull(CONSTANTS).add(constant);
+        return register(new FluidConstant<>(name, initialValue));
+    }
+
+    /**
+     * Creates a new double fluid constant and adds it to the constants list
+     *
+     * @param name         The name of the constant.
+     * @param initialValue The initial value of the constant.
+     * @return A new double fluid constant.
+     */
+    private static DoubleFluidConstant constant(final String name, final double initialValue) {
+        return register(new DoubleFluidConstant(name, initialValue));
+    }
+
+    /**
+     * Creates a new int fluid constant and adds it to the constants list
+     *
+     * @param name         The name of the constant.
+     * @param initialValue The initial value of the constant.
+     * @return A new int fluid constant.
+     */
+    private static IntFluidConstant constant(final String name, final int initialValue) {
+        return register(new IntFluidConstant(name, initialValue));
+    }
+
+    /**
+     * Creates a new boolean fluid constant and adds it to the constants list
+     *
+     * @param name         The name of the constant.
+     * @param initialValue The initial value of the constant.
+     * @return A new boolean fluid constant.
+     */
+    private static BooleanFluidConstant constant(final String name, final boolean initialValue) {
+        return register(new BooleanFluidConstant(name, initialValue));
+    }
+
+    /**
+     * Adds a fluid constant to the constants list
+     *
+     * @param constant The constant.
+     * @param <C>      The type of the constant.
+     * @return The constant.
+     */
+    private static <C extends FluidConstant<?>> C register(final C constant) {
+        constant.setIndex(Objects.requireNonNull(STORE_SIZES)[constant.getStore()]++);
+        CONSTANTS.add(constant);
         return constant;
     }
 
     /**
-     * Saves all the value of the constants to a human-readable (but not machine readable) text file.
+     * Gets the current values of all the fluid constants, which won't change while they're being used
+     *
+     * @return The snapshot of the fluid constants
      */
-    private static void saveConstants() {
-        StringBuilder totalString = new StringBuilder();
+    public static FluidSnapshot getSnapshot() {
+        final FluidSnapshot current = snapshot;
+        return current != null ? current : publishSnapshot();
+    }
 
-        // Iterate through each constant and collect its file string value.
-        for (FluidConstant<?> constant : CONSTANTS) {
-            totalString.append(constant.toFileString()).append("\n");
+    /**
+     * Takes a new snapshot of the fluid constants, called when one of them changes
+     *
+     * @return The new snapshot
+     */
+    static synchronized FluidSnapshot publishSnapshot() {
+        final FluidSnapshot next = new FluidSnapshot(STORE_SIZES, snapshotVersion++);
+        for (int i = 0; i < CONSTANTS.size(); i++) {
+            CONSTANTS.get(i).copyTo(next);
         }
 
-        // Now just need to create and write to the file.
-        writeFile(totalString.toString());
+        snapshot = next;
+        return next;
     }
 
     /**
-     * Writes the given string to a file on the Roborio.
-     *
-     * @param writable The string to be written to file.
-     */
-    private static void writeFile(String writable) {
-        // Attempt to write the string to the file, catching any errors.
-        try (BufferedWriter writer = Files.newBufferedWriter(SAVE_FILE)) {
-            writer.write(writable);
-        } catch (IOException e) {
-            DriverStation.reportWarning("Unable to save fluid constants to file.", false);
+     * Notifies the listeners of the constants that were changed from NetworkTables since the last call,
+     * should be called on the robot thread each loop
+     */
+    public static void dispatchChanges() {
+        final FluidSnapshot current = snapshot;
+        if (current == null || current.getVersion() == dispatchedVersion) {
+            return;
+        }
+
+        dispatchedVersion = current.getVersion();
+
+        for (int i = 0; i < CONSTANTS.size(); i++) {
+            final FluidConstant<?> constant = CONSTANTS.get(i);
+            if (constant.hasChanged()) {
+                constant.notifyListeners();
+            }
+        }
+    }
+
+    /**
+     * Saves the values of the constants that changed since they were last saved.
+     */
+    private static void saveConstants() {
+        if (journal != null) {
+            journal.save(CONSTANTS);
         }
     }
+
+    /**
+     * Sets the journal that the values of the fluid constants are saved in, instead of the one on the robot.
+     *
+     * @param journal The journal, or null to not save the constants.
+     */
+    static void setJournal(ConstantJournal journal) {
+        Config.journal = journal;
+    }
 }
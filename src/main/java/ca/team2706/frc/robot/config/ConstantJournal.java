@@ -0,0 +1,432 @@
+package ca.team2706.frc.robot.config;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file that the values of the fluid constants are saved in, so that tuned values are kept when the robot
+ * reboots.
+ * <p>
+ * Each record is its length, its CRC32, then the name, deployed value and current value of one constant. Saving only
+ * appends the constants that changed since they were last saved and forces them to disk, so cutting the power loses
+ * at most the record being written, which fails its CRC and is ignored when the journal is read. Once there are
+ * {@link #COMPACT_RATIO} times more records than constants, the journal is rewritten in the background with one
+ * record per constant and swapped in with a rename.
+ */
+class ConstantJournal {
+
+    private static final byte DOUBLE = 'D', INT = 'I', BOOLEAN = 'Z', STRING = 'S';
+
+    /**
+     * The length and CRC before each record
+     */
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    /**
+     * How many records there can be for each constant before the journal is compacted
+     */
+    static final int COMPACT_RATIO = 4;
+
+    private final Path file;
+
+    /**
+     * The last saved deployed and current value of each constant, by name
+     */
+    private final Map<String, Entry> saved = new LinkedHashMap<>();
+
+    private boolean loaded;
+    private int records;
+
+    /**
+     * The length of the journal up to the end of the last good record
+     */
+    private long validLength;
+    private boolean compacting;
+
+    /**
+     * Compacts the journal in the background
+     */
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Constant Journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a journal
+     *
+     * @param file The file that the journal is saved in.
+     */
+    ConstantJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Sets the constants to the values that were saved, skipping the ones whose deployed value changed since they were
+     * saved so that new values in the code aren't overridden.
+     *
+     * @param constants The constants to restore.
+     */
+    synchronized void restore(List<FluidConstant<?>> constants) {
+        read();
+
+        for (FluidConstant<?> constant : constants) {
+            final Entry entry = saved.get(constant.getName());
+            if (entry != null) {
+                constant.restore(entry.deployed, entry.value);
+            }
+        }
+    }
+
+    /**
+     * Appends the constants that changed since they were last saved and forces them to disk.
+     *
+     * @param constants The constants to save.
+     */
+    synchronized void save(List<FluidConstant<?>> constants) {
+        if (!loaded) {
+            read();
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Map<String, Entry> changed = new LinkedHashMap<>();
+
+        for (FluidConstant<?> constant : constants) {
+            final Entry entry = new Entry(constant.getDeployedValue(), constant.value());
+            if (!entry.equals(saved.get(constant.getName())) && writeRecord(out, constant.getName(), entry)) {
+                changed.put(constant.getName(), entry);
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Drop a record that was cut off by the power going out, so that the new records can be read
+            if (channel.size() > validLength) {
+                channel.truncate(validLength);
+            }
+
+            channel.position(validLength);
+            writeFully(channel, ByteBuffer.wrap(out.toByteArray()));
+            channel.force(true);
+
+            validLength = channel.position();
+        } catch (IOException e) {
+            DriverStation.reportWarning("Unable to save fluid constants to file.", false);
+            return;
+        }
+
+        saved.putAll(changed);
+        records += changed.size();
+
+        if (!compacting && records > COMPACT_RATIO * saved.size()) {
+            compacting = true;
+            compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the last record of each constant.
+     */
+    void compact() {
+        final Map<String, Entry> entries;
+        final long length;
+        synchronized (this) {
+            entries = new LinkedHashMap<>(saved);
+            length = validLength;
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        entries.forEach((name, entry) -> writeRecord(out, name, entry));
+
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, ByteBuffer.wrap(out.toByteArray()));
+                channel.force(true);
+            }
+
+            synchronized (this) {
+                // Constants were saved while compacting, so compact them next time instead
+                if (validLength != length) {
+                    Files.deleteIfExists(temp);
+                    return;
+                }
+
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                forceDirectory();
+
+                validLength = out.size();
+                records = entries.size();
+            }
+        } catch (IOException e) {
+            DriverStation.reportWarning("Unable to compact fluid constants file.", false);
+        } finally {
+            synchronized (this) {
+                compacting = false;
+            }
+        }
+    }
+
+    /**
+     * Gets how many records are in the journal.
+     *
+     * @return The number of records, including old records of constants that were saved again.
+     */
+    synchronized int getRecords() {
+        return records;
+    }
+
+    /**
+     * Reads every good record in the journal, stopping at the first one that was cut off or fails its CRC.
+     */
+    private void read() {
+        saved.clear();
+        records = 0;
+        validLength = 0;
+        loaded = true;
+
+        final ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = ByteBuffer.allocate((int) channel.size());
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // Keep reading until the whole file is in the buffer
+            }
+            data.flip();
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            DriverStation.reportWarning("Unable to read fluid constants from file.", false);
+            return;
+        }
+
+        final CRC32 crc = new CRC32();
+
+        while (data.remaining() >= HEADER_BYTES) {
+            final int length = data.getInt();
+            final int checksum = data.getInt();
+
+            if (length < 0 || length > data.remaining()) {
+                break;
+            }
+
+            crc.reset();
+            crc.update(data.array(), data.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            readRecord(data.array(), data.position(), length);
+            data.position(data.position() + length);
+
+            validLength = data.position();
+            records++;
+        }
+    }
+
+    /**
+     * Reads the name and values from a record, ignoring records of unknown types.
+     *
+     * @param data   The journal.
+     * @param offset The start of the record, after the header.
+     * @param length The length of the record.
+     */
+    private void readRecord(byte[] data, int offset, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            final String name = in.readUTF();
+            final byte type = in.readByte();
+            final Object deployed = readValue(in, type);
+            final Object value = readValue(in, type);
+
+            if (deployed != null && value != null) {
+                saved.put(name, new Entry(deployed, value));
+            }
+        } catch (IOException e) {
+            DriverStation.reportWarning("Bad fluid constant record in file.", false);
+        }
+    }
+
+    /**
+     * Reads a value of a type.
+     *
+     * @param in   The record.
+     * @param type The type of the value.
+     * @return The value, or null if the type isn't known.
+     * @throws IOException If the record is too short.
+     */
+    private static Object readValue(DataInputStream in, byte type) throws IOException {
+        switch (type) {
+            case DOUBLE:
+                return in.readDouble();
+            case INT:
+                return in.readInt();
+            case BOOLEAN:
+                return in.readBoolean();
+            case STRING:
+                return in.readUTF();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Writes the header and record of a constant.
+     *
+     * @param out   The stream to write to.
+     * @param name  The name of the constant.
+     * @param entry The deployed and current value of the constant.
+     * @return True if the record was written, or false if the constant's type can't be saved.
+     */
+    private static boolean writeRecord(ByteArrayOutputStream out, String name, Entry entry) {
+        final byte type = typeOf(entry.deployed);
+        if (type == 0 || type != typeOf(entry.value)) {
+            return false;
+        }
+
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(record)) {
+            data.writeUTF(name);
+            data.writeByte(type);
+            writeValue(data, type, entry.deployed);
+            writeValue(data, type, entry.value);
+        } catch (IOException e) {
+            // Writing to a byte array doesn't throw
+            return false;
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(record.toByteArray());
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(record.size()).putInt((int) crc.getValue());
+
+        out.write(header.array(), 0, HEADER_BYTES);
+        out.write(record.toByteArray(), 0, record.size());
+
+        return true;
+    }
+
+    /**
+     * Writes a value of a type.
+     *
+     * @param out   The record.
+     * @param type  The type of the value.
+     * @param value The value.
+     * @throws IOException If the value couldn't be written.
+     */
+    private static void writeValue(DataOutputStream out, byte type, Object value) throws IOException {
+        switch (type) {
+            case DOUBLE:
+                out.writeDouble((Double) value);
+                break;
+            case INT:
+                out.writeInt((Integer) value);
+                break;
+            case BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+            default:
+                out.writeUTF((String) value);
+                break;
+        }
+    }
+
+    /**
+     * Gets the type that a value is saved as.
+     *
+     * @param value The value.
+     * @return The type, or 0 if the value can't be saved.
+     */
+    private static byte typeOf(Object value) {
+        if (value instanceof Double) {
+            return DOUBLE;
+        } else if (value instanceof Integer) {
+            return INT;
+        } else if (value instanceof Boolean) {
+            return BOOLEAN;
+        } else if (value instanceof String) {
+            return STRING;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Writes the whole buffer to a channel.
+     *
+     * @param channel The channel.
+     * @param buffer  The buffer.
+     * @throws IOException If the channel couldn't be written to.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Forces the rename of the journal to disk, which not every platform allows.
+     */
+    private void forceDirectory() {
+        final Path directory = file.toAbsolutePath().getParent();
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The rename is still atomic, it just might not survive the power being cut straight away
+        }
+    }
+
+    /**
+     * The deployed and current value of a constant when it was saved.
+     */
+    private static class Entry {
+        private final Object deployed;
+        private final Object value;
+
+        Entry(Object deployed, Object value) {
+            this.deployed = deployed;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Entry)) {
+                return false;
+            }
+
+            final Entry entry = (Entry) o;
+            return Objects.equals(deployed, entry.deployed) && Objects.equals(value, entry.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deployed, value);
+        }
+    }
+}
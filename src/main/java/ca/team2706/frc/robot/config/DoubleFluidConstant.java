@@ -0,0 +1,118 @@
+package ca.team2706.frc.robot.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A fluid constant holding a double, which can be read without unboxing.
+ */
+public class DoubleFluidConstant extends FluidConstant<Double> {
+
+    /**
+     * A copy of the value so that it can be read without unboxing.
+     */
+    private volatile double doubleValue;
+
+    /**
+     * The listeners that are called with the primitive values.
+     */
+    private final List<ChangeListener> doubleListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The value that the primitive listeners were last notified of.
+     */
+    private double notifiedDouble;
+
+    /**
+     * Creates a new double fluid constant.
+     *
+     * @param name         The name of the constant used when printing it to file.
+     * @param initialValue The initial value of the constant.
+     */
+    DoubleFluidConstant(String name, double initialValue) {
+        super(name, initialValue);
+        doubleValue = initialValue;
+        notifiedDouble = initialValue;
+    }
+
+    /**
+     * Gets the current value of this constant.
+     *
+     * @return The current value of this constant.
+     */
+    public double getAsDouble() {
+        return doubleValue;
+    }
+
+    /**
+     * Sets the value of this constant. Will only set the constant while the robot is disabled.
+     *
+     * @param value The value to which the constant should be set.
+     */
+    public void setValue(double value) {
+        setValue(Double.valueOf(value));
+    }
+
+    /**
+     * Adds a listener to be called with the primitive values when the constant's value is changed.
+     *
+     * @param valueListener The listener.
+     */
+    public void addDoubleChangeListener(ChangeListener valueListener) {
+        doubleListeners.add(valueListener);
+    }
+
+    @Override
+    void store(Double value) {
+        super.store(value);
+        doubleValue = value;
+    }
+
+    @Override
+    synchronized void notifyListeners() {
+        final double oldValue = notifiedDouble;
+        final double newValue = doubleValue;
+        notifiedDouble = newValue;
+
+        super.notifyListeners();
+
+        if (Double.compare(oldValue, newValue) != 0) {
+            for (int i = 0; i < doubleListeners.size(); i++) {
+                doubleListeners.get(i).changed(oldValue, newValue);
+            }
+        }
+    }
+
+    @Override
+    int getStore() {
+        return FluidSnapshot.DOUBLE;
+    }
+
+    @Override
+    void copyTo(FluidSnapshot snapshot) {
+        snapshot.doubles[getIndex()] = doubleValue;
+    }
+
+    @Override
+    Double readFrom(FluidSnapshot snapshot) {
+        return snapshot.get(this);
+    }
+
+    @Override
+    Double fromNetworkTables(Object value) {
+        return ((Number) value).doubleValue();
+    }
+
+    /**
+     * Listener for the value of a double fluid constant.
+     */
+    public interface ChangeListener {
+        /**
+         * Called when the fluid constant's value is changed.
+         *
+         * @param oldValue The old constant value.
+         * @param newValue The new constant value.
+         */
+        void changed(double oldValue, double newValue);
+    }
+}
@@ -6,15 +6,21 @@ import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableValue;
 import edu.wpi.first.wpilibj.DriverStation;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Class to represent all type of fluid constants.
+ * <p>
+ * The value can be read from any thread. Changes made from the robot thread notify the listeners right away, while
+ * changes from NetworkTables are batched and the listeners are notified on the robot thread by
+ * {@link Config#dispatchChanges()}.
  */
 public class FluidConstant<A> {
 
     // Fields
-    private A value;
+    private volatile A value;
     private final A deployedValue; // Keep track of the original value, the one which was deployed to the robot.
     private final String name;
 
@@ -22,7 +28,22 @@ public class FluidConstant<A> {
      * The NetworkTables entry for this fluid constant.
      */
     private NetworkTableEntry ntEntry;
-    private ArrayList<FluidChangeListener<A>> listeners = new ArrayList<>();
+    private final List<FluidChangeListener<A>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The value that the listeners were last notified of
+     */
+    private A notifiedValue;
+
+    /**
+     * Whether the value changed from NetworkTables and the listeners haven't been notified yet
+     */
+    private volatile boolean changed;
+
+    /**
+     * The position of the constant in the {@link FluidSnapshot}, or -1 if it isn't in the snapshot
+     */
+    private int index = -1;
 
     /**
      * Creates a new FluidConstant class.
@@ -33,6 +54,7 @@ public class FluidConstant<A> {
     FluidConstant(String name, A initialValue) {
         this.name = name;
         this.value = initialValue;
+        this.notifiedValue = initialValue;
         this.deployedValue = initialValue;
     }
 
@@ -77,28 +99,140 @@ public class FluidConstant<A> {
     public void setValue(A value) {
         // Only allow the changing of the fluid constant while disabled.
         if (canSet()) {
-            final A oldValue = value;
-            this.value = value;
+            store(value);
+            Config.publishSnapshot();
             updateNTEntry(); // Update the Networktables entry if the value changed.
-            listeners.forEach(aConsumer -> aConsumer.changed(oldValue, value));
+            notifyListeners();
         }
     }
 
     /**
-     * Sets the value of this constant to the specified networktables value.
+     * Sets the value of this constant to the specified networktables value. Called on the NetworkTables thread, so the
+     * listeners are notified later on the robot thread.
      *
      * @param value The value to which
      */
-    @SuppressWarnings("unchecked")
     private void setValue(NetworkTableValue value) {
         if (canSet()) {
-            Object objValue = value.getValue();
-            setValue((A) objValue);
+            store(fromNetworkTables(value.getValue()));
+            changed = true;
+            Config.publishSnapshot();
         } else {
             updateNTEntry();
         }
     }
 
+    /**
+     * Stores a new value for this constant, which subclasses override to keep a copy of it as a primitive.
+     *
+     * @param value The new value.
+     */
+    void store(A value) {
+        this.value = value;
+    }
+
+    /**
+     * Converts a value from NetworkTables to the type of this constant.
+     *
+     * @param value The NetworkTables value.
+     * @return The value of the constant.
+     */
+    @SuppressWarnings("unchecked")
+    A fromNetworkTables(Object value) {
+        return (A) value;
+    }
+
+    /**
+     * Sets this constant to a value that was saved, if it was saved with the same deployed value.
+     *
+     * @param deployed The deployed value when the value was saved.
+     * @param value    The saved value.
+     */
+    @SuppressWarnings("unchecked")
+    void restore(Object deployed, Object value) {
+        if (Objects.equals(deployed, deployedValue) && deployedValue.getClass().isInstance(value)) {
+            store((A) value);
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Notifies the listeners if the value changed since they were last notified, with several changes in a row
+     * notified as one.
+     */
+    synchronized void notifyListeners() {
+        changed = false;
+
+        final A oldValue = notifiedValue;
+        final A newValue = value;
+        notifiedValue = newValue;
+
+        if (!Objects.equals(oldValue, newValue)) {
+            listeners.forEach(aConsumer -> aConsumer.changed(oldValue, newValue));
+        }
+    }
+
+    /**
+     * Checks whether the value changed from NetworkTables without the listeners being notified.
+     *
+     * @return True if the listeners need to be notified.
+     */
+    boolean hasChanged() {
+        return changed;
+    }
+
+    /**
+     * Gets the position of this constant in the {@link FluidSnapshot}.
+     *
+     * @return The index, or -1 if it isn't in the snapshot.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the position of this constant in the {@link FluidSnapshot}.
+     *
+     * @param index The index.
+     */
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Gets which store of the {@link FluidSnapshot} this constant is kept in.
+     *
+     * @return The store, which subclasses override to keep their primitive value.
+     */
+    int getStore() {
+        return FluidSnapshot.OBJECT;
+    }
+
+    /**
+     * Copies the current value of this constant into a snapshot that is being taken.
+     *
+     * @param snapshot The snapshot.
+     */
+    void copyTo(FluidSnapshot snapshot) {
+        snapshot.values[index] = value;
+    }
+
+    /**
+     * Reads the value of this constant from a snapshot.
+     *
+     * @param snapshot The snapshot.
+     * @return The value in the snapshot, or the current value if this constant isn't in the snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    A readFrom(FluidSnapshot snapshot) {
+        // Constants that were created outside of Config aren't in the snapshot
+        if (index < 0 || index >= snapshot.values.length) {
+            return value();
+        }
+
+        return (A) snapshot.values[index];
+    }
+
     /**
      * Updates the networktables entry to the current value of this fluid constant.
      */
@@ -126,6 +260,15 @@ public class FluidConstant<A> {
         return name;
     }
 
+    /**
+     * Gets the value of this constant that was deployed to the robot.
+     *
+     * @return The initial value of this constant.
+     */
+    A getDeployedValue() {
+        return deployedValue;
+    }
+
     /**
      * Creates a human-readable string to be displayed in a file showing the default value
      * of this fluid constant alongside its current value.
@@ -0,0 +1,108 @@
+package ca.team2706.frc.robot.config;
+
+/**
+ * The values of every fluid constant at one point in time
+ * <p>
+ * A new snapshot is published whenever a constant changes, so a snapshot never changes once it has been read.
+ * Code that reads several constants in a loop should get one snapshot per cycle with {@link Config#getSnapshot()} so
+ * that the values are consistent with each other.
+ * <p>
+ * Double, int and boolean constants are kept in arrays of their primitive type, so reading them doesn't unbox.
+ */
+public final class FluidSnapshot {
+
+    /**
+     * The stores that constants are kept in, by type
+     */
+    static final int OBJECT = 0, DOUBLE = 1, INT = 2, BOOLEAN = 3, STORES = 4;
+
+    final Object[] values;
+    final double[] doubles;
+    final int[] ints;
+    final boolean[] booleans;
+
+    private final long version;
+
+    /**
+     * Creates an empty snapshot, which the constants copy their values into before it is published
+     *
+     * @param sizes   The number of constants in each store
+     * @param version The number of times that the constants have changed
+     */
+    FluidSnapshot(int[] sizes, long version) {
+        values = new Object[sizes[OBJECT]];
+        doubles = new double[sizes[DOUBLE]];
+        ints = new int[sizes[INT]];
+        booleans = new boolean[sizes[BOOLEAN]];
+        this.version = version;
+    }
+
+    /**
+     * Gets the value of a constant when the snapshot was taken
+     *
+     * @param constant The constant
+     * @param <A>      The type of the constant
+     * @return The value of the constant
+     */
+    public <A> A get(FluidConstant<A> constant) {
+        return constant.readFrom(this);
+    }
+
+    /**
+     * Gets the value of a double constant when the snapshot was taken, without unboxing
+     *
+     * @param constant The constant
+     * @return The value of the constant
+     */
+    public double get(DoubleFluidConstant constant) {
+        final int index = constant.getIndex();
+
+        // Constants that were created outside of Config aren't in the snapshot
+        if (index < 0 || index >= doubles.length) {
+            return constant.getAsDouble();
+        }
+
+        return doubles[index];
+    }
+
+    /**
+     * Gets the value of an int constant when the snapshot was taken, without unboxing
+     *
+     * @param constant The constant
+     * @return The value of the constant
+     */
+    public int get(IntFluidConstant constant) {
+        final int index = constant.getIndex();
+
+        if (index < 0 || index >= ints.length) {
+            return constant.getAsInt();
+        }
+
+        return ints[index];
+    }
+
+    /**
+     * Gets the value of a boolean constant when the snapshot was taken, without unboxing
+     *
+     * @param constant The constant
+     * @return The value of the constant
+     */
+    public boolean get(BooleanFluidConstant constant) {
+        final int index = constant.getIndex();
+
+        if (index < 0 || index >= booleans.length) {
+            return constant.getAsBoolean();
+        }
+
+        return booleans[index];
+    }
+
+    /**
+     * Gets the version of the snapshot, which increases every time a constant changes
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,118 @@
+package ca.team2706.frc.robot.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A fluid constant holding an int, which can be read without unboxing.
+ */
+public class IntFluidConstant extends FluidConstant<Integer> {
+
+    /**
+     * A copy of the value so that it can be read without unboxing.
+     */
+    private volatile int intValue;
+
+    /**
+     * The listeners that are called with the primitive values.
+     */
+    private final List<ChangeListener> intListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The value that the primitive listeners were last notified of.
+     */
+    private int notifiedInt;
+
+    /**
+     * Creates a new int fluid constant.
+     *
+     * @param name         The name of the constant used when printing it to file.
+     * @param initialValue The initial value of the constant.
+     */
+    IntFluidConstant(String name, int initialValue) {
+        super(name, initialValue);
+        intValue = initialValue;
+        notifiedInt = initialValue;
+    }
+
+    /**
+     * Gets the current value of this constant.
+     *
+     * @return The current value of this constant.
+     */
+    public int getAsInt() {
+        return intValue;
+    }
+
+    /**
+     * Sets the value of this constant. Will only set the constant while the robot is disabled.
+     *
+     * @param value The value to which the constant should be set.
+     */
+    public void setValue(int value) {
+        setValue(Integer.valueOf(value));
+    }
+
+    /**
+     * Adds a listener to be called with the primitive values when the constant's value is changed.
+     *
+     * @param valueListener The listener.
+     */
+    public void addIntChangeListener(ChangeListener valueListener) {
+        intListeners.add(valueListener);
+    }
+
+    @Override
+    void store(Integer value) {
+        super.store(value);
+        intValue = value;
+    }
+
+    @Override
+    synchronized void notifyListeners() {
+        final int oldValue = notifiedInt;
+        final int newValue = intValue;
+        notifiedInt = newValue;
+
+        super.notifyListeners();
+
+        if (oldValue != newValue) {
+            for (int i = 0; i < intListeners.size(); i++) {
+                intListeners.get(i).changed(oldValue, newValue);
+            }
+        }
+    }
+
+    @Override
+    int getStore() {
+        return FluidSnapshot.INT;
+    }
+
+    @Override
+    void copyTo(FluidSnapshot snapshot) {
+        snapshot.ints[getIndex()] = intValue;
+    }
+
+    @Override
+    Integer readFrom(FluidSnapshot snapshot) {
+        return snapshot.get(this);
+    }
+
+    @Override
+    Integer fromNetworkTables(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    /**
+     * Listener for the value of an int fluid constant.
+     */
+    public interface ChangeListener {
+        /**
+         * Called when the fluid constant's value is changed.
+         *
+         * @param oldValue The old constant value.
+         * @param newValue The new constant value.
+         */
+        void changed(int oldValue, int newValue);
+    }
+}
@@ -0,0 +1,159 @@
+package ca.team2706.frc.robot.input;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.GenericHID;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The state of a controller's axes, buttons and POV, read once per robot loop
+ * <p>
+ * {@link #refreshAll()} reads every controller before the scheduler runs, and buttons and commands then read from the
+ * snapshot instead of going to the driver station for each input. Outside of the scheduler, after
+ * {@link #invalidateAll()}, reads go to the controller directly.
+ */
+public class ControllerSnapshot {
+
+    /**
+     * The most axes and buttons that the driver station supports
+     */
+    static final int MAX_AXES = 12, MAX_BUTTONS = 32;
+
+    private static final Map<GenericHID, ControllerSnapshot> snapshots = new IdentityHashMap<>();
+
+    /**
+     * The snapshots in the order that they were created, so that refreshing doesn't need an iterator
+     */
+    private static final List<ControllerSnapshot> snapshotList = new ArrayList<>();
+
+    private final GenericHID controller;
+
+    private final double[] axes = new double[MAX_AXES];
+
+    /**
+     * The pressed buttons, with bit i - 1 set if button i is pressed
+     */
+    private int buttons;
+    private int pov;
+
+    private int axisCount;
+    private int buttonCount;
+
+    /**
+     * Whether the snapshot was read during this loop
+     */
+    private boolean fresh;
+
+    /**
+     * Gets the snapshot of a controller, creating it the first time
+     *
+     * @param controller The controller
+     * @return The controller's snapshot
+     */
+    public static synchronized ControllerSnapshot of(GenericHID controller) {
+        ControllerSnapshot snapshot = snapshots.get(controller);
+
+        if (snapshot == null) {
+            snapshot = new ControllerSnapshot(controller);
+            snapshots.put(controller, snapshot);
+            snapshotList.add(snapshot);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Reads every controller, should be called once each robot loop before the buttons are polled
+     */
+    public static synchronized void refreshAll() {
+        for (int i = 0; i < snapshotList.size(); i++) {
+            snapshotList.get(i).refresh();
+        }
+    }
+
+    /**
+     * Makes every snapshot read from its controller until it is refreshed again, should be called after the buttons
+     * and commands have run
+     */
+    public static synchronized void invalidateAll() {
+        for (int i = 0; i < snapshotList.size(); i++) {
+            snapshotList.get(i).fresh = false;
+        }
+    }
+
+    private ControllerSnapshot(GenericHID controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Reads every axis, button and the POV of the controller
+     */
+    public void refresh() {
+        axisCount = Math.min(controller.getAxisCount(), MAX_AXES);
+        buttonCount = Math.min(controller.getButtonCount(), MAX_BUTTONS);
+
+        for (int i = 0; i < axisCount; i++) {
+            axes[i] = controller.getRawAxis(i);
+        }
+
+        // The driver station gives every button in one read, instead of taking its lock for each button
+        buttons = DriverStation.getInstance().getStickButtons(controller.getPort());
+
+        pov = controller.getPOVCount() > 0 ? controller.getPOV(FluidButton.POV_NUMBER) : -1;
+
+        fresh = true;
+    }
+
+    /**
+     * Gets the value of an axis
+     *
+     * @param axis The axis
+     * @return The value, between -1 and 1
+     */
+    public double getRawAxis(int axis) {
+        if (!fresh) {
+            return controller.getRawAxis(axis);
+        }
+
+        return axis >= 0 && axis < axisCount ? axes[axis] : 0;
+    }
+
+    /**
+     * Gets whether a button is pressed
+     *
+     * @param button The button, starting at 1
+     * @return True if the button is pressed
+     */
+    public boolean getRawButton(int button) {
+        if (!fresh) {
+            return controller.getRawButton(button);
+        }
+
+        return button >= 1 && button <= buttonCount && (buttons & (1 << (button - 1))) != 0;
+    }
+
+    /**
+     * Gets the angle of the POV
+     *
+     * @return The angle in degrees, or -1 if it isn't pressed
+     */
+    public int getPOV() {
+        if (!fresh) {
+            return controller.getPOV(FluidButton.POV_NUMBER);
+        }
+
+        return pov;
+    }
+
+    /**
+     * Gets the controller that the snapshot is of
+     *
+     * @return The controller
+     */
+    public GenericHID getController() {
+        return controller;
+    }
+}
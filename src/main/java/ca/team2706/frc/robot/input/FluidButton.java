@@ -22,6 +22,7 @@ public class FluidButton extends EButton {
     public static final int POV_NUMBER = 0;
 
     private final GenericHID m_joystick;
+    private final ControllerSnapshot snapshot;
     private int joystickPort;
     private XboxValue.XboxInputType inputType;
 
@@ -39,6 +40,7 @@ public class FluidButton extends EButton {
 
     public FluidButton(GenericHID genericHID, FluidConstant<String> actionBinding, final double minActivation) {
         m_joystick = genericHID;
+        snapshot = ControllerSnapshot.of(genericHID);
         this.minAxisActivation = minActivation;
 
         updatePortAndInputType(XboxValue.getXboxValueFromFluidConstant(actionBinding));
@@ -60,7 +62,7 @@ public class FluidButton extends EButton {
 
     @Override
     public boolean get() {
-        final boolean pressed = determineIfActivated(m_joystick, joystickPort, inputType, minAxisActivation);
+        final boolean pressed = determineIfActivated(snapshot, joystickPort, inputType, minAxisActivation);
 
         /*
          * The first call happens when the button is initialized in OI.init().
@@ -114,6 +116,40 @@ public class FluidButton extends EButton {
         return pressed;
     }
 
+    /**
+     * Determines if the given button/trigger is considered as being pressed in the controller's snapshot for this loop.
+     *
+     * @param snapshot          The snapshot of the joystick on which to check.
+     * @param joystickPort      The port binding to the button/trigger to check.
+     * @param inputType         The input type of the button/trigger to check.
+     * @param minAxisActivation The minimum axis activation (minimum value for which the axis is considered
+     *                          active).
+     * @return True if the axis/button/trigger is considered as pressed, false othwerwise.
+     */
+    public static boolean determineIfActivated(ControllerSnapshot snapshot,
+                                               final int joystickPort,
+                                               final XboxValue.XboxInputType inputType,
+                                               final double minAxisActivation) {
+        final boolean pressed;
+
+        switch (inputType) {
+            case Axis:
+                pressed = Math.abs(snapshot.getRawAxis(joystickPort)) >= minAxisActivation;
+                break;
+            case Button:
+                pressed = snapshot.getRawButton(joystickPort);
+                break;
+            case POV:
+                pressed = snapshot.getPOV() == joystickPort;
+                break;
+            default:
+                pressed = false;
+                break;
+        }
+
+        return pressed;
+    }
+
     /**
      * Determines if the given button/trigger is considered as being pressed with the default min axis activation.
      *
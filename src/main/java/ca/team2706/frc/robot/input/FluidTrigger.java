@@ -52,7 +52,31 @@ public abstract class FluidTrigger extends ETrigger {
      * @return True if any of the buttons/triggers/axis are considered pressed, false otherwise.
      */
     public static boolean areAnyActive(GenericHID controller, final double minAxisActivation, XboxValue... values) {
-        return Arrays.stream(values).anyMatch(xboxValue -> FluidButton.determineIfActivated(controller, xboxValue.getPort(), xboxValue.getInputType(), minAxisActivation));
+        for (XboxValue xboxValue : values) {
+            if (FluidButton.determineIfActivated(controller, xboxValue.getPort(), xboxValue.getInputType(), minAxisActivation)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Determines if any of the provided buttons/triggers/axis are active in the controller's snapshot for this loop.
+     *
+     * @param snapshot          The snapshot of the controller to be checked.
+     * @param minAxisActivation The minimum required activation for the button/trigger to be considered pressed.
+     * @param values            The XboxValues to be checked.
+     * @return True if any of the buttons/triggers/axis are considered pressed, false otherwise.
+     */
+    public static boolean areAnyActive(ControllerSnapshot snapshot, final double minAxisActivation, XboxValue[] values) {
+        for (XboxValue xboxValue : values) {
+            if (FluidButton.determineIfActivated(snapshot, xboxValue.getPort(), xboxValue.getInputType(), minAxisActivation)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -77,7 +101,31 @@ public abstract class FluidTrigger extends ETrigger {
      * @return True if any of the buttons/triggers/axis are considered pressed, false otherwise.
      */
     public static boolean areAllActive(GenericHID controller, final double minAxisActivation, XboxValue... values) {
-        return Arrays.stream(values).allMatch(xboxValue -> FluidButton.determineIfActivated(controller, xboxValue.getPort(), xboxValue.getInputType(), minAxisActivation));
+        for (XboxValue xboxValue : values) {
+            if (!FluidButton.determineIfActivated(controller, xboxValue.getPort(), xboxValue.getInputType(), minAxisActivation)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines if all of the provided buttons/triggers/axis are active in the controller's snapshot for this loop.
+     *
+     * @param snapshot          The snapshot of the controller to be checked.
+     * @param minAxisActivation The minimum required activation for the button/trigger to be considered pressed.
+     * @param values            The XboxValues to be checked.
+     * @return True if all of the buttons/triggers/axis are considered pressed, false otherwise.
+     */
+    public static boolean areAllActive(ControllerSnapshot snapshot, final double minAxisActivation, XboxValue[] values) {
+        for (XboxValue xboxValue : values) {
+            if (!FluidButton.determineIfActivated(snapshot, xboxValue.getPort(), xboxValue.getInputType(), minAxisActivation)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -0,0 +1,184 @@
+package ca.team2706.frc.robot.logging;
+
+import ca.team2706.frc.robot.Robot;
+import ca.team2706.frc.robot.RobotState;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects how long each type of command takes to initialize, execute and end
+ * <p>
+ * Commands are timed by {@link ca.team2706.frc.robot.commands.ProfiledCommand} and the profiled timed command, instant
+ * command and command group that every command in the robot extends. WPILib's own wait and conditional commands aren't
+ * timed, since they don't run any of the robot's code besides a conditional command's condition. The timings are
+ * grouped by class and a summary of the commands that took the most time is logged when the robot is disabled.
+ */
+public class CommandProfiler {
+
+    /**
+     * How many commands are listed in the summary
+     */
+    private static final int TOP_COMMANDS = 10;
+
+    private static CommandProfiler currentInstance;
+
+    private final Map<Class<?>, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the command profiler
+     *
+     * @return The command profiler singleton
+     */
+    public static CommandProfiler getInstance() {
+        init();
+        return currentInstance;
+    }
+
+    /**
+     * Creates the command profiler
+     */
+    public static void init() {
+        if (currentInstance == null) {
+            currentInstance = new CommandProfiler();
+        }
+    }
+
+    private CommandProfiler() {
+        Robot.setOnStateChange(state -> {
+            if (state == RobotState.DISABLED) {
+                logSummary();
+                reset();
+            }
+        });
+    }
+
+    /**
+     * Gets the timings for a type of command, which commands should get once when they are created
+     *
+     * @param type The class of the command
+     * @return The timings that are shared by every command of that class
+     */
+    public Stats getStats(Class<?> type) {
+        return stats.computeIfAbsent(type, Stats::new);
+    }
+
+    /**
+     * Gets the timings of the commands that have run, ranked by the total time that they took
+     *
+     * @return The timings, slowest first
+     */
+    public List<Stats> getRanked() {
+        final List<Stats> ranked = new ArrayList<>();
+
+        for (Stats command : stats.values()) {
+            if (command.getTotalTime() > 0) {
+                ranked.add(command);
+            }
+        }
+
+        ranked.sort(Comparator.comparingDouble(Stats::getTotalTime).reversed());
+        return ranked;
+    }
+
+    /**
+     * Logs the commands that took the most time
+     */
+    public void logSummary() {
+        final List<Stats> ranked = getRanked();
+        if (ranked.isEmpty()) {
+            return;
+        }
+
+        Log.i("Commands that took the most time:");
+        for (Stats command : ranked.subList(0, Math.min(TOP_COMMANDS, ranked.size()))) {
+            Log.i(command.toString());
+        }
+    }
+
+    /**
+     * Clears the timings of every command
+     */
+    public void reset() {
+        stats.values().forEach(Stats::reset);
+    }
+
+    /**
+     * The timings of one type of command
+     */
+    public static class Stats {
+        private final String name;
+
+        private final LatencyHistogram initialize = new LatencyHistogram();
+        private final LatencyHistogram execute = new LatencyHistogram();
+        private final LatencyHistogram end = new LatencyHistogram();
+
+        private Stats(Class<?> type) {
+            name = type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        }
+
+        /**
+         * Gets the name of the command
+         *
+         * @return The command's class name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets how long the command takes to initialize
+         *
+         * @return The histogram of initialize times
+         */
+        public LatencyHistogram getInitialize() {
+            return initialize;
+        }
+
+        /**
+         * Gets how long each run of the command takes, which is its execute and isFinished
+         *
+         * @return The histogram of execute times
+         */
+        public LatencyHistogram getExecute() {
+            return execute;
+        }
+
+        /**
+         * Gets how long the command takes to end or be interrupted
+         *
+         * @return The histogram of end times
+         */
+        public LatencyHistogram getEnd() {
+            return end;
+        }
+
+        /**
+         * Gets the total time that the command has taken
+         *
+         * @return The time in seconds
+         */
+        public double getTotalTime() {
+            return initialize.getMean() * initialize.getCount() + execute.getMean() * execute.getCount()
+                    + end.getMean() * end.getCount();
+        }
+
+        /**
+         * Clears the timings
+         */
+        private void reset() {
+            initialize.reset();
+            execute.reset();
+            end.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: total=%.1fms, initialize %s, execute %s, end %s", name, getTotalTime() * 1000,
+                    initialize, execute, end);
+        }
+    }
+}
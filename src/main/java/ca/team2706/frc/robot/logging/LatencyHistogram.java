@@ -0,0 +1,147 @@
+package ca.team2706.frc.robot.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in buckets from 1 us up to about a minute, in the style of an HDR histogram
+ * <p>
+ * Each power of two is split into {@link #SUB_BUCKETS} linear buckets, so percentiles are within 12.5% of the real
+ * latency. Recording is lock free so that it can be done from any thread without slowing it down.
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of buckets that each power of two is split into
+     */
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Enough buckets for latencies up to 2^26 us, the last bucket holds everything longer
+     */
+    private static final int BUCKETS = (26 - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a latency
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(getBucket(Math.max(nanos, 0) / 1000));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the number of recorded latencies
+     *
+     * @return The number of latencies
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the average latency
+     *
+     * @return The average in seconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        final long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / 1e9 / n;
+    }
+
+    /**
+     * Gets the longest latency
+     *
+     * @return The longest latency in seconds
+     */
+    public double getMax() {
+        return maxNanos.get() / 1e9;
+    }
+
+    /**
+     * Gets an upper bound for a percentile of the latencies
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The upper bound of the bucket that the percentile falls in, in seconds
+     */
+    public double getPercentile(double percentile) {
+        final long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max((long) Math.ceil(percentile / 100.0 * n), 1);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(getUpperBound(i) / 1e6, getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Clears every recorded latency
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * Finds the bucket that a latency goes in
+     *
+     * @param micros The latency in microseconds
+     * @return The index of the bucket
+     */
+    private static int getBucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        final int subBucket = (int) (micros >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+    }
+
+    /**
+     * Gets the latency that a bucket goes up to
+     *
+     * @param bucket The index of the bucket
+     * @return The exclusive upper bound in microseconds
+     */
+    private static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket + 1;
+        }
+
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms", getCount(),
+                getMean() * 1000, getPercentile(50) * 1000, getPercentile(90) * 1000, getPercentile(99) * 1000,
+                getMax() * 1000);
+    }
+}
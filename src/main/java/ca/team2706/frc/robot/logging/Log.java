@@ -2,12 +2,21 @@ package ca.team2706.frc.robot.logging;
 
 import ca.team2706.frc.robot.ConnectionState;
 import ca.team2706.frc.robot.Robot;
+import ca.team2706.frc.robot.RobotState;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Timer;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.util.Unbox;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -17,13 +26,20 @@ import java.sql.Date;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
  * Logs to USB and console at levels debug, info, warning, error
  */
 public class Log {
     private static final String LOG_FILE_KEY = "logFilename";
+    static final String FILE_APPENDER = "FileLogger";
     private static final Path LOG_LOCATION = Path.of("/U/logs");
 
     private static boolean validDate;
@@ -36,6 +52,40 @@ public class Log {
     private static final Logger LOGGER = LogManager.getLogger(Robot.class.getName());
     private static final String BUILD_INFO_NAME = "/build-info.properties";
 
+    /**
+     * The NetworkTables table that the logging queue counters are put in
+     */
+    public static final String NT_TABLE = "Logging";
+
+    /**
+     * How many calls to {@link #publishQueue()} there are between each time the counters are put on NetworkTables
+     */
+    private static final int PUBLISH_LOOPS = 50;
+
+    /**
+     * How many events have been passed to the logger, including ones that were dropped because the queue was full
+     */
+    private static final LongAdder logged = new LongAdder();
+
+    /**
+     * The marker for each robot state, which puts the state in the log index
+     */
+    private static final Map<RobotState, Marker> STATE_MARKERS = new EnumMap<>(RobotState.class);
+
+    static {
+        for (RobotState state : RobotState.values()) {
+            STATE_MARKERS.put(state, MarkerManager.getMarker(state.name()).setParents(RotatingFileAppender.STATE_MARKER));
+        }
+    }
+
+    /**
+     * Run after the log file changes, so that files saved alongside it can follow it
+     */
+    private static final List<Runnable> logFileListeners = new CopyOnWriteArrayList<>();
+
+    private static int publishLoops;
+    private static NetworkTableEntry enqueuedEntry, droppedEntry, blockedEntry;
+
     /**
      * Starts logging
      */
@@ -97,64 +147,89 @@ public class Log {
 
     /**
      * Changes the log file to a new location
+     * <p>
+     * The file appender renames the current file on the logging thread, so this doesn't wait for the file.
      *
      * @param newFile The new location
      */
     private static void changeLogFile(String newFile) {
-        Log.i("Changed log file from " + System.getProperty(LOG_FILE_KEY) + " to " + newFile);
+        final String oldFile = System.getProperty(LOG_FILE_KEY);
 
-        final Path oldPath = Paths.get(System.getProperty(LOG_FILE_KEY));
+        final LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+        final Appender appender = ctx.getConfiguration().getAppender(FILE_APPENDER);
 
-        org.apache.logging.log4j.core.LoggerContext ctx =
-                (org.apache.logging.log4j.core.LoggerContext) LogManager.getContext(false);
+        if (appender instanceof RotatingFileAppender) {
+            ((RotatingFileAppender) appender).rotateTo(Paths.get(newFile));
+            System.setProperty(LOG_FILE_KEY, newFile);
+            logFileListeners.forEach(Runnable::run);
 
-        try {
-            Files.copy(Paths.get(System.getProperty(LOG_FILE_KEY)), Paths.get(newFile));
-        } catch (IOException e) {
-            e.printStackTrace();
+            // Logging after the rotation is requested makes the logging thread rename the file
+            Log.i("Changed log file from " + oldFile + " to " + newFile);
+        } else {
+            Log.w("Could not change log file from " + oldFile + " to " + newFile + ", no file appender");
         }
+    }
 
-        System.setProperty(LOG_FILE_KEY, newFile);
-
-        ctx.reconfigure();
-
-        // File is still locked so periodically loop until it can be deleted
-        Thread delete = new Thread(() -> {
-            // Loop until file is deleted
-            while (Files.isRegularFile(oldPath)) {
-                try {
-                    Files.delete(oldPath);
-                } catch (SecurityException | IOException ignored) {
-                }
+    /**
+     * Adds a listener that is run after the log file changes, when {@link #getLogFile(String)} gives the new name
+     *
+     * @param listener The listener to run
+     */
+    public static void setOnLogFileChange(Runnable listener) {
+        logFileListeners.add(listener);
+    }
 
-                try {
-                    Thread.sleep(10);
-                } catch (InterruptedException e) {
-                    return;
-                }
-            }
-        });
-        delete.setDaemon(true);
-        delete.start();
+    /**
+     * Gets the path to a file that is saved alongside the current log file
+     *
+     * @param suffix The suffix to replace the log file's extension with
+     * @return The path with the same name as the current log file
+     */
+    public static Path getLogFile(String suffix) {
+        final String logFile = System.getProperty(LOG_FILE_KEY);
 
-        Log.i("Exited rename method");
+        return Paths.get(logFile.substring(0, logFile.length() - ".log".length()) + suffix);
     }
 
     /**
      * Gets the path to a log file from the name
      *
      * @param name The name of the file to log
-     * @return The path with a number at the end if the original alredy exists
+     * @return The path with a number at the end if the original, its index or its telemetry alredy exists
      */
     private static String logFile(String name) {
-        String fileName = LOG_LOCATION.resolve(name + ".log").toString();
+        String baseName = name;
 
         int i = 1;
-        while (Files.exists(Path.of(fileName))) {
-            fileName = LOG_LOCATION.resolve(name + "-" + i++ + ".log").toString();
+        while (isTaken(baseName)) {
+            baseName = name + "-" + i++;
+        }
+
+        return LOG_LOCATION.resolve(baseName + ".log").toString();
+    }
+
+    /**
+     * Checks whether a log file, its index or any telemetry saved alongside it already exists
+     *
+     * @param baseName The name of the log file without the extension
+     * @return True if the name has already been used
+     */
+    private static boolean isTaken(String baseName) {
+        final Path fileName = LOG_LOCATION.resolve(baseName + ".log");
+
+        if (Files.exists(fileName) || Files.exists(RotatingFileAppender.indexFile(fileName))) {
+            return true;
+        } else if (!Files.isDirectory(LOG_LOCATION)) {
+            return false;
         }
 
-        return fileName;
+        try (Stream<Path> files = Files.list(LOG_LOCATION)) {
+            return files.map(file -> file.getFileName().toString())
+                    .anyMatch(file -> file.startsWith(baseName + "-") && file.endsWith(TelemetryChannel.EXTENSION));
+        } catch (IOException e) {
+            // The telemetry channels still won't replace their files
+            return false;
+        }
     }
 
     /**
@@ -187,7 +262,9 @@ public class Log {
      * @param message The object (or String) message to log
      */
     public static void d(Object message) {
-        LOGGER.debug(message);
+        if (enqueue(Level.DEBUG)) {
+            LOGGER.debug(message);
+        }
     }
 
     /**
@@ -197,7 +274,60 @@ public class Log {
      * @param t       The Throwable to log
      */
     public static void d(Object message, Throwable t) {
-        LOGGER.debug(message, t);
+        if (enqueue(Level.DEBUG)) {
+            LOGGER.debug(message, t);
+        }
+    }
+
+    /**
+     * Debug log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void d(String template, long a) {
+        if (enqueue(Level.DEBUG)) {
+            LOGGER.debug(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Debug log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void d(String template, double a) {
+        if (enqueue(Level.DEBUG)) {
+            LOGGER.debug(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Debug log without creating garbage, the values replace the {}s in the template
+     *
+     * @param template The message with a {} for each value
+     * @param a        The first value
+     * @param b        The second value
+     */
+    public static void d(String template, double a, double b) {
+        if (enqueue(Level.DEBUG)) {
+            LOGGER.debug(template, Unbox.box(a), Unbox.box(b));
+        }
+    }
+
+    /**
+     * Debug log without creating garbage, the values replace the {}s in the template
+     *
+     * @param template The message with a {} for each value
+     * @param a        The first value
+     * @param b        The second value
+     * @param c        The third value
+     */
+    public static void d(String template, double a, double b, double c) {
+        if (enqueue(Level.DEBUG)) {
+            LOGGER.debug(template, Unbox.box(a), Unbox.box(b), Unbox.box(c));
+        }
     }
 
     /**
@@ -206,7 +336,9 @@ public class Log {
      * @param message The object (or String) message to log
      */
     public static void i(Object message) {
-        LOGGER.info(message);
+        if (enqueue(Level.INFO)) {
+            LOGGER.info(message);
+        }
     }
 
     /**
@@ -216,7 +348,46 @@ public class Log {
      * @param t       The Throwable to log
      */
     public static void i(Object message, Throwable t) {
-        LOGGER.info(message, t);
+        if (enqueue(Level.INFO)) {
+            LOGGER.info(message, t);
+        }
+    }
+
+    /**
+     * Info log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void i(String template, long a) {
+        if (enqueue(Level.INFO)) {
+            LOGGER.info(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Info log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void i(String template, double a) {
+        if (enqueue(Level.INFO)) {
+            LOGGER.info(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Info log without creating garbage, the values replace the {}s in the template
+     *
+     * @param template The message with a {} for each value
+     * @param a        The first value
+     * @param b        The second value
+     */
+    public static void i(String template, double a, double b) {
+        if (enqueue(Level.INFO)) {
+            LOGGER.info(template, Unbox.box(a), Unbox.box(b));
+        }
     }
 
     /**
@@ -225,7 +396,9 @@ public class Log {
      * @param message The object (or String) message to log
      */
     public static void w(Object message) {
-        LOGGER.warn(message);
+        if (enqueue(Level.WARN)) {
+            LOGGER.warn(message);
+        }
     }
 
     /**
@@ -235,7 +408,46 @@ public class Log {
      * @param t       The Throwable to log
      */
     public static void w(Object message, Throwable t) {
-        LOGGER.warn(message, t);
+        if (enqueue(Level.WARN)) {
+            LOGGER.warn(message, t);
+        }
+    }
+
+    /**
+     * Warning log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void w(String template, long a) {
+        if (enqueue(Level.WARN)) {
+            LOGGER.warn(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Warning log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void w(String template, double a) {
+        if (enqueue(Level.WARN)) {
+            LOGGER.warn(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Warning log without creating garbage, the values replace the {}s in the template
+     *
+     * @param template The message with a {} for each value
+     * @param a        The first value
+     * @param b        The second value
+     */
+    public static void w(String template, double a, double b) {
+        if (enqueue(Level.WARN)) {
+            LOGGER.warn(template, Unbox.box(a), Unbox.box(b));
+        }
     }
 
     /**
@@ -244,7 +456,9 @@ public class Log {
      * @param message The object (or String) message to log
      */
     public static void e(Object message) {
-        LOGGER.error(message);
+        if (enqueue(Level.ERROR)) {
+            LOGGER.error(message);
+        }
     }
 
     /**
@@ -254,7 +468,102 @@ public class Log {
      * @param t       The Throwable to log
      */
     public static void e(Object message, Throwable t) {
-        LOGGER.error(message, t);
+        if (enqueue(Level.ERROR)) {
+            LOGGER.error(message, t);
+        }
+    }
+
+    /**
+     * Error log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void e(String template, long a) {
+        if (enqueue(Level.ERROR)) {
+            LOGGER.error(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Error log without creating garbage, the value replaces the {} in the template
+     *
+     * @param template The message with a {} for the value
+     * @param a        The value
+     */
+    public static void e(String template, double a) {
+        if (enqueue(Level.ERROR)) {
+            LOGGER.error(template, Unbox.box(a));
+        }
+    }
+
+    /**
+     * Error log without creating garbage, the values replace the {}s in the template
+     *
+     * @param template The message with a {} for each value
+     * @param a        The first value
+     * @param b        The second value
+     */
+    public static void e(String template, double a, double b) {
+        if (enqueue(Level.ERROR)) {
+            LOGGER.error(template, Unbox.box(a), Unbox.box(b));
+        }
+    }
+
+    /**
+     * Logs a change of robot state, which is marked in the log index so that tools can jump to where it starts
+     *
+     * @param state The new state
+     */
+    public static void state(RobotState state) {
+        if (enqueue(Level.INFO)) {
+            LOGGER.info(STATE_MARKERS.get(state), "Robot State: {}", state.name());
+        }
+    }
+
+    /**
+     * Checks whether an event is logged at a level and counts it if it is
+     *
+     * @param level The level of the event
+     * @return True if the event should be passed to the logger
+     */
+    private static boolean enqueue(Level level) {
+        if (LOGGER.isEnabled(level)) {
+            logged.increment();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets how many events have been put on the logging queue
+     *
+     * @return The number of events, not including ones that were dropped
+     */
+    public static long getEnqueued() {
+        return logged.sum() - LogQueuePolicy.getDropped();
+    }
+
+    /**
+     * Puts how many events were enqueued, dropped and had to wait for the logging queue on NetworkTables every
+     * {@link #PUBLISH_LOOPS} calls, should be called once per robot loop
+     */
+    public static void publishQueue() {
+        if (publishLoops++ % PUBLISH_LOOPS != 0) {
+            return;
+        }
+
+        if (enqueuedEntry == null) {
+            final NetworkTable table = NetworkTableInstance.getDefault().getTable(NT_TABLE);
+            enqueuedEntry = table.getEntry("Enqueued");
+            droppedEntry = table.getEntry("Dropped");
+            blockedEntry = table.getEntry("Blocked");
+        }
+
+        enqueuedEntry.setDouble(getEnqueued());
+        droppedEntry.setDouble(LogQueuePolicy.getDropped());
+        blockedEntry.setDouble(LogQueuePolicy.getBlocked());
     }
 
     /**
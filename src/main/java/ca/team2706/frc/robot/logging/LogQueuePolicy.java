@@ -0,0 +1,56 @@
+package ca.team2706.frc.robot.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides what happens to a log event when the async logging queue is full
+ * <p>
+ * A full queue means that the logging thread is stuck, usually on a slow USB stick, so debug and trace events are
+ * dropped instead of making the robot loop wait for space. More important events still wait so that they aren't lost.
+ * Log4j creates this from the {@code log4j2.asyncQueueFullPolicy} property.
+ */
+public class LogQueuePolicy implements AsyncQueueFullPolicy {
+
+    /**
+     * The most severe level that is dropped when the queue is full
+     */
+    static final Level DISCARD_THRESHOLD = Level.DEBUG;
+
+    private static final LongAdder dropped = new LongAdder();
+    private static final LongAdder blocked = new LongAdder();
+
+    @Override
+    public EventRoute getRoute(long backgroundThreadId, Level level) {
+        if (level.isLessSpecificThan(DISCARD_THRESHOLD)) {
+            dropped.increment();
+            return EventRoute.DISCARD;
+        }
+
+        blocked.increment();
+
+        // Waiting for space on the logging thread would never end, so it writes the event itself
+        return Thread.currentThread().getId() == backgroundThreadId ? EventRoute.SYNCHRONOUS : EventRoute.ENQUEUE;
+    }
+
+    /**
+     * Gets how many events have been dropped because the queue was full
+     *
+     * @return The number of dropped events
+     */
+    public static long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets how many events had to wait for space because the queue was full
+     *
+     * @return The number of events that waited
+     */
+    public static long getBlocked() {
+        return blocked.sum();
+    }
+}
@@ -0,0 +1,408 @@
+package ca.team2706.frc.robot.logging;
+
+import ca.team2706.frc.robot.Robot;
+import ca.team2706.frc.robot.RobotState;
+import ca.team2706.frc.robot.config.Config;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.buttons.Trigger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Times each phase of the robot loop to find what overruns the {@link Config#EXECUTE_PERIOD} budget
+ * <p>
+ * Each phase keeps a {@link LatencyHistogram} of how long it takes. When a loop overruns, the phase that took the
+ * longest in that loop is counted as the offender. The p50, p99 and max of every phase are put in the
+ * NetworkTables table {@link #NT_TABLE} once a second, and a summary ranked by offences is logged when the robot
+ * is disabled.
+ */
+public class LoopTimer {
+
+    /**
+     * The NetworkTables table that the timings are put in
+     */
+    public static final String NT_TABLE = "Loop Timing";
+
+    /**
+     * How many loops there are between each time the timings are put on NetworkTables
+     */
+    private static final int PUBLISH_LOOPS = 50;
+
+    /**
+     * How many phases are listed in the summary
+     */
+    private static final int TOP_OFFENDERS = 5;
+
+    private static LoopTimer currentInstance;
+
+    private final List<Phase> phases = new CopyOnWriteArrayList<>();
+
+    private final long budget = (long) (Config.EXECUTE_PERIOD * 1e9);
+
+    private final Phase loop;
+    private final Phase period;
+    private final Phase robotPeriodic;
+    private final Phase scheduler;
+    private final Phase buttons;
+    private final Phase commands;
+
+    private long loopStart;
+    private long loops;
+    private long overruns;
+
+    /**
+     * The time spent in phases that are timed while the scheduler is running, such as button polling and subsystem
+     * periodic methods
+     */
+    private long schedulerNested;
+    private boolean inScheduler;
+
+    /**
+     * Gets the loop timer
+     *
+     * @return The loop timer singleton
+     */
+    public static LoopTimer getInstance() {
+        init();
+        return currentInstance;
+    }
+
+    /**
+     * Creates the loop timer
+     */
+    public static void init() {
+        if (currentInstance == null) {
+            currentInstance = new LoopTimer();
+        }
+    }
+
+    private LoopTimer() {
+        // Not added to the phases since the whole loop isn't an offender of itself
+        loop = new Phase("Loop");
+        period = new Phase("Loop period");
+
+        robotPeriodic = addPhase("Robot periodic");
+        scheduler = addPhase("Scheduler");
+        buttons = addPhase("Button polling");
+        commands = addPhase("Commands");
+
+        Robot.setOnStateChange(state -> {
+            if (state == RobotState.DISABLED) {
+                logSummary();
+                reset();
+            }
+        });
+    }
+
+    /**
+     * Adds a phase of the loop to be timed, such as a subsystem's periodic method
+     *
+     * @param name The name of the phase
+     * @return The phase, to be started and stopped each loop from the robot's main thread
+     */
+    public Phase addPhase(String name) {
+        final Phase phase = new Phase(name);
+        phases.add(phase);
+
+        return phase;
+    }
+
+    /**
+     * Should be called at the start of the mode specific periodic method
+     */
+    public void startLoop() {
+        final long now = System.nanoTime();
+
+        if (loopStart != 0) {
+            period.record(now - loopStart);
+        }
+
+        loopStart = now;
+        loop.startNanos = now;
+        loop.loopNanos = 0;
+
+        for (int i = 0; i < phases.size(); i++) {
+            phases.get(i).loopNanos = 0;
+        }
+    }
+
+    /**
+     * Should be called right before the scheduler is run
+     */
+    public void startScheduler() {
+        schedulerNested = 0;
+        inScheduler = true;
+
+        scheduler.start();
+        buttons.startNanos = scheduler.startNanos;
+    }
+
+    /**
+     * Starts a button scheduler that marks the end of button polling. It has to be added before any other buttons
+     * since the scheduler polls them in reverse.
+     */
+    public void addButtonMarker() {
+        new Trigger() {
+            @Override
+            public boolean get() {
+                return false;
+            }
+        }.new ButtonScheduler() {
+            @Override
+            public void execute() {
+                buttons.stop();
+            }
+        }.start();
+    }
+
+    /**
+     * Should be called right after the scheduler is run
+     */
+    public void endScheduler() {
+        scheduler.stop();
+        inScheduler = false;
+
+        // Everything in the scheduler that isn't timed on its own is the commands
+        commands.record(scheduler.loopNanos - schedulerNested);
+    }
+
+    /**
+     * Should be called at the start of robot periodic
+     */
+    public void startRobotPeriodic() {
+        robotPeriodic.start();
+    }
+
+    /**
+     * Should be called at the end of robot periodic, which is the last part of the loop
+     */
+    public void endLoop() {
+        robotPeriodic.stop();
+
+        if (loop.startNanos == 0) {
+            return;
+        }
+
+        loop.stop();
+        loops++;
+
+        if (loop.loopNanos > budget) {
+            overruns++;
+
+            // The scheduler is made up of other phases, so those are blamed instead
+            Phase offender = null;
+            for (int i = 0; i < phases.size(); i++) {
+                final Phase phase = phases.get(i);
+                if (phase != scheduler && (offender == null || phase.loopNanos > offender.loopNanos)) {
+                    offender = phase;
+                }
+            }
+
+            if (offender != null) {
+                offender.offences++;
+            }
+        }
+
+        if (loops % PUBLISH_LOOPS == 0) {
+            publish();
+        }
+    }
+
+    /**
+     * Gets the phases in the order that they were added
+     *
+     * @return The phases, not including the whole loop
+     */
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Gets the phases that most often took the longest in a loop that overran
+     *
+     * @param count The most phases to get
+     * @return The phases, worst first
+     */
+    public List<Phase> getTopOffenders(int count) {
+        final List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort(Comparator.comparingLong(Phase::getOffences)
+                .thenComparingDouble(phase -> phase.getHistogram().getPercentile(99)).reversed());
+
+        return sorted.subList(0, Math.min(count, sorted.size()));
+    }
+
+    /**
+     * Gets how long the whole loop took
+     *
+     * @return The histogram of loop times
+     */
+    public LatencyHistogram getLoopTime() {
+        return loop.histogram;
+    }
+
+    /**
+     * Gets the number of loops that went over budget
+     *
+     * @return The number of overruns
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * Logs the loop time and the worst phases
+     */
+    public void logSummary() {
+        if (loops == 0) {
+            return;
+        }
+
+        Log.i(String.format("Loop overran %d of %d loops, loop time %s, period %s", overruns, loops,
+                loop.histogram, period.histogram));
+
+        for (Phase phase : getTopOffenders(TOP_OFFENDERS)) {
+            Log.i(phase.toString());
+        }
+    }
+
+    /**
+     * Clears every timing
+     */
+    public void reset() {
+        loop.reset();
+        period.reset();
+        phases.forEach(Phase::reset);
+
+        loopStart = 0;
+        loops = 0;
+        overruns = 0;
+    }
+
+    /**
+     * Puts the timings on NetworkTables
+     */
+    private void publish() {
+        loop.publish();
+        period.publish();
+
+        for (int i = 0; i < phases.size(); i++) {
+            phases.get(i).publish();
+        }
+    }
+
+    /**
+     * A part of the robot loop that is timed
+     */
+    public class Phase {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private long startNanos;
+
+        /**
+         * How long the phase took in this loop
+         */
+        private long loopNanos;
+        private long offences;
+
+        private NetworkTableEntry p50Entry, p99Entry, maxEntry, offencesEntry;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Starts timing the phase
+         */
+        public void start() {
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * Stops timing the phase and records how long it took
+         */
+        public void stop() {
+            record(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Records how long the phase took
+         *
+         * @param nanos The time in nanoseconds
+         */
+        void record(long nanos) {
+            histogram.record(nanos);
+            loopNanos += nanos;
+
+            if (inScheduler && this != scheduler) {
+                schedulerNested += nanos;
+            }
+        }
+
+        /**
+         * Gets the name of the phase
+         *
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets how long the phase takes
+         *
+         * @return The histogram of the phase's times
+         */
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        /**
+         * Gets how many times this phase took the longest in a loop that overran
+         *
+         * @return The number of offences
+         */
+        public long getOffences() {
+            return offences;
+        }
+
+        /**
+         * Clears the phase's timings
+         */
+        private void reset() {
+            histogram.reset();
+            startNanos = 0;
+            loopNanos = 0;
+            offences = 0;
+        }
+
+        /**
+         * Puts the phase's timings on NetworkTables
+         */
+        private void publish() {
+            if (p50Entry == null) {
+                final NetworkTable table = NetworkTableInstance.getDefault().getTable(NT_TABLE).getSubTable(name);
+
+                p50Entry = table.getEntry("p50");
+                p99Entry = table.getEntry("p99");
+                maxEntry = table.getEntry("max");
+                offencesEntry = table.getEntry("offences");
+            }
+
+            p50Entry.setDouble(histogram.getPercentile(50) * 1000);
+            p99Entry.setDouble(histogram.getPercentile(99) * 1000);
+            maxEntry.setDouble(histogram.getMax() * 1000);
+            offencesEntry.setDouble(offences);
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + offences + " offences, " + histogram;
+        }
+    }
+}
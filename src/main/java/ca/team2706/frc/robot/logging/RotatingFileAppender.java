@@ -0,0 +1,482 @@
+package ca.team2706.frc.robot.logging;
+
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appender that writes to a file which can be renamed while the robot is running
+ * <p>
+ * {@link #rotateTo(Path)} only records the new name, and the file is renamed by the thread that writes the next event,
+ * which is the async logging thread. The file is renamed in place, so nothing is copied and the file stays open
+ * where the filesystem allows it.
+ * <p>
+ * Events are encoded straight into a reused buffer, so logging doesn't create garbage.
+ * <p>
+ * When {@code segmentSeconds} is set, the log is written as GZIP segments named {@code <name>.000.log.gz},
+ * {@code <name>.001.log.gz} and so on, each covering that many seconds. Every segment and every event with a marker
+ * that has {@link #STATE_MARKER} as a parent gets a line in {@code <name>.idx}, with the event time in milliseconds,
+ * the marker name, the segment number and the uncompressed offset in the segment, separated by tabs. Tools can then
+ * decompress only the segment that a state starts in.
+ */
+@Plugin(name = "RotatingFile", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public class RotatingFileAppender extends AbstractAppender implements ByteBufferDestination {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The parent of the markers that are put in the index
+     */
+    public static final Marker STATE_MARKER = MarkerManager.getMarker("STATE");
+
+    /**
+     * The mark in the index for the start of a segment
+     */
+    static final String SEGMENT_MARK = "SEGMENT";
+
+    private final boolean immediateFlush;
+
+    /**
+     * How long each segment covers, or 0 to write one uncompressed file
+     */
+    private final long segmentMillis;
+
+    /**
+     * The file that is being written to, only used by the logging thread
+     */
+    private Path file;
+    private WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * The compressed stream that the channel writes to, or null if the log isn't segmented
+     */
+    private GZIPOutputStream gzip;
+    private Writer index;
+
+    /**
+     * The number of the segment that was opened last
+     */
+    private int segment = -1;
+    private long segmentStart;
+
+    /**
+     * The uncompressed bytes that have been written to the segment, not including the buffer
+     */
+    private long segmentBytes;
+
+    /**
+     * Whether the file couldn't be opened, so that the error is only reported once
+     */
+    private boolean failed;
+
+    /**
+     * The file to rename to before writing the next event
+     */
+    private final AtomicReference<Path> pendingRotation = new AtomicReference<>();
+
+    /**
+     * Creates the appender
+     *
+     * @param name           The name of the appender
+     * @param file           The file to write to
+     * @param layout         The layout of each event
+     * @param filter         The filter for events, or null
+     * @param immediateFlush True to flush after every event, otherwise only at the end of each batch
+     */
+    RotatingFileAppender(String name, Path file, Layout<? extends Serializable> layout, Filter filter,
+                         boolean immediateFlush) {
+        this(name, file, layout, filter, immediateFlush, 0);
+    }
+
+    /**
+     * Creates the appender
+     *
+     * @param name           The name of the appender
+     * @param file           The file to write to, which names the segments and index if the log is segmented
+     * @param layout         The layout of each event
+     * @param filter         The filter for events, or null
+     * @param immediateFlush True to flush after every event, otherwise only at the end of each batch
+     * @param segmentMillis  How long each compressed segment covers, or 0 to write one uncompressed file
+     */
+    RotatingFileAppender(String name, Path file, Layout<? extends Serializable> layout, Filter filter,
+                         boolean immediateFlush, long segmentMillis) {
+        super(name, filter, layout, true);
+        this.file = file;
+        this.immediateFlush = immediateFlush;
+        this.segmentMillis = segmentMillis;
+    }
+
+    /**
+     * Creates the appender from the log4j configuration
+     *
+     * @param name           The name of the appender
+     * @param fileName       The file to write to
+     * @param immediateFlush True to flush after every event
+     * @param segmentSeconds How long each compressed segment covers, or 0 to write one uncompressed file
+     * @param layout         The layout of each event
+     * @param filter         The filter for events
+     * @return The appender, or null if it is missing a name or file
+     */
+    @PluginFactory
+    public static RotatingFileAppender createAppender(@PluginAttribute("name") String name,
+                                                      @PluginAttribute("fileName") String fileName,
+                                                      @PluginAttribute(value = "immediateFlush", defaultBoolean = false) boolean immediateFlush,
+                                                      @PluginAttribute(value = "segmentSeconds", defaultInt = 0) int segmentSeconds,
+                                                      @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                                      @PluginElement("Filter") Filter filter) {
+        if (name == null || fileName == null) {
+            LOGGER.error("RotatingFile appender needs a name and a fileName");
+            return null;
+        }
+
+        if (layout == null) {
+            layout = PatternLayout.createDefaultLayout();
+        }
+
+        return new RotatingFileAppender(name, Paths.get(fileName), layout, filter, immediateFlush,
+                TimeUnit.SECONDS.toMillis(segmentSeconds));
+    }
+
+    /**
+     * Renames the log file before the next event is written, without waiting for it
+     *
+     * @param newFile The new name of the file
+     */
+    public void rotateTo(Path newFile) {
+        pendingRotation.set(newFile);
+    }
+
+    /**
+     * Gets the file that is being written to
+     *
+     * @return The path of the file, which names the segments and index if the log is segmented
+     */
+    public synchronized Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void append(LogEvent event) {
+        final Path rotation = pendingRotation.getAndSet(null);
+        if (rotation != null) {
+            rotate(rotation);
+        }
+
+        if (gzip != null && event.getTimeMillis() - segmentStart >= segmentMillis) {
+            // The next segment is opened below
+            close();
+        }
+
+        if (!open(event.getTimeMillis())) {
+            return;
+        }
+
+        final Marker marker = event.getMarker();
+        if (segmentMillis > 0 && marker != null && marker.isInstanceOf(STATE_MARKER)) {
+            mark(event.getTimeMillis(), marker.getName());
+        }
+
+        getLayout().encode(event, this);
+
+        if (immediateFlush || event.isEndOfBatch()) {
+            flush();
+        }
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public ByteBuffer drain(ByteBuffer buf) {
+        buf.flip();
+        segmentBytes += buf.remaining();
+
+        try {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Could not write to " + file, e);
+        }
+
+        buf.clear();
+        return buf;
+    }
+
+    @Override
+    public void writeBytes(ByteBuffer data) {
+        if (data.hasRemaining()) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+        }
+    }
+
+    @Override
+    public void writeBytes(byte[] data, int offset, int length) {
+        ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
+    }
+
+    /**
+     * Writes the buffer to the file, and makes what has been compressed so far readable
+     */
+    private void flush() {
+        drain(buffer);
+
+        if (gzip != null) {
+            try {
+                gzip.flush();
+            } catch (IOException e) {
+                LOGGER.error("Could not write to " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Renames the file, keeping it open if the file system allows it
+     *
+     * @param newFile The new name of the file
+     */
+    private void rotate(Path newFile) {
+        if (segmentMillis > 0) {
+            moveSegments(newFile);
+            return;
+        }
+
+        if (channel == null || !Files.exists(file)) {
+            file = newFile;
+            return;
+        }
+
+        try {
+            drain(buffer);
+            // Open files can be renamed on the roboRIO, and writes carry on into the renamed file
+            Files.move(file, newFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Some file systems don't allow open files to be renamed
+            moveClosed(newFile);
+            return;
+        }
+
+        file = newFile;
+    }
+
+    /**
+     * Closes the file so that it can be moved and then reopens it
+     *
+     * @param newFile The new name of the file
+     */
+    private void moveClosed(Path newFile) {
+        close();
+
+        try {
+            Files.move(file, newFile);
+            file = newFile;
+        } catch (IOException e) {
+            LOGGER.error("Could not rename " + file + " to " + newFile, e);
+        }
+    }
+
+    /**
+     * Closes the segment and index and renames them, the next event starts a new segment
+     *
+     * @param newFile The new name of the log
+     */
+    private void moveSegments(Path newFile) {
+        close();
+        closeIndex();
+
+        try {
+            for (int i = 0; i <= segment; i++) {
+                final Path segmentFile = segmentFile(file, i);
+                if (Files.exists(segmentFile)) {
+                    Files.move(segmentFile, segmentFile(newFile, i));
+                }
+            }
+
+            if (Files.exists(indexFile(file))) {
+                Files.move(indexFile(file), indexFile(newFile));
+            }
+        } catch (IOException e) {
+            LOGGER.error("Could not rename " + file + " to " + newFile, e);
+        }
+
+        file = newFile;
+    }
+
+    /**
+     * Opens the file if it isn't open
+     *
+     * @param time The time of the event that is about to be written, in milliseconds
+     * @return True if the file is open
+     */
+    private boolean open(long time) {
+        if (channel != null) {
+            return true;
+        } else if (failed) {
+            return false;
+        }
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+
+            if (segmentMillis > 0) {
+                openSegment(time);
+            } else {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+
+            return true;
+        } catch (IOException e) {
+            failed = true;
+            LOGGER.error("Could not open " + file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Starts the next compressed segment and adds it to the index
+     *
+     * @param time The time that the segment starts at, in milliseconds
+     * @throws IOException If the segment couldn't be created
+     */
+    private void openSegment(long time) throws IOException {
+        segment++;
+        segmentStart = time;
+        segmentBytes = 0;
+
+        gzip = new GZIPOutputStream(Files.newOutputStream(segmentFile(file, segment)), BUFFER_SIZE, true);
+        channel = Channels.newChannel(gzip);
+
+        mark(time, SEGMENT_MARK);
+    }
+
+    /**
+     * Adds a line to the index at the end of what has been encoded into the current segment
+     *
+     * @param time The time of the mark, in milliseconds
+     * @param mark The name of the mark
+     */
+    private void mark(long time, String mark) {
+        try {
+            if (index == null) {
+                index = Files.newBufferedWriter(indexFile(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+
+            index.write(time + "\t" + mark + "\t" + segment + "\t" + (segmentBytes + buffer.position()) + "\n");
+            index.flush();
+        } catch (IOException e) {
+            LOGGER.error("Could not write to " + indexFile(file), e);
+        }
+    }
+
+    /**
+     * Closes the file, which finishes the segment if the log is segmented
+     */
+    private synchronized void close() {
+        if (channel != null) {
+            drain(buffer);
+
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.error("Could not close " + file, e);
+            }
+
+            channel = null;
+            gzip = null;
+        }
+    }
+
+    /**
+     * Closes the index
+     */
+    private void closeIndex() {
+        if (index != null) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                LOGGER.error("Could not close " + indexFile(file), e);
+            }
+
+            index = null;
+        }
+    }
+
+    /**
+     * Gets the name of a compressed segment of a log
+     *
+     * @param file    The log file
+     * @param segment The number of the segment
+     * @return The path of the segment
+     */
+    static Path segmentFile(Path file, int segment) {
+        return file.resolveSibling(String.format("%s.%03d.log.gz", baseName(file), segment));
+    }
+
+    /**
+     * Gets the name of the index of a segmented log
+     *
+     * @param file The log file
+     * @return The path of the index
+     */
+    static Path indexFile(Path file) {
+        return file.resolveSibling(baseName(file) + ".idx");
+    }
+
+    /**
+     * Gets the name of a log file without the .log extension
+     *
+     * @param file The log file
+     * @return The name of the file
+     */
+    private static String baseName(Path file) {
+        final String name = file.getFileName().toString();
+
+        return name.endsWith(".log") ? name.substring(0, name.length() - ".log".length()) : name;
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        setStopping();
+        super.stop(timeout, timeUnit, false);
+        close();
+        closeIndex();
+        setStopped();
+
+        return true;
+    }
+}
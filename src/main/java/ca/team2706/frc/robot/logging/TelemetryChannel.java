@@ -0,0 +1,339 @@
+package ca.team2706.frc.robot.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * Writes fixed schema binary records of high rate data, so that it doesn't have to be formatted into text
+ * <p>
+ * Each record is a timestamp followed by one double for each field. Records are copied into a preallocated direct
+ * buffer, and a background thread swaps it with a second buffer and writes it out about once a second or when it
+ * is half full. If the writer falls behind, records are dropped rather than blocking the caller.
+ * Files are converted to CSV with {@link TelemetryConverter}.
+ * <p>
+ * The name of the file is only decided when the first record is written, and an existing file is never replaced,
+ * so {@link #reopen()} can move the channel to a new file when the log file changes.
+ */
+public class TelemetryChannel {
+
+    /**
+     * The extension of telemetry files
+     */
+    public static final String EXTENSION = ".tlm";
+
+    /**
+     * Identifies a telemetry file and its version, "TLM1"
+     */
+    static final int MAGIC = 0x544C4D31;
+
+    /**
+     * The number of records that each buffer holds
+     */
+    static final int CAPACITY = 512;
+
+    /**
+     * The longest time in milliseconds that a record waits before it is written
+     */
+    private static final long FLUSH_PERIOD = 1000;
+
+    private final Supplier<Path> fileSupplier;
+    private final String[] fields;
+    private final int recordSize;
+
+    /**
+     * Held while recording and while swapping buffers
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Held while writing to the file
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * The buffer that records are copied into
+     */
+    private ByteBuffer active;
+
+    /**
+     * The buffer that is being written to the file
+     */
+    private ByteBuffer writing;
+
+    private FileChannel channel;
+    private Path file;
+    private Thread writer;
+    private boolean closed;
+
+    /**
+     * Whether the file should be closed once the records so far are written, so that later records go to a new file
+     */
+    private boolean reopenRequested;
+
+    private long recorded;
+    private long dropped;
+
+    /**
+     * Creates a telemetry channel, the file isn't created until the first record is written
+     *
+     * @param file   The file to write to, which gets a number at the end if it already exists
+     * @param fields The names of the fields in each record, not including the timestamp
+     */
+    public TelemetryChannel(Path file, String... fields) {
+        this(() -> file, fields);
+    }
+
+    /**
+     * Creates a telemetry channel, the file isn't created until the first record is written
+     *
+     * @param fileSupplier Gets the file to write to each time that a file is opened, which gets a number at the end
+     *                     if it already exists
+     * @param fields       The names of the fields in each record, not including the timestamp
+     */
+    public TelemetryChannel(Supplier<Path> fileSupplier, String... fields) {
+        this.fileSupplier = fileSupplier;
+        this.fields = fields.clone();
+
+        recordSize = (fields.length + 1) * Double.BYTES;
+        active = ByteBuffer.allocateDirect(CAPACITY * recordSize);
+        writing = ByteBuffer.allocateDirect(CAPACITY * recordSize);
+    }
+
+    /**
+     * Records the values of the fields at a point in time
+     *
+     * @param timestamp The time in seconds
+     * @param values    The value of each field, in the order that the fields were given in
+     */
+    public void record(double timestamp, double[] values) {
+        if (values.length != fields.length) {
+            throw new IllegalArgumentException("Expected " + fields.length + " values but got " + values.length);
+        }
+
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+
+            if (active.remaining() < recordSize) {
+                dropped++;
+                return;
+            }
+
+            active.putDouble(timestamp);
+            for (double value : values) {
+                active.putDouble(value);
+            }
+            recorded++;
+
+            if (writer == null) {
+                startWriter();
+            } else if (active.position() >= active.capacity() / 2) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Asks the background thread to write out the records without waiting for it
+     */
+    public void requestFlush() {
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Asks the background thread to finish the current file, so that the next records are written to a new file
+     * from the file supplier
+     */
+    public void reopen() {
+        synchronized (lock) {
+            reopenRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Writes every record so far to the file
+     *
+     * @throws IOException If the file couldn't be written
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            final boolean reopening;
+
+            synchronized (lock) {
+                final ByteBuffer full = active;
+                active = writing;
+                writing = full;
+
+                reopening = reopenRequested;
+                reopenRequested = false;
+            }
+
+            writing.flip();
+
+            try {
+                if (writing.hasRemaining()) {
+                    if (channel == null) {
+                        open();
+                    }
+
+                    while (writing.hasRemaining()) {
+                        channel.write(writing);
+                    }
+                }
+            } finally {
+                writing.clear();
+            }
+
+            // The records from before the request are in the old file
+            if (reopening && channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Writes out the remaining records and closes the file, records after this are ignored
+     *
+     * @throws IOException If the file couldn't be written
+     */
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+
+        synchronized (writeLock) {
+            flush();
+
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Gets the file that records are being written to
+     *
+     * @return The file, or null if no file is open
+     */
+    public Path getFile() {
+        synchronized (writeLock) {
+            return channel == null ? null : file;
+        }
+    }
+
+    /**
+     * Gets the number of records that were accepted
+     *
+     * @return The number of records
+     */
+    public long getRecorded() {
+        synchronized (lock) {
+            return recorded;
+        }
+    }
+
+    /**
+     * Gets the number of records that were dropped because the writer fell behind
+     *
+     * @return The number of dropped records
+     */
+    public long getDropped() {
+        synchronized (lock) {
+            return dropped;
+        }
+    }
+
+    /**
+     * Creates a new file and writes the header with the names of the fields
+     *
+     * @throws IOException If the file couldn't be created
+     */
+    private void open() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream header = new DataOutputStream(bytes)) {
+            header.writeInt(MAGIC);
+            header.writeInt(fields.length);
+
+            for (String field : fields) {
+                header.writeUTF(field);
+            }
+        }
+
+        final Path requested = fileSupplier.get();
+        final String name = requested.getFileName().toString();
+        final int extension = name.lastIndexOf('.') > 0 ? name.lastIndexOf('.') : name.length();
+
+        file = requested;
+        for (int i = 1; channel == null; i++) {
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                // Keep the telemetry from an earlier boot or match
+                file = requested.resolveSibling(name.substring(0, extension) + "-" + i + name.substring(extension));
+            }
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Starts the thread that writes the records in the background
+     */
+    private void startWriter() {
+        writer = new Thread(this::writeRecords, "Telemetry " + fileSupplier.get().getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes out the records whenever the buffer is half full or the flush period has passed, until closed
+     */
+    private void writeRecords() {
+        while (true) {
+            synchronized (lock) {
+                if (closed) {
+                    return;
+                }
+
+                if (active.position() < active.capacity() / 2 && !reopenRequested) {
+                    try {
+                        lock.wait(FLUSH_PERIOD);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+
+                if (closed) {
+                    return;
+                }
+            }
+
+            try {
+                flush();
+            } catch (IOException e) {
+                Log.e("Unable to write telemetry to " + file + ", no more records will be saved", e);
+
+                synchronized (lock) {
+                    closed = true;
+                }
+                return;
+            }
+        }
+    }
+}
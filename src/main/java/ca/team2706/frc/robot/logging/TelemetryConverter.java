@@ -0,0 +1,129 @@
+package ca.team2706.frc.robot.logging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Converts the binary files written by {@link TelemetryChannel} into CSV files
+ * <p>
+ * Run by the convertTelemetry Gradle task
+ */
+public class TelemetryConverter {
+
+    private TelemetryConverter() {
+    }
+
+    /**
+     * Converts telemetry files, writing each CSV file next to the telemetry file that it came from
+     *
+     * @param args The telemetry files or directories of them to convert
+     * @throws IOException If a file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: TelemetryConverter <telemetry file or directory>...");
+        }
+
+        for (String arg : args) {
+            final Path path = Paths.get(arg);
+
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        if (file.getFileName().toString().endsWith(TelemetryChannel.EXTENSION)) {
+                            convert(file);
+                        }
+                    }
+                }
+            } else {
+                convert(path);
+            }
+        }
+    }
+
+    /**
+     * Converts a telemetry file into a CSV file with the same name
+     *
+     * @param file The telemetry file
+     * @throws IOException If the file can't be read or written
+     */
+    private static void convert(Path file) throws IOException {
+        final String name = file.getFileName().toString();
+        final String baseName = name.endsWith(TelemetryChannel.EXTENSION)
+                ? name.substring(0, name.length() - TelemetryChannel.EXTENSION.length()) : name;
+        final Path csv = file.resolveSibling(baseName + ".csv");
+
+        final int records = convert(file, csv);
+        System.out.println("Converted " + file + " with " + records + " records");
+    }
+
+    /**
+     * Converts a telemetry file into a CSV file
+     *
+     * @param input  The telemetry file
+     * @param output The CSV file to write, which is replaced if it exists
+     * @return The number of records that were converted
+     * @throws IOException If the telemetry file isn't valid or a file can't be read or written
+     */
+    public static int convert(Path input, Path output) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(input)));
+             BufferedWriter out = Files.newBufferedWriter(output)) {
+            if (in.readInt() != TelemetryChannel.MAGIC) {
+                throw new IOException(input + " is not a telemetry file");
+            }
+
+            final int fields = in.readInt();
+
+            out.write("time");
+            for (int i = 0; i < fields; i++) {
+                out.write(',');
+                out.write(in.readUTF());
+            }
+            out.newLine();
+
+            final double[] record = new double[fields + 1];
+            int records = 0;
+
+            while (readRecord(in, record)) {
+                for (int i = 0; i < record.length; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    out.write(Double.toString(record[i]));
+                }
+                out.newLine();
+
+                records++;
+            }
+
+            return records;
+        }
+    }
+
+    /**
+     * Reads a record, ignoring a partial record at the end of the file from the robot turning off mid write
+     *
+     * @param in     The telemetry file
+     * @param record The array to read the timestamp and fields into
+     * @return True if a whole record was read, false at the end of the file
+     * @throws IOException If the file can't be read
+     */
+    private static boolean readRecord(DataInputStream in, double[] record) throws IOException {
+        try {
+            for (int i = 0; i < record.length; i++) {
+                record[i] = in.readDouble();
+            }
+
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ca.team2706.frc.robot.logging;
+
+import ca.team2706.frc.robot.Robot;
+import ca.team2706.frc.robot.RobotState;
+import ca.team2706.frc.robot.config.Config;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Samples every registered {@link TelemetrySource} on its own notifier
+ * <p>
+ * Sources are sampled every {@link Config#TELEMETRY_PERIOD}, and each signal is only read when it's due for the
+ * telemetry file or SmartDashboard. Signals are written to the telemetry file while the robot is enabled. The
+ * telemetry files are named after the log file, and move to a new file when the log file changes.
+ */
+public class TelemetryRegistry {
+
+    /**
+     * The NetworkTables table that the rates of each signal are under
+     */
+    public static final String NT_TABLE = "Telemetry";
+
+    private static TelemetryRegistry currentInstance;
+
+    private final List<TelemetrySource> sources = new CopyOnWriteArrayList<>();
+
+    private final Notifier notifier;
+
+    /**
+     * The number of times that the sources have been sampled
+     */
+    private long tick;
+
+    /**
+     * Gets the telemetry registry
+     *
+     * @return The telemetry registry singleton
+     */
+    public static TelemetryRegistry getInstance() {
+        init();
+        return currentInstance;
+    }
+
+    /**
+     * Creates the telemetry registry and starts sampling
+     */
+    public static void init() {
+        if (currentInstance == null) {
+            currentInstance = new TelemetryRegistry();
+        }
+    }
+
+    private TelemetryRegistry() {
+        notifier = new Notifier(this::sample);
+        notifier.startPeriodic(Config.TELEMETRY_PERIOD);
+
+        Robot.setOnStateChange(state -> {
+            if (state == RobotState.DISABLED) {
+                sources.forEach(source -> source.getChannel().requestFlush());
+            } else if (state == RobotState.SHUTDOWN) {
+                close();
+            }
+        });
+
+        Log.setOnLogFileChange(() -> sources.forEach(source -> source.getChannel().reopen()));
+    }
+
+    /**
+     * Starts sampling a source. Its signals are on at {@link Config#LOG_PERIOD} by default.
+     *
+     * @param source The source, with all of its signals added
+     */
+    public void register(TelemetrySource source) {
+        // Named when the first samples are written, which is after the log file is renamed for the match
+        final TelemetryChannel channel = new TelemetryChannel(
+                () -> Log.getLogFile("-" + source.getName() + TelemetryChannel.EXTENSION), source.getSignalNames());
+
+        source.start(channel, NetworkTableInstance.getDefault().getTable(NT_TABLE).getSubTable(source.getName()),
+                1 / Config.TELEMETRY_PERIOD, 1 / Config.LOG_PERIOD);
+        sources.add(source);
+    }
+
+    /**
+     * Samples every source
+     */
+    private void sample() {
+        final boolean toDisk = DriverStation.getInstance().isEnabled();
+        final double timestamp = Timer.getFPGATimestamp();
+
+        for (TelemetrySource source : sources) {
+            source.sample(tick, timestamp, toDisk);
+        }
+
+        tick++;
+    }
+
+    /**
+     * Writes out the remaining samples and closes the telemetry files
+     */
+    private void close() {
+        for (TelemetrySource source : sources) {
+            try {
+                source.getChannel().close();
+            } catch (IOException e) {
+                Log.e("Unable to save telemetry for " + source.getName(), e);
+            }
+        }
+    }
+}
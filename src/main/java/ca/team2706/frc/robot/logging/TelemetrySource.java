@@ -0,0 +1,303 @@
+package ca.team2706.frc.robot.logging;
+
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntConsumer;
+
+/**
+ * A group of named signals from one subsystem that are sampled by the {@link TelemetryRegistry}
+ * <p>
+ * Each signal has its own rate for the telemetry file and for SmartDashboard, which can be changed at any time from
+ * the NetworkTables entries <code>Telemetry/&lt;source&gt;/&lt;signal&gt;/disk</code> and
+ * <code>.../dashboard</code>. A rate is in Hz, and 0 turns the signal off for that destination.
+ */
+public class TelemetrySource {
+
+    private final String name;
+    private final List<Signal> signals = new ArrayList<>();
+
+    private TelemetryChannel channel;
+    private double[] values;
+    private double sampleRate;
+
+    /**
+     * Creates a telemetry source
+     *
+     * @param name The name of the source, used for its telemetry file and NetworkTables table
+     */
+    public TelemetrySource(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds a number signal
+     *
+     * @param name      The name of the signal, which is also its SmartDashboard key
+     * @param value     Gets the value of the signal, called from the telemetry thread
+     * @param disk      True to write the signal to the telemetry file by default
+     * @param dashboard True to put the signal on SmartDashboard by default
+     * @return This source
+     */
+    public TelemetrySource addSignal(String name, DoubleSupplier value, boolean disk, boolean dashboard) {
+        return addSignal(new Signal(name, value, false, disk, dashboard));
+    }
+
+    /**
+     * Adds a boolean signal, which is written to the telemetry file as 1 or 0
+     *
+     * @param name      The name of the signal, which is also its SmartDashboard key
+     * @param value     Gets the value of the signal, called from the telemetry thread
+     * @param disk      True to write the signal to the telemetry file by default
+     * @param dashboard True to put the signal on SmartDashboard by default
+     * @return This source
+     */
+    public TelemetrySource addSignal(String name, BooleanSupplier value, boolean disk, boolean dashboard) {
+        return addSignal(new Signal(name, () -> value.getAsBoolean() ? 1 : 0, true, disk, dashboard));
+    }
+
+    /**
+     * Gets the name of the source
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the names of the signals in the order that they are added to the telemetry file
+     *
+     * @return The signal names
+     */
+    String[] getSignalNames() {
+        final String[] names = new String[signals.size()];
+
+        for (int i = 0; i < names.length; i++) {
+            names[i] = signals.get(i).name;
+        }
+
+        return names;
+    }
+
+    /**
+     * Starts sampling the source, after which no more signals can be added
+     *
+     * @param channel     The channel to write the samples to
+     * @param table       The table for changing the rates, or null to only use the default rates
+     * @param sampleRate  How often the source is sampled in Hz
+     * @param defaultRate The rate in Hz of the signals that are on by default
+     */
+    synchronized void start(TelemetryChannel channel, NetworkTable table, double sampleRate, double defaultRate) {
+        if (this.channel != null) {
+            throw new IllegalStateException("Telemetry source " + name + " was already started");
+        }
+
+        this.channel = channel;
+        this.sampleRate = sampleRate;
+        values = new double[signals.size()];
+
+        for (Signal signal : signals) {
+            signal.diskDivider = toDivider(signal.diskDefault ? defaultRate : 0);
+            signal.dashboardDivider = toDivider(signal.dashboardDefault ? defaultRate : 0);
+
+            if (table != null) {
+                final NetworkTable signalTable = table.getSubTable(signal.name);
+
+                signal.diskEntry = addRateEntry(signalTable.getEntry("disk"), signal.diskDefault ? defaultRate : 0,
+                        divider -> signal.diskDivider = divider);
+                signal.dashboardEntry = addRateEntry(signalTable.getEntry("dashboard"),
+                        signal.dashboardDefault ? defaultRate : 0, divider -> signal.dashboardDivider = divider);
+            }
+        }
+    }
+
+    /**
+     * Sets how often a signal is written to the telemetry file
+     *
+     * @param signal The name of the signal
+     * @param rate   The rate in Hz, or 0 to stop writing it
+     */
+    public synchronized void setDiskRate(String signal, double rate) {
+        final Signal found = getSignal(signal);
+
+        found.diskDivider = toDivider(rate);
+        if (found.diskEntry != null) {
+            found.diskEntry.setDouble(rate);
+        }
+    }
+
+    /**
+     * Sets how often a signal is put on SmartDashboard
+     *
+     * @param signal The name of the signal
+     * @param rate   The rate in Hz, or 0 to stop putting it
+     */
+    public synchronized void setDashboardRate(String signal, double rate) {
+        final Signal found = getSignal(signal);
+
+        found.dashboardDivider = toDivider(rate);
+        if (found.dashboardEntry != null) {
+            found.dashboardEntry.setDouble(rate);
+        }
+    }
+
+    /**
+     * Samples every signal that is due
+     *
+     * @param tick      The number of times that the sources have been sampled
+     * @param timestamp The time in seconds
+     * @param toDisk    False to skip writing to the telemetry file
+     */
+    synchronized void sample(long tick, double timestamp, boolean toDisk) {
+        boolean record = false;
+
+        for (int i = 0; i < values.length; i++) {
+            final Signal signal = signals.get(i);
+            final boolean disk = toDisk && isDue(signal.diskDivider, tick);
+            final boolean dashboard = isDue(signal.dashboardDivider, tick);
+
+            if (disk || dashboard) {
+                final double value = signal.value.getAsDouble();
+
+                if (dashboard) {
+                    signal.publish(value);
+                }
+
+                values[i] = disk ? value : Double.NaN;
+                record |= disk;
+            } else {
+                values[i] = Double.NaN;
+            }
+        }
+
+        if (record) {
+            channel.record(timestamp, values);
+        }
+    }
+
+    /**
+     * Gets the channel that the source writes to
+     *
+     * @return The channel, or null if the source hasn't been started
+     */
+    TelemetryChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Adds a signal if the source hasn't been started yet
+     *
+     * @param signal The signal
+     * @return This source
+     */
+    private synchronized TelemetrySource addSignal(Signal signal) {
+        if (channel != null) {
+            throw new IllegalStateException("Can't add " + signal.name + " after telemetry source " + name + " was started");
+        }
+
+        signals.add(signal);
+        return this;
+    }
+
+    /**
+     * Finds a signal by name
+     *
+     * @param name The name of the signal
+     * @return The signal
+     */
+    private Signal getSignal(String name) {
+        for (Signal signal : signals) {
+            if (signal.name.equals(name)) {
+                return signal;
+            }
+        }
+
+        throw new IllegalArgumentException("No signal named " + name + " in telemetry source " + this.name);
+    }
+
+    /**
+     * Publishes a rate to NetworkTables and updates the divider when it's changed
+     *
+     * @param entry    The entry
+     * @param rate     The starting rate in Hz
+     * @param listener Called with the new divider
+     * @return The entry
+     */
+    private NetworkTableEntry addRateEntry(NetworkTableEntry entry, double rate, IntConsumer listener) {
+        entry.setDouble(rate);
+        entry.addListener(notification -> listener.accept(toDivider(entry.getDouble(0))),
+                EntryListenerFlags.kUpdate);
+
+        return entry;
+    }
+
+    /**
+     * Converts a rate into the number of samples between each time that a signal is used
+     *
+     * @param rate The rate in Hz
+     * @return The divider, or 0 if the signal is off
+     */
+    private int toDivider(double rate) {
+        if (!(rate > 0)) {
+            return 0;
+        }
+
+        return (int) Math.max(1, Math.round(sampleRate / rate));
+    }
+
+    /**
+     * Checks whether a signal should be used this sample
+     *
+     * @param divider The number of samples between each use, or 0 if it's off
+     * @param tick    The number of times that the sources have been sampled
+     * @return True if the signal is due
+     */
+    private static boolean isDue(int divider, long tick) {
+        return divider > 0 && tick % divider == 0;
+    }
+
+    /**
+     * A named value that is sampled
+     */
+    private static class Signal {
+        private final String name;
+        private final DoubleSupplier value;
+        private final boolean isBoolean;
+        private final boolean diskDefault;
+        private final boolean dashboardDefault;
+
+        private volatile int diskDivider;
+        private volatile int dashboardDivider;
+
+        private NetworkTableEntry diskEntry;
+        private NetworkTableEntry dashboardEntry;
+
+        private Signal(String name, DoubleSupplier value, boolean isBoolean, boolean diskDefault, boolean dashboardDefault) {
+            this.name = name;
+            this.value = value;
+            this.isBoolean = isBoolean;
+            this.diskDefault = diskDefault;
+            this.dashboardDefault = dashboardDefault;
+        }
+
+        /**
+         * Puts the value on SmartDashboard
+         *
+         * @param value The value
+         */
+        private void publish(double value) {
+            if (isBoolean) {
+                SmartDashboard.putBoolean(name, value != 0);
+            } else {
+                SmartDashboard.putNumber(name, value);
+            }
+        }
+    }
+}
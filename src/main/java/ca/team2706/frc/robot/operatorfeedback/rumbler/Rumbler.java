@@ -1,16 +1,16 @@
 package ca.team2706.frc.robot.operatorfeedback.rumbler;
 
 import ca.team2706.frc.robot.OI;
+import ca.team2706.frc.robot.commands.ProfiledCommand;
 import edu.wpi.first.wpilibj.GenericHID;
 import edu.wpi.first.wpilibj.Joystick;
-import edu.wpi.first.wpilibj.command.Command;
 
 import java.time.Clock;
 
 /**
  * Class for running rumble patterns on the robot.
  */
-public class Rumbler extends Command {
+public class Rumbler extends ProfiledCommand {
 
     public enum JoystickSelection {
         DRIVER_JOYSTICK, OPERATOR_JOYSTICK, BOTH_JOYSTICKS
@@ -66,12 +66,12 @@ public class Rumbler extends Command {
     }
 
     @Override
-    public void initialize() {
-        super.initialize();
+    public void onInitialize() {
+        super.onInitialize();
     }
 
     @Override
-    protected void execute() {
+    protected void onExecute() {
         // Get the time passed since last time point
         long timeSinceStart = getCurrentTime() - startTime;
 
@@ -80,7 +80,7 @@ public class Rumbler extends Command {
     }
 
     @Override
-    protected boolean isFinished() {
+    protected boolean isDone() {
         return currentPattern.isOver(getCurrentTime() - startTime) || isFinished;
     }
 
@@ -88,7 +88,7 @@ public class Rumbler extends Command {
      * Ends the command nicely, removing it from the command group.
      */
     @Override
-    public void end() {
+    public void onEnd() {
         isFinished = true;
         rumble(false);
     }
@@ -1,25 +1,28 @@
 package ca.team2706.frc.robot.subsystems;
 
+import ca.team2706.frc.robot.Robot;
+import ca.team2706.frc.robot.RobotState;
 import ca.team2706.frc.robot.Sendables;
 import ca.team2706.frc.robot.SubsystemStatus;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.logging.Log;
+import ca.team2706.frc.robot.logging.LoopTimer;
+import ca.team2706.frc.robot.logging.TelemetryRegistry;
+import ca.team2706.frc.robot.logging.TelemetrySource;
 import ca.team2706.frc.robot.sensors.AnalogSelector;
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
 import com.ctre.phoenix.motion.MotionProfileStatus;
-import com.ctre.phoenix.motion.TrajectoryPoint;
 import com.ctre.phoenix.motorcontrol.*;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
 import com.ctre.phoenix.sensors.PigeonIMU;
-import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.Notifier;
 import edu.wpi.first.wpilibj.PWM;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import edu.wpi.first.wpilibj.drive.DifferentialDrive;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
-import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Subsystem that controls the driving of the robot as well as certain sensors that are used for driving
@@ -54,6 +57,35 @@ public class DriveBase extends Subsystem {
      */
     private final WPI_TalonSRX leftFrontMotor, leftBackMotor, rightFrontMotor, rightBackMotor;
 
+    /**
+     * Shadow configuration for each of the drive Talons so that mode switches only send what changed
+     */
+    private final TalonConfigCache leftFrontConfig, leftBackConfig, rightFrontConfig, rightBackConfig;
+
+    /**
+     * The configuration of the talons for each drive mode, built ahead of time so mode switches only have to send it
+     */
+    private final EnumMap<DriveMode, DriveProfile> profiles = new EnumMap<>(DriveMode.class);
+
+    /**
+     * Held while configuration is being sent to the talons
+     */
+    private final Object configLock = new Object();
+
+    /**
+     * The drive mode whose configuration was last sent to the talons
+     */
+    private DriveMode configuredMode = DriveMode.Disabled;
+
+    /**
+     * Sends configuration to the talons in the background
+     */
+    private final ExecutorService configExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Drive Config");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      * Logic for controlling robot motion in teleop
      */
@@ -64,6 +96,16 @@ public class DriveBase extends Subsystem {
      */
     private final PigeonIMU gyro;
 
+    /**
+     * The drive sensors read once per robot loop
+     */
+    private final DriveSensors sensors;
+
+    /**
+     * Times the periodic method as part of the robot loop
+     */
+    private final LoopTimer.Phase periodicTime = LoopTimer.getInstance().addPhase("DriveBase periodic");
+
     /**
      * Analog Selector
      */
@@ -85,9 +127,10 @@ public class DriveBase extends Subsystem {
     private double savedAngle;
 
     /**
-     * Logs data to SmartDashboard and files periodically
+     * Held while the heading is read or reset, so that the odometry notifier never sees the saved angle without the
+     * gyro reset that goes with it. The drive sensors shift the yaw until the gyro sends the reset yaw.
      */
-    private Notifier loggingNotifier;
+    private final Object headingLock = new Object();
 
     /**
      * Holds the status for the motion profile
@@ -95,17 +138,22 @@ public class DriveBase extends Subsystem {
     private MotionProfileStatus motionProfileStatus;
 
     /**
-     * Holds the points to stream for the right motion profile
+     * Streams the right motion profile to the right front talon
      */
-    private BufferedTrajectoryPointStream motionProfilePointStreamRight;
+    private final MotionProfileFeeder motionProfileFeederRight;
 
     /**
-     * Holds the points to stream for the left motion profile
+     * Streams the left motion profile to the left front talon
      */
-    private BufferedTrajectoryPointStream motionProfilePointStreamLeft;
+    private final MotionProfileFeeder motionProfileFeederLeft;
 
     private final SubsystemStatus status;
 
+    /**
+     * The number of times that the encoders have been zeroed, so that odometry doesn't count it as the robot moving
+     */
+    private volatile int encoderResets;
+
     /**
      * Creates a drive base, and initializes all required sensors and motors
      */
@@ -115,7 +163,16 @@ public class DriveBase extends Subsystem {
         rightFrontMotor = new WPI_TalonSRX(Config.RIGHT_FRONT_DRIVE_MOTOR_ID);
         rightBackMotor = new WPI_TalonSRX(Config.RIGHT_BACK_DRIVE_MOTOR_ID);
 
+        leftFrontConfig = new TalonConfigCache(leftFrontMotor);
+        leftBackConfig = new TalonConfigCache(leftBackMotor);
+        rightFrontConfig = new TalonConfigCache(rightFrontMotor);
+        rightBackConfig = new TalonConfigCache(rightBackMotor);
+
+        motionProfileFeederLeft = new MotionProfileFeeder(leftFrontMotor, "Left");
+        motionProfileFeederRight = new MotionProfileFeeder(rightFrontMotor, "Right");
+
         SubsystemStatus status1 = resetTalonConfiguration();
+        applyProfile(buildProfile(DriveMode.Disabled), false);
 
         follow();
 
@@ -127,6 +184,8 @@ public class DriveBase extends Subsystem {
 
         gyro = new PigeonIMU(new TalonSRX(Config.GYRO_TALON_ID));
 
+        sensors = new DriveSensors(leftFrontMotor, rightFrontMotor, leftBackMotor, rightBackMotor, gyro);
+
         selector = new AnalogSelector(Config.SELECTOR_ID);
 
         light = new PWM(Config.PURPLE_LIGHT);
@@ -140,27 +199,34 @@ public class DriveBase extends Subsystem {
 
         addChild(robotDriveBase);
 
-        addChild("Gyroscope", Sendables.newPigeonSendable(gyro));
+        addChild("Gyroscope", Sendables.newPigeonSendable(gyro, this::getHeading));
         addChild("Selector", selector);
 
-        addChild("Left Encoder", Sendables.newTalonEncoderSendable(leftFrontMotor));
-        addChild("Right Encoder", Sendables.newTalonEncoderSendable(rightFrontMotor));
+        addChild("Left Encoder", Sendables.newTalonEncoderSendable(leftFrontMotor,
+                () -> sensors.getQuadraturePosition(DriveSensors.LEFT_FRONT)));
+        addChild("Right Encoder", Sendables.newTalonEncoderSendable(rightFrontMotor,
+                () -> sensors.getQuadraturePosition(DriveSensors.RIGHT_FRONT)));
 
         addChild("Merge Light", light);
 
         SubsystemStatus status2 = testSensors();
 
+        buildProfiles();
+
+        // Constants can only be changed while disabled, so pick up any changes when the robot is enabled
+        Robot.setOnStateChange((state) -> {
+            if (state == RobotState.AUTONOMOUS || state == RobotState.TELEOP || state == RobotState.TEST) {
+                buildProfiles();
+            }
+        });
+
         setDisabledMode();
         setBrakeMode(false);
 
-        loggingNotifier = new Notifier(this::log);
-        loggingNotifier.startPeriodic(Config.LOG_PERIOD);
+        registerTelemetry();
 
         motionProfileStatus = new MotionProfileStatus();
 
-        motionProfilePointStreamLeft = new BufferedTrajectoryPointStream();
-        motionProfilePointStreamRight = new BufferedTrajectoryPointStream();
-
         resetAbsoluteGyro();
 
         status = SubsystemStatus.maxError(status1, status2);
@@ -211,43 +277,180 @@ public class DriveBase extends Subsystem {
     }
 
     /**
-     * Resets the talon configuration back to the initial config.
+     * Resets the talons back to factory default. This is slow, so it is only done when the drive base is created,
+     * mode switches only send the parameters that changed.
      */
     private SubsystemStatus resetTalonConfiguration() {
         SubsystemStatus status1 = SubsystemStatus.OK, status2 = SubsystemStatus.OK, status3 = SubsystemStatus.OK, status4 = SubsystemStatus.OK;
 
-        if (SubsystemStatus.checkError(leftFrontMotor.configFactoryDefault(Config.CAN_LONG))) {
+        if (SubsystemStatus.checkError(leftFrontConfig.configFactoryDefault(Config.CAN_LONG))) {
             Log.e("Can't reset left front motor to factory default");
             status1 = SubsystemStatus.ERROR;
         }
 
-        if (SubsystemStatus.checkError(leftBackMotor.configFactoryDefault(Config.CAN_LONG))) {
+        if (SubsystemStatus.checkError(leftBackConfig.configFactoryDefault(Config.CAN_LONG))) {
             Log.e("Can't reset left back motor to factory default");
             status2 = SubsystemStatus.DISABLE_AUTO;
         }
 
-        if (SubsystemStatus.checkError(rightFrontMotor.configFactoryDefault(Config.CAN_LONG))) {
+        if (SubsystemStatus.checkError(rightFrontConfig.configFactoryDefault(Config.CAN_LONG))) {
             Log.e("Can't reset right front motor to factory default");
             status3 = SubsystemStatus.ERROR;
         }
 
-        if (SubsystemStatus.checkError(rightBackMotor.configFactoryDefault(Config.CAN_LONG))) {
+        if (SubsystemStatus.checkError(rightBackConfig.configFactoryDefault(Config.CAN_LONG))) {
             Log.e("Can't reset right back motor to factory default");
             status4 = SubsystemStatus.DISABLE_AUTO;
         }
 
-        leftFrontMotor.configPeakCurrentLimit(2, Config.CAN_LONG);
-        leftBackMotor.configPeakCurrentLimit(2, Config.CAN_LONG);
-        rightFrontMotor.configPeakCurrentLimit(2, Config.CAN_LONG);
-        rightBackMotor.configPeakCurrentLimit(2, Config.CAN_LONG);
+        return SubsystemStatus.maxError(status1, status2, status3, status4);
+    }
 
-        leftFrontMotor.setInverted(Config.INVERT_FRONT_LEFT_DRIVE);
-        rightFrontMotor.setInverted(Config.INVERT_FRONT_RIGHT_DRIVE);
+    /**
+     * Builds the configuration of the talons for every drive mode from the current constants
+     */
+    private void buildProfiles() {
+        for (DriveMode mode : DriveMode.values()) {
+            profiles.put(mode, buildProfile(mode));
+        }
+    }
 
-        setTalonInversion(InvertType.FollowMaster, leftBackMotor, Config.INVERT_FRONT_LEFT_DRIVE, Config.INVERT_BACK_LEFT_DRIVE);
-        setTalonInversion(InvertType.FollowMaster, rightBackMotor, Config.INVERT_FRONT_RIGHT_DRIVE, Config.INVERT_BACK_RIGHT_DRIVE);
+    /**
+     * Builds the configuration of the talons for a drive mode from the current constants
+     *
+     * @param mode The drive mode
+     * @return The configuration for each talon
+     */
+    private DriveProfile buildProfile(DriveMode mode) {
+        DriveProfile profile = new DriveProfile();
+        stageBaseConfiguration(profile);
+
+        switch (mode) {
+            case OpenLoopVoltage:
+                selectEncodersStandard(profile);
+                break;
+            case PositionNoGyro:
+                selectEncodersSum(profile);
+                break;
+            case Rotate:
+                selectGyroSensor(profile);
+                break;
+            case MotionMagicWithGyro:
+                selectEncodersSumWithPigeon(profile, true);
+                configMotionMagic(profile);
+                break;
+            case MotionProfile:
+                selectEncodersSumWithPigeon(profile, true);
+                configMotionProfile(profile);
+                break;
+            case MotionProfile2Wheel:
+                selectEncodersGyro(profile, true);
+                configMotionProfile(profile);
+                break;
+            case PositionGyro:
+                selectEncodersSumWithPigeon(profile, false);
+                break;
+            case Disabled:
+            default:
+                break;
+        }
 
-        return SubsystemStatus.maxError(status1, status2, status3, status4);
+        return profile;
+    }
+
+    /**
+     * Stages the initial config on all the talons, undoing anything that another drive mode configured.
+     *
+     * @param profile The configuration to stage on
+     */
+    private void stageBaseConfiguration(DriveProfile profile) {
+        profile.leftFront.stageDefaults();
+        profile.leftBack.stageDefaults();
+        profile.rightFront.stageDefaults();
+        profile.rightBack.stageDefaults();
+
+        profile.leftFront.configPeakCurrentLimit(2);
+        profile.leftBack.configPeakCurrentLimit(2);
+        profile.rightFront.configPeakCurrentLimit(2);
+        profile.rightBack.configPeakCurrentLimit(2);
+
+        profile.leftFront.setInverted(Config.INVERT_FRONT_LEFT_DRIVE ? InvertType.InvertMotorOutput : InvertType.None);
+        profile.rightFront.setInverted(Config.INVERT_FRONT_RIGHT_DRIVE ? InvertType.InvertMotorOutput : InvertType.None);
+
+        setTalonInversion(InvertType.FollowMaster, profile.leftBack, Config.INVERT_FRONT_LEFT_DRIVE, Config.INVERT_BACK_LEFT_DRIVE);
+        setTalonInversion(InvertType.FollowMaster, profile.rightBack, Config.INVERT_FRONT_RIGHT_DRIVE, Config.INVERT_BACK_RIGHT_DRIVE);
+    }
+
+    /**
+     * Sends the configuration for a drive mode to the talons. Waits for any configuration that is being prewarmed.
+     *
+     * @param mode The drive mode
+     */
+    private void applyDriveMode(DriveMode mode) {
+        DriveProfile profile = profiles.get(mode);
+
+        synchronized (configLock) {
+            configuredMode = mode;
+            applyProfile(profile, false);
+        }
+    }
+
+    /**
+     * Sends a configuration to the talons, skipping any parameters that already have the right value
+     *
+     * @param profile The configuration for each talon
+     * @param prewarm True to only send the parameters that don't affect driving in open loop
+     * @return The number of CAN frames that were sent
+     */
+    private int applyProfile(DriveProfile profile, boolean prewarm) {
+        return leftFrontConfig.apply(profile.leftFront, prewarm) + leftBackConfig.apply(profile.leftBack, prewarm)
+                + rightFrontConfig.apply(profile.rightFront, prewarm) + rightBackConfig.apply(profile.rightBack, prewarm);
+    }
+
+    /**
+     * Starts sending the configuration for a drive mode to the talons in the background so that switching to it
+     * later is quick. This only does anything while the drive base is disabled or driving in open loop, and
+     * nothing that changes how the robot drives in open loop is sent.
+     *
+     * @param mode The drive mode that will be used soon
+     */
+    public void prewarmDriveMode(DriveMode mode) {
+        if (!canRunAuto()) {
+            return;
+        }
+
+        // Rebuild in case constants were changed since the profiles were built
+        final DriveProfile profile = buildProfile(mode);
+        profiles.put(mode, profile);
+
+        configExecutor.execute(() -> {
+            synchronized (configLock) {
+                if (configuredMode == DriveMode.Disabled || configuredMode == DriveMode.OpenLoopVoltage) {
+                    applyProfile(profile, true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for any configuration that is being prewarmed to finish sending
+     */
+    void waitForPrewarm() {
+        try {
+            configExecutor.submit(() -> {
+            }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            Log.w("Interrupted while waiting for drive base configuration", e);
+        }
+    }
+
+    /**
+     * Gets the total number of CAN frames that have been sent to configure the drive talons
+     *
+     * @return The number of frames
+     */
+    public long getConfigFramesSent() {
+        return leftFrontConfig.getFramesSent() + leftBackConfig.getFramesSent() + rightFrontConfig.getFramesSent() + rightBackConfig.getFramesSent();
     }
 
     /**
@@ -278,228 +481,232 @@ public class DriveBase extends Subsystem {
 
     /**
      * Selects local encoders and the current sensor
+     *
+     * @param profile The configuration to stage on
      */
-    private void selectEncodersStandard() {
-        leftFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative);
-        rightFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative);
+    private void selectEncodersStandard(DriveProfile profile) {
+        profile.leftFront.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0);
+        profile.rightFront.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0);
 
-        leftFrontMotor.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
-        rightFrontMotor.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
-        leftBackMotor.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
-        rightBackMotor.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
+        profile.leftFront.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
+        profile.rightFront.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
+        profile.leftBack.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
+        profile.rightBack.configNeutralDeadband(Config.DRIVE_OPEN_LOOP_DEADBAND.value());
     }
 
     /**
      * Selects local encoders and the current sensor
+     *
+     * @param profile The configuration to stage on
      */
-    private void selectEncodersSum() {
-        resetTalonConfiguration();
-        leftFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0, Config.CAN_SHORT);
-        rightFrontMotor.configRemoteFeedbackFilter(leftFrontMotor.getDeviceID(), RemoteSensorSource.TalonSRX_SelectedSensor, 0, Config.CAN_SHORT);
+    private void selectEncodersSum(DriveProfile profile) {
+        profile.leftFront.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0);
+        profile.rightFront.configRemoteFeedbackFilter(leftFrontMotor.getDeviceID(), RemoteSensorSource.TalonSRX_SelectedSensor, 0);
 
-        rightFrontMotor.configSensorTerm(SensorTerm.Sum0, FeedbackDevice.RemoteSensor0, Config.CAN_SHORT);
-        rightFrontMotor.configSensorTerm(SensorTerm.Sum1, FeedbackDevice.CTRE_MagEncoder_Relative, Config.CAN_SHORT);
+        profile.rightFront.configSensorTerm(SensorTerm.Sum0, FeedbackDevice.RemoteSensor0);
+        profile.rightFront.configSensorTerm(SensorTerm.Sum1, FeedbackDevice.CTRE_MagEncoder_Relative);
 
-        rightFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.SensorSum, 0, Config.CAN_SHORT);
-        rightFrontMotor.configSelectedFeedbackCoefficient(0.5, 0, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackSensor(FeedbackDevice.SensorSum, 0);
+        profile.rightFront.configSelectedFeedbackCoefficient(0.5, 0);
 
-        leftFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
-        rightFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
+        profile.leftFront.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
+        profile.rightFront.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
 
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20, Config.CAN_SHORT);
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20, Config.CAN_SHORT);
-        leftFrontMotor.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 5, Config.CAN_SHORT);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20);
+        profile.leftFront.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 5);
 
-        configDeadband(leftFrontMotor, rightFrontMotor);
+        configDeadband(profile);
 
-        rightFrontMotor.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
-        rightFrontMotor.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
-        rightFrontMotor.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
+        profile.rightFront.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
+        profile.rightFront.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
+        profile.rightFront.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
 
-        rightFrontMotor.configClosedLoopPeriod(0, 1, Config.CAN_SHORT);
+        profile.rightFront.configClosedLoopPeriod(0, 1);
     }
 
     /**
      * Selects local encoders, the current sensor and the pigeon
+     *
+     * @param profile       The configuration to stage on
+     * @param motionProfile True to use the motion magic gains, false to use the closed loop gains
      */
-    private void selectEncodersSumWithPigeon(boolean motionProfile) {
-        resetTalonConfiguration();
-
-        leftFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0, Config.CAN_SHORT);
-        rightFrontMotor.configRemoteFeedbackFilter(leftFrontMotor.getDeviceID(), RemoteSensorSource.TalonSRX_SelectedSensor, 0, Config.CAN_SHORT);
-        rightFrontMotor.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 1, Config.CAN_SHORT);
+    private void selectEncodersSumWithPigeon(DriveProfile profile, boolean motionProfile) {
+        profile.leftFront.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0);
+        profile.rightFront.configRemoteFeedbackFilter(leftFrontMotor.getDeviceID(), RemoteSensorSource.TalonSRX_SelectedSensor, 0);
+        profile.rightFront.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 1);
 
-        rightFrontMotor.configSensorTerm(SensorTerm.Sum0, FeedbackDevice.RemoteSensor0, Config.CAN_SHORT);
-        rightFrontMotor.configSensorTerm(SensorTerm.Sum1, FeedbackDevice.CTRE_MagEncoder_Relative, Config.CAN_SHORT);
+        profile.rightFront.configSensorTerm(SensorTerm.Sum0, FeedbackDevice.RemoteSensor0);
+        profile.rightFront.configSensorTerm(SensorTerm.Sum1, FeedbackDevice.CTRE_MagEncoder_Relative);
 
-        rightFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.SensorSum, 0, Config.CAN_SHORT);
-        rightFrontMotor.configSelectedFeedbackCoefficient(0.5, 0, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackSensor(FeedbackDevice.SensorSum, 0);
+        profile.rightFront.configSelectedFeedbackCoefficient(0.5, 0);
 
-        rightFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor1, 1, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor1, 1);
 
-        rightFrontMotor.configSelectedFeedbackCoefficient(1, 1, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackCoefficient(1, 1);
 
-        leftFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
-        rightFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
+        profile.leftFront.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
+        profile.rightFront.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
 
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20, Config.CAN_SHORT);
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20, Config.CAN_SHORT);
-        leftFrontMotor.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 5, Config.CAN_SHORT);
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_14_Turn_PIDF1, 20, Config.CAN_SHORT);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20);
+        profile.leftFront.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 5);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_14_Turn_PIDF1, 20);
 
         /* Configure neutral deadband */
-        rightFrontMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value(), Config.CAN_SHORT);
-        leftFrontMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value(), Config.CAN_SHORT);
+        profile.rightFront.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
+        profile.leftFront.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
 
         if (motionProfile) {
-            rightFrontMotor.config_kP(0, Config.DRIVE_MOTION_MAGIC_P.value());
-            rightFrontMotor.config_kI(0, Config.DRIVE_MOTION_MAGIC_I.value());
-            rightFrontMotor.config_kD(0, Config.DRIVE_MOTION_MAGIC_D.value());
-            rightFrontMotor.config_kF(0, Config.DRIVE_MOTION_MAGIC_F.value());
+            profile.rightFront.config_kP(0, Config.DRIVE_MOTION_MAGIC_P.value());
+            profile.rightFront.config_kI(0, Config.DRIVE_MOTION_MAGIC_I.value());
+            profile.rightFront.config_kD(0, Config.DRIVE_MOTION_MAGIC_D.value());
+            profile.rightFront.config_kF(0, Config.DRIVE_MOTION_MAGIC_F.value());
         } else {
-            rightFrontMotor.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
-            rightFrontMotor.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
-            rightFrontMotor.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
-            rightFrontMotor.config_kF(0, 0);
+            profile.rightFront.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
+            profile.rightFront.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
+            profile.rightFront.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
+            profile.rightFront.config_kF(0, 0);
         }
 
-        rightFrontMotor.config_kP(1, Config.PIGEON_KP.value());
-        rightFrontMotor.config_kI(1, Config.PIGEON_KI.value());
-        rightFrontMotor.config_kD(1, Config.PIGEON_KD.value());
-        rightFrontMotor.config_kF(1, Config.PIGEON_KF.value());
+        profile.rightFront.config_kP(1, Config.PIGEON_KP.value());
+        profile.rightFront.config_kI(1, Config.PIGEON_KI.value());
+        profile.rightFront.config_kD(1, Config.PIGEON_KD.value());
+        profile.rightFront.config_kF(1, Config.PIGEON_KF.value());
 
-        rightFrontMotor.configClosedLoopPeriod(0, 1, Config.CAN_SHORT);
+        profile.rightFront.configClosedLoopPeriod(0, 1);
 
-        rightFrontMotor.configClosedLoopPeriod(1, 1, Config.CAN_SHORT);
-        rightFrontMotor.configAuxPIDPolarity(false, Config.CAN_SHORT);
+        profile.rightFront.configClosedLoopPeriod(1, 1);
+        profile.rightFront.configAuxPIDPolarity(false);
 
-        rightFrontMotor.selectProfileSlot(0, 0);
-        rightFrontMotor.selectProfileSlot(1, 1);
+        profile.rightFront.selectProfileSlot(0, 0);
+        profile.rightFront.selectProfileSlot(1, 1);
     }
 
     /**
      * Selects encoders for each wheel and configures the gyro as an auxiliary sensor for each wheel
+     *
+     * @param profile       The configuration to stage on
+     * @param motionProfile True to use the motion magic gains, false to use the closed loop gains
      */
-    private void selectEncodersGyro(boolean motionProfile) {
-        resetTalonConfiguration();
-
-        leftFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0, Config.CAN_SHORT);
-        rightFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0, Config.CAN_SHORT);
+    private void selectEncodersGyro(DriveProfile profile, boolean motionProfile) {
+        profile.leftFront.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0);
+        profile.rightFront.configSelectedFeedbackSensor(FeedbackDevice.CTRE_MagEncoder_Relative, 0);
 
-        rightFrontMotor.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 1, Config.CAN_SHORT);
-        leftFrontMotor.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 1, Config.CAN_SHORT);
+        profile.rightFront.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 1);
+        profile.leftFront.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 1);
 
-        rightFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor1, 1, Config.CAN_SHORT);
-        leftFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor1, 1, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor1, 1);
+        profile.leftFront.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor1, 1);
 
-        rightFrontMotor.configSelectedFeedbackCoefficient(1, 1, Config.CAN_SHORT);
-        rightFrontMotor.configSelectedFeedbackCoefficient(1, 0, Config.CAN_SHORT);
-        leftFrontMotor.configSelectedFeedbackCoefficient(1, 1, Config.CAN_SHORT);
-        leftFrontMotor.configSelectedFeedbackCoefficient(1, 0, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackCoefficient(1, 1);
+        profile.rightFront.configSelectedFeedbackCoefficient(1, 0);
+        profile.leftFront.configSelectedFeedbackCoefficient(1, 1);
+        profile.leftFront.configSelectedFeedbackCoefficient(1, 0);
 
-        leftFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
-        rightFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
+        profile.leftFront.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
+        profile.rightFront.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
 
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20, Config.CAN_SHORT);
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20, Config.CAN_SHORT);
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_14_Turn_PIDF1, 20, Config.CAN_SHORT);
-        leftFrontMotor.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20, Config.CAN_SHORT);
-        leftFrontMotor.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20, Config.CAN_SHORT);
-        leftFrontMotor.setStatusFramePeriod(StatusFrame.Status_14_Turn_PIDF1, 20, Config.CAN_SHORT);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_14_Turn_PIDF1, 20);
+        profile.leftFront.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20);
+        profile.leftFront.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20);
+        profile.leftFront.setStatusFramePeriod(StatusFrame.Status_14_Turn_PIDF1, 20);
 
         /* Configure neutral deadband */
-        rightFrontMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value(), Config.CAN_SHORT);
-        leftFrontMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value(), Config.CAN_SHORT);
+        profile.rightFront.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
+        profile.leftFront.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
 
         if (motionProfile) {
-            rightFrontMotor.config_kP(0, Config.DRIVE_MOTION_MAGIC_P.value());
-            rightFrontMotor.config_kI(0, Config.DRIVE_MOTION_MAGIC_I.value());
-            rightFrontMotor.config_kD(0, Config.DRIVE_MOTION_MAGIC_D.value());
-            rightFrontMotor.config_kF(0, Config.DRIVE_MOTION_MAGIC_F.value());
-
-            leftFrontMotor.config_kP(0, Config.DRIVE_MOTION_MAGIC_P.value());
-            leftFrontMotor.config_kI(0, Config.DRIVE_MOTION_MAGIC_I.value());
-            leftFrontMotor.config_kD(0, Config.DRIVE_MOTION_MAGIC_D.value());
-            rightFrontMotor.config_kF(0, Config.DRIVE_MOTION_MAGIC_F.value());
+            profile.rightFront.config_kP(0, Config.DRIVE_MOTION_MAGIC_P.value());
+            profile.rightFront.config_kI(0, Config.DRIVE_MOTION_MAGIC_I.value());
+            profile.rightFront.config_kD(0, Config.DRIVE_MOTION_MAGIC_D.value());
+            profile.rightFront.config_kF(0, Config.DRIVE_MOTION_MAGIC_F.value());
+
+            profile.leftFront.config_kP(0, Config.DRIVE_MOTION_MAGIC_P.value());
+            profile.leftFront.config_kI(0, Config.DRIVE_MOTION_MAGIC_I.value());
+            profile.leftFront.config_kD(0, Config.DRIVE_MOTION_MAGIC_D.value());
+            profile.rightFront.config_kF(0, Config.DRIVE_MOTION_MAGIC_F.value());
         } else {
-            rightFrontMotor.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
-            rightFrontMotor.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
-            rightFrontMotor.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
-            rightFrontMotor.config_kF(0, 0);
+            profile.rightFront.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
+            profile.rightFront.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
+            profile.rightFront.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
+            profile.rightFront.config_kF(0, 0);
 
-            leftFrontMotor.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
-            leftFrontMotor.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
-            leftFrontMotor.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
-            leftFrontMotor.config_kF(0, 0);
+            profile.leftFront.config_kP(0, Config.DRIVE_CLOSED_LOOP_P.value());
+            profile.leftFront.config_kI(0, Config.DRIVE_CLOSED_LOOP_I.value());
+            profile.leftFront.config_kD(0, Config.DRIVE_CLOSED_LOOP_D.value());
+            profile.leftFront.config_kF(0, 0);
 
         }
 
-        leftFrontMotor.config_kP(1, Config.PIGEON_KP.value());
-        leftFrontMotor.config_kI(1, Config.PIGEON_KI.value());
-        leftFrontMotor.config_kD(1, Config.PIGEON_KD.value());
-        leftFrontMotor.config_kF(1, Config.PIGEON_KF.value());
+        profile.leftFront.config_kP(1, Config.PIGEON_KP.value());
+        profile.leftFront.config_kI(1, Config.PIGEON_KI.value());
+        profile.leftFront.config_kD(1, Config.PIGEON_KD.value());
+        profile.leftFront.config_kF(1, Config.PIGEON_KF.value());
 
-        rightFrontMotor.config_kP(1, Config.PIGEON_KP.value());
-        rightFrontMotor.config_kI(1, Config.PIGEON_KI.value());
-        rightFrontMotor.config_kD(1, Config.PIGEON_KD.value());
-        rightFrontMotor.config_kF(1, Config.PIGEON_KF.value());
+        profile.rightFront.config_kP(1, Config.PIGEON_KP.value());
+        profile.rightFront.config_kI(1, Config.PIGEON_KI.value());
+        profile.rightFront.config_kD(1, Config.PIGEON_KD.value());
+        profile.rightFront.config_kF(1, Config.PIGEON_KF.value());
 
-        rightFrontMotor.configClosedLoopPeriod(0, 1, Config.CAN_SHORT);
-        leftFrontMotor.configClosedLoopPeriod(0, 1, Config.CAN_SHORT);
+        profile.rightFront.configClosedLoopPeriod(0, 1);
+        profile.leftFront.configClosedLoopPeriod(0, 1);
 
-        leftFrontMotor.configClosedLoopPeriod(1, 1, Config.CAN_SHORT);
-        leftFrontMotor.configAuxPIDPolarity(true, Config.CAN_SHORT);
+        profile.leftFront.configClosedLoopPeriod(1, 1);
+        profile.leftFront.configAuxPIDPolarity(true);
 
-        rightFrontMotor.configClosedLoopPeriod(1, 1, Config.CAN_SHORT);
-        rightFrontMotor.configAuxPIDPolarity(false, Config.CAN_SHORT);
+        profile.rightFront.configClosedLoopPeriod(1, 1);
+        profile.rightFront.configAuxPIDPolarity(false);
 
-        rightFrontMotor.selectProfileSlot(0, 0);
-        rightFrontMotor.selectProfileSlot(1, 1);
+        profile.rightFront.selectProfileSlot(0, 0);
+        profile.rightFront.selectProfileSlot(1, 1);
 
-        leftFrontMotor.selectProfileSlot(0, 0);
-        leftFrontMotor.selectProfileSlot(1, 1);
+        profile.leftFront.selectProfileSlot(0, 0);
+        profile.leftFront.selectProfileSlot(1, 1);
     }
 
     /**
-     * Configures the deadband for the two given motors.
+     * Configures the closed loop deadband for all of the motors.
      *
-     * @param rightFrontMotor The talon object representing the right front motor.
-     * @param leftFrontMotor  The talon object representing the left front motor.
+     * @param profile The configuration to stage on
      */
-    private void configDeadband(WPI_TalonSRX rightFrontMotor, WPI_TalonSRX leftFrontMotor) {
-        rightFrontMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
-        leftFrontMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
-        leftBackMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
-        rightBackMotor.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
+    private void configDeadband(DriveProfile profile) {
+        profile.rightFront.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
+        profile.leftFront.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
+        profile.leftBack.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
+        profile.rightBack.configNeutralDeadband(Config.DRIVE_CLOSED_LOOP_DEADBAND.value());
     }
 
     /**
      * Sets up talons for using the gyro sensor as feedback.
+     *
+     * @param profile The configuration to stage on
      */
-    private void selectGyroSensor() {
-        resetTalonConfiguration();
-
-        rightFrontMotor.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 0, Config.CAN_SHORT);
+    private void selectGyroSensor(DriveProfile profile) {
+        profile.rightFront.configRemoteFeedbackFilter(gyro.getDeviceID(), RemoteSensorSource.GadgeteerPigeon_Yaw, 0);
 
-        rightFrontMotor.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor0, 0, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackSensor(FeedbackDevice.RemoteSensor0, 0);
 
-        rightFrontMotor.configSelectedFeedbackCoefficient(1.0, 0, Config.CAN_SHORT);
+        profile.rightFront.configSelectedFeedbackCoefficient(1.0, 0);
 
-        leftFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
-        rightFrontMotor.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
+        profile.leftFront.setSensorPhase(Config.DRIVE_SUM_PHASE_LEFT.value());
+        profile.rightFront.setSensorPhase(Config.DRIVE_SUM_PHASE_RIGHT.value());
 
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 20, Config.CAN_SHORT);
-        rightFrontMotor.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20, Config.CAN_SHORT);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_2_Feedback0, 20);
+        profile.rightFront.setStatusFramePeriod(StatusFrame.Status_13_Base_PIDF0, 20);
 
-        configDeadband(rightFrontMotor, leftFrontMotor);
+        configDeadband(profile);
 
-        rightFrontMotor.config_kP(0, Config.TURN_P.value());
-        rightFrontMotor.config_kI(0, Config.TURN_I.value());
-        rightFrontMotor.config_kD(0, Config.TURN_D.value());
+        profile.rightFront.config_kP(0, Config.TURN_P.value());
+        profile.rightFront.config_kI(0, Config.TURN_I.value());
+        profile.rightFront.config_kD(0, Config.TURN_D.value());
 
-        rightFrontMotor.configClosedLoopPeriod(0, 1, Config.CAN_SHORT);
+        profile.rightFront.configClosedLoopPeriod(0, 1);
 
-        setTalonInversion(InvertType.OpposeMaster, leftFrontMotor, Config.INVERT_FRONT_RIGHT_DRIVE, Config.INVERT_FRONT_LEFT_DRIVE);
+        setTalonInversion(InvertType.OpposeMaster, profile.leftFront, Config.INVERT_FRONT_RIGHT_DRIVE, Config.INVERT_FRONT_LEFT_DRIVE);
     }
 
     /**
@@ -507,8 +714,10 @@ public class DriveBase extends Subsystem {
      */
     public void setDisabledMode() {
         if (driveMode != DriveMode.Disabled) {
-            resetTalonConfiguration();
+            applyDriveMode(DriveMode.Disabled);
             stop();
+            motionProfileFeederLeft.stop();
+            motionProfileFeederRight.stop();
 
             reset();
 
@@ -522,7 +731,7 @@ public class DriveBase extends Subsystem {
     public void setOpenLoopVoltageMode() {
         if (driveMode != DriveMode.OpenLoopVoltage) {
             stop();
-            selectEncodersStandard();
+            applyDriveMode(DriveMode.OpenLoopVoltage);
             reset();
 
             setDriveMode(DriveMode.OpenLoopVoltage);
@@ -537,7 +746,7 @@ public class DriveBase extends Subsystem {
             setDisabledMode();
         } else if (driveMode != DriveMode.PositionNoGyro) {
             stop();
-            selectEncodersSum();
+            applyDriveMode(DriveMode.PositionNoGyro);
             reset();
 
             setDriveMode(DriveMode.PositionNoGyro);
@@ -552,7 +761,7 @@ public class DriveBase extends Subsystem {
             setDisabledMode();
         } else if (driveMode != DriveMode.Rotate) {
             stop();
-            selectGyroSensor();
+            applyDriveMode(DriveMode.Rotate);
             reset();
 
             setDriveMode(DriveMode.Rotate);
@@ -567,8 +776,7 @@ public class DriveBase extends Subsystem {
             setDisabledMode();
         } else if (driveMode != DriveMode.MotionMagicWithGyro) {
             stop();
-            selectEncodersSumWithPigeon(true);
-            configMotionMagic();
+            applyDriveMode(DriveMode.MotionMagicWithGyro);
             reset();
 
             driveMode = DriveMode.MotionMagicWithGyro;
@@ -583,10 +791,9 @@ public class DriveBase extends Subsystem {
             setDisabledMode();
         } else if (driveMode != DriveMode.MotionProfile) {
             stop();
-            selectEncodersSumWithPigeon(true);
-            configMotionProfile();
+            applyDriveMode(DriveMode.MotionProfile);
             reset();
-            rightFrontMotor.startMotionProfile(motionProfilePointStreamRight, 20, ControlMode.MotionProfileArc);
+            rightFrontMotor.set(ControlMode.MotionProfileArc, motionProfileFeederRight.getSetValue().value);
 
             driveMode = DriveMode.MotionProfile;
         }
@@ -600,11 +807,10 @@ public class DriveBase extends Subsystem {
             setDisabledMode();
         } else if (driveMode != DriveMode.MotionProfile2Wheel) {
             stop();
-            selectEncodersGyro(true);
-            configMotionProfile();
+            applyDriveMode(DriveMode.MotionProfile2Wheel);
             reset();
-            rightFrontMotor.startMotionProfile(motionProfilePointStreamRight, 20, ControlMode.MotionProfileArc);
-            leftFrontMotor.startMotionProfile(motionProfilePointStreamLeft, 20, ControlMode.MotionProfileArc);
+            rightFrontMotor.set(ControlMode.MotionProfileArc, motionProfileFeederRight.getSetValue().value);
+            leftFrontMotor.set(ControlMode.MotionProfileArc, motionProfileFeederLeft.getSetValue().value);
 
             driveMode = DriveMode.MotionProfile2Wheel;
         }
@@ -612,23 +818,31 @@ public class DriveBase extends Subsystem {
 
     /**
      * Configures motion magic
+     *
+     * @param profile The configuration to stage on
      */
-    private void configMotionMagic() {
-        rightFrontMotor.configMotionSCurveStrength(Config.DRIVEBASE_MOTION_MAGIC_SMOOTHING.value(), Config.CAN_SHORT);
-        rightFrontMotor.configMotionCruiseVelocity((int) (Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() / Config.DRIVE_ENCODER_DPP / 10), Config.CAN_SHORT);
-        rightFrontMotor.configMotionAcceleration((int) (Config.DRIVEBASE_MOTION_MAGIC_ACCELERATION.value() / Config.DRIVE_ENCODER_DPP / 10), Config.CAN_SHORT);
+    private void configMotionMagic(DriveProfile profile) {
+        profile.rightFront.configMotionSCurveStrength(Config.DRIVEBASE_MOTION_MAGIC_SMOOTHING.value());
+        profile.rightFront.configMotionCruiseVelocity((int) (Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() / Config.DRIVE_ENCODER_DPP / 10));
+        profile.rightFront.configMotionAcceleration((int) (Config.DRIVEBASE_MOTION_MAGIC_ACCELERATION.value() / Config.DRIVE_ENCODER_DPP / 10));
     }
 
     /**
      * Configures motion profile
+     *
+     * @param profile The configuration to stage on
      */
-    private void configMotionProfile() {
-        rightFrontMotor.configMotionSCurveStrength(Config.DRIVEBASE_MOTION_MAGIC_SMOOTHING.value(), Config.CAN_SHORT);
-        rightFrontMotor.configMotionCruiseVelocity((int) (Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() / Config.DRIVE_ENCODER_DPP / 10), Config.CAN_SHORT);
-        rightFrontMotor.configMotionAcceleration((int) (Config.DRIVEBASE_MOTION_MAGIC_ACCELERATION.value() / Config.DRIVE_ENCODER_DPP / 10), Config.CAN_SHORT);
-        leftFrontMotor.configMotionSCurveStrength(Config.DRIVEBASE_MOTION_MAGIC_SMOOTHING.value(), Config.CAN_SHORT);
-        leftFrontMotor.configMotionCruiseVelocity((int) (Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() / Config.DRIVE_ENCODER_DPP / 10), Config.CAN_SHORT);
-        leftFrontMotor.configMotionAcceleration((int) (Config.DRIVEBASE_MOTION_MAGIC_ACCELERATION.value() / Config.DRIVE_ENCODER_DPP / 10), Config.CAN_SHORT);
+    private void configMotionProfile(DriveProfile profile) {
+        profile.rightFront.configMotionSCurveStrength(Config.DRIVEBASE_MOTION_MAGIC_SMOOTHING.value());
+        profile.rightFront.configMotionCruiseVelocity((int) (Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() / Config.DRIVE_ENCODER_DPP / 10));
+        profile.rightFront.configMotionAcceleration((int) (Config.DRIVEBASE_MOTION_MAGIC_ACCELERATION.value() / Config.DRIVE_ENCODER_DPP / 10));
+        profile.leftFront.configMotionSCurveStrength(Config.DRIVEBASE_MOTION_MAGIC_SMOOTHING.value());
+        profile.leftFront.configMotionCruiseVelocity((int) (Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() / Config.DRIVE_ENCODER_DPP / 10));
+        profile.leftFront.configMotionAcceleration((int) (Config.DRIVEBASE_MOTION_MAGIC_ACCELERATION.value() / Config.DRIVE_ENCODER_DPP / 10));
+
+        /* set the base trajectory period to zero, use the individual trajectory period of each point */
+        profile.rightFront.configMotionProfileTrajectoryPeriod(0);
+        profile.leftFront.configMotionProfileTrajectoryPeriod(0);
     }
 
 
@@ -640,7 +854,7 @@ public class DriveBase extends Subsystem {
             setDisabledMode();
         } else if (driveMode != DriveMode.PositionGyro) {
             stop();
-            selectEncodersSumWithPigeon(false);
+            applyDriveMode(DriveMode.PositionGyro);
             reset();
 
             driveMode = DriveMode.PositionGyro;
@@ -786,6 +1000,8 @@ public class DriveBase extends Subsystem {
     public void runMotionProfile(final double speed) {
         setMotionProfile();
 
+        // Stays disabled until the feeder has buffered enough points to start moving
+        rightFrontMotor.set(ControlMode.MotionProfileArc, motionProfileFeederRight.getSetValue().value);
         configTalons(speed);
     }
 
@@ -813,56 +1029,13 @@ public class DriveBase extends Subsystem {
     public void runMotionProfile2Wheel(final double speed) {
         setMotionProfile2Wheel();
 
+        // Stays disabled until the feeders have buffered enough points to start moving
+        rightFrontMotor.set(ControlMode.MotionProfileArc, motionProfileFeederRight.getSetValue().value);
+        leftFrontMotor.set(ControlMode.MotionProfileArc, motionProfileFeederLeft.getSetValue().value);
         configTalons(speed);
         leftFrontMotor.feed();
     }
 
-    /**
-     * Applies the motion profile
-     *
-     * @param pos         The position of the robot at a trajectory point
-     * @param vel         The velocity of the robot at a trajectory point
-     * @param heading     The heading of the robot at a trajectory point
-     * @param time        The time for each trajectory point
-     * @param size        How many trajectories there are
-     * @param talon       The talon
-     * @param pointStream The point stream
-     */
-    private void pushMotionProfile(double[] pos, double[] vel, double[] heading, int[] time, int size, WPI_TalonSRX talon, BufferedTrajectoryPointStream pointStream) {
-        /* create an empty point */
-        TrajectoryPoint[] points = new TrajectoryPoint[size];
-
-        /*
-         * just in case we are interrupting another MP and there is still buffer
-         * points in memory, clear it.
-         */
-        talon.clearMotionProfileTrajectories();
-        pointStream.Clear();
-
-        /* set the base trajectory period to zero, use the individual trajectory period below */
-        talon.configMotionProfileTrajectoryPeriod(0, Config.CAN_SHORT);
-
-        /* This is fast since it's just into our TOP buffer */
-        for (int i = 0; i < size; ++i) {
-            points[i] = new TrajectoryPoint();
-            /* for each point, fill our structure and pass it to API */
-            points[i].position = pos[i] / Config.DRIVE_ENCODER_DPP;
-            points[i].velocity = vel[i] / Config.DRIVE_ENCODER_DPP / 10;
-            points[i].auxiliaryPos = heading[i] / Config.PIGEON_DPP; /* scaled such that 3600 => 360 deg */
-            points[i].headingDeg = heading[i];
-            points[i].profileSlotSelect0 = 0;
-            points[i].profileSlotSelect1 = 1;
-            points[i].timeDur = time[i];
-            points[i].zeroPos = i == 0;
-            points[i].useAuxPID = true;
-            points[i].auxiliaryArbFeedFwd = Config.CURVE_ADJUSTMENT.value() * vel[i] / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value();
-
-            points[i].isLastPoint = (i + 1) == size;
-        }
-
-        pointStream.Write(points);
-    }
-
     /**
      * Applies the motion profile for 1 wheel
      *
@@ -874,7 +1047,7 @@ public class DriveBase extends Subsystem {
      * @param size     How many trajectory points there are
      */
     public void pushMotionProfile1Wheel(boolean forwards, double[] pos, double[] vel, double[] heading, int[] time, int size) {
-        pushMotionProfile(forwards ? pos : negateDoubleArray(pos), forwards ? vel : negateDoubleArray(vel), heading, time, size, rightFrontMotor, motionProfilePointStreamRight);
+        motionProfileFeederRight.start(pos, vel, heading, time, size, forwards ? 1 : -1, 1);
     }
 
     /**
@@ -890,20 +1063,89 @@ public class DriveBase extends Subsystem {
      * @param velRight The velocity of the robot at a trajectory point for the right wheel
      */
     public void pushMotionProfile2Wheel(boolean forwards, double[] posLeft, double[] velLeft, double[] heading, int[] time, int size, double[] posRight, double[] velRight) {
-        pushMotionProfile(forwards ? posLeft : negateDoubleArray(posLeft), forwards ? velLeft : negateDoubleArray(velLeft), heading, time, size, leftFrontMotor, motionProfilePointStreamLeft);
-        pushMotionProfile(forwards ? posRight : negateDoubleArray(posRight), forwards ? velRight : negateDoubleArray(velRight), heading, time, size, rightFrontMotor, motionProfilePointStreamRight);
+        pushMotionProfile2Wheel(forwards, false, posLeft, velLeft, heading, time, size, posRight, velRight);
+    }
+
+    /**
+     * Applies the motion profile for 2 wheels, optionally mirrored so that it turns the other way
+     *
+     * @param forwards Whether the robot is going forwards or not
+     * @param mirrored Whether to swap the sides of the robot and negate the heading
+     * @param posLeft  The position of the robot at a trajectory point for the left wheel
+     * @param velLeft  The velocity of the robot at a trajectory point for the left wheel
+     * @param heading  The heading of the robot at a trajectory point
+     * @param time     The time for each trajectory point
+     * @param size     How many trajectory points there are
+     * @param posRight The position of the robot at a trajectory point for the right wheel
+     * @param velRight The velocity of the robot at a trajectory point for the right wheel
+     */
+    public void pushMotionProfile2Wheel(boolean forwards, boolean mirrored, double[] posLeft, double[] velLeft, double[] heading, int[] time, int size, double[] posRight, double[] velRight) {
+        final double direction = forwards ? 1 : -1;
+        final double headingDirection = mirrored ? -1 : 1;
+
+        motionProfileFeederLeft.start(mirrored ? posRight : posLeft, mirrored ? velRight : velLeft, heading, time, size, direction, headingDirection);
+        motionProfileFeederRight.start(mirrored ? posLeft : posRight, mirrored ? velLeft : velRight, heading, time, size, direction, headingDirection);
+    }
+
+    /**
+     * Applies a motion profile that is already in talon units for 2 wheels, optionally mirrored so that it turns the other way
+     *
+     * @param forwards   Whether the robot is going forwards or not
+     * @param mirrored   Whether to swap the sides of the robot and negate the heading
+     * @param trajectory The trajectory for both wheels
+     */
+    public void pushMotionProfile2Wheel(boolean forwards, boolean mirrored, TalonTrajectory trajectory) {
+        final double direction = forwards ? 1 : -1;
+        final double headingDirection = mirrored ? -1 : 1;
+
+        motionProfileFeederLeft.start(trajectory, !mirrored, direction, headingDirection);
+        motionProfileFeederRight.start(trajectory, mirrored, direction, headingDirection);
+    }
+
+    /**
+     * Replaces the rest of the 2 wheel motion profile with a new trajectory while the robot is following it
+     *
+     * @param from       The index of the first point to replace
+     * @param forwards   Whether the robot is going forwards or not
+     * @param mirrored   Whether to swap the sides of the robot and negate the heading
+     * @param trajectory The trajectory to continue with, whose first point is the point before the first replaced point
+     * @return True if the trajectory was spliced, false if the talons already have some of the points to replace
+     */
+    public boolean spliceMotionProfile2Wheel(int from, boolean forwards, boolean mirrored, TalonTrajectory trajectory) {
+        final double direction = forwards ? 1 : -1;
+        final double headingDirection = mirrored ? -1 : 1;
+
+        // Holds both feeders so that neither can push the points being replaced until both sides are spliced
+        synchronized (motionProfileFeederLeft) {
+            synchronized (motionProfileFeederRight) {
+                if (!motionProfileFeederLeft.canSplice(from) || !motionProfileFeederRight.canSplice(from)) {
+                    return false;
+                }
+
+                motionProfileFeederLeft.splice(from, trajectory, !mirrored, direction, headingDirection);
+                motionProfileFeederRight.splice(from, trajectory, mirrored, direction, headingDirection);
+                return true;
+            }
+        }
     }
 
     /**
-     * Makes all the elements in the double array negative
+     * Limits how many points the talons are given ahead of the robot, so that the motion profile can be spliced sooner
      *
-     * @param array The array that is negated
-     * @return The array
+     * @param points The most points to keep in each talon that it hasn't run yet, or {@link Integer#MAX_VALUE} for no limit
      */
-    public static double[] negateDoubleArray(final double[] array) {
-        return Arrays.stream(array)
-                .map(operand -> -operand)
-                .toArray();
+    public void setMotionProfileLead(int points) {
+        motionProfileFeederLeft.setMaxLead(points);
+        motionProfileFeederRight.setMaxLead(points);
+    }
+
+    /**
+     * Gets the number of points of the 2 wheel motion profile that have been pushed to the talons
+     *
+     * @return The most points pushed to either talon
+     */
+    public int getMotionProfilePointsPushed() {
+        return Math.max(motionProfileFeederLeft.getPointsPushed(), motionProfileFeederRight.getPointsPushed());
     }
 
     /*
@@ -951,7 +1193,7 @@ public class DriveBase extends Subsystem {
      * @return The distance of the left encoder
      */
     public double getLeftDistance() {
-        return leftFrontMotor.getSensorCollection().getQuadraturePosition() * Config.DRIVE_ENCODER_DPP;
+        return sensors.getQuadraturePosition(DriveSensors.LEFT_FRONT) * Config.DRIVE_ENCODER_DPP;
     }
 
     /**
@@ -960,7 +1202,7 @@ public class DriveBase extends Subsystem {
      * @return The distance of the right encoder
      */
     public double getRightDistance() {
-        return rightFrontMotor.getSensorCollection().getQuadraturePosition() * Config.DRIVE_ENCODER_DPP;
+        return sensors.getQuadraturePosition(DriveSensors.RIGHT_FRONT) * Config.DRIVE_ENCODER_DPP;
     }
 
     /**
@@ -969,7 +1211,7 @@ public class DriveBase extends Subsystem {
      * @return The speed of the left encoder
      */
     public double getLeftSpeed() {
-        return leftFrontMotor.getSensorCollection().getQuadratureVelocity() * Config.DRIVE_ENCODER_DPP * 10;
+        return sensors.getQuadratureVelocity(DriveSensors.LEFT_FRONT) * Config.DRIVE_ENCODER_DPP * 10;
     }
 
     /**
@@ -978,7 +1220,7 @@ public class DriveBase extends Subsystem {
      * @return The speed of the right encoder
      */
     public double getRightSpeed() {
-        return rightFrontMotor.getSensorCollection().getQuadratureVelocity() * Config.DRIVE_ENCODER_DPP * 10;
+        return sensors.getQuadratureVelocity(DriveSensors.RIGHT_FRONT) * Config.DRIVE_ENCODER_DPP * 10;
     }
 
     /**
@@ -987,7 +1229,7 @@ public class DriveBase extends Subsystem {
      * @return The rotation of the robot
      */
     public double getHeading() {
-        return Sendables.getPigeonYaw(gyro);
+        return sensors.getYaw();
     }
 
     /**
@@ -996,15 +1238,20 @@ public class DriveBase extends Subsystem {
      * @return The absolute rotation of the robot in degrees
      */
     public double getAbsoluteHeading() {
-        return savedAngle + getHeading();
+        synchronized (headingLock) {
+            return savedAngle + getHeading();
+        }
     }
 
     /**
      * Resets the encoder values to 0 ticks
      */
     public void resetEncoders() {
+        encoderResets++;
         leftFrontMotor.getSensorCollection().setQuadraturePosition(0, Config.CAN_SHORT);
         rightFrontMotor.getSensorCollection().setQuadraturePosition(0, Config.CAN_SHORT);
+        sensors.setQuadraturePosition(DriveSensors.LEFT_FRONT, 0);
+        sensors.setQuadraturePosition(DriveSensors.RIGHT_FRONT, 0);
     }
 
     /**
@@ -1023,29 +1270,51 @@ public class DriveBase extends Subsystem {
      * @param savedAngle The angle from 0 to 360
      */
     public void resetAbsoluteGyro(double savedAngle) {
-        this.savedAngle = savedAngle;
-        gyro.setYaw(0, Config.CAN_SHORT);
+        synchronized (headingLock) {
+            this.savedAngle = savedAngle;
+            gyro.setYaw(0, Config.CAN_SHORT);
+            sensors.setYaw(0);
+        }
     }
 
     /**
      * Resets the gyro to 0 degrees
      */
     public void resetGyro() {
-        savedAngle = getAbsoluteHeading();
-        gyro.setYaw(0, Config.CAN_SHORT);
+        synchronized (headingLock) {
+            savedAngle = getAbsoluteHeading();
+            gyro.setYaw(0, Config.CAN_SHORT);
+            sensors.setYaw(0);
+        }
     }
 
     /**
      * Resets the encoders and gyro
      */
     public void reset() {
-        lastEncoderAv = 0;
-        lastGyro = 0;
-
         resetEncoders();
         resetGyro();
     }
 
+    /**
+     * Reads the sensors for this robot loop before any commands run
+     */
+    @Override
+    public void periodic() {
+        periodicTime.start();
+        sensors.refresh();
+        periodicTime.stop();
+    }
+
+    /**
+     * Gets the number of times that the encoders have been zeroed
+     *
+     * @return The number of encoder resets
+     */
+    public int getEncoderResets() {
+        return encoderResets;
+    }
+
     /**
      * Gets the error for the left motor
      *
@@ -1091,46 +1360,34 @@ public class DriveBase extends Subsystem {
     }
 
     /**
-     * Logs
+     * Registers the values that are logged to the telemetry file and SmartDashboard
      */
-    public void log() {
-        if (DriverStation.getInstance().isEnabled()) {
-            Log.d("Relative Gyro: " + getHeading());
-            Log.d("Absolute Gyro: " + getAbsoluteHeading());
+    private void registerTelemetry() {
+        final TelemetrySource source = new TelemetrySource("drivebase")
+                .addSignal("Relative Gyro", this::getHeading, true, true)
+                .addSignal("Absolute Gyro", this::getAbsoluteHeading, true, true)
+                .addSignal("Drive sensor reads saved", sensors::getSavedReads, true, true);
 
-            Log.d("Left front motor temperature: " + leftFrontMotor.getTemperature());
-            Log.d("Right front motor temperature: " + rightFrontMotor.getTemperature());
-            Log.d("Left back motor temperature: " + leftBackMotor.getTemperature());
-            Log.d("Right back motor temperature: " + rightBackMotor.getTemperature());
+        final String[] names = {"Left front motor", "Right front motor", "Left back motor", "Right back motor"};
+        final int[] talons = {DriveSensors.LEFT_FRONT, DriveSensors.RIGHT_FRONT, DriveSensors.LEFT_BACK, DriveSensors.RIGHT_BACK};
 
-            Log.d("Left front motor distance: " + leftFrontMotor.getSensorCollection().getQuadraturePosition() / Config.DRIVE_ENCODER_DPP);
-            Log.d("Right front motor distance: " + rightFrontMotor.getSensorCollection().getQuadraturePosition() / Config.DRIVE_ENCODER_DPP);
-            Log.d("Left back motor distance: " + leftBackMotor.getSensorCollection().getQuadraturePosition() / Config.DRIVE_ENCODER_DPP);
-            Log.d("Right back motor distance: " + rightBackMotor.getSensorCollection().getQuadraturePosition() / Config.DRIVE_ENCODER_DPP);
+        for (int i = 0; i < talons.length; i++) {
+            final int talon = talons[i];
 
-            Log.d("Left front motor speed: " + leftFrontMotor.getSensorCollection().getQuadratureVelocity() / Config.DRIVE_ENCODER_DPP * 10);
-            Log.d("Right front motor speed: " + rightFrontMotor.getSensorCollection().getQuadraturePosition() / Config.DRIVE_ENCODER_DPP * 10);
-            Log.d("Left back motor speed: " + leftBackMotor.getSensorCollection().getQuadraturePosition() / Config.DRIVE_ENCODER_DPP * 10);
-            Log.d("Right back motor speed: " + rightBackMotor.getSensorCollection().getQuadraturePosition() / Config.DRIVE_ENCODER_DPP * 10);
-        }
-
-        SmartDashboard.putNumber("Relative Gyro", getHeading());
-        SmartDashboard.putNumber("Absolute Gyro", getAbsoluteHeading());
-
-        SmartDashboard.putNumber("Left front motor temp", leftFrontMotor.getTemperature());
-        SmartDashboard.putNumber("Right front motor temp", rightFrontMotor.getTemperature());
-        SmartDashboard.putNumber("Left back motor temp", leftBackMotor.getTemperature());
-        SmartDashboard.putNumber("Right back motor temp", rightBackMotor.getTemperature());
+            // Temperature changes slowly, so it can come from the robot loop's snapshot
+            source.addSignal(names[i] + " temp", () -> {
+                sensors.refreshIfStale();
+                return sensors.getLatestTemperature(talon);
+            }, true, true);
 
-        SmartDashboard.putNumber("Left front motor distance: ", leftFrontMotor.getSensorCollection().getQuadraturePosition() * Config.DRIVE_ENCODER_DPP);
-        SmartDashboard.putNumber("Right front motor distance: ", rightFrontMotor.getSensorCollection().getQuadraturePosition() * Config.DRIVE_ENCODER_DPP);
-        SmartDashboard.putNumber("Left back motor distance: ", leftBackMotor.getSensorCollection().getQuadraturePosition() * Config.DRIVE_ENCODER_DPP);
-        SmartDashboard.putNumber("Right back motor distance: ", rightBackMotor.getSensorCollection().getQuadraturePosition() * Config.DRIVE_ENCODER_DPP);
+            // Read on the telemetry thread, so these come straight from the talon when sampled faster than the loop
+            source.addSignal(names[i] + " distance: ",
+                    () -> sensors.getQuadraturePosition(talon) * Config.DRIVE_ENCODER_DPP, true, true);
+            source.addSignal(names[i] + " speed",
+                    () -> sensors.getQuadratureVelocity(talon) * Config.DRIVE_ENCODER_DPP * 10, true, true);
+        }
 
-        SmartDashboard.putNumber("Left front motor speed", leftFrontMotor.getSensorCollection().getQuadratureVelocity() * Config.DRIVE_ENCODER_DPP * 10);
-        SmartDashboard.putNumber("Right front motor speed", rightFrontMotor.getSensorCollection().getQuadratureVelocity() * Config.DRIVE_ENCODER_DPP * 10);
-        SmartDashboard.putNumber("Left back motor speed", leftBackMotor.getSensorCollection().getQuadratureVelocity() * Config.DRIVE_ENCODER_DPP * 10);
-        SmartDashboard.putNumber("Right back motor speed", rightBackMotor.getSensorCollection().getQuadratureVelocity() * Config.DRIVE_ENCODER_DPP * 10);
+        TelemetryRegistry.getInstance().register(source);
     }
 
     /**
@@ -1147,11 +1404,11 @@ public class DriveBase extends Subsystem {
      * by default.
      *
      * @param inversion        The type of desired inversion. Should be either {@link InvertType#FollowMaster} or {@link InvertType#OpposeMaster}
-     * @param talon            The slave talon to be configured.
+     * @param talon            The config of the slave talon to be configured.
      * @param isMasterInverted True if the master talon motor is inverted by default.
      * @param isSlaveInverted  True if the slave talon motor is inverted by default.
      */
-    private static void setTalonInversion(final InvertType inversion, WPI_TalonSRX talon, final boolean isMasterInverted, final boolean isSlaveInverted) {
+    private static void setTalonInversion(final InvertType inversion, TalonConfiguration talon, final boolean isMasterInverted, final boolean isSlaveInverted) {
         if (isMasterInverted == isSlaveInverted) {
             /*
             If both talons are of the same constant inversion and we want them to follow, then they can just follow each other.
@@ -1169,9 +1426,6 @@ public class DriveBase extends Subsystem {
         }
     }
 
-    private double lastEncoderAv = 0;
-    private double lastGyro = 0;
-
     /**
      * The drive mode of the robot
      */
@@ -1217,5 +1471,15 @@ public class DriveBase extends Subsystem {
          */
         Rotate
     }
+
+    /**
+     * The configuration of each of the drive talons for a drive mode
+     */
+    private static class DriveProfile {
+        private final TalonConfiguration leftFront = new TalonConfiguration();
+        private final TalonConfiguration leftBack = new TalonConfiguration();
+        private final TalonConfiguration rightFront = new TalonConfiguration();
+        private final TalonConfiguration rightBack = new TalonConfiguration();
+    }
 }
 
@@ -0,0 +1,246 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.config.Config;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+import com.ctre.phoenix.sensors.PigeonIMU;
+
+/**
+ * Snapshot of the drive base's sensors that is read once per robot loop.
+ * <p>
+ * {@link #refresh()} reads every signal over JNI at the start of the loop. Until the next loop, reads from the
+ * thread that refreshed the snapshot are served from it, and telemetry reads the temperatures from it with
+ * {@link #getLatestTemperature(int)}. Reads from other threads, or after the snapshot is more than a loop old, go to
+ * the sensors directly so that high rate loops such as odometry still get the newest frames.
+ * <p>
+ * After the yaw is set, the gyro keeps sending the old yaw until its next status frame. Until a frame that is closer
+ * to the new yaw than the old one arrives, reads are shifted by the difference, so the heading doesn't jump back for
+ * a frame the way it would if the old yaw was used with the new saved angle.
+ */
+public class DriveSensors {
+
+    public static final int LEFT_FRONT = 0;
+    public static final int RIGHT_FRONT = 1;
+    public static final int LEFT_BACK = 2;
+    public static final int RIGHT_BACK = 3;
+
+    /**
+     * The number of JNI calls that it takes to read every signal
+     */
+    static final int SIGNALS = 13;
+
+    /**
+     * How long a snapshot is used for, long enough to cover a loop that runs a little late
+     */
+    private static final long MAX_AGE = (long) (Config.EXECUTE_PERIOD * 2 * 1e9);
+
+    private final TalonSRX[] talons;
+    private final PigeonIMU gyro;
+
+    private final double[] yawPitchRoll = new double[3];
+
+    private final int[] positions = new int[4];
+    private final int[] velocities = new int[4];
+    private final double[] temperatures = new double[4];
+    private double yaw;
+
+    /**
+     * The last yaw read from the gyro, before any shift for a reset
+     */
+    private double lastYaw;
+
+    /**
+     * The yaw before and after the last time it was set, while the gyro still hasn't sent a frame with the new yaw
+     */
+    private double staleYaw, resetYaw;
+    private boolean yawResetPending;
+
+    /**
+     * The time that the snapshot was read at from {@link System#nanoTime()}
+     */
+    private long timestamp;
+    private boolean read;
+
+    /**
+     * The thread that runs the robot loop, or null until the snapshot is first refreshed
+     */
+    private Thread loopThread;
+
+    private int savedReads;
+    private int lastSavedReads;
+
+    /**
+     * Creates a sensor snapshot
+     *
+     * @param leftFront  The left front talon
+     * @param rightFront The right front talon
+     * @param leftBack   The left back talon
+     * @param rightBack  The right back talon
+     * @param gyro       The gyro
+     */
+    public DriveSensors(TalonSRX leftFront, TalonSRX rightFront, TalonSRX leftBack, TalonSRX rightBack, PigeonIMU gyro) {
+        talons = new TalonSRX[]{leftFront, rightFront, leftBack, rightBack};
+        this.gyro = gyro;
+    }
+
+    /**
+     * Reads every signal, should be called once at the start of each robot loop
+     */
+    public synchronized void refresh() {
+        loopThread = Thread.currentThread();
+        lastSavedReads = savedReads;
+        savedReads = 0;
+
+        read();
+    }
+
+    /**
+     * Reads every signal if the robot loop hasn't done so recently, such as when the scheduler isn't running
+     */
+    public synchronized void refreshIfStale() {
+        if (!isFresh()) {
+            read();
+        }
+    }
+
+    /**
+     * Gets the quadrature position of a talon
+     *
+     * @param talon The index of the talon
+     * @return The position in ticks
+     */
+    public synchronized int getQuadraturePosition(int talon) {
+        if (isCached()) {
+            savedReads++;
+            return positions[talon];
+        }
+
+        return talons[talon].getSensorCollection().getQuadraturePosition();
+    }
+
+    /**
+     * Gets the quadrature velocity of a talon
+     *
+     * @param talon The index of the talon
+     * @return The velocity in ticks per 100 ms
+     */
+    public synchronized int getQuadratureVelocity(int talon) {
+        if (isCached()) {
+            savedReads++;
+            return velocities[talon];
+        }
+
+        return talons[talon].getSensorCollection().getQuadratureVelocity();
+    }
+
+    /**
+     * Gets the yaw of the gyro
+     *
+     * @return The yaw in degrees
+     */
+    public synchronized double getYaw() {
+        if (isCached()) {
+            savedReads++;
+            return yaw;
+        }
+
+        return readYaw();
+    }
+
+    /**
+     * Gets the temperature of a talon from the snapshot
+     *
+     * @param talon The index of the talon
+     * @return The temperature in degrees Celsius
+     */
+    public synchronized double getLatestTemperature(int talon) {
+        savedReads++;
+        return temperatures[talon];
+    }
+
+    /**
+     * Updates the snapshot after a talon's quadrature position was set
+     *
+     * @param talon    The index of the talon
+     * @param position The position in ticks
+     */
+    public synchronized void setQuadraturePosition(int talon, int position) {
+        positions[talon] = position;
+    }
+
+    /**
+     * Updates the snapshot after the gyro's yaw was set
+     *
+     * @param yaw The yaw in degrees
+     */
+    public synchronized void setYaw(double yaw) {
+        this.yaw = yaw;
+
+        staleYaw = lastYaw;
+        resetYaw = yaw;
+        yawResetPending = true;
+    }
+
+    /**
+     * Gets the number of JNI calls that the snapshot saved during the last robot loop
+     *
+     * @return The number of reads served from the snapshot instead of the sensors
+     */
+    public synchronized int getSavedReads() {
+        return lastSavedReads;
+    }
+
+    /**
+     * Reads every signal into the snapshot
+     */
+    private void read() {
+        for (int i = 0; i < talons.length; i++) {
+            positions[i] = talons[i].getSensorCollection().getQuadraturePosition();
+            velocities[i] = talons[i].getSensorCollection().getQuadratureVelocity();
+            temperatures[i] = talons[i].getTemperature();
+        }
+
+        yaw = readYaw();
+
+        timestamp = System.nanoTime();
+        read = true;
+    }
+
+    /**
+     * Reads the yaw from the gyro, shifting it to the new yaw if the gyro hasn't sent a frame since it was set
+     *
+     * @return The yaw in degrees
+     */
+    private double readYaw() {
+        gyro.getYawPitchRoll(yawPitchRoll);
+        final double raw = yawPitchRoll[0];
+        lastYaw = raw;
+
+        if (yawResetPending) {
+            if (Math.abs(raw - resetYaw) > Math.abs(raw - staleYaw)) {
+                return raw - staleYaw + resetYaw;
+            }
+
+            yawResetPending = false;
+        }
+
+        return raw;
+    }
+
+    /**
+     * Checks whether the snapshot was read during this robot loop
+     *
+     * @return True if the snapshot is recent enough to use
+     */
+    private boolean isFresh() {
+        return read && System.nanoTime() - timestamp < MAX_AGE;
+    }
+
+    /**
+     * Checks whether a read on the current thread should be served from the snapshot
+     *
+     * @return True if this is the robot loop's thread and the snapshot is fresh
+     */
+    private boolean isCached() {
+        return Thread.currentThread() == loopThread && isFresh();
+    }
+}
@@ -131,7 +131,7 @@ public class Intake extends Subsystem {
      * @return whether the intake has cargo or not
      */
     public boolean isCargoInMechanism() {
-        return readIr() > Config.CARGO_CAPTURED_IR_MIN_VOLTAGE.value();
+        return readIr() > Config.CARGO_CAPTURED_IR_MIN_VOLTAGE.getAsDouble();
     }
 
     /**
@@ -140,7 +140,7 @@ public class Intake extends Subsystem {
      * @return True if the cargo is positioned well, false otherwise.
      */
     public boolean isCargoPositionedWell() {
-        return Math.abs(readIr() - Config.CARGO_CAPTURED_IDEAL_IR_VOLTAGE.value()) <= 0.01;
+        return Math.abs(readIr() - Config.CARGO_CAPTURED_IDEAL_IR_VOLTAGE.getAsDouble()) <= 0.01;
     }
 
 }
\ No newline at end of file
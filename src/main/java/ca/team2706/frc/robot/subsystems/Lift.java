@@ -4,11 +4,12 @@ import ca.team2706.frc.robot.Sendables;
 import ca.team2706.frc.robot.SubsystemStatus;
 import ca.team2706.frc.robot.config.Config;
 import ca.team2706.frc.robot.logging.Log;
+import ca.team2706.frc.robot.logging.LoopTimer;
+import ca.team2706.frc.robot.logging.TelemetryRegistry;
+import ca.team2706.frc.robot.logging.TelemetrySource;
 import com.ctre.phoenix.motorcontrol.*;
 import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
-import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Subsystem;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
 /**
  * Subsystem that controls the elevator on the robot
@@ -22,6 +23,11 @@ public class Lift extends Subsystem {
 
     private final SubsystemStatus status;
 
+    /**
+     * Times the periodic method as part of the robot loop
+     */
+    private final LoopTimer.Phase periodicTime = LoopTimer.getInstance().addPhase("Lift periodic");
+
     private static final int HOLD_SLOT = 0, FEED_FORWARD_SLOT = 1;
 
     /**
@@ -77,6 +83,14 @@ public class Lift extends Subsystem {
         addChild("Lift Motor", liftMotor);
         addChild("Lift Position", Sendables.newTalonEncoderSendable(liftMotor));
         status = setupTalonConfig();
+
+        TelemetryRegistry.getInstance().register(new TelemetrySource("lift")
+                .addSignal("Lift Encoders", () -> liftMotor.getSelectedSensorPosition(), true, false)
+                .addSignal("Lift Rev Switch", () -> liftMotor.getSensorCollection().isRevLimitSwitchClosed(), true, false)
+                .addSignal("Lift Current", () -> liftMotor.getOutputCurrent(), true, false)
+                .addSignal("Lift Voltage", () -> liftMotor.getMotorOutputVoltage(), true, false)
+                .addSignal("Lift Limit Switch", () -> liftMotor.getSensorCollection().isRevLimitSwitchClosed(), false, true)
+                .addSignal("Lift Position", this::getLiftHeightEncoderTicks, false, true));
     }
 
     /**
@@ -184,20 +198,14 @@ public class Lift extends Subsystem {
 
     @Override
     public void periodic() {
+        periodicTime.start();
+
         super.periodic();
         if (liftMotor.getSelectedSensorPosition() < 0) {
             zeroEncoderTicks();
         }
 
-        if (DriverStation.getInstance().isEnabled()) {
-            Log.d("Lift Encoders " + liftMotor.getSelectedSensorPosition());
-            Log.d("Lift Rev Switch " + liftMotor.getSensorCollection().isRevLimitSwitchClosed());
-            Log.d("Lift Current " + liftMotor.getOutputCurrent());
-            Log.d("Lift Voltage " + liftMotor.getMotorOutputVoltage());
-        }
-
-        SmartDashboard.putBoolean("Lift Limit Switch", liftMotor.getSensorCollection().isRevLimitSwitchClosed());
-        SmartDashboard.putNumber("Lift Position", getLiftHeightEncoderTicks());
+        periodicTime.stop();
     }
 
     /**
@@ -304,13 +312,13 @@ public class Lift extends Subsystem {
                 int maxLiftSpeedAtThisHeight;
                 // If we're going down.
                 if (velocity < 0) {
-                    maxLiftSpeedAtThisHeight = -(int) (Config.LIFT_MAX_SPEED.value() * (liftHeight
+                    maxLiftSpeedAtThisHeight = -(int) (Config.LIFT_MAX_SPEED.getAsInt() * (liftHeight
                             / Config.LIFT_SLOWDOWN_RANGE_UP + 0.25));
                     velocity = Math.max(velocity, maxLiftSpeedAtThisHeight);
                 }
                 // If we're going up.
                 else {
-                    maxLiftSpeedAtThisHeight = (int) (Config.LIFT_MAX_SPEED.value() * (liftDistanceFromTop
+                    maxLiftSpeedAtThisHeight = (int) (Config.LIFT_MAX_SPEED.getAsInt() * (liftDistanceFromTop
                             / Config.LIFT_SLOWDOWN_RANGE_DOWN + 0.25));
                     velocity = Math.min(velocity, maxLiftSpeedAtThisHeight);
                 }
@@ -0,0 +1,261 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.SubsystemStatus;
+import ca.team2706.frc.robot.logging.Log;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import edu.wpi.first.wpilibj.Notifier;
+
+/**
+ * Streams a trajectory to a talon in chunks so that the robot can start moving before the whole trajectory
+ * has been sent, and trajectories longer than the talon's buffer can be run
+ */
+class MotionProfileFeeder {
+
+    /**
+     * The period in seconds that the feeder tops up the talon's buffer at
+     */
+    static final double FEED_PERIOD = 0.005;
+
+    /**
+     * The number of points that need to be in the talon's bottom buffer before the profile is enabled
+     */
+    static final int MIN_BUFFERED_POINTS = 20;
+
+    /**
+     * The most points to push to the talon each time that the feeder runs
+     */
+    static final int POINTS_PER_FEED = 32;
+
+    private final WPI_TalonSRX talon;
+
+    private final String name;
+
+    private final TrajectoryPointBuffer points = new TrajectoryPointBuffer();
+
+    private final MotionProfileStatus status = new MotionProfileStatus();
+
+    private final Notifier notifier;
+
+    /**
+     * The index of the next point to push to the talon
+     */
+    private int cursor;
+
+    private boolean running;
+
+    private boolean enabled;
+
+    private int underruns;
+
+    private int minBufferedPoints;
+
+    /**
+     * The most points to keep in the talon that it hasn't run yet, so that the rest can still be spliced
+     */
+    private int maxLead = Integer.MAX_VALUE;
+
+    /**
+     * Creates a motion profile feeder
+     *
+     * @param talon The talon to stream to
+     * @param name  The name of the side of the robot, used for logging
+     */
+    MotionProfileFeeder(WPI_TalonSRX talon, String name) {
+        this.talon = talon;
+        this.name = name;
+
+        notifier = new Notifier(this::feed);
+    }
+
+    /**
+     * Clears the talon and starts streaming a new trajectory to it
+     *
+     * @param pos              The position in feet at each point
+     * @param vel              The velocity in feet per second at each point
+     * @param heading          The heading in degrees at each point
+     * @param time             The time in milliseconds of each point
+     * @param size             How many points there are
+     * @param direction        1 to drive the trajectory forwards or -1 to drive it backwards
+     * @param headingDirection 1 to use the heading as it is or -1 to mirror it
+     */
+    synchronized void start(double[] pos, double[] vel, double[] heading, int[] time, int size, double direction, double headingDirection) {
+        stop();
+        points.fill(pos, vel, heading, time, size, direction, headingDirection);
+        begin();
+    }
+
+    /**
+     * Clears the talon and starts streaming one side of a trajectory that is already in talon units to it
+     *
+     * @param trajectory       The trajectory
+     * @param left             True to stream the left wheel, false to stream the right wheel
+     * @param direction        1 to drive the trajectory forwards or -1 to drive it backwards
+     * @param headingDirection 1 to use the heading as it is or -1 to mirror it
+     */
+    synchronized void start(TalonTrajectory trajectory, boolean left, double direction, double headingDirection) {
+        stop();
+        points.fill(trajectory, left, direction, headingDirection);
+        begin();
+    }
+
+    /**
+     * Clears the talon and starts the notifier once the points of a new trajectory have been filled
+     */
+    private void begin() {
+        /*
+         * just in case we are interrupting another MP and there is still buffer
+         * points in memory, clear it.
+         */
+        talon.clearMotionProfileTrajectories();
+        talon.clearMotionProfileHasUnderrun(0);
+        talon.changeMotionControlFramePeriod((int) (FEED_PERIOD * 1000));
+
+        status.topBufferCnt = 0;
+        status.btmBufferCnt = 0;
+
+        cursor = 0;
+        enabled = false;
+        underruns = 0;
+        minBufferedPoints = Integer.MAX_VALUE;
+        running = true;
+
+        notifier.startPeriodic(FEED_PERIOD);
+    }
+
+    /**
+     * Pushes the next chunk of points to the talon and moves the talon's buffered points to its bottom buffer
+     */
+    synchronized void feed() {
+        if (!running) {
+            return;
+        }
+
+        // Uses the buffer counts from the last time that the feeder ran
+        final int room = maxLead - status.topBufferCnt - status.btmBufferCnt;
+        final int end = Math.min(cursor + Math.min(POINTS_PER_FEED, room), points.size());
+        while (cursor < end) {
+            if (SubsystemStatus.checkError(talon.pushMotionProfileTrajectory(points.get(cursor)))) {
+                // The talon's top buffer is full, try again next time
+                break;
+            }
+
+            cursor++;
+        }
+
+        talon.processMotionProfileBuffer();
+        talon.getMotionProfileStatus(status);
+
+        if (status.hasUnderrun) {
+            underruns++;
+            Log.d(name + " motion profile buffer underrun at point " + cursor);
+            talon.clearMotionProfileHasUnderrun(0);
+        }
+
+        if (enabled) {
+            minBufferedPoints = Math.min(minBufferedPoints, status.btmBufferCnt);
+        } else if (status.btmBufferCnt >= Math.min(MIN_BUFFERED_POINTS, maxLead) || (isComplete() && status.topBufferCnt == 0)) {
+            enabled = true;
+        }
+
+        if (isComplete() && status.topBufferCnt == 0) {
+            stop();
+        }
+    }
+
+    /**
+     * Checks if the points from an index onwards can still be replaced
+     *
+     * @param from The index of the first point to replace
+     * @return True if none of those points have been pushed to the talon yet
+     */
+    synchronized boolean canSplice(int from) {
+        return running && from > 0 && from >= cursor && from < points.size();
+    }
+
+    /**
+     * Replaces the points that haven't been pushed to the talon yet with a new trajectory, without stopping
+     *
+     * @param from             The index of the first point to replace, which must be allowed by {@link #canSplice(int)}
+     * @param trajectory       The trajectory to continue with, starting at the point before the first replaced point
+     * @param left             True to stream the left wheel, false to stream the right wheel
+     * @param direction        1 to drive the trajectory forwards or -1 to drive it backwards
+     * @param headingDirection 1 to use the heading as it is or -1 to mirror it
+     */
+    synchronized void splice(int from, TalonTrajectory trajectory, boolean left, double direction, double headingDirection) {
+        if (!canSplice(from)) {
+            throw new IllegalStateException("Points from " + from + " can't be replaced after " + cursor + " were pushed");
+        }
+
+        points.splice(from, trajectory, left, direction, headingDirection);
+    }
+
+    /**
+     * Limits how far the talon is allowed to get ahead of the robot
+     *
+     * @param maxLead The most points to keep in the talon that it hasn't run yet, or {@link Integer#MAX_VALUE}
+     *                to push the trajectory as fast as the talon takes it
+     */
+    synchronized void setMaxLead(int maxLead) {
+        this.maxLead = maxLead;
+    }
+
+    /**
+     * Stops streaming to the talon and logs the buffer metrics of the trajectory
+     */
+    synchronized void stop() {
+        if (running) {
+            notifier.stop();
+            running = false;
+
+            Log.i(name + " motion profile pushed " + cursor + " of " + points.size() + " points with " + underruns
+                    + " underruns and a minimum of " + getMinBufferedPoints() + " buffered points");
+        }
+    }
+
+    /**
+     * Gets the value to set the talon to in motion profile mode
+     *
+     * @return Enable once enough points are buffered to start moving, otherwise disable
+     */
+    synchronized SetValueMotionProfile getSetValue() {
+        return enabled ? SetValueMotionProfile.Enable : SetValueMotionProfile.Disable;
+    }
+
+    /**
+     * Checks if every point in the trajectory has been pushed to the talon
+     *
+     * @return True if the whole trajectory has been pushed
+     */
+    synchronized boolean isComplete() {
+        return cursor >= points.size();
+    }
+
+    /**
+     * Gets the number of points that have been pushed to the talon
+     *
+     * @return The number of points pushed
+     */
+    synchronized int getPointsPushed() {
+        return cursor;
+    }
+
+    /**
+     * Gets the number of times that the talon ran out of points while running the current trajectory
+     *
+     * @return The number of underruns
+     */
+    synchronized int getUnderruns() {
+        return underruns;
+    }
+
+    /**
+     * Gets the fewest points that were in the talon's bottom buffer once the profile was enabled
+     *
+     * @return The minimum number of buffered points, or 0 if the profile hasn't been enabled
+     */
+    synchronized int getMinBufferedPoints() {
+        return minBufferedPoints == Integer.MAX_VALUE ? 0 : minBufferedPoints;
+    }
+}
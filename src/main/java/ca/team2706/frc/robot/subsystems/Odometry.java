@@ -0,0 +1,210 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.Robot;
+import ca.team2706.frc.robot.RobotState;
+import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.logging.Log;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tracks where the robot is on the field by integrating the drive encoders and the gyro on its own notifier
+ * <p>
+ * The pose is published as an immutable snapshot, so any command can read it without touching CAN or taking a lock.
+ * The heading is the absolute heading from the gyro in radians, and the position starts at the origin until
+ * it is set with {@link #resetPose(double, double)}.
+ */
+public class Odometry {
+
+    /**
+     * A step that is faster than this in feet per second is the encoders being zeroed rather than the robot moving
+     */
+    static final double MAX_SPEED = 25;
+
+    private static Odometry currentInstance;
+
+    private final Notifier notifier;
+
+    private final PoseHistory poseHistory = new PoseHistory();
+
+    private final PoseLog poseLog = new PoseLog();
+
+    /**
+     * Writes the pose log in the background
+     */
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Odometry Log");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The latest pose, replaced rather than modified so that it can be read from any thread
+     */
+    private volatile Pose pose;
+
+    private double lastLeftDistance;
+    private double lastRightDistance;
+    private int lastEncoderResets;
+
+    /**
+     * Gets the odometry
+     *
+     * @return The odometry singleton
+     */
+    public static Odometry getInstance() {
+        init();
+        return currentInstance;
+    }
+
+    /**
+     * Creates the odometry and starts integrating
+     */
+    public static void init() {
+        if (currentInstance == null) {
+            final DriveBase driveBase = DriveBase.getInstance();
+
+            currentInstance = new Odometry(new Pose(Timer.getFPGATimestamp(), 0, 0, Math.toRadians(driveBase.getAbsoluteHeading())),
+                    driveBase.getLeftDistance(), driveBase.getRightDistance(), driveBase.getEncoderResets());
+            currentInstance.start();
+        }
+    }
+
+    /**
+     * Creates the odometry
+     *
+     * @param start             The starting pose
+     * @param leftDistance      The distance of the left encoder in feet
+     * @param rightDistance     The distance of the right encoder in feet
+     * @param encoderResets     The number of times that the encoders have been zeroed
+     */
+    Odometry(Pose start, double leftDistance, double rightDistance, int encoderResets) {
+        pose = start;
+        lastLeftDistance = leftDistance;
+        lastRightDistance = rightDistance;
+        lastEncoderResets = encoderResets;
+        poseHistory.record(start);
+
+        notifier = new Notifier(this::update);
+    }
+
+    /**
+     * Starts integrating and saves the pose log whenever the robot is disabled
+     */
+    private void start() {
+        notifier.startPeriodic(Config.ODOMETRY_PERIOD);
+
+        Robot.setOnStateChange(state -> {
+            if (state == RobotState.DISABLED) {
+                savePoseLog();
+            }
+        });
+    }
+
+    /**
+     * Reads the sensors and integrates them
+     */
+    private void update() {
+        final DriveBase driveBase = DriveBase.getInstance();
+
+        update(Timer.getFPGATimestamp(), driveBase.getLeftDistance(), driveBase.getRightDistance(),
+                Math.toRadians(driveBase.getAbsoluteHeading()), driveBase.getEncoderResets());
+    }
+
+    /**
+     * Integrates a reading of the sensors into the pose
+     *
+     * @param timestamp     The FPGA time in seconds
+     * @param leftDistance  The distance of the left encoder in feet
+     * @param rightDistance The distance of the right encoder in feet
+     * @param heading       The absolute heading in radians, counter-clockwise positive
+     * @param encoderResets The number of times that the encoders have been zeroed
+     */
+    synchronized void update(double timestamp, double leftDistance, double rightDistance, double heading, int encoderResets) {
+        final Pose last = pose;
+        double step = (leftDistance - lastLeftDistance + rightDistance - lastRightDistance) / 2;
+
+        if (encoderResets != lastEncoderResets || Math.abs(step) > MAX_SPEED * (timestamp - last.getTimestamp())) {
+            step = 0;
+        }
+
+        // The robot turns while it moves, so drive along the average heading
+        final double averageHeading = last.getHeading() + Math.IEEEremainder(heading - last.getHeading(), 2 * Math.PI) / 2;
+        final Pose next = new Pose(timestamp, last.getX() + step * Math.cos(averageHeading),
+                last.getY() + step * Math.sin(averageHeading), heading);
+
+        lastLeftDistance = leftDistance;
+        lastRightDistance = rightDistance;
+        lastEncoderResets = encoderResets;
+
+        pose = next;
+        poseHistory.record(next);
+        poseLog.record(timestamp, leftDistance, rightDistance, heading, next.getX(), next.getY());
+    }
+
+    /**
+     * Gets where the robot is now
+     *
+     * @return The latest pose
+     */
+    public Pose getPose() {
+        return pose;
+    }
+
+    /**
+     * Gets where the robot has been recently
+     *
+     * @return The pose history
+     */
+    public PoseHistory getPoseHistory() {
+        return poseHistory;
+    }
+
+    /**
+     * Gets the log of the sensor readings and poses
+     *
+     * @return The pose log
+     */
+    public PoseLog getPoseLog() {
+        return poseLog;
+    }
+
+    /**
+     * Moves the robot to a position on the field, keeping its heading
+     *
+     * @param x The x position in feet
+     * @param y The y position in feet
+     */
+    public synchronized void resetPose(double x, double y) {
+        final Pose last = pose;
+
+        pose = new Pose(last.getTimestamp(), x, y, last.getHeading());
+        poseHistory.record(pose);
+    }
+
+    /**
+     * Writes the pose log next to the log file in the background
+     */
+    private void savePoseLog() {
+        if (poseLog.size() == 0) {
+            return;
+        }
+
+        final Path file = Log.getLogFile("-odometry.csv");
+        final PoseLog.Snapshot snapshot = poseLog.snapshot();
+
+        saveExecutor.execute(() -> {
+            try {
+                snapshot.writeTo(file);
+                Log.d("Saved " + snapshot.size() + " odometry samples to " + file);
+            } catch (IOException e) {
+                Log.e("Unable to save odometry log to " + file, e);
+            }
+        });
+    }
+}
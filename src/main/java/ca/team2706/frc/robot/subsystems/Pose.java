@@ -0,0 +1,104 @@
+package ca.team2706.frc.robot.subsystems;
+
+/**
+ * The position and heading of the robot at a point in time
+ * <p>
+ * Positions are in feet and headings are in radians, counter-clockwise positive. A pose relative to the robot is
+ * in the robot frame, which has the y axis pointing toward the front of the robot and the x axis to the right,
+ * so the robot itself faces 90 degrees in that frame.
+ */
+public class Pose {
+
+    private final double timestamp;
+    private final double x;
+    private final double y;
+    private final double heading;
+
+    /**
+     * Creates a pose
+     *
+     * @param timestamp The FPGA time in seconds
+     * @param x         The x position in feet
+     * @param y         The y position in feet
+     * @param heading   The heading in radians
+     */
+    public Pose(double timestamp, double x, double y, double heading) {
+        this.timestamp = timestamp;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+    }
+
+    /**
+     * Gets the time that the robot was at this pose
+     *
+     * @return The FPGA time in seconds
+     */
+    public double getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the x position
+     *
+     * @return The x position in feet
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y position
+     *
+     * @return The y position in feet
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Gets the heading
+     *
+     * @return The heading in radians
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Converts a pose in the frame of the robot at this pose to the frame that this pose is in
+     *
+     * @param x       The x position relative to the robot in feet
+     * @param y       The y position relative to the robot in feet
+     * @param heading The heading relative to the robot in radians, where 90 degrees is straight ahead
+     * @return The pose in the same frame as this pose
+     */
+    public Pose fromRobotFrame(double x, double y, double heading) {
+        final double rotation = this.heading - Math.PI / 2;
+        final double cos = Math.cos(rotation);
+        final double sin = Math.sin(rotation);
+
+        return new Pose(timestamp, this.x + x * cos - y * sin, this.y + x * sin + y * cos, heading + rotation);
+    }
+
+    /**
+     * Converts a pose in the same frame as this pose to the frame of the robot at this pose
+     *
+     * @param pose The pose to convert
+     * @return The pose relative to the robot, where 90 degrees is straight ahead
+     */
+    public Pose toRobotFrame(Pose pose) {
+        final double rotation = heading - Math.PI / 2;
+        final double cos = Math.cos(rotation);
+        final double sin = Math.sin(rotation);
+        final double dx = pose.x - x;
+        final double dy = pose.y - y;
+
+        return new Pose(pose.timestamp, dx * cos + dy * sin, -dx * sin + dy * cos, pose.heading - rotation);
+    }
+
+    @Override
+    public String toString() {
+        return "Pose(" + timestamp + " s: " + x + ", " + y + ", " + Math.toDegrees(heading) + " deg)";
+    }
+}
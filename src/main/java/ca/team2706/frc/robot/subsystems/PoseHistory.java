@@ -0,0 +1,106 @@
+package ca.team2706.frc.robot.subsystems;
+
+/**
+ * Fixed size history of where the robot has been, so that a measurement taken in the past can be related
+ * to where the robot is now
+ * <p>
+ * The poses are recorded by {@link Odometry} each time that it integrates the sensors.
+ */
+public class PoseHistory {
+
+    /**
+     * The number of poses kept, a little over 2.5 seconds of odometry updates
+     */
+    static final int CAPACITY = 512;
+
+    private final double[] timestamps = new double[CAPACITY];
+    private final double[] xs = new double[CAPACITY];
+    private final double[] ys = new double[CAPACITY];
+    private final double[] headings = new double[CAPACITY];
+
+    /**
+     * The index that the next pose is recorded at
+     */
+    private int next;
+
+    private int size;
+
+    /**
+     * Records where the robot is now, overwriting the oldest pose once the history is full
+     *
+     * @param pose The pose, which must not be before the last recorded pose
+     */
+    synchronized void record(Pose pose) {
+        timestamps[next] = pose.getTimestamp();
+        xs[next] = pose.getX();
+        ys[next] = pose.getY();
+        headings[next] = pose.getHeading();
+
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+    }
+
+    /**
+     * Gets where the robot was at a point in time, interpolating between the recorded poses
+     *
+     * @param timestamp The FPGA time in seconds
+     * @return The pose at that time, the oldest or latest pose if the time is outside of the history,
+     * or null if no poses have been recorded
+     */
+    public synchronized Pose getPose(double timestamp) {
+        if (size == 0) {
+            return null;
+        }
+
+        // Search back from the latest pose, since the time is usually recent
+        int after = (next + CAPACITY - 1) % CAPACITY;
+        if (timestamp >= timestamps[after]) {
+            return getPose(after);
+        }
+
+        for (int i = 1; i < size; i++) {
+            final int before = (after + CAPACITY - 1) % CAPACITY;
+
+            if (timestamps[before] <= timestamp) {
+                final double t = (timestamp - timestamps[before]) / (timestamps[after] - timestamps[before]);
+
+                return new Pose(timestamp,
+                        xs[before] + t * (xs[after] - xs[before]),
+                        ys[before] + t * (ys[after] - ys[before]),
+                        headings[before] + t * Math.IEEEremainder(headings[after] - headings[before], 2 * Math.PI));
+            }
+
+            after = before;
+        }
+
+        return getPose(after);
+    }
+
+    /**
+     * Gets where the robot is now
+     *
+     * @return The latest pose, or null if no poses have been recorded
+     */
+    public synchronized Pose getLatest() {
+        return size == 0 ? null : getPose((next + CAPACITY - 1) % CAPACITY);
+    }
+
+    /**
+     * Gets the number of poses in the history
+     *
+     * @return The number of poses, at most {@link #CAPACITY}
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets a recorded pose
+     *
+     * @param index The index in the buffer
+     * @return The pose
+     */
+    private Pose getPose(int index) {
+        return new Pose(timestamps[index], xs[index], ys[index], headings[index]);
+    }
+}
@@ -0,0 +1,128 @@
+package ca.team2706.frc.robot.subsystems;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Fixed size log of the sensor readings that odometry integrated and the poses that it got from them
+ * <p>
+ * The readings are kept so that a run can be replayed through {@link Odometry} off the robot.
+ */
+public class PoseLog {
+
+    /**
+     * The number of samples kept, 30 seconds of odometry updates
+     */
+    static final int CAPACITY = 6000;
+
+    /**
+     * The header of the saved log
+     */
+    static final String HEADER = "time,left,right,heading,x,y";
+
+    private static final int FIELDS = 6;
+
+    private final double[] samples = new double[CAPACITY * FIELDS];
+
+    /**
+     * The index that the next sample is recorded at
+     */
+    private int next;
+
+    private int size;
+
+    /**
+     * Records a sample, overwriting the oldest one once the log is full
+     *
+     * @param timestamp     The FPGA time in seconds
+     * @param leftDistance  The distance of the left encoder in feet
+     * @param rightDistance The distance of the right encoder in feet
+     * @param heading       The absolute heading in radians
+     * @param x             The x position in feet
+     * @param y             The y position in feet
+     */
+    synchronized void record(double timestamp, double leftDistance, double rightDistance, double heading, double x, double y) {
+        final int offset = next * FIELDS;
+
+        samples[offset] = timestamp;
+        samples[offset + 1] = leftDistance;
+        samples[offset + 2] = rightDistance;
+        samples[offset + 3] = heading;
+        samples[offset + 4] = x;
+        samples[offset + 5] = y;
+
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+    }
+
+    /**
+     * Gets the number of samples in the log
+     *
+     * @return The number of samples, at most {@link #CAPACITY}
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Copies the samples so that they can be saved without holding up odometry
+     *
+     * @return The samples from oldest to newest
+     */
+    public synchronized Snapshot snapshot() {
+        final double[] copy = new double[size * FIELDS];
+        final int oldest = (next + CAPACITY - size) % CAPACITY;
+        final int firstPart = Math.min(size, CAPACITY - oldest);
+
+        System.arraycopy(samples, oldest * FIELDS, copy, 0, firstPart * FIELDS);
+        System.arraycopy(samples, 0, copy, firstPart * FIELDS, (size - firstPart) * FIELDS);
+
+        return new Snapshot(copy);
+    }
+
+    /**
+     * Samples copied out of the log
+     */
+    public static class Snapshot {
+
+        private final double[] samples;
+
+        private Snapshot(double[] samples) {
+            this.samples = samples;
+        }
+
+        /**
+         * Gets the number of samples
+         *
+         * @return The number of samples
+         */
+        public int size() {
+            return samples.length / FIELDS;
+        }
+
+        /**
+         * Writes the samples as a CSV file
+         *
+         * @param file The file to write to, which is replaced if it exists
+         * @throws IOException If the file couldn't be written
+         */
+        public void writeTo(Path file) throws IOException {
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write(HEADER);
+                writer.newLine();
+
+                for (int i = 0; i < samples.length; i += FIELDS) {
+                    for (int j = 0; j < FIELDS; j++) {
+                        if (j > 0) {
+                            writer.write(',');
+                        }
+                        writer.write(Double.toString(samples[i + j]));
+                    }
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
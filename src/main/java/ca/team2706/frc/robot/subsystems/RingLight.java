@@ -78,7 +78,7 @@ public class RingLight extends Subsystem {
      * Turns off the ring light.
      */
     public void disableLight() {
-        if (!Config.DISABLE_RING_LIGHT.value()) {
+        if (!Config.DISABLE_RING_LIGHT.getAsBoolean()) {
             relay.set(Relay.Value.kReverse);
         }
     }
@@ -0,0 +1,228 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.SubsystemStatus;
+import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.logging.Log;
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.*;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+
+import java.util.Arrays;
+
+import static ca.team2706.frc.robot.subsystems.TalonConfiguration.*;
+
+/**
+ * Shadow copy of the configuration of a Talon that only sends the parameters that changed.
+ * <p>
+ * A {@link TalonConfiguration} is applied with {@link #apply(TalonConfiguration)}, and a parameter is only sent
+ * when its value differs from the last value that was successfully written, so switching between modes only
+ * costs the CAN frames for the parameters that are actually different. Applying is thread safe so that
+ * configurations can be pushed from a background thread.
+ */
+public class TalonConfigCache {
+
+    private static final FeedbackDevice[] FEEDBACK_DEVICES = FeedbackDevice.values();
+    private static final RemoteSensorSource[] REMOTE_SENSOR_SOURCES = RemoteSensorSource.values();
+    private static final SensorTerm[] SENSOR_TERMS = SensorTerm.values();
+    private static final StatusFrame[] STATUS_FRAMES = StatusFrame.values();
+    private static final InvertType[] INVERT_TYPES = InvertType.values();
+
+    private final WPI_TalonSRX talon;
+
+    /**
+     * The value of each parameter on the Talon, or NaN if it isn't known
+     */
+    private final double[] sent;
+
+    private long framesSent;
+    private long framesSkipped;
+
+    /**
+     * Creates a config cache for the given Talon. No parameters are known until the Talon is reset to factory default.
+     *
+     * @param talon The Talon to configure
+     */
+    public TalonConfigCache(WPI_TalonSRX talon) {
+        this.talon = talon;
+
+        sent = new double[PARAMETERS.length * INDICES_PER_PARAMETER];
+        Arrays.fill(sent, Double.NaN);
+    }
+
+    /**
+     * Gets the Talon that is being configured
+     *
+     * @return The Talon
+     */
+    public WPI_TalonSRX getTalon() {
+        return talon;
+    }
+
+    /**
+     * Resets the Talon to factory default and records the factory default values as the current values
+     *
+     * @param timeoutMs The CAN timeout
+     * @return The error code from the Talon
+     */
+    public synchronized ErrorCode configFactoryDefault(int timeoutMs) {
+        // Clear the reset flag so that the reset this is recovering from doesn't invalidate the defaults
+        talon.hasResetOccurred();
+
+        ErrorCode errorCode = talon.configFactoryDefault(timeoutMs);
+        framesSent++;
+
+        for (Parameter parameter : PARAMETERS) {
+            if (parameter.clearedByFactoryDefault) {
+                for (int i = 0; i < parameter.indices; i++) {
+                    sent[index(parameter, i)] = SubsystemStatus.checkError(errorCode) ? Double.NaN : parameter.defaultValue;
+                }
+            }
+        }
+
+        return errorCode;
+    }
+
+    /**
+     * Sends all of the parameters in the configuration that are different from what is already on the Talon
+     *
+     * @param configuration The configuration to apply
+     * @return The number of CAN frames that were sent
+     */
+    public int apply(TalonConfiguration configuration) {
+        return apply(configuration, false);
+    }
+
+    /**
+     * Sends the parameters in the configuration that are different from what is already on the Talon. If the Talon
+     * reset since the last apply, such as from a brownout, nothing is known about it and every parameter is sent.
+     *
+     * @param configuration The configuration to apply
+     * @param prewarm       True to skip parameters that would change the output of the Talon in open loop,
+     *                      so that the configuration can be sent while the robot is being driven
+     * @return The number of CAN frames that were sent
+     */
+    public synchronized int apply(TalonConfiguration configuration, boolean prewarm) {
+        if (talon.hasResetOccurred()) {
+            Log.w("Talon " + talon.getDeviceID() + " reset, sending its whole configuration");
+            invalidate();
+        }
+
+        int frames = 0;
+
+        for (Parameter parameter : PARAMETERS) {
+            if (prewarm && parameter.affectsOpenLoop) {
+                continue;
+            }
+
+            for (int i = 0; i < parameter.indices; i++) {
+                final int index = index(parameter, i);
+                final double value = configuration.get(parameter, i);
+
+                if (Double.isNaN(value)) {
+                    continue;
+                } else if (value == sent[index]) {
+                    framesSkipped++;
+                    continue;
+                }
+
+                ErrorCode errorCode = send(parameter, i, value);
+                frames++;
+
+                if (SubsystemStatus.checkError(errorCode)) {
+                    Log.w("Failed to configure " + parameter + " " + i + " on Talon " + talon.getDeviceID() + ": " + errorCode);
+                    sent[index] = Double.NaN;
+                } else {
+                    sent[index] = value;
+                }
+            }
+        }
+
+        framesSent += frames;
+
+        return frames;
+    }
+
+    /**
+     * Forgets everything that is known about the Talon so that the next apply sends every parameter
+     */
+    public synchronized void invalidate() {
+        Arrays.fill(sent, Double.NaN);
+    }
+
+    /**
+     * Gets the total number of CAN frames that were sent to configure the Talon
+     *
+     * @return The number of frames
+     */
+    public synchronized long getFramesSent() {
+        return framesSent;
+    }
+
+    /**
+     * Gets the total number of parameters that weren't sent because the Talon already had the value
+     *
+     * @return The number of frames saved
+     */
+    public synchronized long getFramesSkipped() {
+        return framesSkipped;
+    }
+
+    /**
+     * Writes a single parameter to the Talon
+     *
+     * @param parameter The parameter
+     * @param subIndex  The slot, PID index or other index for the parameter
+     * @param value     The value to write
+     * @return The error code from the Talon, or null if the call doesn't report one
+     */
+    private ErrorCode send(Parameter parameter, int subIndex, double value) {
+        switch (parameter) {
+            case KP:
+                return talon.config_kP(subIndex, value, Config.CAN_SHORT);
+            case KI:
+                return talon.config_kI(subIndex, value, Config.CAN_SHORT);
+            case KD:
+                return talon.config_kD(subIndex, value, Config.CAN_SHORT);
+            case KF:
+                return talon.config_kF(subIndex, value, Config.CAN_SHORT);
+            case CLOSED_LOOP_PERIOD:
+                return talon.configClosedLoopPeriod(subIndex, (int) value, Config.CAN_SHORT);
+            case SELECTED_SENSOR:
+                return talon.configSelectedFeedbackSensor(FEEDBACK_DEVICES[(int) value], subIndex, Config.CAN_SHORT);
+            case SELECTED_COEFFICIENT:
+                return talon.configSelectedFeedbackCoefficient(value, subIndex, Config.CAN_SHORT);
+            case REMOTE_FILTER:
+                return talon.configRemoteFeedbackFilter((int) value / REMOTE_FILTER_DEVICE_MULTIPLIER,
+                        REMOTE_SENSOR_SOURCES[(int) value % REMOTE_FILTER_DEVICE_MULTIPLIER], subIndex, Config.CAN_SHORT);
+            case SENSOR_TERM:
+                return talon.configSensorTerm(SENSOR_TERMS[subIndex], FEEDBACK_DEVICES[(int) value], Config.CAN_SHORT);
+            case NEUTRAL_DEADBAND:
+                return talon.configNeutralDeadband(value, Config.CAN_SHORT);
+            case AUX_PID_POLARITY:
+                return talon.configAuxPIDPolarity(value != 0, Config.CAN_SHORT);
+            case MOTION_S_CURVE:
+                return talon.configMotionSCurveStrength((int) value, Config.CAN_SHORT);
+            case MOTION_CRUISE_VELOCITY:
+                return talon.configMotionCruiseVelocity((int) value, Config.CAN_SHORT);
+            case MOTION_ACCELERATION:
+                return talon.configMotionAcceleration((int) value, Config.CAN_SHORT);
+            case MOTION_PROFILE_TRAJECTORY_PERIOD:
+                return talon.configMotionProfileTrajectoryPeriod((int) value, Config.CAN_SHORT);
+            case PEAK_CURRENT_LIMIT:
+                return talon.configPeakCurrentLimit((int) value, Config.CAN_LONG);
+            case STATUS_FRAME_PERIOD:
+                return talon.setStatusFramePeriod(STATUS_FRAMES[subIndex], (int) value, Config.CAN_SHORT);
+            case SENSOR_PHASE:
+                talon.setSensorPhase(value != 0);
+                return null;
+            case INVERSION:
+                talon.setInverted(INVERT_TYPES[(int) value]);
+                return null;
+            case PROFILE_SLOT:
+                talon.selectProfileSlot((int) value, subIndex);
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown parameter " + parameter);
+        }
+    }
+}
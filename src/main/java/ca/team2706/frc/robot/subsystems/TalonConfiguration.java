@@ -0,0 +1,331 @@
+package ca.team2706.frc.robot.subsystems;
+
+import com.ctre.phoenix.motorcontrol.*;
+
+import java.util.Arrays;
+
+/**
+ * A set of Talon parameters that can be built ahead of time and then applied with a {@link TalonConfigCache}.
+ * <p>
+ * Parameters that are never set are left as they are on the Talon when the configuration is applied.
+ */
+public class TalonConfiguration {
+
+    static final Parameter[] PARAMETERS = Parameter.values();
+
+    /**
+     * The number of sub-indices (slots, PID indices, sensor terms, ...) reserved for each parameter
+     */
+    static final int INDICES_PER_PARAMETER = Arrays.stream(PARAMETERS).mapToInt(parameter -> parameter.indices).max().orElse(1);
+
+    /**
+     * Multiplier used to pack the device id and source of a remote filter into a single value
+     */
+    static final int REMOTE_FILTER_DEVICE_MULTIPLIER = 256;
+
+    /**
+     * The value of each parameter, or NaN if it isn't part of the configuration
+     */
+    private final double[] values;
+
+    /**
+     * Creates an empty configuration
+     */
+    public TalonConfiguration() {
+        values = new double[PARAMETERS.length * INDICES_PER_PARAMETER];
+        Arrays.fill(values, Double.NaN);
+    }
+
+    /**
+     * Sets every parameter that is reset by a factory default back to its factory default value
+     */
+    public void stageDefaults() {
+        for (Parameter parameter : PARAMETERS) {
+            if (parameter.clearedByFactoryDefault) {
+                for (int i = 0; i < parameter.indices; i++) {
+                    values[index(parameter, i)] = parameter.defaultValue;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the proportional gain for a slot
+     *
+     * @param slot  The slot
+     * @param value The gain
+     */
+    public void config_kP(int slot, double value) {
+        stage(Parameter.KP, slot, value);
+    }
+
+    /**
+     * Sets the integral gain for a slot
+     *
+     * @param slot  The slot
+     * @param value The gain
+     */
+    public void config_kI(int slot, double value) {
+        stage(Parameter.KI, slot, value);
+    }
+
+    /**
+     * Sets the derivative gain for a slot
+     *
+     * @param slot  The slot
+     * @param value The gain
+     */
+    public void config_kD(int slot, double value) {
+        stage(Parameter.KD, slot, value);
+    }
+
+    /**
+     * Sets the feed forward gain for a slot
+     *
+     * @param slot  The slot
+     * @param value The gain
+     */
+    public void config_kF(int slot, double value) {
+        stage(Parameter.KF, slot, value);
+    }
+
+    /**
+     * Sets the closed loop period for a slot
+     *
+     * @param slot         The slot
+     * @param loopPeriodMs The period in milliseconds
+     */
+    public void configClosedLoopPeriod(int slot, int loopPeriodMs) {
+        stage(Parameter.CLOSED_LOOP_PERIOD, slot, loopPeriodMs);
+    }
+
+    /**
+     * Sets the selected feedback sensor for a PID loop
+     *
+     * @param feedbackDevice The sensor
+     * @param pidIdx         The PID loop
+     */
+    public void configSelectedFeedbackSensor(FeedbackDevice feedbackDevice, int pidIdx) {
+        stage(Parameter.SELECTED_SENSOR, pidIdx, feedbackDevice.ordinal());
+    }
+
+    /**
+     * Sets the coefficient for the selected feedback sensor of a PID loop
+     *
+     * @param coefficient The coefficient
+     * @param pidIdx      The PID loop
+     */
+    public void configSelectedFeedbackCoefficient(double coefficient, int pidIdx) {
+        stage(Parameter.SELECTED_COEFFICIENT, pidIdx, coefficient);
+    }
+
+    /**
+     * Sets a remote feedback filter
+     *
+     * @param deviceId      The id of the remote device
+     * @param source        The type of remote sensor
+     * @param remoteOrdinal The remote sensor slot
+     */
+    public void configRemoteFeedbackFilter(int deviceId, RemoteSensorSource source, int remoteOrdinal) {
+        stage(Parameter.REMOTE_FILTER, remoteOrdinal, deviceId * REMOTE_FILTER_DEVICE_MULTIPLIER + source.ordinal());
+    }
+
+    /**
+     * Sets a sensor term
+     *
+     * @param sensorTerm     The sensor term
+     * @param feedbackDevice The sensor to use for the term
+     */
+    public void configSensorTerm(SensorTerm sensorTerm, FeedbackDevice feedbackDevice) {
+        stage(Parameter.SENSOR_TERM, sensorTerm.ordinal(), feedbackDevice.ordinal());
+    }
+
+    /**
+     * Sets the neutral deadband
+     *
+     * @param deadband The deadband from 0 to 0.25
+     */
+    public void configNeutralDeadband(double deadband) {
+        stage(Parameter.NEUTRAL_DEADBAND, 0, deadband);
+    }
+
+    /**
+     * Sets the polarity of the auxiliary PID
+     *
+     * @param invert Whether to invert the polarity
+     */
+    public void configAuxPIDPolarity(boolean invert) {
+        stage(Parameter.AUX_PID_POLARITY, 0, invert ? 1 : 0);
+    }
+
+    /**
+     * Sets the motion magic s-curve strength
+     *
+     * @param curveStrength The strength from 0 to 8
+     */
+    public void configMotionSCurveStrength(int curveStrength) {
+        stage(Parameter.MOTION_S_CURVE, 0, curveStrength);
+    }
+
+    /**
+     * Sets the motion magic cruise velocity
+     *
+     * @param sensorUnitsPer100ms The velocity in sensor units per 100 ms
+     */
+    public void configMotionCruiseVelocity(int sensorUnitsPer100ms) {
+        stage(Parameter.MOTION_CRUISE_VELOCITY, 0, sensorUnitsPer100ms);
+    }
+
+    /**
+     * Sets the motion magic acceleration
+     *
+     * @param sensorUnitsPer100msPerSec The acceleration in sensor units per 100 ms per second
+     */
+    public void configMotionAcceleration(int sensorUnitsPer100msPerSec) {
+        stage(Parameter.MOTION_ACCELERATION, 0, sensorUnitsPer100msPerSec);
+    }
+
+    /**
+     * Sets the base period of the motion profile trajectory points
+     *
+     * @param baseTrajDurationMs The base period in milliseconds
+     */
+    public void configMotionProfileTrajectoryPeriod(int baseTrajDurationMs) {
+        stage(Parameter.MOTION_PROFILE_TRAJECTORY_PERIOD, 0, baseTrajDurationMs);
+    }
+
+    /**
+     * Sets the peak current limit
+     *
+     * @param amps The peak current in amps
+     */
+    public void configPeakCurrentLimit(int amps) {
+        stage(Parameter.PEAK_CURRENT_LIMIT, 0, amps);
+    }
+
+    /**
+     * Sets the period of a status frame
+     *
+     * @param frame    The status frame
+     * @param periodMs The period in milliseconds
+     */
+    public void setStatusFramePeriod(StatusFrame frame, int periodMs) {
+        stage(Parameter.STATUS_FRAME_PERIOD, frame.ordinal(), periodMs);
+    }
+
+    /**
+     * Sets the sensor phase
+     *
+     * @param phase Whether the sensor is out of phase
+     */
+    public void setSensorPhase(boolean phase) {
+        stage(Parameter.SENSOR_PHASE, 0, phase ? 1 : 0);
+    }
+
+    /**
+     * Sets the inversion of the motor output
+     *
+     * @param invertType The type of inversion
+     */
+    public void setInverted(InvertType invertType) {
+        stage(Parameter.INVERSION, 0, invertType.ordinal());
+    }
+
+    /**
+     * Sets the slot that a PID loop uses
+     *
+     * @param slot   The slot
+     * @param pidIdx The PID loop
+     */
+    public void selectProfileSlot(int slot, int pidIdx) {
+        stage(Parameter.PROFILE_SLOT, pidIdx, slot);
+    }
+
+    /**
+     * Gets the value of a parameter
+     *
+     * @param parameter The parameter
+     * @param subIndex  The slot, PID index or other index for the parameter
+     * @return The value, or NaN if it isn't part of the configuration
+     */
+    double get(Parameter parameter, int subIndex) {
+        return values[index(parameter, subIndex)];
+    }
+
+    /**
+     * Sets the value of a parameter
+     *
+     * @param parameter The parameter
+     * @param subIndex  The slot, PID index or other index for the parameter
+     * @param value     The value
+     */
+    private void stage(Parameter parameter, int subIndex, double value) {
+        values[index(parameter, subIndex)] = value;
+    }
+
+    /**
+     * Gets the position of a parameter in the value arrays
+     *
+     * @param parameter The parameter
+     * @param subIndex  The slot, PID index or other index for the parameter
+     * @return The index in the arrays
+     */
+    static int index(Parameter parameter, int subIndex) {
+        return parameter.ordinal() * INDICES_PER_PARAMETER + subIndex;
+    }
+
+    /**
+     * The Talon parameters that can be configured
+     */
+    enum Parameter {
+        KP(true, false, 0, 4),
+        KI(true, false, 0, 4),
+        KD(true, false, 0, 4),
+        KF(true, false, 0, 4),
+        CLOSED_LOOP_PERIOD(true, false, 1, 4),
+        SELECTED_SENSOR(true, false, FeedbackDevice.QuadEncoder.ordinal(), 2),
+        SELECTED_COEFFICIENT(true, false, 1.0, 2),
+        REMOTE_FILTER(true, false, RemoteSensorSource.Off.ordinal(), 2),
+        SENSOR_TERM(true, false, FeedbackDevice.QuadEncoder.ordinal(), SensorTerm.values().length),
+        NEUTRAL_DEADBAND(true, true, 0.04, 1),
+        AUX_PID_POLARITY(true, false, 0, 1),
+        MOTION_S_CURVE(true, false, 0, 1),
+        MOTION_CRUISE_VELOCITY(true, false, 0, 1),
+        MOTION_ACCELERATION(true, false, 0, 1),
+        MOTION_PROFILE_TRAJECTORY_PERIOD(true, false, 0, 1),
+        // The factory default isn't relied on, it's always configured after a reset
+        PEAK_CURRENT_LIMIT(false, false, Double.NaN, 1),
+        // Not reset by a factory default, so they keep whatever was last sent
+        STATUS_FRAME_PERIOD(false, false, Double.NaN, StatusFrame.values().length),
+        SENSOR_PHASE(false, false, Double.NaN, 1),
+        INVERSION(false, true, Double.NaN, 1),
+        PROFILE_SLOT(false, false, Double.NaN, 2);
+
+        /**
+         * Whether the parameter is reset by a factory default
+         */
+        final boolean clearedByFactoryDefault;
+
+        /**
+         * Whether the parameter changes the output of the Talon in open loop
+         */
+        final boolean affectsOpenLoop;
+
+        /**
+         * The factory default value of the parameter
+         */
+        final double defaultValue;
+
+        /**
+         * The number of slots, PID indices or other sub-indices that the parameter has
+         */
+        final int indices;
+
+        Parameter(boolean clearedByFactoryDefault, boolean affectsOpenLoop, double defaultValue, int indices) {
+            this.clearedByFactoryDefault = clearedByFactoryDefault;
+            this.affectsOpenLoop = affectsOpenLoop;
+            this.defaultValue = defaultValue;
+            this.indices = indices;
+        }
+    }
+}
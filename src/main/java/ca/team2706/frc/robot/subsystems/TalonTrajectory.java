@@ -0,0 +1,261 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.logging.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An immutable trajectory for both sides of the drive base that is already in the units used by the talons
+ * <p>
+ * Positions are in encoder ticks, velocities in ticks per 100 ms, headings in Pigeon units and durations in ms.
+ * The points are stored in a {@link ByteBuffer} with the same layout as the binary trajectory files, so a file
+ * can be memory mapped and used without parsing it. The header records the encoder and Pigeon units that the file
+ * was converted with, and a file converted with different units than the robot's is rescaled when it's loaded.
+ */
+public class TalonTrajectory {
+
+    /**
+     * The file extension of binary trajectories
+     */
+    public static final String EXTENSION = ".traj";
+
+    /**
+     * Identifies a binary trajectory file, spells TRAJ
+     */
+    private static final int MAGIC = 0x5452414A;
+
+    private static final int VERSION = 2;
+
+    /**
+     * Magic number, version, number of points and padding, followed by the feet per encoder tick and degrees per
+     * Pigeon unit that the points were converted with
+     */
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + 2 * Double.BYTES;
+
+    private static final int SIZE = 2 * Integer.BYTES;
+    private static final int ENCODER_DPP = 4 * Integer.BYTES;
+    private static final int PIGEON_DPP = ENCODER_DPP + Double.BYTES;
+
+    /**
+     * Left position, left velocity, right position, right velocity and heading followed by the duration
+     */
+    private static final int POINT_BYTES = 5 * Double.BYTES + Integer.BYTES;
+
+    private static final int POS_LEFT = 0;
+    private static final int VEL_LEFT = Double.BYTES;
+    private static final int POS_RIGHT = 2 * Double.BYTES;
+    private static final int VEL_RIGHT = 3 * Double.BYTES;
+    private static final int HEADING = 4 * Double.BYTES;
+    private static final int TIME = 5 * Double.BYTES;
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final double encoderDpp;
+    private final double pigeonDpp;
+
+    /**
+     * Creates a trajectory from a buffer that holds a header and the points
+     *
+     * @param buffer The buffer, in little endian order
+     * @throws IOException If the buffer doesn't hold a valid trajectory
+     */
+    private TalonTrajectory(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary trajectory");
+        } else if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported binary trajectory version " + buffer.getInt(Integer.BYTES));
+        }
+
+        this.size = buffer.getInt(SIZE);
+        this.encoderDpp = buffer.getDouble(ENCODER_DPP);
+        this.pigeonDpp = buffer.getDouble(PIGEON_DPP);
+
+        if (size < 0 || buffer.capacity() < HEADER_BYTES + (long) size * POINT_BYTES) {
+            throw new IOException("Binary trajectory is truncated");
+        } else if (!(encoderDpp > 0) || !(pigeonDpp > 0)) {
+            throw new IOException("Binary trajectory has no units");
+        }
+
+        this.buffer = buffer;
+    }
+
+    /**
+     * Memory maps a binary trajectory file
+     *
+     * @param file The file to load
+     * @return The trajectory, which reads its points straight from the file unless it has to be rescaled
+     * @throws IOException If the file can't be read or isn't a binary trajectory
+     */
+    public static TalonTrajectory load(Path file) throws IOException {
+        final TalonTrajectory trajectory;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            trajectory = new TalonTrajectory(buffer.order(ByteOrder.LITTLE_ENDIAN));
+        }
+
+        // The files are converted on the build machine, which might not have this robot's units
+        if (trajectory.encoderDpp != Config.DRIVE_ENCODER_DPP || trajectory.pigeonDpp != Config.PIGEON_DPP) {
+            Log.w("Rescaling " + file + ", it was converted with different units than this robot's");
+            return trajectory.rescale(Config.DRIVE_ENCODER_DPP, Config.PIGEON_DPP);
+        }
+
+        return trajectory;
+    }
+
+    /**
+     * Converts a trajectory in feet and degrees to talon units
+     *
+     * @param posLeft  The left wheel positions in feet at each point
+     * @param velLeft  The left wheel velocities in feet per second at each point
+     * @param posRight The right wheel positions in feet at each point
+     * @param velRight The right wheel velocities in feet per second at each point
+     * @param heading  The heading in degrees at each point
+     * @param time     The milliseconds to run each point
+     * @param size     The number of points
+     * @return The converted trajectory
+     */
+    public static TalonTrajectory fromFeet(double[] posLeft, double[] velLeft, double[] posRight, double[] velRight, double[] heading, int[] time, int size) {
+        final double encoderDpp = Config.DRIVE_ENCODER_DPP;
+        final double pigeonDpp = Config.PIGEON_DPP;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + size * POINT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(0).putDouble(encoderDpp).putDouble(pigeonDpp);
+
+        for (int i = 0; i < size; i++) {
+            buffer.putDouble(posLeft[i] / encoderDpp)
+                    .putDouble(velLeft[i] / encoderDpp / 10)
+                    .putDouble(posRight[i] / encoderDpp)
+                    .putDouble(velRight[i] / encoderDpp / 10)
+                    .putDouble(heading[i] / pigeonDpp)
+                    .putInt(time[i]);
+        }
+
+        try {
+            return new TalonTrajectory(buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN));
+        } catch (IOException e) {
+            // The header was just written
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copies the trajectory into new units
+     *
+     * @param newEncoderDpp The feet per encoder tick to convert to
+     * @param newPigeonDpp  The degrees per Pigeon unit to convert to
+     * @return The converted trajectory
+     */
+    private TalonTrajectory rescale(double newEncoderDpp, double newPigeonDpp) {
+        final double encoderScale = encoderDpp / newEncoderDpp;
+        final double pigeonScale = pigeonDpp / newPigeonDpp;
+
+        ByteBuffer scaled = ByteBuffer.allocate(HEADER_BYTES + size * POINT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        scaled.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(0).putDouble(newEncoderDpp).putDouble(newPigeonDpp);
+
+        for (int i = 0; i < size; i++) {
+            scaled.putDouble(getPosition(true, i) * encoderScale)
+                    .putDouble(getVelocity(true, i) * encoderScale)
+                    .putDouble(getPosition(false, i) * encoderScale)
+                    .putDouble(getVelocity(false, i) * encoderScale)
+                    .putDouble(getHeading(i) * pigeonScale)
+                    .putInt(getTime(i));
+        }
+
+        try {
+            return new TalonTrajectory(scaled.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN));
+        } catch (IOException e) {
+            // The header was just written
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the trajectory to a binary trajectory file
+     *
+     * @param file The file to write to
+     * @throws IOException If the file can't be written
+     */
+    public void writeTo(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer contents = buffer.duplicate();
+            contents.clear().limit(HEADER_BYTES + size * POINT_BYTES);
+
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of points in the trajectory
+     *
+     * @return The number of points
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the position of a wheel
+     *
+     * @param left  True for the left wheel, false for the right wheel
+     * @param index The index of the point
+     * @return The position in encoder ticks
+     */
+    public double getPosition(boolean left, int index) {
+        return buffer.getDouble(offset(index) + (left ? POS_LEFT : POS_RIGHT));
+    }
+
+    /**
+     * Gets the velocity of a wheel
+     *
+     * @param left  True for the left wheel, false for the right wheel
+     * @param index The index of the point
+     * @return The velocity in encoder ticks per 100 ms
+     */
+    public double getVelocity(boolean left, int index) {
+        return buffer.getDouble(offset(index) + (left ? VEL_LEFT : VEL_RIGHT));
+    }
+
+    /**
+     * Gets the heading of the robot
+     *
+     * @param index The index of the point
+     * @return The heading in Pigeon units
+     */
+    public double getHeading(int index) {
+        return buffer.getDouble(offset(index) + HEADING);
+    }
+
+    /**
+     * Gets the time to run a point for
+     *
+     * @param index The index of the point
+     * @return The duration in milliseconds
+     */
+    public int getTime(int index) {
+        return buffer.getInt(offset(index) + TIME);
+    }
+
+    /**
+     * Gets where a point starts in the buffer
+     *
+     * @param index The index of the point
+     * @return The offset in bytes
+     */
+    private static int offset(int index) {
+        return HEADER_BYTES + index * POINT_BYTES;
+    }
+}
@@ -0,0 +1,170 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.config.Config;
+import ca.team2706.frc.robot.config.FluidSnapshot;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+
+import java.util.Arrays;
+
+/**
+ * Reusable set of Talon trajectory points so that pushing a motion profile doesn't allocate once the buffer
+ * is large enough for the longest trajectory
+ */
+class TrajectoryPointBuffer {
+
+    private TrajectoryPoint[] points = new TrajectoryPoint[0];
+
+    private int size;
+
+    /**
+     * Converts a trajectory to Talon units, overwriting the points of the previous trajectory
+     *
+     * @param pos              The position in feet at each point
+     * @param vel              The velocity in feet per second at each point
+     * @param heading          The heading in degrees at each point
+     * @param time             The time in milliseconds of each point
+     * @param size             How many points there are
+     * @param direction        1 to drive the trajectory forwards or -1 to drive it backwards
+     * @param headingDirection 1 to use the heading as it is or -1 to mirror it
+     */
+    void fill(double[] pos, double[] vel, double[] heading, int[] time, int size, double direction, double headingDirection) {
+        ensureCapacity(size);
+
+        final double encoderDpp = Config.DRIVE_ENCODER_DPP;
+        final double pigeonDpp = Config.PIGEON_DPP;
+        final FluidSnapshot constants = Config.getSnapshot();
+        final double curveAdjustment = constants.get(Config.CURVE_ADJUSTMENT);
+        final double cruiseVelocity = constants.get(Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY);
+
+        for (int i = 0; i < size; i++) {
+            final TrajectoryPoint point = points[i];
+            final double velocity = direction * vel[i];
+            final double headingDeg = headingDirection * heading[i];
+
+            point.position = direction * pos[i] / encoderDpp;
+            point.velocity = velocity / encoderDpp / 10;
+            point.auxiliaryPos = headingDeg / pigeonDpp; /* scaled such that 3600 => 360 deg */
+            point.headingDeg = headingDeg;
+            point.profileSlotSelect0 = 0;
+            point.profileSlotSelect1 = 1;
+            point.timeDur = time[i];
+            point.zeroPos = i == 0;
+            point.useAuxPID = true;
+            point.auxiliaryArbFeedFwd = curveAdjustment * velocity / cruiseVelocity;
+
+            point.isLastPoint = (i + 1) == size;
+        }
+
+        this.size = size;
+    }
+
+    /**
+     * Copies one side of a trajectory that is already in Talon units, overwriting the points of the previous trajectory
+     *
+     * @param trajectory       The trajectory
+     * @param left             True to use the left wheel, false to use the right wheel
+     * @param direction        1 to drive the trajectory forwards or -1 to drive it backwards
+     * @param headingDirection 1 to use the heading as it is or -1 to mirror it
+     */
+    void fill(TalonTrajectory trajectory, boolean left, double direction, double headingDirection) {
+        copy(trajectory, left, 0, 0, 0, direction, headingDirection);
+    }
+
+    /**
+     * Replaces the end of the current trajectory with another trajectory that is already in Talon units
+     * <p>
+     * The first point of the new trajectory is where the robot is at the last point that is kept, so it is skipped
+     * and the positions of the rest are offset to continue on from that point.
+     *
+     * @param from             The index of the first point to replace, at least 1
+     * @param trajectory       The trajectory to continue with
+     * @param left             True to use the left wheel, false to use the right wheel
+     * @param direction        1 to drive the trajectory forwards or -1 to drive it backwards
+     * @param headingDirection 1 to use the heading as it is or -1 to mirror it
+     */
+    void splice(int from, TalonTrajectory trajectory, boolean left, double direction, double headingDirection) {
+        final double positionOffset = points[from - 1].position - direction * trajectory.getPosition(left, 0);
+
+        copy(trajectory, left, 1, from, positionOffset, direction, headingDirection);
+    }
+
+    /**
+     * Copies the points from one side of a trajectory that is already in Talon units into the buffer,
+     * which then ends with the last copied point
+     *
+     * @param trajectory       The trajectory
+     * @param left             True to use the left wheel, false to use the right wheel
+     * @param first            The index of the first point in the trajectory to copy
+     * @param to               The index in the buffer to copy the first point to
+     * @param positionOffset   The ticks to add to each position
+     * @param direction        1 to drive the trajectory forwards or -1 to drive it backwards
+     * @param headingDirection 1 to use the heading as it is or -1 to mirror it
+     */
+    private void copy(TalonTrajectory trajectory, boolean left, int first, int to, double positionOffset, double direction, double headingDirection) {
+        final int size = to + trajectory.size() - first;
+        ensureCapacity(size);
+
+        final double pigeonDpp = Config.PIGEON_DPP;
+        // Converts ticks per 100 ms back to feet per second for the arbitrary feed forward
+        final FluidSnapshot constants = Config.getSnapshot();
+        final double arbFeedFwdScale = constants.get(Config.CURVE_ADJUSTMENT) * Config.DRIVE_ENCODER_DPP * 10
+                / constants.get(Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY);
+
+        for (int i = to; i < size; i++) {
+            final int index = i - to + first;
+            final TrajectoryPoint point = points[i];
+            final double velocity = direction * trajectory.getVelocity(left, index);
+            final double auxiliaryPos = headingDirection * trajectory.getHeading(index);
+
+            point.position = direction * trajectory.getPosition(left, index) + positionOffset;
+            point.velocity = velocity;
+            point.auxiliaryPos = auxiliaryPos;
+            point.headingDeg = auxiliaryPos * pigeonDpp;
+            point.profileSlotSelect0 = 0;
+            point.profileSlotSelect1 = 1;
+            point.timeDur = trajectory.getTime(index);
+            point.zeroPos = i == 0;
+            point.useAuxPID = true;
+            point.auxiliaryArbFeedFwd = arbFeedFwdScale * velocity;
+
+            point.isLastPoint = (i + 1) == size;
+        }
+
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of points in the current trajectory
+     *
+     * @return The number of points
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets a point from the current trajectory
+     *
+     * @param index The index of the point
+     * @return The point, which is overwritten by the next trajectory
+     */
+    TrajectoryPoint get(int index) {
+        return points[index];
+    }
+
+    /**
+     * Grows the buffer so that it can hold a trajectory
+     *
+     * @param capacity The number of points needed
+     */
+    private void ensureCapacity(int capacity) {
+        if (points.length < capacity) {
+            final int oldLength = points.length;
+            points = Arrays.copyOf(points, capacity);
+
+            for (int i = oldLength; i < capacity; i++) {
+                points[i] = new TrajectoryPoint();
+            }
+        }
+    }
+}
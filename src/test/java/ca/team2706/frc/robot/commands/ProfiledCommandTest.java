@@ -0,0 +1,141 @@
+package ca.team2706.frc.robot.commands;
+
+import ca.team2706.frc.robot.logging.CommandProfiler;
+import edu.wpi.first.wpilibj.Timer;
+import mockit.Mocked;
+import org.junit.Before;
+import org.junit.Test;
+import util.Util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProfiledCommandTest {
+
+    @Mocked
+    private Timer timer;
+
+    @Before
+    public void setUp() throws NoSuchFieldException, IllegalAccessException {
+        Util.resetSubsystems();
+    }
+
+    /**
+     * Tests that initialize, execute and end are each timed once per call
+     */
+    @Test
+    public void testTimings() {
+        final SlowCommand command = new SlowCommand();
+
+        command.initialize();
+        command.execute();
+        assertFalse(command.isFinished());
+        command.execute();
+        assertTrue(command.isFinished());
+        command.end();
+
+        final CommandProfiler.Stats stats = CommandProfiler.getInstance().getStats(SlowCommand.class);
+        assertEquals("SlowCommand", stats.getName());
+
+        assertEquals(1, stats.getInitialize().getCount());
+        assertTrue(stats.getInitialize().getMax() >= 0.005);
+        assertTrue(stats.getInitialize().getMax() < 0.010);
+
+        assertEquals(2, stats.getExecute().getCount());
+        assertTrue(stats.getExecute().getMax() >= 0.010);
+
+        assertEquals(1, stats.getEnd().getCount());
+        assertTrue(stats.getEnd().getMax() >= 0.002);
+    }
+
+    /**
+     * Tests that an interrupted command is timed as ending, and that isFinished alone isn't timed as an execute
+     */
+    @Test
+    public void testInterrupted() {
+        final SlowCommand command = new SlowCommand();
+
+        command.initialize();
+        assertFalse(command.isFinished());
+        command.interrupted();
+
+        final CommandProfiler.Stats stats = CommandProfiler.getInstance().getStats(SlowCommand.class);
+        assertEquals(0, stats.getExecute().getCount());
+        assertEquals(1, stats.getEnd().getCount());
+        assertTrue(stats.getEnd().getMax() >= 0.002);
+    }
+
+    /**
+     * Tests that the function that an instant command runs is timed as its initialize
+     */
+    @Test
+    public void testInstantCommand() {
+        final ProfiledInstantCommand command = new ProfiledInstantCommand(() -> SlowCommand.sleep(5));
+
+        command.initialize();
+        command.execute();
+        assertTrue(command.isFinished());
+        command.end();
+
+        final CommandProfiler.Stats stats = CommandProfiler.getInstance().getStats(ProfiledInstantCommand.class);
+        assertEquals(1, stats.getInitialize().getCount());
+        assertTrue(stats.getInitialize().getMax() >= 0.005);
+        assertEquals(1, stats.getExecute().getCount());
+        assertEquals(1, stats.getEnd().getCount());
+    }
+
+    /**
+     * Tests that a command group is timed and still finishes when it has no commands left
+     */
+    @Test
+    public void testCommandGroup() {
+        final ProfiledCommandGroup group = new ProfiledCommandGroup();
+
+        group.initialize();
+        group.execute();
+        assertTrue(group.isFinished());
+        group.end();
+
+        final CommandProfiler.Stats stats = CommandProfiler.getInstance().getStats(ProfiledCommandGroup.class);
+        assertEquals(1, stats.getInitialize().getCount());
+        assertEquals(1, stats.getExecute().getCount());
+        assertEquals(1, stats.getEnd().getCount());
+    }
+
+    /**
+     * Command that takes a known amount of time for each part
+     */
+    private static class SlowCommand extends ProfiledCommand {
+        private int executions;
+
+        @Override
+        protected void onInitialize() {
+            sleep(5);
+        }
+
+        @Override
+        protected void onExecute() {
+            sleep(10);
+            executions++;
+        }
+
+        @Override
+        protected boolean isDone() {
+            return executions >= 2;
+        }
+
+        @Override
+        protected void onEnd() {
+            sleep(2);
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -90,7 +90,7 @@ public class ArcadeDriveTest {
 
         ArcadeDrive arcadeDrive = new ArcadeDrive(forwardVal, rotateVal, false, brake) {
             @Override
-            public boolean isFinished() {
+            public boolean isDone() {
                 return false;
             }
         };
@@ -97,7 +97,7 @@ public class CurvatureDriveTest {
 
         CurvatureDrive curvatureDrive = new CurvatureDrive(forwardVal, curveSpeed, brake, buttonPress, false) {
             @Override
-            public boolean isFinished() {
+            public boolean isDone() {
                 return false;
             }
         };
@@ -1,8 +1,7 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.subsystems.DriveBase;
 import com.ctre.phoenix.CTREJNIWrapper;
-import com.ctre.phoenix.motion.BuffTrajPointStreamJNI;
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
 import com.ctre.phoenix.motion.TrajectoryPoint;
 import com.ctre.phoenix.motorcontrol.SensorCollection;
 import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
@@ -57,12 +56,6 @@ public class CurveDrive2Test {
     @Mocked
     private Notifier notifier;
 
-    @Mocked
-    private BufferedTrajectoryPointStream bufferedTrajectoryPointStream;
-
-    @Mocked(stubOutClassInitialization = true)
-    private BuffTrajPointStreamJNI jni2;
-
     @Injectable
     private SensorCollection sensorCollection;
 
@@ -80,17 +73,24 @@ public class CurveDrive2Test {
      * Tests trajectory from waypoints
      */
     @Test
-    public void createWayPoints() throws IOException {
-        CurveDrive2 curveDrive2 = new CurveDrive2(0.0, 0, new Waypoint[]{
+    public void createWayPoints() throws IOException, ReflectiveOperationException {
+        final Waypoint[] waypoints = {
                 new Waypoint(0, 0, 0),
                 new Waypoint(10, 10, Pathfinder.d2r(90))
-        });
+        };
+        CurveDrive2 curveDrive2 = new CurveDrive2(0.0, 0, waypoints);
 
         curveDrive2.initialize();
 
+        Util.feedMotionProfiles(DriveBase.getInstance());
+
+        // The waypoints are flipped on copies, not on the ones that were passed in
+        assertEquals(10.0, waypoints[1].y, 0.0);
+
         new Verifications() {{
-            List<TrajectoryPoint[]> trajectories = new ArrayList<>();
-            bufferedTrajectoryPointStream.Write(withCapture(trajectories));
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
 
             assertEquals(90.0, trajectories.get(0)[trajectories.get(0).length - 1].headingDeg, 0.5);
             assertEquals(90.0, trajectories.get(1)[trajectories.get(1).length - 1].headingDeg, 0.5);
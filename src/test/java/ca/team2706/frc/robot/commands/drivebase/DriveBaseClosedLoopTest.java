@@ -110,7 +110,7 @@ public class DriveBaseClosedLoopTest {
         }
 
         @Override
-        public void end() {
+        public void onEnd() {
         }
     }
 
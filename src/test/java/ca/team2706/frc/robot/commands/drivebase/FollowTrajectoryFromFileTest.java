@@ -1,8 +1,7 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.subsystems.DriveBase;
 import com.ctre.phoenix.CTREJNIWrapper;
-import com.ctre.phoenix.motion.BuffTrajPointStreamJNI;
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
 import com.ctre.phoenix.motion.TrajectoryPoint;
 import com.ctre.phoenix.motorcontrol.SensorCollection;
 import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
@@ -58,12 +57,6 @@ public class FollowTrajectoryFromFileTest {
     @Mocked
     private Notifier notifier;
 
-    @Mocked
-    private BufferedTrajectoryPointStream bufferedTrajectoryPointStream;
-
-    @Mocked(stubOutClassInitialization = true)
-    private BuffTrajPointStreamJNI jni2;
-
     @Injectable
     private SensorCollection sensorCollection;
 
@@ -81,7 +74,7 @@ public class FollowTrajectoryFromFileTest {
      * Tests trajectory from file
      */
     @Test
-    public void testTrajectoryFromFile() throws IOException {
+    public void testTrajectoryFromFile() throws IOException, ReflectiveOperationException {
         Trajectory trajectory = new Trajectory(new Trajectory.Segment[]{
                 new Trajectory.Segment(0.010, 0, 0, 0, 0, 2, 54, 0),
                 new Trajectory.Segment(0.010, 0, 0, 0, 3, 2, 54, Pathfinder.d2r(345))
@@ -106,9 +99,12 @@ public class FollowTrajectoryFromFileTest {
 
         followTrajectoryFromFile.initialize();
 
+        Util.feedMotionProfiles(DriveBase.getInstance());
+
         new Verifications() {{
-            List<TrajectoryPoint[]> trajectories = new ArrayList<>();
-            bufferedTrajectoryPointStream.Write(withCapture(trajectories));
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
 
             assertEquals(15.0, trajectories.get(0)[1].headingDeg, 0.0);
             assertEquals(15.0, trajectories.get(1)[1].headingDeg, 0.0);
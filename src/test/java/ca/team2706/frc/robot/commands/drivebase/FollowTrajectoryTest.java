@@ -1,8 +1,7 @@
 package ca.team2706.frc.robot.commands.drivebase;
 
+import ca.team2706.frc.robot.subsystems.DriveBase;
 import com.ctre.phoenix.CTREJNIWrapper;
-import com.ctre.phoenix.motion.BuffTrajPointStreamJNI;
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
 import com.ctre.phoenix.motion.TrajectoryPoint;
 import com.ctre.phoenix.motorcontrol.SensorCollection;
 import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
@@ -56,12 +55,6 @@ public class FollowTrajectoryTest {
     @Mocked
     private Notifier notifier;
 
-    @Mocked
-    private BufferedTrajectoryPointStream bufferedTrajectoryPointStream;
-
-    @Mocked(stubOutClassInitialization = true)
-    private BuffTrajPointStreamJNI jni2;
-
     @Injectable
     private SensorCollection sensorCollection;
 
@@ -79,7 +72,7 @@ public class FollowTrajectoryTest {
      * Tests dual trajectory
      */
     @Test
-    public void testDualTrajectory() {
+    public void testDualTrajectory() throws ReflectiveOperationException {
         Trajectory trajectory = new Trajectory(new Trajectory.Segment[]{
                 new Trajectory.Segment(0.010, 0, 0, 0, 0, 2, 54, 0),
                 new Trajectory.Segment(0.010, 0, 0, 0, 3, 2, 54, Pathfinder.d2r(345))
@@ -89,9 +82,12 @@ public class FollowTrajectoryTest {
 
         followTrajectory.initialize();
 
+        Util.feedMotionProfiles(DriveBase.getInstance());
+
         new Verifications() {{
-            List<TrajectoryPoint[]> trajectories = new ArrayList<>();
-            bufferedTrajectoryPointStream.Write(withCapture(trajectories));
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
 
             assertEquals(15.0, trajectories.get(0)[1].headingDeg, 0.0);
             assertEquals(15.0, trajectories.get(1)[1].headingDeg, 0.0);
@@ -105,7 +101,7 @@ public class FollowTrajectoryTest {
      * Tests single trajectory
      */
     @Test
-    public void testSingleTrajectory() {
+    public void testSingleTrajectory() throws ReflectiveOperationException {
         Trajectory trajectory = new Trajectory(new Trajectory.Segment[]{
                 new Trajectory.Segment(0.010, 0, 0, 0, 0, 2, 54, 0),
                 new Trajectory.Segment(0.010, 0, 0, 0, 3, 2, 54, Pathfinder.d2r(345))
@@ -125,9 +121,12 @@ public class FollowTrajectoryTest {
 
         followTrajectory.initialize();
 
+        Util.feedMotionProfiles(DriveBase.getInstance());
+
         new Verifications() {{
-            List<TrajectoryPoint[]> trajectories = new ArrayList<>();
-            bufferedTrajectoryPointStream.Write(withCapture(trajectories));
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
 
             assertEquals(15.0, trajectories.get(0)[1].headingDeg, 0.0);
             assertEquals(15.0, trajectories.get(1)[1].headingDeg, 0.0);
@@ -2,8 +2,7 @@ package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.subsystems.DriveBase;
 import com.ctre.phoenix.CTREJNIWrapper;
-import com.ctre.phoenix.motion.BuffTrajPointStreamJNI;
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.SensorCollection;
 import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
@@ -53,9 +52,6 @@ public class MotionProfile2WheelTest {
     @Mocked
     private Notifier notifier;
 
-    @Mocked(stubOutClassInitialization = true)
-    private BuffTrajPointStreamJNI jni2;
-
     @Injectable
     private SensorCollection sensorCollection;
 
@@ -124,8 +120,9 @@ public class MotionProfile2WheelTest {
         motionProfile2Wheel.end();
 
         new Verifications() {{
-            talon.startMotionProfile((BufferedTrajectoryPointStream) any, 20, ControlMode.MotionProfileArc);
-            times = 2;
+            // Not enough points have been buffered to start moving
+            talon.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Disable.value);
+            times = 8;
             talon.feed();
             times = 6;
             talon.configClosedLoopPeakOutput(0, speed);
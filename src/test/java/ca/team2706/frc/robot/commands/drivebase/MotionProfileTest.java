@@ -2,8 +2,7 @@ package ca.team2706.frc.robot.commands.drivebase;
 
 import ca.team2706.frc.robot.subsystems.DriveBase;
 import com.ctre.phoenix.CTREJNIWrapper;
-import com.ctre.phoenix.motion.BuffTrajPointStreamJNI;
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FollowerType;
 import com.ctre.phoenix.motorcontrol.IMotorController;
@@ -55,9 +54,6 @@ public class MotionProfileTest {
     @Mocked
     private Notifier notifier;
 
-    @Mocked(stubOutClassInitialization = true)
-    private BuffTrajPointStreamJNI jni2;
-
     @Injectable
     private SensorCollection sensorCollection;
 
@@ -119,8 +115,9 @@ public class MotionProfileTest {
         motionProfile.end();
 
         new Verifications() {{
-            talon.startMotionProfile((BufferedTrajectoryPointStream) any, 20, ControlMode.MotionProfileArc);
-            times = 1;
+            // Not enough points have been buffered to start moving
+            talon.set(ControlMode.MotionProfileArc, SetValueMotionProfile.Disable.value);
+            times = 4;
             talon.feed();
             times = 3;
             talon.follow((IMotorController) any, FollowerType.AuxOutput1);
@@ -96,7 +96,7 @@ public class TankDriveTest {
 
         TankDrive tankDrive = new TankDrive(leftSpeed, rightSpeed, false, brake) {
             @Override
-            public boolean isFinished() {
+            public boolean isDone() {
                 return false;
             }
         };
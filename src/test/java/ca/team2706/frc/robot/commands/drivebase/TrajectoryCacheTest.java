@@ -0,0 +1,122 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.subsystems.TalonTrajectory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class TrajectoryCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.getRoot().toPath();
+
+        writeTrajectory("Short", 2);
+        writeTrajectory("Long", 50);
+    }
+
+    /**
+     * Tests that every trajectory in the directory is preloaded and only loaded once
+     */
+    @Test
+    public void testPreload() {
+        TrajectoryCache cache = new TrajectoryCache(directory);
+        cache.preload().join();
+
+        assertEquals(2, cache.getLoadedCount());
+
+        TalonTrajectory trajectory = cache.get("Long");
+        assertEquals(50, trajectory.size());
+        assertEquals(2, cache.get("Short").size());
+        assertSame(trajectory, cache.get("Long"));
+
+        assertEquals(3, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(2, cache.getLoadedCount());
+    }
+
+    /**
+     * Tests that a trajectory that wasn't preloaded is loaded when it is needed
+     *
+     * @throws IOException If the trajectory can't be written
+     */
+    @Test
+    public void testMiss() throws IOException {
+        TrajectoryCache cache = new TrajectoryCache(directory);
+        cache.preload().join();
+
+        writeTrajectory("Added", 10);
+
+        assertEquals(10, cache.get("Added").size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(3, cache.getLoadedCount());
+
+        cache.get("Added");
+        assertEquals(1, cache.getHits());
+    }
+
+    /**
+     * Tests that a trajectory that failed to load isn't kept, so that it is loaded again once the file is fixed
+     *
+     * @throws IOException If the trajectory can't be written
+     */
+    @Test
+    public void testFailedLoadIsRetried() throws IOException {
+        Files.write(directory.resolve("Broken" + TalonTrajectory.EXTENSION), new byte[]{1, 2, 3});
+
+        TrajectoryCache cache = new TrajectoryCache(directory);
+        cache.preload().join();
+
+        assertEquals(2, cache.getLoadedCount());
+        assertEquals(1, cache.getFailedCount());
+
+        try {
+            cache.get("Broken");
+            fail("Loaded a corrupt trajectory");
+        } catch (UncheckedIOException e) {
+            assertEquals(2, cache.getFailedCount());
+        }
+
+        writeTrajectory("Broken", 5);
+
+        assertEquals(5, cache.get("Broken").size());
+        assertEquals(3, cache.getLoadedCount());
+    }
+
+    /**
+     * Writes a straight binary trajectory to the test directory
+     *
+     * @param name The name of the trajectory
+     * @param size The number of points
+     * @throws IOException If the file can't be written
+     */
+    private void writeTrajectory(String name, int size) throws IOException {
+        double[] pos = new double[size];
+        double[] vel = new double[size];
+        int[] time = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            pos[i] = i * 0.1;
+            vel[i] = 1.0;
+            time[i] = 10;
+        }
+
+        TalonTrajectory.fromFeet(pos, vel, pos, vel, new double[size], time, size)
+                .writeTo(directory.resolve(name + TalonTrajectory.EXTENSION));
+    }
+}
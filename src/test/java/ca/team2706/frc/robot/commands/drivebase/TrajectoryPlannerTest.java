@@ -0,0 +1,120 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TrajectoryPlannerTest {
+
+    private TrajectoryPlanner planner;
+
+    /**
+     * Holds the planning thread until a test releases it
+     */
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        planner = new TrajectoryPlanner(2);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    /**
+     * Tests that a trajectory is planned on the planning thread and its latencies are recorded
+     */
+    @Test
+    public void testSubmit() {
+        Future<String> future = planner.submit("Test", () -> Thread.currentThread().getName());
+
+        assertEquals("Trajectory Planner", TrajectoryPlanner.await(future));
+        assertEquals(1, planner.getQueueLatency().getCount());
+        assertEquals(1, planner.getPlanningLatency().getCount());
+    }
+
+    /**
+     * Tests that a request cancelled while it is queued never runs and frees up its space in the queue
+     *
+     * @throws InterruptedException If the test is interrupted while waiting
+     */
+    @Test
+    public void testCancelQueued() throws InterruptedException {
+        CountDownLatch started = blockPlanner();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean ran = new AtomicBoolean();
+        Future<Boolean> cancelled = planner.submit("Cancelled", () -> ran.getAndSet(true));
+        planner.submit("Queued", () -> true);
+
+        assertTrue(cancelled.cancel(true));
+        assertEquals(1, planner.getCancelled());
+
+        // The cancelled request no longer takes up space
+        Future<Boolean> last = planner.submit("Last", () -> true);
+
+        release.countDown();
+        assertTrue(TrajectoryPlanner.await(last));
+        assertFalse(ran.get());
+    }
+
+    /**
+     * Tests that requests are rejected once the queue is full
+     *
+     * @throws InterruptedException If the test is interrupted while waiting
+     */
+    @Test
+    public void testRejectedWhenFull() throws InterruptedException {
+        CountDownLatch started = blockPlanner();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        planner.submit("First", () -> true);
+        planner.submit("Second", () -> true);
+
+        try {
+            planner.submit("Third", () -> true);
+            throw new AssertionError("Request should have been rejected");
+        } catch (RejectedExecutionException e) {
+            assertEquals(1, planner.getRejected());
+        }
+    }
+
+    /**
+     * Tests that an exception while planning is passed on to whoever waits for the trajectory
+     */
+    @Test(expected = ArithmeticException.class)
+    public void testPlanningFailure() {
+        TrajectoryPlanner.await(planner.submit("Failure", () -> {
+            throw new ArithmeticException();
+        }));
+    }
+
+    /**
+     * Submits a request that blocks the planning thread until {@link #release} is counted down
+     *
+     * @return A latch that is counted down once the planning thread is blocked
+     */
+    private CountDownLatch blockPlanner() {
+        CountDownLatch started = new CountDownLatch(1);
+
+        planner.submit("Blocking", () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        return started;
+    }
+}
@@ -0,0 +1,121 @@
+package ca.team2706.frc.robot.commands.drivebase;
+
+import ca.team2706.frc.robot.config.Config;
+import jaci.pathfinder.Pathfinder;
+import jaci.pathfinder.Trajectory;
+import jaci.pathfinder.Waypoint;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VisionTrajectoryGeneratorTest {
+
+    private final VisionTrajectoryGenerator generator = new VisionTrajectoryGenerator();
+
+    private final Trajectory.Config config = VisionTrajectoryReport.getVisionConfig();
+
+    private final Waypoint start = new Waypoint(0, 0, Pathfinder.d2r(90));
+
+    /**
+     * Tests that the trajectory starts and stops at rest and ends exactly at the final waypoint
+     */
+    @Test
+    public void testEndPoints() {
+        Waypoint end = VisionTrajectoryReport.getEnd(8.0, -20.0, 30.0);
+        Trajectory trajectory = generator.generate(start, end, config);
+
+        Trajectory.Segment first = trajectory.segments[0];
+        Trajectory.Segment last = trajectory.segments[trajectory.length() - 1];
+
+        assertEquals(0.0, first.x, 0.01);
+        assertEquals(0.0, first.y, 0.01);
+        assertEquals(Pathfinder.d2r(90), first.heading, 0.01);
+
+        assertEquals(end.x, last.x, 1e-6);
+        assertEquals(end.y, last.y, 1e-6);
+        assertEquals(end.angle, last.heading, 1e-6);
+        assertEquals(0.0, last.velocity, 1e-6);
+
+        for (int i = 1; i < trajectory.length(); i++) {
+            assertTrue(trajectory.segments[i].position >= trajectory.segments[i - 1].position);
+            assertTrue(trajectory.segments[i].velocity <= config.max_velocity + 1e-6);
+        }
+
+        assertEquals(1, generator.getGeneratedCount());
+        assertEquals(0, generator.getFallbackCount());
+    }
+
+    /**
+     * Tests that the trajectories follow the same path as Pathfinder across the vision envelope
+     */
+    @Test
+    public void testMatchesPathfinder() {
+        final double[] distances = {Config.VISION_DISTANCE_MIN.value(), 3.0, 10.0, Config.VISION_DISTANCE_MAX.value()};
+
+        for (double distance : distances) {
+            for (double bearing = -VisionTrajectoryReport.MAX_BEARING; bearing <= VisionTrajectoryReport.MAX_BEARING; bearing += 15) {
+                for (double turn = -VisionTrajectoryReport.MAX_TURN; turn <= VisionTrajectoryReport.MAX_TURN; turn += 15) {
+                    Waypoint end = VisionTrajectoryReport.getEnd(distance, bearing, turn);
+
+                    Trajectory trajectory = generator.generate(start, end, config);
+                    Trajectory reference = Pathfinder.generate(new Waypoint[]{start, end}, config);
+
+                    assertEquals(0.0, VisionTrajectoryReport.getPathError(reference, trajectory), 0.05);
+                    assertEquals(0.0, VisionTrajectoryReport.getEndError(trajectory, reference),
+                            config.max_velocity * config.dt + 0.05);
+
+                    // The points are too far apart on the shortest paths to compare headings between them
+                    if (distance >= 3.0) {
+                        assertEquals(0.0, VisionTrajectoryReport.getHeadingError(reference, trajectory), Pathfinder.d2r(2.0));
+                    }
+                }
+            }
+        }
+
+        assertEquals(0, generator.getFallbackCount());
+    }
+
+    /**
+     * Tests that a trajectory re-planned from a point on another trajectory to the same final waypoint
+     * continues on the same way
+     */
+    @Test
+    public void testStartVelocity() {
+        Waypoint end = VisionTrajectoryReport.getEnd(8.0, -10.0, 20.0);
+        Trajectory trajectory = generator.generate(start, end, config);
+
+        for (int i = 10; i < trajectory.length() - 5; i += 20) {
+            Trajectory.Segment from = trajectory.segments[i - 1];
+            Trajectory tail = generator.generate(new Waypoint(from.x, from.y, from.heading), end, config, from.velocity);
+
+            assertEquals(trajectory.length() - i, tail.length());
+            for (int j = 0; j < tail.length(); j++) {
+                Trajectory.Segment expected = trajectory.segments[i + j];
+                assertEquals(expected.x, tail.segments[j].x, 0.01);
+                assertEquals(expected.y, tail.segments[j].y, 0.01);
+                assertEquals(expected.velocity, tail.segments[j].velocity, 0.01);
+            }
+        }
+
+        // The robot can't stop in time from full speed
+        assertNull(generator.generate(start, VisionTrajectoryReport.getEnd(0.1, 0.0, 0.0), config, config.max_velocity));
+    }
+
+    /**
+     * Tests that a trajectory that the table doesn't cover is generated by Pathfinder
+     */
+    @Test
+    public void testFallback() {
+        Trajectory.Config quintic = new Trajectory.Config(Trajectory.FitMethod.HERMITE_QUINTIC, config.sample_count,
+                config.dt, config.max_velocity, config.max_acceleration, config.max_jerk);
+        Waypoint end = VisionTrajectoryReport.getEnd(5.0, 0.0, 0.0);
+        Trajectory trajectory = generator.generate(start, end, quintic);
+
+        assertEquals(1, generator.getFallbackCount());
+        assertEquals(0, generator.getGeneratedCount());
+        assertEquals(end.x, trajectory.segments[trajectory.length() - 1].x, 0.3);
+        assertEquals(end.y, trajectory.segments[trajectory.length() - 1].y, 0.3);
+    }
+}
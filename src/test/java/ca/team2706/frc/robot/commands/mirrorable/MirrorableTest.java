@@ -32,7 +32,7 @@ public class MirrorableTest {
     private MirroredCommand newMirroredCommand() {
         return new MirroredCommand() {
             @Override
-            protected boolean isFinished() {
+            protected boolean isDone() {
                 return false;
             }
         };
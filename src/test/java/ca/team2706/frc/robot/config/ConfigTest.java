@@ -20,20 +20,22 @@ import mockit.Expectations;
 import mockit.Injectable;
 import mockit.Mocked;
 import mockit.Verifications;
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import util.Util;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -44,9 +46,6 @@ public class ConfigTest {
     @Injectable
     private BufferedReader reader;
 
-    @Injectable
-    private BufferedWriter writer;
-
     @Mocked
     private Files files;
 
@@ -109,6 +108,9 @@ public class ConfigTest {
     @Mocked
     private DriverStation driverStation;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void setUp() throws Exception {
         // Only set up everything once, making this more of an integration test.
@@ -147,6 +149,11 @@ public class ConfigTest {
         }
     }
 
+    @After
+    public void tearDown() {
+        Config.setJournal(null);
+    }
+
 
     private static class FakeFluidConstant extends FluidConstant<String> {
         private boolean ntEntryAdded;
@@ -206,20 +213,13 @@ public class ConfigTest {
      * Tests to ensure that fluid constants are saved to file when disabling the robot.
      */
     @Test
-    public void testSaveConstants() throws IOException, NoSuchFieldException, IllegalAccessException {
-        Field configSaveLocField = Config.class.getDeclaredField("SAVE_FILE");
-        configSaveLocField.setAccessible(true);
-        final Path saveFileLoc = (Path) configSaveLocField.get(null);
-
-        new Expectations() {{
-            Files.newBufferedWriter(saveFileLoc);
-            result = writer;
-        }};
-
+    @SuppressWarnings("unchecked")
+    public void testSaveConstants(@Mocked ConstantJournal journal) {
+        Config.setJournal(new ConstantJournal(folder.getRoot().toPath().resolve("FluidConstants.journal")));
         robot.disabledInit();
 
         new Verifications() {{
-            writer.write(withSubstring("Deployed: "));
+            journal.save((List<FluidConstant<?>>) any);
             times = 1;
         }};
     }
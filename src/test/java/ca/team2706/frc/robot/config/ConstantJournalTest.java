@@ -0,0 +1,151 @@
+package ca.team2706.frc.robot.config;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConstantJournalTest {
+
+    private Path directory;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("constants");
+        file = directory.resolve("FluidConstants.journal");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that saved values of every type are restored by a new journal, as they would be after a reboot
+     */
+    @Test
+    public void testRestoresSavedValues() {
+        final DoubleFluidConstant doubleConstant = new DoubleFluidConstant("double", 1.5);
+        final IntFluidConstant intConstant = new IntFluidConstant("int", 3);
+        final BooleanFluidConstant booleanConstant = new BooleanFluidConstant("boolean", false);
+        final FluidConstant<String> stringConstant = new FluidConstant<>("string", "a");
+
+        doubleConstant.store(2.5);
+        intConstant.store(4);
+        booleanConstant.store(true);
+        stringConstant.store("b");
+        new ConstantJournal(file).save(List.of(doubleConstant, intConstant, booleanConstant, stringConstant));
+
+        final DoubleFluidConstant newDouble = new DoubleFluidConstant("double", 1.5);
+        final IntFluidConstant newInt = new IntFluidConstant("int", 3);
+        final BooleanFluidConstant newBoolean = new BooleanFluidConstant("boolean", false);
+        final FluidConstant<String> newString = new FluidConstant<>("string", "a");
+        new ConstantJournal(file).restore(List.of(newDouble, newInt, newBoolean, newString));
+
+        assertEquals(2.5, newDouble.getAsDouble(), 0.0);
+        assertEquals(4, newInt.getAsInt());
+        assertTrue(newBoolean.getAsBoolean());
+        assertEquals("b", newString.value());
+    }
+
+    /**
+     * Tests that a saved value isn't restored once a different value has been deployed
+     */
+    @Test
+    public void testKeepsNewDeployedValue() {
+        final DoubleFluidConstant constant = new DoubleFluidConstant("double", 1.0);
+        constant.store(2.0);
+        new ConstantJournal(file).save(List.of(constant));
+
+        final DoubleFluidConstant redeployed = new DoubleFluidConstant("double", 5.0);
+        new ConstantJournal(file).restore(List.of(redeployed));
+
+        assertEquals(5.0, redeployed.getAsDouble(), 0.0);
+    }
+
+    /**
+     * Tests that only the constants that changed are appended
+     */
+    @Test
+    public void testAppendsOnlyChanges() throws IOException {
+        final DoubleFluidConstant first = new DoubleFluidConstant("first", 1.0);
+        final DoubleFluidConstant second = new DoubleFluidConstant("second", 2.0);
+        final ConstantJournal journal = new ConstantJournal(file);
+
+        journal.save(List.of(first, second));
+        assertEquals(2, journal.getRecords());
+        final long size = Files.size(file);
+
+        journal.save(List.of(first, second));
+        assertEquals(size, Files.size(file));
+
+        second.store(3.0);
+        journal.save(List.of(first, second));
+        assertEquals(3, journal.getRecords());
+        assertTrue(Files.size(file) > size);
+    }
+
+    /**
+     * Tests that a record cut off by the power going out is ignored and replaced by the next save
+     */
+    @Test
+    public void testTornRecordIsIgnored() throws IOException {
+        final DoubleFluidConstant constant = new DoubleFluidConstant("double", 1.0);
+        constant.store(2.0);
+        new ConstantJournal(file).save(List.of(constant));
+
+        // Half of a record, as if the power was cut while it was being written
+        Files.write(file, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        final DoubleFluidConstant restored = new DoubleFluidConstant("double", 1.0);
+        final ConstantJournal journal = new ConstantJournal(file);
+        journal.restore(List.of(restored));
+        assertEquals(2.0, restored.getAsDouble(), 0.0);
+
+        restored.store(3.0);
+        journal.save(List.of(restored));
+
+        final DoubleFluidConstant afterReboot = new DoubleFluidConstant("double", 1.0);
+        new ConstantJournal(file).restore(List.of(afterReboot));
+        assertEquals(3.0, afterReboot.getAsDouble(), 0.0);
+    }
+
+    /**
+     * Tests that compacting leaves one record per constant with the latest values
+     */
+    @Test
+    public void testCompact() throws IOException {
+        final DoubleFluidConstant constant = new DoubleFluidConstant("double", 0.0);
+        final ConstantJournal journal = new ConstantJournal(file);
+
+        for (int i = 1; i <= ConstantJournal.COMPACT_RATIO; i++) {
+            constant.store((double) i);
+            journal.save(List.of(constant));
+        }
+
+        final long size = Files.size(file);
+        journal.compact();
+
+        assertEquals(1, journal.getRecords());
+        assertTrue(Files.size(file) < size);
+        assertFalse(Files.exists(directory.resolve("FluidConstants.journal.tmp")));
+
+        final DoubleFluidConstant restored = new DoubleFluidConstant("double", 0.0);
+        new ConstantJournal(file).restore(List.of(restored));
+        assertEquals(ConstantJournal.COMPACT_RATIO, restored.getAsDouble(), 0.0);
+    }
+}
@@ -11,6 +11,7 @@ import edu.wpi.first.cameraserver.CameraServer;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.NetworkTableValue;
 import edu.wpi.first.wpilibj.*;
 import edu.wpi.first.wpilibj.drive.DifferentialDrive;
 import edu.wpi.first.wpilibj.livewindow.LiveWindow;
@@ -24,8 +25,11 @@ import util.Util;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class FluidConstantTest {
     // We'll just use a string fluid constant to test.
@@ -178,4 +182,104 @@ public class FluidConstantTest {
 
         assertEquals(2, callCount[0]);
     }
+
+    /**
+     * Ensures that changing a constant publishes a new snapshot and leaves the old one as it was.
+     */
+    @Test
+    public void testSnapshotPublishedOnChange() {
+        new Expectations() {{
+            driverStation.isDisabled();
+            result = true;
+        }};
+
+        final double originalValue = Config.CURVE_ADJUSTMENT.value();
+        final FluidSnapshot before = Config.getSnapshot();
+
+        Config.CURVE_ADJUSTMENT.setValue(originalValue + 1);
+        final FluidSnapshot after = Config.getSnapshot();
+
+        Config.CURVE_ADJUSTMENT.setValue(originalValue);
+
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(originalValue, before.get(Config.CURVE_ADJUSTMENT), 0.0);
+        assertEquals(originalValue + 1, after.get(Config.CURVE_ADJUSTMENT), 0.0);
+        assertEquals(originalValue, Config.getSnapshot().get(Config.CURVE_ADJUSTMENT), 0.0);
+    }
+
+    /**
+     * Ensures that changes from NetworkTables notify the listeners once on the robot thread.
+     */
+    @Test
+    public void testNetworkTablesChangesAreBatched() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        new Expectations() {{
+            driverStation.isDisabled();
+            result = true;
+        }};
+
+        final double originalValue = Config.CURVE_ADJUSTMENT.value();
+        final int[] callCount = {0};
+        final double[] notifiedValue = {0};
+        Config.CURVE_ADJUSTMENT.addChangeListener((oldValue, newValue) -> {
+            callCount[0]++;
+            notifiedValue[0] = newValue;
+        });
+
+        final Method setFromNetworkTables = FluidConstant.class.getDeclaredMethod("setValue", NetworkTableValue.class);
+        setFromNetworkTables.setAccessible(true);
+        setFromNetworkTables.invoke(Config.CURVE_ADJUSTMENT, NetworkTableValue.makeDouble(originalValue + 1));
+        setFromNetworkTables.invoke(Config.CURVE_ADJUSTMENT, NetworkTableValue.makeDouble(originalValue + 2));
+
+        assertEquals(originalValue + 2, Config.CURVE_ADJUSTMENT.value(), 0.0);
+        assertEquals(0, callCount[0]);
+
+        Config.dispatchChanges();
+        Config.dispatchChanges();
+
+        assertEquals(1, callCount[0]);
+        assertEquals(originalValue + 2, notifiedValue[0], 0.0);
+
+        Config.CURVE_ADJUSTMENT.setValue(originalValue);
+    }
+
+    /**
+     * Ensures that the primitive constants keep their primitive value in sync, including numbers from NetworkTables.
+     */
+    @Test
+    public void testPrimitiveConstants() throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        new Expectations() {{
+            driverStation.isDisabled();
+            result = true;
+        }};
+
+        final IntFluidConstant intConstant = new IntFluidConstant("Test Int", 3);
+        final int[] notifiedValues = {0, 0};
+        intConstant.addIntChangeListener((oldValue, newValue) -> {
+            notifiedValues[0] = oldValue;
+            notifiedValues[1] = newValue;
+        });
+
+        intConstant.setValue(5);
+        assertEquals(5, intConstant.getAsInt());
+        assertEquals(Integer.valueOf(5), intConstant.value());
+        assertEquals(3, notifiedValues[0]);
+        assertEquals(5, notifiedValues[1]);
+
+        // NetworkTables only has doubles
+        final Method setFromNetworkTables = FluidConstant.class.getDeclaredMethod("setValue", NetworkTableValue.class);
+        setFromNetworkTables.setAccessible(true);
+        setFromNetworkTables.invoke(intConstant, NetworkTableValue.makeDouble(7.0));
+
+        assertEquals(7, intConstant.getAsInt());
+        assertEquals(Integer.valueOf(7), intConstant.value());
+
+        final DoubleFluidConstant doubleConstant = new DoubleFluidConstant("Test Double", 0.5);
+        doubleConstant.setValue(1.5);
+        assertEquals(1.5, doubleConstant.getAsDouble(), 0.0);
+
+        final BooleanFluidConstant booleanConstant = new BooleanFluidConstant("Test Boolean", false);
+        booleanConstant.setValue(true);
+        assertTrue(booleanConstant.getAsBoolean());
+        assertEquals("Test Boolean Deployed: false || Current: true", booleanConstant.toFileString());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package ca.team2706.frc.robot.input;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.GenericHID;
+import mockit.Expectations;
+import mockit.Injectable;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ControllerSnapshotTest {
+
+    @Injectable
+    private GenericHID controller;
+
+    @Mocked
+    private DriverStation driverStation;
+
+    /**
+     * Tests that each controller only has one snapshot
+     */
+    @Test
+    public void testOneSnapshotPerController() {
+        final ControllerSnapshot snapshot = ControllerSnapshot.of(controller);
+
+        assertSame(snapshot, ControllerSnapshot.of(controller));
+        assertSame(controller, snapshot.getController());
+    }
+
+    /**
+     * Tests that the controller is read directly until the snapshot is refreshed
+     */
+    @Test
+    public void testReadsDirectlyBeforeRefresh() {
+        new Expectations() {{
+            controller.getRawButton(2);
+            returns(true, false);
+            controller.getRawAxis(1);
+            result = 0.5;
+            controller.getPOV(FluidButton.POV_NUMBER);
+            result = 90;
+        }};
+
+        final ControllerSnapshot snapshot = ControllerSnapshot.of(controller);
+
+        assertTrue(snapshot.getRawButton(2));
+        assertFalse(snapshot.getRawButton(2));
+        assertEquals(0.5, snapshot.getRawAxis(1), 0.0);
+        assertEquals(90, snapshot.getPOV());
+    }
+
+    /**
+     * Tests that a refresh reads every input once, with every button in one read of the driver station, and that reads
+     * come from the snapshot afterwards
+     */
+    @Test
+    public void testReadsOncePerRefresh() {
+        new Expectations() {{
+            controller.getAxisCount();
+            result = 6;
+            controller.getButtonCount();
+            result = 10;
+            controller.getPOVCount();
+            result = 1;
+
+            controller.getRawAxis(anyInt);
+            result = 0;
+            controller.getRawAxis(2);
+            result = -0.75;
+            driverStation.getStickButtons(anyInt);
+            result = 1 << 9;
+            controller.getPOV(FluidButton.POV_NUMBER);
+            result = 225;
+        }};
+
+        final ControllerSnapshot snapshot = ControllerSnapshot.of(controller);
+        snapshot.refresh();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(-0.75, snapshot.getRawAxis(2), 0.0);
+            assertEquals(0, snapshot.getRawAxis(0), 0.0);
+            assertTrue(snapshot.getRawButton(10));
+            assertFalse(snapshot.getRawButton(1));
+            assertEquals(225, snapshot.getPOV());
+        }
+
+        // Inputs that the controller doesn't have
+        assertEquals(0, snapshot.getRawAxis(6), 0.0);
+        assertFalse(snapshot.getRawButton(0));
+        assertFalse(snapshot.getRawButton(11));
+
+        new Verifications() {{
+            controller.getRawAxis(anyInt);
+            times = 6;
+            driverStation.getStickButtons(anyInt);
+            times = 1;
+            controller.getRawButton(anyInt);
+            times = 0;
+            controller.getPOV(anyInt);
+            times = 1;
+        }};
+    }
+
+    /**
+     * Tests that the controller is read directly again once the snapshot is invalidated
+     */
+    @Test
+    public void testInvalidate() {
+        new Expectations() {{
+            controller.getButtonCount();
+            result = 10;
+            driverStation.getStickButtons(anyInt);
+            result = 1;
+            controller.getRawButton(1);
+            result = false;
+        }};
+
+        final ControllerSnapshot snapshot = ControllerSnapshot.of(controller);
+        snapshot.refresh();
+
+        assertTrue(snapshot.getRawButton(1));
+
+        ControllerSnapshot.invalidateAll();
+
+        assertFalse(snapshot.getRawButton(1));
+    }
+
+    /**
+     * Tests that a controller without a POV reads as not pressed
+     */
+    @Test
+    public void testNoPOV() {
+        new Expectations() {{
+            controller.getPOVCount();
+            result = 0;
+        }};
+
+        final ControllerSnapshot snapshot = ControllerSnapshot.of(controller);
+        snapshot.refresh();
+
+        assertEquals(-1, snapshot.getPOV());
+
+        new Verifications() {{
+            controller.getPOV(anyInt);
+            times = 0;
+        }};
+    }
+}
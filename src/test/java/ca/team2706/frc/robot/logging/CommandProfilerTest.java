@@ -0,0 +1,56 @@
+package ca.team2706.frc.robot.logging;
+
+import org.junit.Before;
+import org.junit.Test;
+import util.Util;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class CommandProfilerTest {
+
+    private CommandProfiler profiler;
+
+    @Before
+    public void setUp() throws NoSuchFieldException, IllegalAccessException {
+        Util.resetSubsystems();
+        profiler = CommandProfiler.getInstance();
+    }
+
+    /**
+     * Tests that commands of the same class share their timings
+     */
+    @Test
+    public void testStatsByClass() {
+        assertSame(profiler.getStats(String.class), profiler.getStats(String.class));
+        assertEquals("Integer", profiler.getStats(Integer.class).getName());
+    }
+
+    /**
+     * Tests that commands are ranked by the total time that they took and that ones that didn't run are left out
+     */
+    @Test
+    public void testRanking() {
+        final CommandProfiler.Stats once = profiler.getStats(String.class);
+        final CommandProfiler.Stats often = profiler.getStats(Integer.class);
+        profiler.getStats(Double.class);
+
+        once.getExecute().record(5_000_000);
+        once.getInitialize().record(1_000_000);
+
+        for (int i = 0; i < 10; i++) {
+            often.getExecute().record(1_000_000);
+        }
+
+        final List<CommandProfiler.Stats> ranked = profiler.getRanked();
+        assertEquals(2, ranked.size());
+        assertSame(often, ranked.get(0));
+        assertSame(once, ranked.get(1));
+        assertEquals(0.006, once.getTotalTime(), 1e-9);
+
+        profiler.reset();
+        assertEquals(0, profiler.getRanked().size());
+    }
+}
@@ -0,0 +1,63 @@
+package ca.team2706.frc.robot.logging;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatencyHistogramTest {
+
+    /**
+     * Tests that percentiles are within a bucket of the real latency
+     */
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(0.0505, histogram.getMean(), 1e-9);
+        assertEquals(0.1, histogram.getMax(), 0.0);
+
+        assertEquals(0.050, histogram.getPercentile(50), 0.050 * 0.125);
+        assertEquals(0.090, histogram.getPercentile(90), 0.090 * 0.125);
+        assertEquals(0.099, histogram.getPercentile(99), 0.099 * 0.125);
+        assertEquals(0.1, histogram.getPercentile(100), 0.0);
+    }
+
+    /**
+     * Tests that short latencies are counted to the microsecond
+     */
+    @Test
+    public void testShortLatencies() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(1_000);
+        histogram.record(2_000);
+        histogram.record(3_000);
+        histogram.record(-5);
+
+        assertEquals(2e-6, histogram.getPercentile(50), 1e-12);
+        assertEquals(3e-6, histogram.getPercentile(100), 1e-12);
+    }
+
+    /**
+     * Tests that latencies past the last bucket are still counted
+     */
+    @Test
+    public void testLongLatencies() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(1_000_000L);
+        histogram.record(500_000_000_000L);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(500, histogram.getPercentile(99), 0.0);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50), 0.0);
+    }
+}
@@ -0,0 +1,97 @@
+package ca.team2706.frc.robot.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URISyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LogQueuePolicyTest {
+
+    /**
+     * The size of the async queue, from log4j2.component.properties
+     */
+    private static final int RING_SIZE = 4096;
+
+    /**
+     * How many events are logged while the disk is stalled, enough to fill the queue several times
+     */
+    private static final int EVENTS = 5 * RING_SIZE;
+
+    private LogQueuePolicy policy;
+
+    @Before
+    public void setUp() {
+        policy = new LogQueuePolicy();
+    }
+
+    /**
+     * Tests that debug and trace events are dropped when the queue is full
+     */
+    @Test
+    public void testDropsDebugAndTrace() {
+        final long dropped = LogQueuePolicy.getDropped();
+        final long otherThread = Thread.currentThread().getId() + 1;
+
+        assertEquals(EventRoute.DISCARD, policy.getRoute(otherThread, Level.DEBUG));
+        assertEquals(EventRoute.DISCARD, policy.getRoute(otherThread, Level.TRACE));
+        assertEquals(dropped + 2, LogQueuePolicy.getDropped());
+    }
+
+    /**
+     * Tests that more important events wait for space instead of being dropped
+     */
+    @Test
+    public void testKeepsImportantEvents() {
+        final long dropped = LogQueuePolicy.getDropped();
+        final long blocked = LogQueuePolicy.getBlocked();
+        final long otherThread = Thread.currentThread().getId() + 1;
+
+        assertEquals(EventRoute.ENQUEUE, policy.getRoute(otherThread, Level.INFO));
+        assertEquals(EventRoute.ENQUEUE, policy.getRoute(otherThread, Level.WARN));
+        assertEquals(EventRoute.ENQUEUE, policy.getRoute(otherThread, Level.ERROR));
+        assertEquals(EventRoute.SYNCHRONOUS, policy.getRoute(Thread.currentThread().getId(), Level.ERROR));
+
+        assertEquals(dropped, LogQueuePolicy.getDropped());
+        assertEquals(blocked + 4, LogQueuePolicy.getBlocked());
+    }
+
+    /**
+     * Tests that debug logging carries on without waiting when the disk stops responding, and that every event that
+     * wasn't dropped is written once the disk recovers
+     */
+    @Test(timeout = 10_000)
+    public void testStalledDisk() throws URISyntaxException {
+        final LoggerContext ctx = new LoggerContext("stress", null,
+                getClass().getResource("/log4j2-stress.xml").toURI());
+
+        SlowDiskAppender.stall();
+        ctx.start();
+
+        final long dropped = LogQueuePolicy.getDropped();
+        final long written = SlowDiskAppender.getWritten();
+
+        try {
+            final Logger logger = ctx.getLogger("stress");
+
+            // Would never return if a full queue made debug logging wait for the disk
+            for (int i = 0; i < EVENTS; i++) {
+                logger.debug("Event {}", i);
+            }
+
+            // The queue and the event stuck on the disk are the only ones that aren't dropped
+            assertTrue(LogQueuePolicy.getDropped() - dropped >= EVENTS - RING_SIZE - 1);
+        } finally {
+            SlowDiskAppender.unstall();
+            ctx.stop();
+        }
+
+        assertEquals(EVENTS, SlowDiskAppender.getWritten() - written + LogQueuePolicy.getDropped() - dropped);
+    }
+}
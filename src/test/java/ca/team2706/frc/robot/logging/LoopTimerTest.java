@@ -0,0 +1,93 @@
+package ca.team2706.frc.robot.logging;
+
+import org.junit.Before;
+import org.junit.Test;
+import util.Util;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoopTimerTest {
+
+    private LoopTimer loopTimer;
+
+    @Before
+    public void setUp() throws NoSuchFieldException, IllegalAccessException {
+        Util.resetSubsystems();
+        loopTimer = LoopTimer.getInstance();
+    }
+
+    /**
+     * Tests that the phase that took the longest in a loop that overran is blamed for it
+     */
+    @Test
+    public void testOffenders() throws InterruptedException {
+        final LoopTimer.Phase fast = loopTimer.addPhase("fast");
+        final LoopTimer.Phase slow = loopTimer.addPhase("slow");
+
+        loopTimer.startLoop();
+        fast.record(1_000_000);
+        slow.start();
+        Thread.sleep(30);
+        slow.stop();
+        loopTimer.startRobotPeriodic();
+        loopTimer.endLoop();
+
+        loopTimer.startLoop();
+        fast.record(1_000_000);
+        loopTimer.startRobotPeriodic();
+        loopTimer.endLoop();
+
+        assertEquals(1, loopTimer.getOverruns());
+        assertEquals(2, loopTimer.getLoopTime().getCount());
+        assertEquals(1, slow.getOffences());
+        assertEquals(0, fast.getOffences());
+
+        final List<LoopTimer.Phase> offenders = loopTimer.getTopOffenders(2);
+        assertEquals(2, offenders.size());
+        assertEquals(slow, offenders.get(0));
+        assertEquals(2, fast.getHistogram().getCount());
+
+        loopTimer.reset();
+        assertEquals(0, loopTimer.getOverruns());
+        assertEquals(0, slow.getOffences());
+        assertEquals(0, slow.getHistogram().getCount());
+    }
+
+    /**
+     * Tests that the time in the scheduler that isn't timed by other phases is counted as commands
+     */
+    @Test
+    public void testCommands() throws InterruptedException {
+        final LoopTimer.Phase subsystem = loopTimer.addPhase("subsystem");
+        final LoopTimer.Phase commands = getPhase("Commands");
+
+        loopTimer.startLoop();
+        loopTimer.startScheduler();
+        subsystem.start();
+        Thread.sleep(20);
+        subsystem.stop();
+        loopTimer.endScheduler();
+
+        assertTrue(commands.getHistogram().getMax() < 0.01);
+
+        loopTimer.startScheduler();
+        Thread.sleep(20);
+        loopTimer.endScheduler();
+
+        assertTrue(commands.getHistogram().getMax() >= 0.02);
+        assertEquals(2, getPhase("Scheduler").getHistogram().getCount());
+    }
+
+    /**
+     * Finds one of the loop timer's phases
+     *
+     * @param name The name of the phase
+     * @return The phase
+     */
+    private LoopTimer.Phase getPhase(String name) {
+        return loopTimer.getPhases().stream().filter(phase -> phase.getName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,288 @@
+package ca.team2706.frc.robot.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RotatingFileAppenderTest {
+
+    /**
+     * How many lines are written before rotating, about 10 MB
+     */
+    private static final int LINES = 100_000;
+
+    /**
+     * How long the logging thread is held up renaming the file
+     */
+    private static final long RENAME_MILLIS = 1000;
+
+    /**
+     * How many events are logged while the file is being renamed, fewer than fit in the async queue
+     */
+    private static final int EVENTS = 1000;
+
+    private Path directory;
+    private Path latest;
+    private Path match;
+
+    private RotatingFileAppender appender;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logs");
+        latest = directory.resolve("latest.log");
+        match = directory.resolve("match.log");
+
+        appender = new RotatingFileAppender("Test", latest,
+                PatternLayout.newBuilder().withPattern("%m%n").build(), null, false);
+        appender.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        appender.stop();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Tests that logging through the robot's async logger doesn't wait for the logging thread while it renames the
+     * log file
+     */
+    @Test(timeout = 10_000)
+    public void testRotationDoesNotStall() throws InterruptedException {
+        final LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+        final RotatingFileAppender fileAppender = ctx.getConfiguration().getAppender(Log.FILE_APPENDER);
+        final Path original = fileAppender.getFile();
+
+        // Holding the appender makes the logging thread wait to rotate, like a slow rename on a USB stick
+        final CountDownLatch renaming = new CountDownLatch(1);
+        final Thread slowRename = new Thread(() -> {
+            synchronized (fileAppender) {
+                renaming.countDown();
+                try {
+                    Thread.sleep(RENAME_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        try {
+            slowRename.start();
+            renaming.await();
+
+            fileAppender.rotateTo(match);
+
+            final long enqueued = Log.getEnqueued();
+            long worst = 0;
+
+            for (int i = 0; i < EVENTS; i++) {
+                final long start = System.nanoTime();
+                Log.i("Logging while the log file is renamed {}", i);
+                worst = Math.max(worst, System.nanoTime() - start);
+            }
+
+            // Every event went to the logging thread while it was still renaming
+            assertTrue(slowRename.isAlive());
+            assertTrue(Log.getEnqueued() - enqueued >= EVENTS);
+            assertTrue("Log.i stalled for " + worst + "ns",
+                    worst < TimeUnit.MILLISECONDS.toNanos(RENAME_MILLIS / 10));
+
+            slowRename.join();
+            awaitFile(fileAppender, match);
+        } finally {
+            slowRename.join();
+            fileAppender.rotateTo(original);
+            Log.i("Renamed the log file back after testing rotation");
+            awaitFile(fileAppender, original);
+        }
+    }
+
+    /**
+     * Tests that every line that was written before and after rotating a large log ends up in the new file
+     */
+    @Test
+    public void testRotationKeepsEveryLine() throws IOException {
+        for (int i = 0; i < LINES; i++) {
+            appender.append(event(String.format("%-90s", "line " + i), i % 1000 == 999));
+        }
+
+        appender.rotateTo(match);
+        assertTrue(Files.exists(latest));
+
+        // The logging thread renames the file with the next event
+        appender.append(event("after rotation", true));
+        appender.stop();
+
+        assertFalse(Files.exists(latest));
+        assertEquals(match, appender.getFile());
+
+        List<String> lines = Files.readAllLines(match);
+        assertEquals(LINES + 1, lines.size());
+        assertEquals("line 0", lines.get(0).trim());
+        assertEquals("after rotation", lines.get(LINES));
+    }
+
+    /**
+     * Tests that rotating before anything is logged starts the log in the new file
+     */
+    @Test
+    public void testRotateBeforeOpen() throws IOException {
+        appender.rotateTo(match);
+        appender.append(event("first", true));
+        appender.stop();
+
+        assertFalse(Files.exists(latest));
+        assertEquals(List.of("first"), Files.readAllLines(match));
+    }
+
+    /**
+     * Tests that a segmented log starts a new segment after each window and indexes the segments and states
+     */
+    @Test
+    public void testSegmentsAndIndex() throws IOException {
+        final RotatingFileAppender segmented = segmentedAppender();
+
+        segmented.append(event("start", 0, null));
+        segmented.append(event("auto", 500, stateMarker("AUTONOMOUS")));
+        segmented.append(event("teleop", 1500, stateMarker("TELEOP")));
+        segmented.append(event("end", 1600, null));
+        segmented.stop();
+
+        assertEquals("start\nauto\n", readSegment(RotatingFileAppender.segmentFile(latest, 0)));
+        assertEquals("teleop\nend\n", readSegment(RotatingFileAppender.segmentFile(latest, 1)));
+        assertEquals(List.of("0\tSEGMENT\t0\t0", "500\tAUTONOMOUS\t0\t6", "1500\tSEGMENT\t1\t0", "1500\tTELEOP\t1\t0"),
+                Files.readAllLines(RotatingFileAppender.indexFile(latest)));
+    }
+
+    /**
+     * Tests that rotating a segmented log renames every segment and the index
+     */
+    @Test
+    public void testSegmentedRotation() throws IOException {
+        final RotatingFileAppender segmented = segmentedAppender();
+
+        segmented.append(event("before", 0, null));
+        segmented.rotateTo(match);
+        segmented.append(event("after", 100, stateMarker("TELEOP")));
+        segmented.stop();
+
+        assertFalse(Files.exists(RotatingFileAppender.segmentFile(latest, 0)));
+        assertFalse(Files.exists(RotatingFileAppender.indexFile(latest)));
+
+        assertEquals("before\n", readSegment(RotatingFileAppender.segmentFile(match, 0)));
+        assertEquals("after\n", readSegment(RotatingFileAppender.segmentFile(match, 1)));
+        assertEquals(List.of("0\tSEGMENT\t0\t0", "100\tSEGMENT\t1\t0", "100\tTELEOP\t1\t0"),
+                Files.readAllLines(RotatingFileAppender.indexFile(match)));
+    }
+
+    /**
+     * Waits for the logging thread to rename a log
+     *
+     * @param fileAppender The appender of the log
+     * @param file         The new name of the log
+     * @throws InterruptedException If the test was interrupted
+     */
+    private static void awaitFile(RotatingFileAppender fileAppender, Path file) throws InterruptedException {
+        while (!file.equals(fileAppender.getFile())) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Creates an appender that writes segments covering a second each
+     *
+     * @return The started appender
+     */
+    private RotatingFileAppender segmentedAppender() {
+        final RotatingFileAppender segmented = new RotatingFileAppender("Segmented", latest,
+                PatternLayout.newBuilder().withPattern("%m\n").build(), null, false, 1000);
+        segmented.start();
+
+        return segmented;
+    }
+
+    /**
+     * Gets the marker for a robot state
+     *
+     * @param state The name of the state
+     * @return The marker
+     */
+    private static Marker stateMarker(String state) {
+        return MarkerManager.getMarker(state).setParents(RotatingFileAppender.STATE_MARKER);
+    }
+
+    /**
+     * Decompresses a segment
+     *
+     * @param segment The segment file
+     * @return The text in the segment
+     * @throws IOException If the segment couldn't be read
+     */
+    private static String readSegment(Path segment) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(segment))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Creates a log event
+     *
+     * @param message    The message
+     * @param endOfBatch True if it's the last event of a batch, which flushes the file
+     * @return The event
+     */
+    private static LogEvent event(String message, boolean endOfBatch) {
+        return Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .setEndOfBatch(endOfBatch)
+                .build();
+    }
+
+    /**
+     * Creates a log event that ends a batch at a time
+     *
+     * @param message    The message
+     * @param timeMillis The time of the event
+     * @param marker     The marker of the event, or null
+     * @return The event
+     */
+    private static LogEvent event(String message, long timeMillis, Marker marker) {
+        return Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .setTimeMillis(timeMillis)
+                .setMarker(marker)
+                .setEndOfBatch(true)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package ca.team2706.frc.robot.logging;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender that acts like a USB stick that has stopped responding, every event waits until {@link #unstall()} is called
+ */
+@Plugin(name = "SlowDisk", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public class SlowDiskAppender extends AbstractAppender {
+
+    private static volatile CountDownLatch stall = new CountDownLatch(1);
+    private static final LongAdder written = new LongAdder();
+
+    private SlowDiskAppender(String name) {
+        super(name, null, null, true);
+    }
+
+    /**
+     * Creates the appender from the log4j configuration
+     *
+     * @param name The name of the appender
+     * @return The appender
+     */
+    @PluginFactory
+    public static SlowDiskAppender createAppender(@PluginAttribute("name") String name) {
+        return new SlowDiskAppender(name);
+    }
+
+    /**
+     * Makes every following event wait until {@link #unstall()} is called
+     */
+    static void stall() {
+        stall = new CountDownLatch(1);
+    }
+
+    /**
+     * Lets waiting and following events be written
+     */
+    static void unstall() {
+        stall.countDown();
+    }
+
+    /**
+     * Gets how many events have been written
+     *
+     * @return The number of events
+     */
+    static long getWritten() {
+        return written.sum();
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        try {
+            stall.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        written.increment();
+    }
+}
@@ -0,0 +1,175 @@
+package ca.team2706.frc.robot.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class TelemetryChannelTest {
+
+    private Path file;
+    private Path csv;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("telemetry", TelemetryChannel.EXTENSION);
+        csv = Files.createTempFile("telemetry", ".csv");
+        Files.delete(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(csv);
+    }
+
+    /**
+     * Tests that records are written and converted to CSV
+     */
+    @Test
+    public void testConvert() throws IOException {
+        TelemetryChannel channel = new TelemetryChannel(file, "left", "right");
+        double[] values = new double[2];
+
+        for (int i = 0; i < TelemetryChannel.CAPACITY * 3; i++) {
+            values[0] = i;
+            values[1] = -i * 0.5;
+            channel.record(i * 0.02, values);
+
+            // Keep the buffer from filling up while the writer is asleep
+            if (i % 100 == 0) {
+                channel.flush();
+            }
+        }
+        channel.close();
+
+        assertEquals(TelemetryChannel.CAPACITY * 3, channel.getRecorded());
+        assertEquals(0, channel.getDropped());
+        assertEquals(TelemetryChannel.CAPACITY * 3, TelemetryConverter.convert(file, csv));
+
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals("time,left,right", lines.get(0));
+        assertEquals("0.0,0.0,0.0", lines.get(1));
+        assertEquals("0.2,10.0,-5.0", lines.get(11));
+        assertEquals(TelemetryChannel.CAPACITY * 3 + 1, lines.size());
+    }
+
+    /**
+     * Tests that records are dropped instead of blocking when the buffer is full
+     */
+    @Test
+    public void testDropped() throws IOException {
+        TelemetryChannel channel = new TelemetryChannel(file, "value");
+        double[] values = new double[1];
+
+        // The writer only wakes up at half full, so the second half of the buffer is still free once it's full
+        for (int i = 0; i < TelemetryChannel.CAPACITY * 4; i++) {
+            channel.record(i, values);
+        }
+        channel.close();
+
+        assertEquals(TelemetryChannel.CAPACITY * 4, channel.getRecorded() + channel.getDropped());
+        assertEquals(channel.getRecorded(), TelemetryConverter.convert(file, csv));
+    }
+
+    /**
+     * Tests that nothing is written after the channel is closed, and that the file isn't created without records
+     */
+    @Test
+    public void testClose() throws IOException {
+        TelemetryChannel channel = new TelemetryChannel(file, "value");
+        channel.close();
+        channel.record(1.0, new double[1]);
+        channel.flush();
+
+        assertEquals(0, channel.getRecorded());
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * Tests that a record cut off by the robot turning off is ignored
+     */
+    @Test
+    public void testPartialRecord() throws IOException {
+        TelemetryChannel channel = new TelemetryChannel(file, "value");
+        channel.record(1.0, new double[]{2.0});
+        channel.record(3.0, new double[]{4.0});
+        channel.close();
+
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            fileChannel.truncate(fileChannel.size() - 4);
+        }
+
+        assertEquals(1, TelemetryConverter.convert(file, csv));
+    }
+
+    /**
+     * Tests that a file from an earlier boot is kept and the records go to a numbered file next to it
+     */
+    @Test
+    public void testExistingFileKept() throws IOException {
+        Files.write(file, new byte[]{1, 2, 3});
+
+        TelemetryChannel channel = new TelemetryChannel(file, "value");
+        channel.record(1.0, new double[]{2.0});
+        channel.flush();
+
+        final Path numbered = channel.getFile();
+        channel.close();
+
+        try {
+            assertEquals(3, Files.size(file));
+            assertEquals(file.resolveSibling(file.getFileName().toString()
+                    .replace(TelemetryChannel.EXTENSION, "-1" + TelemetryChannel.EXTENSION)), numbered);
+            assertEquals(1, TelemetryConverter.convert(numbered, csv));
+        } finally {
+            Files.deleteIfExists(numbered);
+        }
+    }
+
+    /**
+     * Tests that the records after reopening go to the file that the supplier gives at that point
+     */
+    @Test
+    public void testReopen() throws IOException {
+        final Path second = Files.createTempFile("telemetry", TelemetryChannel.EXTENSION);
+        Files.delete(second);
+        final Path[] current = {file};
+
+        try {
+            TelemetryChannel channel = new TelemetryChannel(() -> current[0], "value");
+            channel.record(1.0, new double[]{2.0});
+            channel.flush();
+
+            current[0] = second;
+            channel.reopen();
+            channel.flush();
+
+            channel.record(3.0, new double[]{4.0});
+            channel.record(5.0, new double[]{6.0});
+            channel.close();
+
+            assertEquals(1, TelemetryConverter.convert(file, csv));
+            assertEquals(2, TelemetryConverter.convert(second, csv));
+        } finally {
+            Files.deleteIfExists(second);
+        }
+    }
+
+    /**
+     * Tests that the wrong number of values is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongFields() {
+        new TelemetryChannel(file, "a", "b").record(0.0, new double[1]);
+    }
+}
@@ -0,0 +1,135 @@
+package ca.team2706.frc.robot.logging;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TelemetrySourceTest {
+
+    @Mocked
+    private SmartDashboard smartDashboard;
+
+    private Path file;
+    private Path csv;
+
+    private TelemetrySource source;
+    private TelemetryChannel channel;
+
+    private double speed;
+    private boolean limitSwitch;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("telemetry", TelemetryChannel.EXTENSION);
+        csv = Files.createTempFile("telemetry", ".csv");
+        Files.delete(file);
+
+        source = new TelemetrySource("test")
+                .addSignal("speed", () -> speed, true, true)
+                .addSignal("limit", () -> limitSwitch, false, true);
+
+        channel = new TelemetryChannel(file, source.getSignalNames());
+
+        // Sampled at 200 Hz and logged at 50 Hz by default
+        source.start(channel, null, 200, 50);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(csv);
+    }
+
+    /**
+     * Tests that signals are decimated to their rates and only written to disk when asked to
+     */
+    @Test
+    public void testSample() throws IOException {
+        for (int tick = 0; tick < 8; tick++) {
+            speed = tick;
+            limitSwitch = tick % 8 == 4;
+            source.sample(tick, tick * 0.005, tick < 4);
+        }
+        channel.close();
+
+        List<String> lines = csvLines();
+        assertEquals("time,speed,limit", lines.get(0));
+        assertEquals("0.0,0.0,NaN", lines.get(1));
+        assertEquals(2, lines.size());
+
+        new Verifications() {{
+            SmartDashboard.putNumber("speed", 0.0);
+            SmartDashboard.putNumber("speed", 4.0);
+            SmartDashboard.putBoolean("limit", false);
+            SmartDashboard.putBoolean("limit", true);
+            SmartDashboard.putNumber(anyString, anyDouble);
+            times = 2;
+        }};
+    }
+
+    /**
+     * Tests that rates can be changed and signals turned off while sampling
+     */
+    @Test
+    public void testRates() throws IOException {
+        source.setDiskRate("speed", 200);
+        source.setDiskRate("limit", 100);
+        source.setDashboardRate("speed", 0);
+        source.setDashboardRate("limit", 0);
+
+        for (int tick = 0; tick < 4; tick++) {
+            speed = tick;
+            source.sample(tick, tick * 0.005, true);
+        }
+        channel.close();
+
+        List<String> lines = csvLines();
+        assertEquals(5, lines.size());
+        assertEquals("0.0,0.0,0.0", lines.get(1));
+        assertEquals("0.005,1.0,NaN", lines.get(2));
+        assertEquals("0.01,2.0,0.0", lines.get(3));
+
+        new Verifications() {{
+            SmartDashboard.putNumber(anyString, anyDouble);
+            times = 0;
+            SmartDashboard.putBoolean(anyString, anyBoolean);
+            times = 0;
+        }};
+    }
+
+    /**
+     * Tests that signals can't be added once sampling has started
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testAddAfterStart() {
+        source.addSignal("late", () -> 0.0, true, true);
+    }
+
+    /**
+     * Tests that an unknown signal is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSignal() {
+        source.setDiskRate("unknown", 10);
+    }
+
+    /**
+     * Converts the telemetry file and reads it back
+     *
+     * @return The lines of the CSV file
+     */
+    private List<String> csvLines() throws IOException {
+        TelemetryConverter.convert(file, csv);
+        return Files.readAllLines(csv);
+    }
+}
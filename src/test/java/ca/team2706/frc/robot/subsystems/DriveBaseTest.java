@@ -3,8 +3,6 @@ package ca.team2706.frc.robot.subsystems;
 import ca.team2706.frc.robot.SendablesTest;
 import ca.team2706.frc.robot.config.Config;
 import com.ctre.phoenix.CTREJNIWrapper;
-import com.ctre.phoenix.motion.BuffTrajPointStreamJNI;
-import com.ctre.phoenix.motion.BufferedTrajectoryPointStream;
 import com.ctre.phoenix.motion.TrajectoryPoint;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.IMotorController;
@@ -19,11 +17,13 @@ import edu.wpi.first.wpilibj.drive.DifferentialDrive;
 import mockit.*;
 import org.junit.Before;
 import org.junit.Test;
+import util.Util;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class DriveBaseTest {
 
@@ -53,12 +53,6 @@ public class DriveBaseTest {
     @Mocked
     private Notifier notifier;
 
-    @Mocked(stubOutClassInitialization = true)
-    private BuffTrajPointStreamJNI jni2;
-
-    @Mocked
-    private BufferedTrajectoryPointStream bufferedTrajectoryPointStream;
-
     @Injectable
     private SensorCollection sensorCollection;
 
@@ -133,9 +127,73 @@ public class DriveBaseTest {
         assertEquals(absoluteHeadingOffset + 0.0, driveBase.getAbsoluteHeading(), 0.0);
     }
 
+    /**
+     * Tests that switching modes only sends the talon parameters that changed
+     */
+    @Test
+    public void testModeSwitchConfigFrames() {
+        long frames = driveBase.getConfigFramesSent();
+
+        driveBase.setDisabledMode();
+        assertEquals(frames, driveBase.getConfigFramesSent());
+
+        driveBase.setPositionNoGyroMode();
+        long firstSwitch = driveBase.getConfigFramesSent() - frames;
+        assertTrue(firstSwitch > 0);
+
+        driveBase.setDisabledMode();
+        frames = driveBase.getConfigFramesSent();
+
+        driveBase.setPositionNoGyroMode();
+        long secondSwitch = driveBase.getConfigFramesSent() - frames;
+
+        // Status frames and sensor phase are already set from the first switch
+        assertTrue(secondSwitch < firstSwitch);
+
+        new Verifications() {{
+            talon.configFactoryDefault(anyInt);
+            times = 4;
+        }};
+    }
+
+    /**
+     * Tests that prewarming a drive mode sends most of its configuration before switching to it
+     */
+    @Test
+    public void testPrewarmDriveMode() {
+        long frames = driveBase.getConfigFramesSent();
+
+        driveBase.prewarmDriveMode(DriveBase.DriveMode.MotionProfile2Wheel);
+        driveBase.waitForPrewarm();
+        long prewarm = driveBase.getConfigFramesSent() - frames;
+        assertTrue(prewarm > 0);
+        assertEquals(DriveBase.DriveMode.Disabled, driveBase.getDriveMode());
+
+        frames = driveBase.getConfigFramesSent();
+        driveBase.setMotionProfile2Wheel();
+
+        // Only the parameters that affect open loop driving are left to send
+        assertTrue(driveBase.getConfigFramesSent() - frames < prewarm);
+    }
+
+    /**
+     * Tests that prewarming does nothing while a closed loop mode is running
+     */
+    @Test
+    public void testPrewarmIgnoredInClosedLoop() {
+        driveBase.setPositionNoGyroMode();
+        long frames = driveBase.getConfigFramesSent();
+
+        driveBase.prewarmDriveMode(DriveBase.DriveMode.MotionProfile2Wheel);
+        driveBase.waitForPrewarm();
+
+        assertEquals(frames, driveBase.getConfigFramesSent());
+    }
+
     @Test
-    public void testPushMotionProfilePositive() {
+    public void testPushMotionProfilePositive() throws ReflectiveOperationException {
         driveBase.pushMotionProfile1Wheel(true, new double[]{1.0, -1.0, 5.0, 0.1}, new double[]{3.0, 8.6, 42.3, -2.54}, new double[]{35.32, 245.53, -53.53, 553.0}, new int[]{5, 5, 5, 5}, 4);
+        Util.feedMotionProfiles(driveBase);
 
         final TrajectoryPoint[] expected = {
                 trajectory(1.0 / Config.DRIVE_ENCODER_DPP, 3.0 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 35.32, 35.32 / Config.PIGEON_DPP, 0.0, 3.0 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
@@ -145,16 +203,18 @@ public class DriveBaseTest {
         };
 
         new Verifications() {{
-            TrajectoryPoint[] trajectories;
-            bufferedTrajectoryPointStream.Write(trajectories = withCapture());
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            TrajectoryPoint[] trajectories = points.toArray(new TrajectoryPoint[0]);
 
             assertTrajectoriesEqual(trajectories, expected);
         }};
     }
 
     @Test
-    public void testPushMotionProfileNegative() {
+    public void testPushMotionProfileNegative() throws ReflectiveOperationException {
         driveBase.pushMotionProfile1Wheel(false, new double[]{1.0, -1.0, 5.0, 0.1}, new double[]{3.0, 8.6, 42.3, -2.54}, new double[]{35.32, 245.53, -53.53, 553.0}, new int[]{5, 5, 5, 5}, 4);
+        Util.feedMotionProfiles(driveBase);
 
         final TrajectoryPoint[] expected = {
                 trajectory(-1.0 / Config.DRIVE_ENCODER_DPP, -3.0 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 35.32, 35.32 / Config.PIGEON_DPP, 0.0, -3.0 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
@@ -164,16 +224,18 @@ public class DriveBaseTest {
         };
 
         new Verifications() {{
-            TrajectoryPoint[] trajectories;
-            bufferedTrajectoryPointStream.Write(trajectories = withCapture());
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            TrajectoryPoint[] trajectories = points.toArray(new TrajectoryPoint[0]);
 
             assertTrajectoriesEqual(trajectories, expected);
         }};
     }
 
     @Test
-    public void testPushMotionProfile2WheelPositive() {
+    public void testPushMotionProfile2WheelPositive() throws ReflectiveOperationException {
         driveBase.pushMotionProfile2Wheel(true, new double[]{1.0, -1.0, 5.0, 0.1}, new double[]{3.0, 8.6, 42.3, -2.54}, new double[]{35.32, 245.53, -53.53, 553.0}, new int[]{5, 5, 5, 5}, 4, new double[]{-1.88, 11.14, 20.56, 12.41}, new double[]{16.78, -1.48, 1.18, 27.67});
+        Util.feedMotionProfiles(driveBase);
 
         final TrajectoryPoint[] expected1 = {
                 trajectory(1.0 / Config.DRIVE_ENCODER_DPP, 3.0 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 35.32, 35.32 / Config.PIGEON_DPP, 0.0, 3.0 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
@@ -190,8 +252,9 @@ public class DriveBaseTest {
         };
 
         new Verifications() {{
-            List<TrajectoryPoint[]> trajectories = new ArrayList<>();
-            bufferedTrajectoryPointStream.Write(withCapture(trajectories));
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
 
             assertTrajectoriesEqual(trajectories.get(0), expected1);
             assertTrajectoriesEqual(trajectories.get(1), expected2);
@@ -199,8 +262,9 @@ public class DriveBaseTest {
     }
 
     @Test
-    public void testPushMotionProfile2WheelNegative() {
+    public void testPushMotionProfile2WheelNegative() throws ReflectiveOperationException {
         driveBase.pushMotionProfile2Wheel(false, new double[]{1.0, -1.0, 5.0, 0.1}, new double[]{3.0, 8.6, 42.3, -2.54}, new double[]{35.32, 245.53, -53.53, 553.0}, new int[]{5, 5, 5, 5}, 4, new double[]{-1.88, 11.14, 20.56, 12.41}, new double[]{16.78, -1.48, 1.18, 27.67});
+        Util.feedMotionProfiles(driveBase);
 
         final TrajectoryPoint[] expected1 = {
                 trajectory(-1.0 / Config.DRIVE_ENCODER_DPP, -3.0 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 35.32, 35.32 / Config.PIGEON_DPP, 0.0, -3.0 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
@@ -217,8 +281,69 @@ public class DriveBaseTest {
         };
 
         new Verifications() {{
-            List<TrajectoryPoint[]> trajectories = new ArrayList<>();
-            bufferedTrajectoryPointStream.Write(withCapture(trajectories));
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
+
+            assertTrajectoriesEqual(trajectories.get(0), expected1);
+            assertTrajectoriesEqual(trajectories.get(1), expected2);
+        }};
+    }
+
+    @Test
+    public void testPushMotionProfile2WheelMirrored() throws ReflectiveOperationException {
+        driveBase.pushMotionProfile2Wheel(true, true, new double[]{1.0, -1.0, 5.0, 0.1}, new double[]{3.0, 8.6, 42.3, -2.54}, new double[]{35.32, 245.53, -53.53, 553.0}, new int[]{5, 5, 5, 5}, 4, new double[]{-1.88, 11.14, 20.56, 12.41}, new double[]{16.78, -1.48, 1.18, 27.67});
+        Util.feedMotionProfiles(driveBase);
+
+        final TrajectoryPoint[] expected1 = {
+                trajectory(-1.88 / Config.DRIVE_ENCODER_DPP, 16.78 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -35.32, -35.32 / Config.PIGEON_DPP, 0.0, 16.78 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
+                trajectory(11.14 / Config.DRIVE_ENCODER_DPP, -1.48 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -245.53, -245.53 / Config.PIGEON_DPP, 0.0, -1.48 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(20.56 / Config.DRIVE_ENCODER_DPP, 1.18 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 53.53, 53.53 / Config.PIGEON_DPP, 0.0, 1.18 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(12.41 / Config.DRIVE_ENCODER_DPP, 27.67 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -553.0, -553.0 / Config.PIGEON_DPP, 0.0, 27.67 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, true, false, 5, true),
+        };
+
+        final TrajectoryPoint[] expected2 = {
+                trajectory(1.0 / Config.DRIVE_ENCODER_DPP, 3.0 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -35.32, -35.32 / Config.PIGEON_DPP, 0.0, 3.0 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
+                trajectory(-1.0 / Config.DRIVE_ENCODER_DPP, 8.6 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -245.53, -245.53 / Config.PIGEON_DPP, 0.0, 8.6 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(5.0 / Config.DRIVE_ENCODER_DPP, 42.3 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 53.53, 53.53 / Config.PIGEON_DPP, 0.0, 42.3 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(0.1 / Config.DRIVE_ENCODER_DPP, -2.54 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -553.0, -553.0 / Config.PIGEON_DPP, 0.0, -2.54 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, true, false, 5, true),
+        };
+
+        new Verifications() {{
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
+
+            assertTrajectoriesEqual(trajectories.get(0), expected1);
+            assertTrajectoriesEqual(trajectories.get(1), expected2);
+        }};
+    }
+
+    @Test
+    public void testPushTalonTrajectoryMirroredNegative() throws ReflectiveOperationException {
+        TalonTrajectory trajectory = TalonTrajectory.fromFeet(new double[]{1.0, -1.0, 5.0, 0.1}, new double[]{3.0, 8.6, 42.3, -2.54}, new double[]{-1.88, 11.14, 20.56, 12.41}, new double[]{16.78, -1.48, 1.18, 27.67}, new double[]{35.32, 245.53, -53.53, 553.0}, new int[]{5, 5, 5, 5}, 4);
+
+        driveBase.pushMotionProfile2Wheel(false, true, trajectory);
+        Util.feedMotionProfiles(driveBase);
+
+        final TrajectoryPoint[] expected1 = {
+                trajectory(1.88 / Config.DRIVE_ENCODER_DPP, -16.78 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -35.32, -35.32 / Config.PIGEON_DPP, 0.0, -16.78 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
+                trajectory(-11.14 / Config.DRIVE_ENCODER_DPP, 1.48 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -245.53, -245.53 / Config.PIGEON_DPP, 0.0, 1.48 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(-20.56 / Config.DRIVE_ENCODER_DPP, -1.18 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 53.53, 53.53 / Config.PIGEON_DPP, 0.0, -1.18 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(-12.41 / Config.DRIVE_ENCODER_DPP, -27.67 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -553.0, -553.0 / Config.PIGEON_DPP, 0.0, -27.67 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, true, false, 5, true),
+        };
+
+        final TrajectoryPoint[] expected2 = {
+                trajectory(-1.0 / Config.DRIVE_ENCODER_DPP, -3.0 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -35.32, -35.32 / Config.PIGEON_DPP, 0.0, -3.0 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, true, 5, true),
+                trajectory(1.0 / Config.DRIVE_ENCODER_DPP, -8.6 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -245.53, -245.53 / Config.PIGEON_DPP, 0.0, -8.6 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(-5.0 / Config.DRIVE_ENCODER_DPP, -42.3 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, 53.53, 53.53 / Config.PIGEON_DPP, 0.0, -42.3 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, false, false, 5, true),
+                trajectory(-0.1 / Config.DRIVE_ENCODER_DPP, 2.54 / Config.DRIVE_ENCODER_DPP / 10.0, 0.0, -553.0, -553.0 / Config.PIGEON_DPP, 0.0, 2.54 / Config.DRIVEBASE_MOTION_MAGIC_CRUISE_VELOCITY.value() * Config.CURVE_ADJUSTMENT.value(), 0, 1, true, false, 5, true),
+        };
+
+        new Verifications() {{
+            List<TrajectoryPoint> points = new ArrayList<>();
+            talon.pushMotionProfileTrajectory(withCapture(points));
+            List<TrajectoryPoint[]> trajectories = Util.splitTrajectories(points, 2);
 
             assertTrajectoriesEqual(trajectories.get(0), expected1);
             assertTrajectoriesEqual(trajectories.get(1), expected2);
@@ -228,7 +353,7 @@ public class DriveBaseTest {
     private void assertTrajectoriesEqual(TrajectoryPoint[] a, TrajectoryPoint[] b) {
         assertEquals(b.length, a.length);
 
-        for (int i = 0; i < a.length; i++) {
+        for (int i = 0; i < b.length; i++) {
             assertTrajectoryPointsEqual(a[i], b[i]);
         }
     }
@@ -0,0 +1,166 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.SendablesTest;
+import com.ctre.phoenix.CTREJNIWrapper;
+import com.ctre.phoenix.motorcontrol.SensorCollection;
+import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import com.ctre.phoenix.sensors.PigeonIMU;
+import mockit.Expectations;
+import mockit.Injectable;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DriveSensorsTest {
+
+    @Mocked
+    private WPI_TalonSRX talon;
+
+    @Mocked(stubOutClassInitialization = true)
+    private PigeonIMU pigeon;
+
+    @Mocked(stubOutClassInitialization = true)
+    private CTREJNIWrapper jni;
+
+    @Mocked(stubOutClassInitialization = true)
+    private MotControllerJNI motControllerJNI;
+
+    @Injectable
+    private SensorCollection sensorCollection;
+
+    private DriveSensors sensors;
+
+    @Before
+    public void setUp() {
+        new Expectations() {{
+            talon.getSensorCollection();
+            result = sensorCollection;
+            minTimes = 0;
+        }};
+
+        sensors = new DriveSensors(talon, talon, talon, talon, pigeon);
+    }
+
+    /**
+     * Tests that each signal is read once per loop and that reads during the loop come from the snapshot
+     */
+    @Test
+    public void testRefresh() {
+        new Expectations() {{
+            sensorCollection.getQuadraturePosition();
+            returns(10, 20, 30, 40);
+
+            pigeon.getYawPitchRoll((double[]) any);
+            result = SendablesTest.makePigeonExpectation(45.0);
+        }};
+
+        sensors.refresh();
+
+        assertEquals(10, sensors.getQuadraturePosition(DriveSensors.LEFT_FRONT));
+        assertEquals(20, sensors.getQuadraturePosition(DriveSensors.RIGHT_FRONT));
+        assertEquals(10, sensors.getQuadraturePosition(DriveSensors.LEFT_FRONT));
+        assertEquals(45.0, sensors.getYaw(), 0.0);
+        assertEquals(40, sensors.getQuadraturePosition(DriveSensors.RIGHT_BACK));
+
+        sensors.refresh();
+        assertEquals(5, sensors.getSavedReads());
+
+        new Verifications() {{
+            sensorCollection.getQuadraturePosition();
+            times = 8;
+            sensorCollection.getQuadratureVelocity();
+            times = 8;
+            talon.getTemperature();
+            times = 8;
+            pigeon.getYawPitchRoll((double[]) any);
+            times = 2;
+        }};
+    }
+
+    /**
+     * Tests that the sensors are read directly before the first loop and from other threads
+     */
+    @Test
+    public void testDirectRead() throws InterruptedException {
+        new Expectations() {{
+            pigeon.getYawPitchRoll((double[]) any);
+            returns(SendablesTest.makePigeonExpectation(1.0), SendablesTest.makePigeonExpectation(2.0),
+                    SendablesTest.makePigeonExpectation(3.0), SendablesTest.makePigeonExpectation(4.0));
+        }};
+
+        assertEquals(1.0, sensors.getYaw(), 0.0);
+        assertEquals(2.0, sensors.getYaw(), 0.0);
+
+        sensors.refresh();
+
+        final double[] yaw = new double[1];
+        Thread thread = new Thread(() -> yaw[0] = sensors.getYaw());
+        thread.start();
+        thread.join();
+
+        assertEquals(4.0, yaw[0], 0.0);
+        assertEquals(3.0, sensors.getYaw(), 0.0);
+    }
+
+    /**
+     * Tests that resetting the sensors updates the snapshot
+     */
+    @Test
+    public void testReset() {
+        new Expectations() {{
+            sensorCollection.getQuadraturePosition();
+            result = 100;
+
+            pigeon.getYawPitchRoll((double[]) any);
+            result = SendablesTest.makePigeonExpectation(30.0);
+        }};
+
+        sensors.refresh();
+
+        sensors.setQuadraturePosition(DriveSensors.LEFT_FRONT, 0);
+        sensors.setYaw(0);
+
+        assertEquals(0, sensors.getQuadraturePosition(DriveSensors.LEFT_FRONT));
+        assertEquals(100, sensors.getQuadraturePosition(DriveSensors.RIGHT_FRONT));
+        assertEquals(0.0, sensors.getYaw(), 0.0);
+    }
+
+    /**
+     * Tests that reads from other threads are shifted to the new yaw until the gyro sends a frame with it
+     *
+     * @throws InterruptedException If the test is interrupted while waiting for the other thread
+     */
+    @Test
+    public void testResetBeforeNewFrame() throws InterruptedException {
+        new Expectations() {{
+            pigeon.getYawPitchRoll((double[]) any);
+            returns(SendablesTest.makePigeonExpectation(90.0), SendablesTest.makePigeonExpectation(90.0),
+                    SendablesTest.makePigeonExpectation(91.0), SendablesTest.makePigeonExpectation(1.5),
+                    SendablesTest.makePigeonExpectation(60.0));
+        }};
+
+        sensors.refresh();
+        sensors.setYaw(0);
+
+        final double[] yaws = new double[4];
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < yaws.length; i++) {
+                yaws[i] = sensors.getYaw();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        // The gyro still sends the old yaw, then turns a degree, then sends the new yaw
+        assertEquals(0.0, yaws[0], 1e-9);
+        assertEquals(1.0, yaws[1], 1e-9);
+        assertEquals(1.5, yaws[2], 1e-9);
+
+        // Once the new yaw has arrived, the readings aren't shifted anymore
+        assertEquals(60.0, yaws[3], 1e-9);
+    }
+}
@@ -0,0 +1,266 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.config.Config;
+import com.ctre.phoenix.CTREJNIWrapper;
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motion.MotionProfileStatus;
+import com.ctre.phoenix.motion.SetValueMotionProfile;
+import com.ctre.phoenix.motion.TrajectoryPoint;
+import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import edu.wpi.first.wpilibj.Notifier;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MotionProfileFeederTest {
+
+    @Mocked
+    private WPI_TalonSRX talon;
+
+    @Mocked(stubOutClassInitialization = true)
+    private CTREJNIWrapper jni;
+
+    @Mocked(stubOutClassInitialization = true)
+    private MotControllerJNI motControllerJNI;
+
+    @Mocked
+    private Notifier notifier;
+
+    private MotionProfileFeeder feeder;
+
+    private double[] pos;
+    private double[] vel;
+    private double[] heading;
+    private int[] time;
+
+    /**
+     * The number of points in the trajectory, long enough to need a few feeds
+     */
+    private static final int SIZE = MotionProfileFeeder.POINTS_PER_FEED * 2 + 10;
+
+    @Before
+    public void setUp() {
+        feeder = new MotionProfileFeeder(talon, "Test");
+
+        pos = new double[SIZE];
+        vel = new double[SIZE];
+        heading = new double[SIZE];
+        time = new int[SIZE];
+
+        for (int i = 0; i < SIZE; i++) {
+            pos[i] = i;
+            time[i] = 10;
+        }
+    }
+
+    /**
+     * Tests that the trajectory is pushed in chunks and the notifier is started and stopped
+     */
+    @Test
+    public void testFeedInChunks() {
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+
+        assertEquals(0, feeder.getPointsPushed());
+
+        feeder.feed();
+        assertEquals(MotionProfileFeeder.POINTS_PER_FEED, feeder.getPointsPushed());
+        assertFalse(feeder.isComplete());
+
+        feeder.feed();
+        feeder.feed();
+        assertEquals(SIZE, feeder.getPointsPushed());
+        assertTrue(feeder.isComplete());
+
+        new Verifications() {{
+            talon.clearMotionProfileTrajectories();
+            times = 1;
+            notifier.startPeriodic(MotionProfileFeeder.FEED_PERIOD);
+            times = 1;
+            talon.pushMotionProfileTrajectory((TrajectoryPoint) any);
+            times = SIZE;
+            // The talon's buffer is empty, so the feeder stops once everything is pushed
+            notifier.stop();
+            times = 1;
+        }};
+    }
+
+    /**
+     * Tests that a full top buffer makes the feeder retry the same point next time
+     */
+    @Test
+    public void testTopBufferFull() {
+        new Expectations() {{
+            talon.pushMotionProfileTrajectory((TrajectoryPoint) any);
+            returns(ErrorCode.OK, ErrorCode.OK, ErrorCode.BufferFull, ErrorCode.OK);
+        }};
+
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+        feeder.feed();
+
+        assertEquals(2, feeder.getPointsPushed());
+
+        feeder.feed();
+
+        assertEquals(2 + MotionProfileFeeder.POINTS_PER_FEED, feeder.getPointsPushed());
+    }
+
+    /**
+     * Tests that the profile is only enabled once enough points are in the bottom buffer
+     */
+    @Test
+    public void testEnableAfterBuffered() {
+        expectBottomBufferCounts(0, MotionProfileFeeder.MIN_BUFFERED_POINTS - 1, MotionProfileFeeder.MIN_BUFFERED_POINTS, 5);
+
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+        assertEquals(SetValueMotionProfile.Disable, feeder.getSetValue());
+
+        feeder.feed();
+        assertEquals(SetValueMotionProfile.Disable, feeder.getSetValue());
+
+        feeder.feed();
+        assertEquals(SetValueMotionProfile.Disable, feeder.getSetValue());
+
+        feeder.feed();
+        assertEquals(SetValueMotionProfile.Enable, feeder.getSetValue());
+
+        feeder.feed();
+        assertEquals(5, feeder.getMinBufferedPoints());
+    }
+
+    /**
+     * Tests that a short trajectory is enabled once all of it has been pushed
+     */
+    @Test
+    public void testShortTrajectoryEnabled() {
+        feeder.start(pos, vel, heading, time, 4, 1, 1);
+        feeder.feed();
+
+        assertTrue(feeder.isComplete());
+        assertEquals(SetValueMotionProfile.Enable, feeder.getSetValue());
+    }
+
+    /**
+     * Tests that underruns are counted and cleared
+     */
+    @Test
+    public void testUnderruns() {
+        new Expectations() {{
+            talon.getMotionProfileStatus((MotionProfileStatus) any);
+            result = new Delegate<ErrorCode>() {
+                private int calls;
+
+                @SuppressWarnings("unused")
+                ErrorCode getMotionProfileStatus(MotionProfileStatus status) {
+                    status.hasUnderrun = calls++ != 1;
+                    status.topBufferCnt = 1;
+                    return ErrorCode.OK;
+                }
+            };
+        }};
+
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+        feeder.feed();
+        feeder.feed();
+        feeder.feed();
+
+        assertEquals(2, feeder.getUnderruns());
+
+        new Verifications() {{
+            // Once when starting and once for each underrun
+            talon.clearMotionProfileHasUnderrun(anyInt);
+            times = 3;
+        }};
+    }
+
+    /**
+     * Tests that restarting the feeder resets the cursor and metrics
+     */
+    @Test
+    public void testRestart() {
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+        feeder.feed();
+
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+
+        assertEquals(0, feeder.getPointsPushed());
+        assertEquals(0, feeder.getUnderruns());
+        assertEquals(SetValueMotionProfile.Disable, feeder.getSetValue());
+    }
+
+    /**
+     * Tests that the points that haven't been pushed are replaced by a trajectory that continues on from the last kept point
+     */
+    @Test
+    public void testSplice() {
+        feeder.setMaxLead(5);
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+        feeder.feed();
+
+        // Only the lead is pushed, so the rest can still be replaced
+        assertEquals(5, feeder.getPointsPushed());
+        assertFalse(feeder.canSplice(4));
+        assertTrue(feeder.canSplice(5));
+
+        double[] tailPos = {10.0, 10.5, 11.0};
+        double[] tailVel = new double[3];
+        TalonTrajectory tail = TalonTrajectory.fromFeet(tailPos, tailVel, tailPos, tailVel, new double[3], new int[]{10, 10, 10}, 3);
+        feeder.splice(5, tail, true, 1, 1);
+        feeder.feed();
+
+        assertEquals(7, feeder.getPointsPushed());
+        assertTrue(feeder.isComplete());
+
+        List<TrajectoryPoint> pushed = new ArrayList<>();
+        new Verifications() {{
+            talon.pushMotionProfileTrajectory(withCapture(pushed));
+        }};
+
+        assertEquals(7, pushed.size());
+        assertEquals(pushed.get(4).position + 0.5 / Config.DRIVE_ENCODER_DPP, pushed.get(5).position, 1e-6);
+        assertEquals(pushed.get(4).position + 1.0 / Config.DRIVE_ENCODER_DPP, pushed.get(6).position, 1e-6);
+        assertFalse(pushed.get(5).isLastPoint);
+        assertTrue(pushed.get(6).isLastPoint);
+    }
+
+    /**
+     * Tests that points that have already been pushed to the talon can't be replaced
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testSplicePushed() {
+        feeder.start(pos, vel, heading, time, SIZE, 1, 1);
+        feeder.feed();
+
+        TalonTrajectory tail = TalonTrajectory.fromFeet(pos, vel, pos, vel, heading, time, 3);
+        feeder.splice(MotionProfileFeeder.POINTS_PER_FEED - 1, tail, true, 1, 1);
+    }
+
+    /**
+     * Makes the talon report a sequence of bottom buffer counts, with points left in the top buffer
+     *
+     * @param counts The counts to report in order, the last is repeated
+     */
+    private void expectBottomBufferCounts(int... counts) {
+        new Expectations() {{
+            talon.getMotionProfileStatus((MotionProfileStatus) any);
+            result = new Delegate<ErrorCode>() {
+                private int calls;
+
+                @SuppressWarnings("unused")
+                ErrorCode getMotionProfileStatus(MotionProfileStatus status) {
+                    status.btmBufferCnt = counts[Math.min(calls++, counts.length - 1)];
+                    status.topBufferCnt = 1;
+                    return ErrorCode.OK;
+                }
+            };
+        }};
+    }
+}
@@ -0,0 +1,143 @@
+package ca.team2706.frc.robot.subsystems;
+
+import edu.wpi.first.wpilibj.Notifier;
+import mockit.Mocked;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class OdometryTest {
+
+    @Mocked
+    private Notifier notifier;
+
+    private Odometry odometry;
+
+    @Before
+    public void setUp() {
+        odometry = new Odometry(new Pose(1.0, 0.0, 0.0, Math.PI / 2), 5.0, 5.0, 0);
+    }
+
+    /**
+     * Tests that the robot's movement is integrated along the average heading
+     */
+    @Test
+    public void testUpdate() {
+        odometry.update(1.005, 5.1, 5.1, Math.PI / 2, 0);
+        assertEquals(0.0, odometry.getPose().getX(), 1e-9);
+        assertEquals(0.1, odometry.getPose().getY(), 1e-9);
+
+        // Turning in place doesn't move the robot
+        odometry.update(1.01, 5.05, 5.15, Math.PI / 2 + 0.05, 0);
+        assertEquals(0.0, odometry.getPose().getX(), 1e-9);
+        assertEquals(0.1, odometry.getPose().getY(), 1e-9);
+
+        odometry.update(1.015, 5.15, 5.25, Math.PI, 0);
+
+        Pose pose = odometry.getPose();
+        final double averageHeading = (Math.PI / 2 + 0.05 + Math.PI) / 2;
+        assertEquals(1.015, pose.getTimestamp(), 1e-9);
+        assertEquals(0.1 * Math.cos(averageHeading), pose.getX(), 1e-9);
+        assertEquals(0.1 + 0.1 * Math.sin(averageHeading), pose.getY(), 1e-9);
+        assertEquals(Math.PI, pose.getHeading(), 1e-9);
+
+        assertEquals(4, odometry.getPoseHistory().size());
+        assertEquals(3, odometry.getPoseLog().size());
+    }
+
+    /**
+     * Tests that zeroing the encoders isn't counted as the robot moving
+     */
+    @Test
+    public void testEncodersReset() {
+        odometry.update(1.005, 5.1, 5.1, Math.PI / 2, 0);
+
+        odometry.update(1.01, 0.0, 0.0, Math.PI / 2, 1);
+        assertEquals(0.1, odometry.getPose().getY(), 1e-9);
+
+        // A jump that the robot can't drive is also the encoders being zeroed
+        odometry.update(1.015, 12.0, 12.0, Math.PI / 2, 1);
+        assertEquals(0.1, odometry.getPose().getY(), 1e-9);
+
+        odometry.update(1.02, 12.1, 12.1, Math.PI / 2, 1);
+        assertEquals(0.2, odometry.getPose().getY(), 1e-9);
+    }
+
+    /**
+     * Tests that the position can be moved without changing the heading
+     */
+    @Test
+    public void testResetPose() {
+        odometry.update(1.005, 5.1, 5.1, Math.PI, 0);
+        odometry.resetPose(3.0, 4.0);
+
+        assertEquals(3.0, odometry.getPose().getX(), 1e-9);
+        assertEquals(4.0, odometry.getPose().getY(), 1e-9);
+        assertEquals(Math.PI, odometry.getPose().getHeading(), 1e-9);
+
+        odometry.update(1.01, 5.2, 5.2, Math.PI, 0);
+        assertEquals(2.9, odometry.getPose().getX(), 1e-9);
+        assertEquals(3.0, odometry.getPoseHistory().getPose(1.005).getX(), 1e-9);
+    }
+
+    /**
+     * Tests that replaying a saved log through odometry gives the same poses
+     */
+    @Test
+    public void testReplay() throws IOException {
+        for (int i = 1; i <= PoseLog.CAPACITY + 10; i++) {
+            odometry.update(1.0 + i * 0.005, 5.0 + i * 0.02, 5.0 + i * 0.03, Math.PI / 2 + i * 0.001, 0);
+        }
+
+        Path file = Files.createTempFile("odometry", ".csv");
+        try {
+            PoseLog.Snapshot snapshot = odometry.getPoseLog().snapshot();
+            assertEquals(PoseLog.CAPACITY, snapshot.size());
+            snapshot.writeTo(file);
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(PoseLog.HEADER, lines.get(0));
+            assertEquals(PoseLog.CAPACITY + 1, lines.size());
+
+            // The oldest sample was overwritten, so start the replay from it
+            double[] first = parse(lines.get(1));
+            assertEquals(1.0 + 11 * 0.005, first[0], 1e-9);
+            Odometry replay = new Odometry(new Pose(first[0], first[4], first[5], first[3]), first[1], first[2], 0);
+
+            for (String line : lines.subList(2, lines.size())) {
+                double[] sample = parse(line);
+                replay.update(sample[0], sample[1], sample[2], sample[3], 0);
+            }
+
+            assertEquals(odometry.getPose().getTimestamp(), replay.getPose().getTimestamp(), 1e-9);
+            assertEquals(odometry.getPose().getX(), replay.getPose().getX(), 1e-9);
+            assertEquals(odometry.getPose().getY(), replay.getPose().getY(), 1e-9);
+            assertEquals(odometry.getPose().getHeading(), replay.getPose().getHeading(), 1e-9);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Parses a line of a saved log
+     *
+     * @param line The line
+     * @return The values in the line
+     */
+    private static double[] parse(String line) {
+        String[] fields = line.split(",");
+        double[] values = new double[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = Double.parseDouble(fields[i]);
+        }
+
+        return values;
+    }
+}
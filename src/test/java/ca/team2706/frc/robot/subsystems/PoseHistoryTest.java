@@ -0,0 +1,97 @@
+package ca.team2706.frc.robot.subsystems;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PoseHistoryTest {
+
+    private PoseHistory history;
+
+    @Before
+    public void setUp() {
+        history = new PoseHistory();
+    }
+
+    /**
+     * Tests that the latest pose is the last one recorded
+     */
+    @Test
+    public void testRecord() {
+        assertNull(history.getLatest());
+
+        history.record(new Pose(1.0, 0.0, 0.0, Math.PI / 2));
+        history.record(new Pose(1.02, 0.0, 0.1, Math.PI / 2));
+
+        Pose latest = history.getLatest();
+        assertEquals(1.02, latest.getTimestamp(), 1e-9);
+        assertEquals(0.0, latest.getX(), 1e-9);
+        assertEquals(0.1, latest.getY(), 1e-9);
+        assertEquals(Math.PI / 2, latest.getHeading(), 1e-9);
+        assertEquals(2, history.size());
+    }
+
+    /**
+     * Tests that poses between the recorded ones are interpolated and times outside of the history are clamped
+     */
+    @Test
+    public void testGetPose() {
+        history.record(new Pose(1.0, 0.0, 0.0, 0.0));
+        history.record(new Pose(1.02, 0.2, 0.1, Math.toRadians(10)));
+
+        Pose pose = history.getPose(1.015);
+        assertEquals(1.015, pose.getTimestamp(), 1e-9);
+        assertEquals(0.15, pose.getX(), 1e-9);
+        assertEquals(0.075, pose.getY(), 1e-9);
+        assertEquals(Math.toRadians(7.5), pose.getHeading(), 1e-9);
+
+        assertEquals(1.0, history.getPose(0.5).getTimestamp(), 1e-9);
+        assertEquals(1.02, history.getPose(2.0).getTimestamp(), 1e-9);
+    }
+
+    /**
+     * Tests that the heading is interpolated the short way around when it wraps
+     */
+    @Test
+    public void testHeadingWrap() {
+        history.record(new Pose(1.0, 0.0, 0.0, Math.toRadians(350)));
+        history.record(new Pose(1.02, 0.0, 0.0, Math.toRadians(10)));
+
+        assertEquals(Math.toRadians(360), history.getPose(1.01).getHeading(), 1e-9);
+    }
+
+    /**
+     * Tests that the oldest poses are overwritten once the history is full
+     */
+    @Test
+    public void testOverwrite() {
+        for (int i = 0; i < PoseHistory.CAPACITY + 10; i++) {
+            history.record(new Pose(i * 0.02, 0.0, i * 0.1, Math.PI / 2));
+        }
+
+        assertEquals(PoseHistory.CAPACITY, history.size());
+        assertEquals(10 * 0.02, history.getPose(0.0).getTimestamp(), 1e-9);
+        assertEquals((PoseHistory.CAPACITY + 9) * 0.1, history.getLatest().getY(), 1e-6);
+    }
+
+    /**
+     * Tests converting poses to and from the frame of the robot
+     */
+    @Test
+    public void testRobotFrame() {
+        // Facing along the x axis, so straight ahead of the robot is +x
+        Pose robot = new Pose(1.0, 1.0, 2.0, 0.0);
+
+        Pose ahead = robot.fromRobotFrame(0.5, 3.0, Math.PI / 2);
+        assertEquals(4.0, ahead.getX(), 1e-9);
+        assertEquals(1.5, ahead.getY(), 1e-9);
+        assertEquals(0.0, ahead.getHeading(), 1e-9);
+
+        Pose back = robot.toRobotFrame(ahead);
+        assertEquals(0.5, back.getX(), 1e-9);
+        assertEquals(3.0, back.getY(), 1e-9);
+        assertEquals(Math.PI / 2, back.getHeading(), 1e-9);
+    }
+}
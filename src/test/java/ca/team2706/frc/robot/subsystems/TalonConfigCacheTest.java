@@ -0,0 +1,220 @@
+package ca.team2706.frc.robot.subsystems;
+
+import com.ctre.phoenix.CTREJNIWrapper;
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.FeedbackDevice;
+import com.ctre.phoenix.motorcontrol.InvertType;
+import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
+import com.ctre.phoenix.motorcontrol.StatusFrame;
+import com.ctre.phoenix.motorcontrol.can.MotControllerJNI;
+import com.ctre.phoenix.motorcontrol.can.WPI_TalonSRX;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TalonConfigCacheTest {
+
+    @Mocked
+    private WPI_TalonSRX talon;
+
+    @Mocked(stubOutClassInitialization = true)
+    private CTREJNIWrapper jni;
+
+    @Mocked(stubOutClassInitialization = true)
+    private MotControllerJNI motControllerJNI;
+
+    private TalonConfigCache cache;
+
+    private TalonConfiguration config;
+
+    @Before
+    public void setUp() {
+        cache = new TalonConfigCache(talon);
+        cache.configFactoryDefault(10);
+
+        config = new TalonConfiguration();
+    }
+
+    /**
+     * Tests that a parameter is only sent when it changes
+     */
+    @Test
+    public void testOnlyChangesSent() {
+        config.config_kP(0, 0.5);
+        assertEquals(1, cache.apply(config));
+
+        config.config_kP(0, 0.5);
+        assertEquals(0, cache.apply(config));
+
+        config.config_kP(0, 0.7);
+        assertEquals(1, cache.apply(config));
+
+        new Verifications() {{
+            talon.config_kP(0, 0.5, anyInt);
+            times = 1;
+            talon.config_kP(0, 0.7, anyInt);
+            times = 1;
+        }};
+    }
+
+    /**
+     * Tests that factory default values aren't sent again after a factory default
+     */
+    @Test
+    public void testFactoryDefaultNotResent() {
+        config.config_kP(0, 0);
+        config.configNeutralDeadband(0.04);
+        config.configSelectedFeedbackCoefficient(1.0, 1);
+
+        assertEquals(0, cache.apply(config));
+        assertEquals(1, cache.getFramesSent());
+    }
+
+    /**
+     * Tests that applying a configuration with the defaults staged reverts only the parameters that were changed
+     */
+    @Test
+    public void testStageDefaults() {
+        config.config_kP(0, 0.5);
+        config.configSelectedFeedbackSensor(FeedbackDevice.SensorSum, 0);
+        config.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20);
+        assertEquals(3, cache.apply(config));
+
+        TalonConfiguration defaults = new TalonConfiguration();
+        defaults.stageDefaults();
+        assertEquals(2, cache.apply(defaults));
+
+        new Verifications() {{
+            talon.config_kP(0, 0.0, anyInt);
+            times = 1;
+            talon.configSelectedFeedbackSensor(FeedbackDevice.QuadEncoder, 0, anyInt);
+            times = 1;
+            talon.setStatusFramePeriod(StatusFrame.Status_12_Feedback1, 20, anyInt);
+            times = 1;
+        }};
+    }
+
+    /**
+     * Tests that switching between two prebuilt configurations only sends their differences
+     */
+    @Test
+    public void testSwitchConfigurations() {
+        TalonConfiguration other = new TalonConfiguration();
+        config.stageDefaults();
+        other.stageDefaults();
+
+        config.config_kP(0, 0.5);
+        config.config_kI(0, 0.1);
+        other.config_kP(0, 0.5);
+        other.config_kD(0, 2.0);
+
+        assertEquals(2, cache.apply(config));
+        assertEquals(2, cache.apply(other));
+        assertEquals(2, cache.apply(config));
+        assertEquals(0, cache.apply(config));
+    }
+
+    /**
+     * Tests that prewarming doesn't send the parameters that change the output in open loop
+     */
+    @Test
+    public void testPrewarmSkipsOpenLoopParameters() {
+        config.config_kF(0, 0.3);
+        config.configNeutralDeadband(0.1);
+        config.setInverted(InvertType.InvertMotorOutput);
+
+        assertEquals(1, cache.apply(config, true));
+        assertEquals(2, cache.apply(config));
+
+        new Verifications() {{
+            talon.config_kF(0, 0.3, anyInt);
+            times = 1;
+            talon.configNeutralDeadband(0.1, anyInt);
+            times = 1;
+            talon.setInverted(InvertType.InvertMotorOutput);
+            times = 1;
+        }};
+    }
+
+    /**
+     * Tests that parameters that pack multiple values are sent correctly
+     */
+    @Test
+    public void testRemoteFilter() {
+        config.configRemoteFeedbackFilter(17, RemoteSensorSource.GadgeteerPigeon_Yaw, 1);
+        cache.apply(config);
+
+        new Verifications() {{
+            talon.configRemoteFeedbackFilter(17, RemoteSensorSource.GadgeteerPigeon_Yaw, 1, anyInt);
+            times = 1;
+        }};
+    }
+
+    /**
+     * Tests that a parameter that failed to be written is sent again on the next apply
+     */
+    @Test
+    public void testFailedWriteRetried() {
+        new Expectations() {{
+            talon.config_kD(1, 2.0, anyInt);
+            returns(ErrorCode.RxTimeout, ErrorCode.OK);
+        }};
+
+        config.config_kD(1, 2.0);
+        assertEquals(1, cache.apply(config));
+        assertEquals(1, cache.apply(config));
+        assertEquals(0, cache.apply(config));
+    }
+
+    /**
+     * Tests that invalidating the cache resends every staged parameter
+     */
+    @Test
+    public void testInvalidate() {
+        config.config_kF(0, 0.3);
+        config.setSensorPhase(true);
+        assertEquals(2, cache.apply(config));
+
+        cache.invalidate();
+        config.stageDefaults();
+
+        // Every parameter cleared by a factory default is resent, plus the sensor phase which is still staged
+        assertEquals(countFactoryDefaults() + 1, cache.apply(config));
+    }
+
+    /**
+     * Tests that every staged parameter is sent again after the Talon resets
+     */
+    @Test
+    public void testResetResendsEverything() {
+        config.config_kF(0, 0.3);
+        config.setSensorPhase(true);
+        assertEquals(2, cache.apply(config));
+        assertEquals(0, cache.apply(config));
+
+        new Expectations() {{
+            talon.hasResetOccurred();
+            returns(true, false);
+        }};
+
+        assertEquals(2, cache.apply(config));
+        assertEquals(0, cache.apply(config));
+    }
+
+    /**
+     * Counts how many parameters are sent when every parameter cleared by a factory default is unknown and staged
+     * at default
+     *
+     * @return The number of parameters cleared by a factory default
+     */
+    private int countFactoryDefaults() {
+        TalonConfiguration defaults = new TalonConfiguration();
+        defaults.stageDefaults();
+
+        return new TalonConfigCache(talon).apply(defaults);
+    }
+}
@@ -0,0 +1,113 @@
+package ca.team2706.frc.robot.subsystems;
+
+import ca.team2706.frc.robot.config.Config;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class TalonTrajectoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final TalonTrajectory trajectory = TalonTrajectory.fromFeet(new double[]{1.0, -1.0, 5.0}, new double[]{3.0, 8.6, 42.3},
+            new double[]{-1.88, 11.14, 20.56}, new double[]{16.78, -1.48, 1.18}, new double[]{35.32, 245.53, -53.53}, new int[]{5, 10, 20}, 3);
+
+    /**
+     * Tests that the trajectory is converted to talon units
+     */
+    @Test
+    public void testFromFeet() {
+        assertTrajectory(trajectory);
+    }
+
+    /**
+     * Tests that a trajectory is the same after it has been written and memory mapped
+     *
+     * @throws IOException If the file can't be written or read
+     */
+    @Test
+    public void testWriteAndLoad() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("Test" + TalonTrajectory.EXTENSION);
+        trajectory.writeTo(file);
+
+        assertTrajectory(TalonTrajectory.load(file));
+    }
+
+    /**
+     * Tests that a file converted with different units than the robot's is rescaled to the robot's units
+     *
+     * @throws IOException If the file can't be written or read
+     */
+    @Test
+    public void testLoadRescalesOtherUnits() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("Test" + TalonTrajectory.EXTENSION);
+        trajectory.writeTo(file);
+
+        // Pretend that the file was converted for a robot with half the encoder and Pigeon resolution
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        contents.putDouble(16, Config.DRIVE_ENCODER_DPP * 2).putDouble(24, Config.PIGEON_DPP * 2);
+        Files.write(file, contents.array());
+
+        TalonTrajectory loaded = TalonTrajectory.load(file);
+
+        assertEquals(2 * trajectory.getPosition(true, 1), loaded.getPosition(true, 1), 1e-9);
+        assertEquals(2 * trajectory.getVelocity(false, 0), loaded.getVelocity(false, 0), 1e-9);
+        assertEquals(2 * trajectory.getHeading(2), loaded.getHeading(2), 1e-9);
+        assertEquals(trajectory.getTime(1), loaded.getTime(1));
+    }
+
+    /**
+     * Tests that a file that isn't a binary trajectory is rejected
+     *
+     * @throws IOException If the file can't be written
+     */
+    @Test(expected = IOException.class)
+    public void testLoadInvalid() throws IOException {
+        Path file = folder.newFile("Test.pf1.csv").toPath();
+        Files.write(file, "dt,x,y,position,velocity,acceleration,jerk,heading\n".getBytes());
+
+        TalonTrajectory.load(file);
+    }
+
+    /**
+     * Tests that a file that ends before all of its points is rejected
+     *
+     * @throws IOException If the file can't be written
+     */
+    @Test(expected = IOException.class)
+    public void testLoadTruncated() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("Test" + TalonTrajectory.EXTENSION);
+        trajectory.writeTo(file);
+
+        byte[] contents = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(contents, contents.length - 1));
+
+        TalonTrajectory.load(file);
+    }
+
+    /**
+     * Checks that a trajectory holds the test points in talon units
+     *
+     * @param trajectory The trajectory to check
+     */
+    private static void assertTrajectory(TalonTrajectory trajectory) {
+        assertEquals(3, trajectory.size());
+
+        assertEquals(-1.0 / Config.DRIVE_ENCODER_DPP, trajectory.getPosition(true, 1), 1e-9);
+        assertEquals(8.6 / Config.DRIVE_ENCODER_DPP / 10, trajectory.getVelocity(true, 1), 1e-9);
+        assertEquals(20.56 / Config.DRIVE_ENCODER_DPP, trajectory.getPosition(false, 2), 1e-9);
+        assertEquals(16.78 / Config.DRIVE_ENCODER_DPP / 10, trajectory.getVelocity(false, 0), 1e-9);
+        assertEquals(-53.53 / Config.PIGEON_DPP, trajectory.getHeading(2), 1e-9);
+        assertEquals(10, trajectory.getTime(1));
+    }
+}
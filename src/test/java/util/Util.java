@@ -1,9 +1,18 @@
 package util;
 
 import ca.team2706.frc.robot.OI;
+import ca.team2706.frc.robot.commands.drivebase.TrajectoryCache;
+import ca.team2706.frc.robot.commands.drivebase.TrajectoryPlanner;
+import ca.team2706.frc.robot.logging.CommandProfiler;
+import ca.team2706.frc.robot.logging.LoopTimer;
+import ca.team2706.frc.robot.logging.TelemetryRegistry;
 import ca.team2706.frc.robot.subsystems.*;
+import com.ctre.phoenix.motion.TrajectoryPoint;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Util {
     /**
@@ -22,6 +31,54 @@ public class Util {
         setCurrentInstanceFieldNull(Pneumatics.class);
         setCurrentInstanceFieldNull(RingLight.class);
         setCurrentInstanceFieldNull(ClimberPneumatics.class);
+        setCurrentInstanceFieldNull(TrajectoryCache.class);
+        setCurrentInstanceFieldNull(TrajectoryPlanner.class);
+        setCurrentInstanceFieldNull(Odometry.class);
+        setCurrentInstanceFieldNull(TelemetryRegistry.class);
+        setCurrentInstanceFieldNull(LoopTimer.class);
+        setCurrentInstanceFieldNull(CommandProfiler.class);
+    }
+
+    /**
+     * Runs the drive base's motion profile feeders until they have pushed their whole trajectories, since the notifiers
+     * that normally run them are mocked. The left side is fed before the right side.
+     *
+     * @param driveBase The drive base to feed.
+     * @throws ReflectiveOperationException If the feeders can't be accessed.
+     */
+    public static void feedMotionProfiles(final DriveBase driveBase) throws ReflectiveOperationException {
+        for (String name : new String[]{"motionProfileFeederLeft", "motionProfileFeederRight"}) {
+            Field field = DriveBase.class.getDeclaredField(name);
+            field.setAccessible(true);
+            Object feeder = field.get(driveBase);
+
+            Method feed = feeder.getClass().getDeclaredMethod("feed");
+            Method isComplete = feeder.getClass().getDeclaredMethod("isComplete");
+            feed.setAccessible(true);
+            isComplete.setAccessible(true);
+
+            while (!(boolean) isComplete.invoke(feeder)) {
+                feed.invoke(feeder);
+            }
+        }
+    }
+
+    /**
+     * Splits the points that were pushed to the talons into the trajectories for each side.
+     *
+     * @param points The points in the order they were pushed, after feeding with {@link #feedMotionProfiles(DriveBase)}.
+     * @param sides  The number of sides that a trajectory was pushed to.
+     * @return The trajectory of each side, left first.
+     */
+    public static List<TrajectoryPoint[]> splitTrajectories(final List<TrajectoryPoint> points, final int sides) {
+        final int size = points.size() / sides;
+        List<TrajectoryPoint[]> trajectories = new ArrayList<>();
+
+        for (int i = 0; i < sides; i++) {
+            trajectories.add(points.subList(i * size, (i + 1) * size).toArray(new TrajectoryPoint[0]));
+        }
+
+        return trajectories;
     }
 
     /**